@@ -0,0 +1,29 @@
+#!/bin/sh
+# ========================================
+# CACHE MISSES DEL RECORRIDO DE DETECCIÓN
+# ========================================
+# Corre DetectionStrategyBenchmark (JMH) con el profiler perfnorm y compara, por
+# tamaño N, los misses de L1d y LLC por matriz del recorrido escalar y del
+# recorrido por tiles (TiledDetectionStrategy). Ver DetectionCacheMissesTest.
+#
+# Uso (Linux, requiere perf):
+#   ./scripts/cache-misses.sh
+#
+# Si perf_event_paranoid es mayor a 2 el test se omite; bajarlo temporalmente con:
+#   sudo sysctl kernel.perf_event_paranoid=1
+set -eu
+
+if ! command -v perf > /dev/null 2>&1; then
+    echo "perf no está instalado (linux-tools / linux-perf)" >&2
+    exit 1
+fi
+
+paranoid=$(cat /proc/sys/kernel/perf_event_paranoid 2>/dev/null || echo 3)
+if [ "$paranoid" -gt 2 ]; then
+    echo "kernel.perf_event_paranoid=$paranoid: perf no puede leer contadores de usuario" >&2
+    exit 1
+fi
+
+cd "$(dirname "$0")/.."
+./gradlew benchmark --tests '*DetectionCacheMissesTest' \
+    | grep -E '(scalar|tiled) +N=|FAILED|PASSED|SKIPPED'
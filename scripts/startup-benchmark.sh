@@ -0,0 +1,62 @@
+#!/bin/sh
+# ========================================
+# BENCHMARK DE ARRANQUE EN FRÍO
+# ========================================
+# Compara la imagen estándar (java -jar app.jar) con la optimizada
+# (Spring AOT + AppCDS, etapa "optimized" del Dockerfile) midiendo:
+# - Tiempo desde "docker run" hasta el primer POST /mutant exitoso
+# - RSS del proceso Java en ese momento
+#
+# Uso (Linux, requiere docker y curl):
+#   ./scripts/startup-benchmark.sh
+#   RUNS=10 PORT=18080 ./scripts/startup-benchmark.sh
+#
+# El calentamiento del JIT (mutant.warmup) se desactiva en ambas imágenes: corre en
+# segundo plano tras el arranque y competiría por CPU con el primer request.
+set -eu
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+DNA='{"dna":["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]}'
+
+now_ms() {
+    date +%s%3N
+}
+
+# Imprime "<ms hasta el primer POST exitoso> <RSS en KB>"
+measure() {
+    image=$1
+    start=$(now_ms)
+    container=$(docker run -d -p "$PORT:8080" -e MUTANT_WARMUP_ENABLED=false "$image")
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+            -d "$DNA" "http://localhost:$PORT/mutant")" = "200" ]; do
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+
+    rss=$(docker exec "$container" sh -c 'grep VmRSS /proc/1/status' | awk '{print $2}')
+    docker rm -f "$container" > /dev/null
+    echo "$elapsed $rss"
+}
+
+report() {
+    label=$1
+    image=$2
+    results=""
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        results="$results$(measure "$image")
+"
+        i=$((i + 1))
+    done
+    printf '%s' "$results" | awk -v label="$label" '
+        { ms += $1; rss += $2; n++ }
+        END { printf "%-12s primer POST: %6.0f ms   RSS: %6.1f MB   (%d corridas)\n", label, ms / n, rss / n / 1024, n }'
+}
+
+docker build -q -t mutantes-api:standard . > /dev/null
+docker build -q --target optimized -t mutantes-api:optimized . > /dev/null
+
+report "estándar" mutantes-api:standard
+report "optimizada" mutantes-api:optimized
@@ -2,6 +2,7 @@ package org.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Aplicación principal de Spring Boot para el detector de mutantes.
@@ -10,10 +11,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Detectar si una secuencia de ADN pertenece a un mutante
  * - Obtener estadísticas de las verificaciones realizadas
  * 
+ * @EnableScheduling: tareas de fondo (ej: RetentionMover)
+ * 
  * @author MercadoLibre Backend Exam
  * @version 1.0.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class MutantDetectorApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,75 @@
+package org.example.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Control de admisión por costo para POST /mutant.
+ *
+ * El costo de un request se estima a partir de N antes de detectar
+ * (N² celdas + un costo fijo por request: JSON, cachés, BD). Las matrices
+ * de N >= mutant.admission.large-threshold van a un bulkhead propio, con
+ * pocos threads y cola corta, de modo que unas pocas matrices gigantes no
+ * ocupen los threads que atienden las chicas.
+ *
+ * Las chicas se admiten en el hilo del request ({@link CostBudget}): su costo es
+ * sobre todo la BD, que con virtual threads no debe pasar por un pool de
+ * plataforma. Solo el bulkhead de las grandes (CPU) tiene executor propio.
+ *
+ * Si un request no entra en el presupuesto de su bulkhead, se rechaza enseguida
+ * con 503 + Retry-After (ServiceOverloadedException).
+ * Métricas: mutant.admission.shed{bulkhead,reason}, mutant.admission.queue.wait,
+ * mutant.admission.queue.size y mutant.admission.pending.cost.
+ */
+@Component
+public class AdmissionControl {
+
+    /**
+     * Costo fijo por request, en celdas equivalentes.
+     */
+    static final long BASE_COST = 1_000;
+
+    private final boolean enabled;
+    private final int largeThreshold;
+    private final CostBudget small;
+    private final Bulkhead large;
+
+    public AdmissionControl(MeterRegistry registry,
+                            @Value("${mutant.admission.enabled:true}") boolean enabled,
+                            @Value("${mutant.admission.large-threshold:200}") int largeThreshold,
+                            @Value("${mutant.admission.small.max-cost:100000000}") long smallMaxCost,
+                            @Value("${mutant.admission.large.threads:0}") int largeThreads,
+                            @Value("${mutant.admission.large.queue:32}") int largeQueue,
+                            @Value("${mutant.admission.large.budget-ms:2000}") long largeBudgetMillis) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.enabled = enabled;
+        this.largeThreshold = largeThreshold;
+        this.small = new CostBudget("small", smallMaxCost, registry);
+        this.large = new Bulkhead("large", largeThreads > 0 ? largeThreads : Math.max(1, cores / 2),
+            largeQueue, largeBudgetMillis, registry);
+    }
+
+    /**
+     * Ejecuta el análisis de una matriz NxN en el bulkhead que corresponde a su costo.
+     *
+     * @param n    Tamaño de la matriz
+     * @param task Análisis completo (cachés, BD y detección)
+     * @throws org.example.exception.ServiceOverloadedException si el request se descarta
+     */
+    public <T> T execute(int n, Supplier<T> task) {
+        if (!enabled) {
+            return task.get();
+        }
+        long cost = (long) n * n + BASE_COST;
+        return n >= largeThreshold ? large.execute(cost, task) : small.execute(cost, task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        large.shutdown();
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.exception.ServiceOverloadedException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado (threads + cola) con presupuesto de latencia de espera.
+ *
+ * Antes de encolar estima cuánto esperaría el request: costo pendiente
+ * (celdas en cola y en ejecución) × ns por celda observados / threads.
+ * Si supera el presupuesto, o la cola está llena, descarta de inmediato.
+ */
+final class Bulkhead {
+
+    private static final double INITIAL_NANOS_PER_CELL = 5.0;
+    private static final double EWMA_WEIGHT = 0.1;
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long budgetNanos;
+    private final AtomicLong pendingCost = new AtomicLong();
+    private final Counter shedByBudget;
+    private final Counter shedByQueueFull;
+    private final Timer queueWait;
+
+    /**
+     * Promedio móvil de ns por celda. Las actualizaciones concurrentes pueden
+     * pisarse entre sí: es una estimación, no hace falta exactitud.
+     */
+    private volatile double nanosPerCell = INITIAL_NANOS_PER_CELL;
+
+    Bulkhead(String name, int threads, int queueCapacity, long budgetMillis, MeterRegistry registry) {
+        this.name = name;
+        this.threads = threads;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "mutant-" + name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        this.shedByBudget = Counter.builder("mutant.admission.shed")
+            .description("Requests descartados por el control de admisión")
+            .tag("bulkhead", name).tag("reason", "latency_budget")
+            .register(registry);
+        this.shedByQueueFull = Counter.builder("mutant.admission.shed")
+            .description("Requests descartados por el control de admisión")
+            .tag("bulkhead", name).tag("reason", "queue_full")
+            .register(registry);
+        this.queueWait = Timer.builder("mutant.admission.queue.wait")
+            .description("Espera en cola antes de ejecutar")
+            .tag("bulkhead", name)
+            .register(registry);
+        Gauge.builder("mutant.admission.queue.size", executor, pool -> pool.getQueue().size())
+            .tag("bulkhead", name)
+            .register(registry);
+        Gauge.builder("mutant.admission.pending.cost", pendingCost, AtomicLong::get)
+            .description("Celdas en cola y en ejecución")
+            .tag("bulkhead", name)
+            .register(registry);
+    }
+
+    /**
+     * Ejecuta la tarea en el pool y espera su resultado.
+     *
+     * @param cost Costo estimado en celdas
+     * @throws ServiceOverloadedException si el request se descarta
+     */
+    <T> T execute(long cost, Supplier<T> task) {
+        long estimatedWait = estimatedWaitNanos();
+        if (estimatedWait > budgetNanos) {
+            shedByBudget.increment();
+            throw overloaded(estimatedWait);
+        }
+
+        pendingCost.addAndGet(cost);
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                queueWait.record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    record(cost, System.nanoTime() - start);
+                    pendingCost.addAndGet(-cost);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingCost.addAndGet(-cost);
+            shedByQueueFull.increment();
+            throw overloaded(Math.max(estimatedWait, budgetNanos));
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Request interrumpido esperando al bulkhead " + name, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    long estimatedWaitNanos() {
+        return (long) (pendingCost.get() * nanosPerCell / threads);
+    }
+
+    private void record(long cost, long elapsedNanos) {
+        double sample = (double) elapsedNanos / cost;
+        nanosPerCell += EWMA_WEIGHT * (sample - nanosPerCell);
+    }
+
+    private ServiceOverloadedException overloaded(long estimatedWaitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(estimatedWaitNanos) + 1);
+        return new ServiceOverloadedException(
+            "Servicio saturado (" + name + "): reintentar en " + retryAfter + "s", retryAfter);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
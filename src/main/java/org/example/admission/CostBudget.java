@@ -0,0 +1,63 @@
+package org.example.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.exception.ServiceOverloadedException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Admisión por presupuesto de costo en el hilo del llamador (sin pool propio).
+ *
+ * Para las matrices chicas el trabajo es sobre todo el round trip a la BD, no CPU:
+ * pasarlas a un pool de pocos threads de plataforma serializaría la I/O y anularía
+ * los virtual threads (el request quedaría estacionado en future.get()). Aquí el
+ * request corre donde llegó y solo se cuentan las celdas en ejecución; si admitirlo
+ * supera maxCost, se descarta de inmediato. Un request siempre entra si no hay
+ * otro en curso, aunque su costo solo supere el presupuesto.
+ */
+final class CostBudget {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final String name;
+    private final long maxCost;
+    private final AtomicLong pendingCost = new AtomicLong();
+    private final Counter shedByBudget;
+
+    CostBudget(String name, long maxCost, MeterRegistry registry) {
+        this.name = name;
+        this.maxCost = maxCost;
+        this.shedByBudget = Counter.builder("mutant.admission.shed")
+            .description("Requests descartados por el control de admisión")
+            .tag("bulkhead", name).tag("reason", "cost_budget")
+            .register(registry);
+        Gauge.builder("mutant.admission.pending.cost", pendingCost, AtomicLong::get)
+            .description("Celdas en cola y en ejecución")
+            .tag("bulkhead", name)
+            .register(registry);
+    }
+
+    /**
+     * Ejecuta la tarea en el hilo actual si entra en el presupuesto.
+     *
+     * @param cost Costo estimado en celdas
+     * @throws ServiceOverloadedException si el request se descarta
+     */
+    <T> T execute(long cost, Supplier<T> task) {
+        long pending = pendingCost.addAndGet(cost);
+        if (pending > maxCost && pending != cost) {
+            pendingCost.addAndGet(-cost);
+            shedByBudget.increment();
+            throw new ServiceOverloadedException(
+                "Servicio saturado (" + name + "): reintentar en " + RETRY_AFTER_SECONDS + "s", RETRY_AFTER_SECONDS);
+        }
+        try {
+            return task.get();
+        } finally {
+            pendingCost.addAndGet(-cost);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.cache;
+
+/**
+ * Hash de 64 bits de una matriz de ADN, calculado sobre las filas sin concatenarlas.
+ *
+ * FNV-1a sobre los caracteres (incluyendo un separador por fila) seguido del
+ * finalizador de MurmurHash3 para que todos los bits dependan de toda la entrada.
+ * Con dos semillas distintas se obtiene una huella de 128 bits.
+ */
+public final class DnaHashing {
+
+    public static final long SEED = 0xCBF29CE484222325L;
+    public static final long ALTERNATE_SEED = 0x84222325CBF29CE4L;
+
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final char ROW_SEPARATOR = ',';
+
+    private DnaHashing() {
+    }
+
+    public static long hash64(String[] dna) {
+        return hash64(dna, SEED);
+    }
+
+    public static long hash64(String[] dna, long seed) {
+        long hash = seed;
+        for (String row : dna) {
+            for (int col = 0; col < row.length(); col++) {
+                hash = (hash ^ row.charAt(col)) * FNV_PRIME;
+            }
+            hash = (hash ^ ROW_SEPARATOR) * FNV_PRIME;
+        }
+        return mix(hash ^ dna.length);
+    }
+
+    /**
+     * Mismo hash que {@link #hash64(String[])} calculado sobre la secuencia ya
+     * concatenada con comas (la clave de dna_records), sin separarla en filas.
+     */
+    public static long hash64(String dnaSequence) {
+        return hash64(dnaSequence, SEED);
+    }
+
+    public static long hash64(String dnaSequence, long seed) {
+        long hash = seed;
+        int rows = 1;
+        for (int i = 0; i < dnaSequence.length(); i++) {
+            char c = dnaSequence.charAt(i);
+            if (c == ROW_SEPARATOR) {
+                rows++;
+            }
+            hash = (hash ^ c) * FNV_PRIME;
+        }
+        hash = (hash ^ ROW_SEPARATOR) * FNV_PRIME;
+        return mix(hash ^ rows);
+    }
+
+    /**
+     * Finalizador fmix64 de MurmurHash3.
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE1A85EC3L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.cache;
+
+import org.example.exception.InvalidDnaException;
+import org.example.service.DnaBases;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Clave de un ADN en la BD y en las cachés, de tamaño acotado para cualquier N.
+ *
+ * - Hasta {@link #MAX_LITERAL_SIZE}: las filas unidas por comas, como siempre
+ *   (entran en la columna dna_sequence de 10000 caracteres). Los hashes son los
+ *   de {@link DnaHashing}, así que las cachés y estimadores ya persistidos siguen
+ *   siendo válidos.
+ * - Desde N = 100: "#N:" + SHA-256 (hex) de las bases empaquetadas a 2 bits con el
+ *   layout de PackedDna. El digest se calcula por bloques recorriendo las filas,
+ *   sin armar la secuencia de N² caracteres, y los hashes salen de sus primeros
+ *   16 bytes. N forma parte de la clave: dos matrices de distinto tamaño nunca
+ *   comparten clave aunque sus bases empaquetadas coincidan.
+ *
+ * @param sequence      Valor de la columna dna_sequence
+ * @param size          N de la matriz
+ * @param hash          Huella principal (semilla {@link DnaHashing#SEED})
+ * @param alternateHash Segunda huella, para la huella de 128 bits
+ */
+public record DnaKey(String sequence, int size, long hash, long alternateHash) {
+
+    /**
+     * Mayor N cuya secuencia literal (N² + N - 1 caracteres) entra en dna_sequence.
+     */
+    public static final int MAX_LITERAL_SIZE = 99;
+
+    public static final int DIGEST_BYTES = 32;
+
+    private static final char DIGEST_PREFIX = '#';
+    private static final char DIGEST_SEPARATOR = ':';
+    private static final int CHUNK_BYTES = 1 << 13;
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * Clave de una matriz dada por filas.
+     *
+     * @throws InvalidDnaException si una matriz de más de {@link #MAX_LITERAL_SIZE}
+     *                             filas no es NxN o tiene bases inválidas (las más chicas
+     *                             se validan en MutantDetector, como siempre)
+     */
+    public static DnaKey of(String[] rows) {
+        if (rows.length <= MAX_LITERAL_SIZE) {
+            return literal(String.join(",", rows), rows.length);
+        }
+
+        int n = rows.length;
+        MessageDigest sha = sha256();
+        byte[] chunk = new byte[CHUNK_BYTES];
+        int filled = 0;
+        int current = 0;
+        int shift = 0;
+        for (String row : rows) {
+            if (row == null || row.length() != n) {
+                throw InvalidDnaException.notSquare();
+            }
+            for (int col = 0; col < n; col++) {
+                int code = DnaBases.code(row.charAt(col));
+                if (code == DnaBases.INVALID) {
+                    throw InvalidDnaException.invalidBase(row.charAt(col));
+                }
+                current |= code << shift;
+                shift += 2;
+                if (shift == 8) {
+                    chunk[filled++] = (byte) current;
+                    current = 0;
+                    shift = 0;
+                    if (filled == CHUNK_BYTES) {
+                        sha.update(chunk);
+                        filled = 0;
+                    }
+                }
+            }
+        }
+        if (shift != 0) {
+            chunk[filled++] = (byte) current;
+        }
+        sha.update(chunk, 0, filled);
+        return digest(n, sha.digest());
+    }
+
+    /**
+     * Clave de una matriz ya empaquetada a 2 bits (layout de PackedDna), sin
+     * reconstruir las filas: desde N = 100 el digest se calcula directo sobre los
+     * bytes y hasta 99 la secuencia literal se escribe celda a celda en un único buffer.
+     * Da la misma clave que {@link #of(String[])} sobre las filas equivalentes.
+     *
+     * @param n      N de la matriz
+     * @param packed ceil(N² / 4) bytes ya validados
+     */
+    public static DnaKey ofPacked(int n, byte[] packed) {
+        long cells = (long) n * n;
+        if (n <= MAX_LITERAL_SIZE) {
+            char[] sequence = new char[(int) cells + n - 1];
+            int position = 0;
+            int cell = 0;
+            for (int row = 0; row < n; row++) {
+                if (row > 0) {
+                    sequence[position++] = ',';
+                }
+                for (int col = 0; col < n; col++, cell++) {
+                    sequence[position++] = DnaBases.base((packed[cell >>> 2] >>> ((cell & 3) << 1)) & 0b11);
+                }
+            }
+            return literal(new String(sequence), n);
+        }
+
+        int length = (int) ((cells + 3) / 4);
+        MessageDigest sha = sha256();
+        sha.update(packed, 0, length - 1);
+        sha.update(lastPackedByte(packed[length - 1], n));
+        return digest(n, sha.digest());
+    }
+
+    /**
+     * Último byte empaquetado tal como entra en el digest: los bits que no
+     * corresponden a ninguna celda no forman parte de la clave.
+     */
+    public static byte lastPackedByte(byte last, int n) {
+        int usedBits = (int) ((long) n * n & 3) << 1;
+        return usedBits == 0 ? last : (byte) (last & ((1 << usedBits) - 1));
+    }
+
+    /**
+     * Clave de una secuencia ya unida por comas, de hasta {@link #MAX_LITERAL_SIZE} filas
+     * (ej: la variante canónica que arma DnaCanonicalizer).
+     */
+    public static DnaKey literal(String sequence, int n) {
+        return new DnaKey(sequence, n,
+            DnaHashing.hash64(sequence, DnaHashing.SEED), DnaHashing.hash64(sequence, DnaHashing.ALTERNATE_SEED));
+    }
+
+    /**
+     * Clave a partir de su secuencia (la columna dna_sequence), literal o digest.
+     */
+    public static DnaKey parse(String sequence) {
+        if (isDigest(sequence)) {
+            return digest(digestSize(sequence), digestBytes(sequence));
+        }
+        int firstComma = sequence.indexOf(',');
+        return literal(sequence, firstComma < 0 ? sequence.length() : firstComma);
+    }
+
+    /**
+     * true si la secuencia es un digest (N mayor a {@link #MAX_LITERAL_SIZE}) y no las filas.
+     */
+    public boolean isDigest() {
+        return isDigest(sequence);
+    }
+
+    public static boolean isDigest(String sequence) {
+        return !sequence.isEmpty() && sequence.charAt(0) == DIGEST_PREFIX;
+    }
+
+    /**
+     * Clave a partir de N y el SHA-256 de las bases empaquetadas (ej: leída de un snapshot).
+     */
+    public static DnaKey digest(int n, byte[] digest) {
+        ByteBuffer bytes = ByteBuffer.wrap(digest);
+        String sequence = DIGEST_PREFIX + Integer.toString(n) + DIGEST_SEPARATOR + HEX.formatHex(digest);
+        return new DnaKey(sequence, n, bytes.getLong(0), bytes.getLong(8));
+    }
+
+    /**
+     * N de una secuencia digest.
+     */
+    public static int digestSize(String sequence) {
+        return Integer.parseInt(sequence, 1, sequence.indexOf(DIGEST_SEPARATOR), 10);
+    }
+
+    /**
+     * Bytes del SHA-256 de una secuencia digest.
+     */
+    public static byte[] digestBytes(String sequence) {
+        return HEX.parseHex(sequence, sequence.indexOf(DIGEST_SEPARATOR) + 1, sequence.length());
+    }
+
+    /**
+     * SHA-256 nuevo para calcular el digest de bases empaquetadas por bloques
+     * (ej: mientras se decodifica un cuerpo binario), terminado con {@link #digest(int, byte[])}.
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todo JRE trae SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché persistente de veredictos en un archivo mapeado en memoria (off-heap).
+ *
+ * El archivo es una tabla hash de slots fijos indexada por la huella de 128 bits
+ * de la clave del ADN (ver {@link DnaKey}). Al estar mapeado con FileChannel.map, se comparte
+ * a través del page cache del SO y se recarga instantáneamente al reiniciar,
+ * sin escanear la BD.
+ *
+ * FORMATO:
+ * - Header (64 bytes): magic, versión, cantidad de slots
+ * - Slots (32 bytes): [huella 1][huella 2][valor][checksum]
+ *
+ * ESCRITURAS SEGURAS ANTE CRASHES: el checksum se escribe al final. Un slot a medio
+ * escribir (crash o lectura concurrente) no coincide con su checksum y se trata
+ * como vacío. Si cambia el tamaño configurado, el archivo se reinicializa.
+ *
+ * Nota: un hit aquí evita la BD, por lo que con ddl-auto=create-drop los ADN
+ * ya conocidos no vuelven a contarse en /stats tras un reinicio.
+ */
+@Slf4j
+@Component
+public class MappedVerdictCache {
+
+    public static final int MISS = -1;
+    public static final int HUMAN = 0;
+    public static final int MUTANT = 1;
+
+    private static final long MAGIC = 0x4D55545644524331L;  // "MUTVDRC1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 32;
+    private static final int MAX_PROBES = 8;
+    private static final int MAX_SLOTS = 1 << 25;
+    private static final long CHECKSUM_SALT = 0x5BD1E9955BD1E995L;
+    private static final long VALUE_PRESENT = 1L << 32;
+
+    private final boolean enabled;
+    private final MappedByteBuffer buffer;
+    private final FileChannel channel;
+    private final int slotMask;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public MappedVerdictCache(@Value("${mutant.verdict-file.enabled:false}") boolean enabled,
+                              @Value("${mutant.verdict-file.path:./data/verdict-cache.bin}") String path,
+                              @Value("${mutant.verdict-file.size-mb:16}") int sizeMb) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.buffer = null;
+            this.channel = null;
+            this.slotMask = 0;
+            return;
+        }
+
+        // Potencia de 2 de slots; máximo 1 GiB para que los offsets entren en un int
+        long requested = Math.max((long) sizeMb * 1024 * 1024 - HEADER_BYTES, SLOT_BYTES * MAX_PROBES);
+        int slots = (int) Math.min(Long.highestOneBit(requested / SLOT_BYTES), MAX_SLOTS);
+        this.slotMask = slots - 1;
+
+        try {
+            Path file = Path.of(path);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            long size = HEADER_BYTES + (long) slots * SLOT_BYTES;
+            this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean reset = channel.size() != size;
+            if (reset) {
+                channel.truncate(0);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (reset || buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION || buffer.getInt(12) != slots) {
+                initialize(slots);
+                log.info("Caché de veredictos inicializada en {} ({} slots)", file, slots);
+            } else {
+                log.info("Caché de veredictos recargada desde {} ({} slots)", file, slots);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo mapear la caché de veredictos: " + path, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return {@link #MUTANT}, {@link #HUMAN} o {@link #MISS}
+     */
+    public int get(String[] dna) {
+        return enabled ? get(DnaKey.of(dna)) : MISS;
+    }
+
+    /**
+     * Busca por la huella de la clave. Además de la huella de 128 bits, el slot
+     * debe tener el mismo N: una colisión entre tamaños distintos es un miss.
+     *
+     * @return {@link #MUTANT}, {@link #HUMAN} o {@link #MISS}
+     */
+    public int get(DnaKey key) {
+        if (!enabled) {
+            return MISS;
+        }
+        long first = key.hash();
+        long second = key.alternateHash();
+
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = offset(first, probe);
+            long value = buffer.getLong(offset + 16);
+            if (buffer.getLong(offset) == first
+                && buffer.getLong(offset + 8) == second
+                && buffer.getLong(offset + 24) == checksum(first, second, value)
+                && ((value >>> 1) & Integer.MAX_VALUE) == key.size()) {
+                return (int) (value & 1);
+            }
+        }
+        return MISS;
+    }
+
+    public void put(String[] dna, boolean isMutant) {
+        if (enabled) {
+            put(DnaKey.of(dna), isMutant);
+        }
+    }
+
+    public void put(DnaKey key, boolean isMutant) {
+        if (!enabled) {
+            return;
+        }
+        long first = key.hash();
+        long second = key.alternateHash();
+        long value = VALUE_PRESENT | ((long) key.size() << 1) | (isMutant ? MUTANT : HUMAN);
+        // Dentro de una transacción (ej: el calentamiento, que siempre hace rollback)
+        // el veredicto solo se persiste si hace commit, igual que dna_records
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(first, second, value);
+                }
+            });
+            return;
+        }
+        write(first, second, value);
+    }
+
+    private void write(long first, long second, long value) {
+        writeLock.lock();
+        try {
+            // Primer slot vacío/corrupto o con la misma huella; si no hay, se reemplaza el slot base
+            int target = offset(first, 0);
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int offset = offset(first, probe);
+                long slotFirst = buffer.getLong(offset);
+                long slotSecond = buffer.getLong(offset + 8);
+                boolean valid = buffer.getLong(offset + 24)
+                    == checksum(slotFirst, slotSecond, buffer.getLong(offset + 16));
+                if (!valid || (slotFirst == first && slotSecond == second)) {
+                    target = offset;
+                    break;
+                }
+            }
+            buffer.putLong(target + 24, 0L);  // Invalida el slot mientras se escribe
+            buffer.putLong(target, first);
+            buffer.putLong(target + 8, second);
+            buffer.putLong(target + 16, value);
+            buffer.putLong(target + 24, checksum(first, second, value));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Fuerza la escritura a disco de las páginas modificadas.
+     */
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar la caché de veredictos", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void initialize(int slots) {
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES;
+        for (int offset = HEADER_BYTES; offset < size; offset += 8) {
+            buffer.putLong(offset, 0L);
+        }
+        buffer.putInt(12, slots);
+        buffer.putInt(8, VERSION);
+        buffer.putLong(0, MAGIC);
+        buffer.force();
+    }
+
+    private int offset(long first, int probe) {
+        int slot = (int) (first + probe) & slotMask;
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private static long checksum(long first, long second, long value) {
+        return DnaHashing.mix(first ^ Long.rotateLeft(second, 17) ^ (value * 0x9E3779B97F4A7C15L) ^ CHECKSUM_SALT);
+    }
+}
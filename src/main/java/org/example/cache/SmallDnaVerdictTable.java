@@ -0,0 +1,274 @@
+package org.example.cache;
+
+import org.example.service.DnaBases;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tabla de veredictos para matrices pequeñas (4x4 a 8x8) con claves primitivas.
+ *
+ * Una matriz de hasta 64 celdas cabe en 128 bits a 2 bits por base, por lo que se
+ * empaqueta en dos long (celdas 0-31 y 32-63) sin crear Strings ni objetos.
+ * La tabla usa direccionamiento abierto por buckets de 8 slots y, cuando un bucket
+ * está lleno, desaloja con el algoritmo CLOCK (segunda oportunidad).
+ *
+ * CONCURRENCIA:
+ * - Lecturas sin locks: cada slot tiene un sello (seqlock). El escritor lo deja impar
+ *   mientras escribe; el lector descarta el slot si el sello cambió durante la lectura.
+ * - Escrituras serializadas con un ReentrantLock (solo ocurren en misses).
+ */
+@Component
+public class SmallDnaVerdictTable {
+
+    public static final int MISS = -1;
+    public static final int HUMAN = 0;
+    public static final int MUTANT = 1;
+
+    static final int MIN_SIZE = 4;
+    static final int MAX_SIZE = 8;
+
+    private static final int BUCKET_SLOTS = 8;
+    private static final int STRIDE = 4;        // [sello, bits 0-31, bits 32-63, meta]
+    private static final int META_MUTANT = 1 << 8;
+
+    private final boolean enabled;
+    private final int bucketMask;
+    private final AtomicLongArray slots;
+    private final AtomicIntegerArray referenced;
+    private final int[] hands;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public SmallDnaVerdictTable(@Value("${mutant.small-cache.enabled:true}") boolean enabled,
+                                @Value("${mutant.small-cache.capacity:65536}") int capacity) {
+        this.enabled = enabled;
+        int buckets = Integer.highestOneBit(Math.max(capacity / BUCKET_SLOTS, 1));
+        this.bucketMask = buckets - 1;
+        this.slots = new AtomicLongArray(buckets * BUCKET_SLOTS * STRIDE);
+        this.referenced = new AtomicIntegerArray(buckets * BUCKET_SLOTS);
+        this.hands = new int[buckets];
+    }
+
+    /**
+     * Cantidad máxima de veredictos que puede retener la tabla.
+     */
+    public int capacity() {
+        return referenced.length();
+    }
+
+    /**
+     * Busca el veredicto de una matriz pequeña.
+     *
+     * @return {@link #MUTANT}, {@link #HUMAN} o {@link #MISS} si no está o no es elegible
+     */
+    public int get(String[] dna) {
+        if (!enabled || !isPackable(dna)) {
+            return MISS;
+        }
+        return get(dna.length, pack(dna, 0), pack(dna, 1));
+    }
+
+    /**
+     * Igual que {@link #get(String[])} a partir de la clave literal (filas unidas por comas).
+     */
+    public int get(DnaKey key) {
+        if (!enabled || !isPackable(key)) {
+            return MISS;
+        }
+        return get(key.size(), pack(key.sequence(), key.size(), 0), pack(key.sequence(), key.size(), 1));
+    }
+
+    private int get(int n, long low, long high) {
+        int first = bucket(n, low, high) * BUCKET_SLOTS;
+        for (int slot = first; slot < first + BUCKET_SLOTS; slot++) {
+            int base = slot * STRIDE;
+            long stamp = slots.get(base);
+            if ((stamp & 1) != 0) {
+                continue;  // Escritura en curso: se trata como miss
+            }
+            long meta = slots.get(base + 3);
+            long slotLow = slots.get(base + 1);
+            long slotHigh = slots.get(base + 2);
+            if (slots.get(base) != stamp) {
+                continue;  // El slot cambió durante la lectura
+            }
+            if ((meta & 0xFF) == n && slotLow == low && slotHigh == high) {
+                referenced.lazySet(slot, 1);
+                return (meta & META_MUTANT) != 0 ? MUTANT : HUMAN;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Guarda el veredicto de una matriz pequeña. Ignora matrices no elegibles.
+     */
+    public void put(String[] dna, boolean isMutant) {
+        if (enabled && isPackable(dna)) {
+            put(dna.length, pack(dna, 0), pack(dna, 1), isMutant);
+        }
+    }
+
+    /**
+     * Igual que {@link #put(String[], boolean)} a partir de la clave literal.
+     */
+    public void put(DnaKey key, boolean isMutant) {
+        if (enabled && isPackable(key)) {
+            put(key.size(), pack(key.sequence(), key.size(), 0), pack(key.sequence(), key.size(), 1), isMutant);
+        }
+    }
+
+    private void put(int n, long low, long high, boolean isMutant) {
+        long meta = n | (isMutant ? META_MUTANT : 0);
+        // Dentro de una transacción (ej: el calentamiento) solo se guarda si hace commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(n, low, high, meta);
+                }
+            });
+            return;
+        }
+        store(n, low, high, meta);
+    }
+
+    private void store(int n, long low, long high, long meta) {
+        int bucket = bucket(n, low, high);
+        int first = bucket * BUCKET_SLOTS;
+
+        writeLock.lock();
+        try {
+            int target = -1;
+            for (int slot = first; slot < first + BUCKET_SLOTS && target < 0; slot++) {
+                int base = slot * STRIDE;
+                long slotMeta = slots.get(base + 3);
+                if (slotMeta == 0
+                    || ((slotMeta & 0xFF) == n && slots.get(base + 1) == low && slots.get(base + 2) == high)) {
+                    target = slot;
+                }
+            }
+            if (target < 0) {
+                target = first + clockVictim(bucket, first);
+            }
+            write(target, low, high, meta);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * CLOCK: avanza la manecilla del bucket limpiando bits de referencia
+     * hasta encontrar un slot no referenciado desde la última vuelta.
+     */
+    private int clockVictim(int bucket, int first) {
+        int hand = hands[bucket];
+        // Acotado a dos vueltas por si los lectores vuelven a marcar los slots
+        for (int step = 0; step < 2 * BUCKET_SLOTS && referenced.get(first + hand) != 0; step++) {
+            referenced.set(first + hand, 0);
+            hand = (hand + 1) & (BUCKET_SLOTS - 1);
+        }
+        hands[bucket] = (hand + 1) & (BUCKET_SLOTS - 1);
+        return hand;
+    }
+
+    private void write(int slot, long low, long high, long meta) {
+        int base = slot * STRIDE;
+        long stamp = slots.get(base);
+        slots.set(base, stamp + 1);         // Impar: escritura en curso
+        slots.set(base + 1, low);
+        slots.set(base + 2, high);
+        slots.set(base + 3, meta);
+        slots.set(base, stamp + 2);         // Par: slot consistente
+        referenced.set(slot, 0);
+    }
+
+    private int bucket(int n, long low, long high) {
+        long hash = low * 0x9E3779B97F4A7C15L;
+        hash ^= Long.rotateLeft(high * 0xC2B2AE3D27D4EB4FL, 31);
+        hash ^= n;
+        hash ^= hash >>> 29;
+        return (int) hash & bucketMask;
+    }
+
+    /**
+     * Empaqueta 32 celdas (2 bits cada una, orden fila por fila) en un long.
+     *
+     * @param word 0 para las celdas 0-31, 1 para las celdas 32-63
+     */
+    static long pack(String[] dna, int word) {
+        int n = dna.length;
+        int total = n * n;
+        int start = word * 32;
+        int end = Math.min(start + 32, total);
+        long packed = 0L;
+        for (int cell = start; cell < end; cell++) {
+            long code = DnaBases.code(dna[cell / n].charAt(cell % n));
+            packed |= code << ((cell - start) * 2);
+        }
+        return packed;
+    }
+
+    /**
+     * Igual que {@link #pack(String[], int)} sobre la secuencia con comas
+     * (la celda de la fila r, columna c está en r * (N + 1) + c).
+     */
+    static long pack(String sequence, int n, int word) {
+        int total = n * n;
+        int start = word * 32;
+        int end = Math.min(start + 32, total);
+        long packed = 0L;
+        for (int cell = start; cell < end; cell++) {
+            long code = DnaBases.code(sequence.charAt(cell / n * (n + 1) + cell % n));
+            packed |= code << ((cell - start) * 2);
+        }
+        return packed;
+    }
+
+    /**
+     * Elegible: matriz NxN entre 4x4 y 8x8 con solo bases A, T, C, G.
+     * Las matrices inválidas siguen su camino normal hacia MutantDetector.
+     */
+    static boolean isPackable(String[] dna) {
+        if (dna == null || dna.length < MIN_SIZE || dna.length > MAX_SIZE) {
+            return false;
+        }
+        int n = dna.length;
+        for (String row : dna) {
+            if (row == null || row.length() != n) {
+                return false;
+            }
+            for (int col = 0; col < n; col++) {
+                if (!DnaBases.isValid(row.charAt(col))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Igual que {@link #isPackable(String[])} para la clave literal: N filas de N
+     * bases separadas por una coma.
+     */
+    static boolean isPackable(DnaKey key) {
+        int n = key.size();
+        String sequence = key.sequence();
+        if (n < MIN_SIZE || n > MAX_SIZE || sequence.length() != n * n + n - 1) {
+            return false;
+        }
+        for (int i = 0; i < sequence.length(); i++) {
+            char c = sequence.charAt(i);
+            boolean separator = i % (n + 1) == n;
+            if (separator ? c != ',' : !DnaBases.isValid(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
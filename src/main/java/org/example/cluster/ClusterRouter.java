@@ -0,0 +1,192 @@
+package org.example.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codec.DnaPackedCodec;
+import org.example.dto.PackedDna;
+import org.example.service.DnaCanonicalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Modo cluster: enruta POST /mutant a la instancia dueña del ADN.
+ *
+ * Con varias réplicas, cada una tiene sus propias cachés y todas compiten por el
+ * índice único de dna_records. Acá cada instancia conoce la lista estática de
+ * nodos (mutant.cluster.nodes, vale con varias JVM en localhost) y arma el mismo
+ * {@link HashRing}; el hash de la clave canónica del ADN decide el dueño, así cada
+ * muestra tiene exactamente un dueño de caché.
+ *
+ * - Si el dueño es esta instancia (fast path), no hay red: se procesa local.
+ * - Si no, se reenvía en formato binario (application/x-dna-packed) con el header
+ *   {@link #FORWARDED_HEADER}; un request ya reenviado siempre se procesa local
+ *   (evita loops si dos nodos tienen configuraciones distintas).
+ * - Si el dueño no responde, se procesa local y el nodo se marca caído por
+ *   peer-down-ms para no pagar el timeout en cada request.
+ *
+ * Métrica: mutant.cluster.routed{route=local|forwarded|fallback}.
+ */
+@Slf4j
+@Component
+public class ClusterRouter implements MeterBinder {
+
+    public static final String FORWARDED_HEADER = "X-Mutant-Forwarded-By";
+
+    private final boolean enabled;
+    private final String self;
+    private final HashRing ring;
+    private final DnaCanonicalizer dnaCanonicalizer;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final long peerDownNanos;
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+
+    private Counter local;
+    private Counter forwarded;
+    private Counter fallback;
+
+    public ClusterRouter(DnaCanonicalizer dnaCanonicalizer,
+                         @Value("${mutant.cluster.enabled:false}") boolean enabled,
+                         @Value("${mutant.cluster.self:http://localhost:8080}") String self,
+                         @Value("${mutant.cluster.nodes:}") String[] nodes,
+                         @Value("${mutant.cluster.virtual-nodes:128}") int virtualNodes,
+                         @Value("${mutant.cluster.timeout-ms:500}") long timeoutMillis,
+                         @Value("${mutant.cluster.peer-down-ms:5000}") long peerDownMillis) {
+        this.dnaCanonicalizer = dnaCanonicalizer;
+        this.enabled = enabled;
+        this.self = normalize(self);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.peerDownNanos = TimeUnit.MILLISECONDS.toNanos(peerDownMillis);
+
+        if (!enabled) {
+            this.ring = null;
+            this.httpClient = null;
+            return;
+        }
+        List<String> members = Arrays.stream(nodes).map(String::trim).filter(node -> !node.isEmpty())
+            .map(ClusterRouter::normalize).toList();
+        if (!members.contains(this.self)) {
+            throw new IllegalStateException("mutant.cluster.nodes debe incluir a mutant.cluster.self (" + self + ")");
+        }
+        this.ring = new HashRing(members, virtualNodes);
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build();
+        log.info("Modo cluster como {} entre {}", this.self, ring.nodes());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        local = routed(registry, "local");
+        forwarded = routed(registry, "forwarded");
+        fallback = routed(registry, "fallback");
+    }
+
+    /**
+     * Reenvía el ADN a su dueño si no es esta instancia.
+     *
+     * @param dna         ADN ya validado por el binding
+     * @param forwardedBy Valor de {@link #FORWARDED_HEADER} del request entrante (o null)
+     * @return El veredicto del dueño, o vacío si hay que procesar local
+     */
+    public Optional<Boolean> route(String[] dna, String forwardedBy) {
+        if (!enabled || forwardedBy != null) {
+            return Optional.empty();
+        }
+        return route(dnaCanonicalizer.key(dna).hash(), () -> DnaPackedCodec.encode(dna));
+    }
+
+    /**
+     * Igual que {@link #route(String[], String)} para un cuerpo binario: el dueño
+     * sale de la clave de los bytes empaquetados y se reenvían los mismos bytes,
+     * sin reconstruir las filas.
+     */
+    public Optional<Boolean> route(PackedDna dna, String forwardedBy) {
+        if (!enabled || forwardedBy != null) {
+            return Optional.empty();
+        }
+        return route(dnaCanonicalizer.key(dna).hash(), () -> DnaPackedCodec.encode(dna));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private Optional<Boolean> route(long hash, Supplier<byte[]> body) {
+        String owner = ring.owner(hash);
+        if (owner.equals(self)) {
+            increment(local);
+            return Optional.empty();
+        }
+        Long down = downUntil.get(owner);
+        if (down != null && System.nanoTime() - down < 0) {
+            increment(fallback);
+            return Optional.empty();
+        }
+
+        Optional<Boolean> verdict = forward(owner, body.get());
+        increment(verdict.isPresent() ? forwarded : fallback);
+        return verdict;
+    }
+
+    private Optional<Boolean> forward(String owner, byte[] body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + "/mutant"))
+            .timeout(timeout)
+            .header("Content-Type", DnaPackedCodec.MEDIA_TYPE)
+            .header(FORWARDED_HEADER, self)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 200 || status == 403) {
+                downUntil.remove(owner);
+                return Optional.of(status == 200);
+            }
+            // 503 (dueño saturado) u otro error: se responde local sin marcar el nodo caído
+            log.debug("Nodo {} respondió {}: se procesa local", owner, status);
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Nodo {} no disponible por {} ms: {}", owner, TimeUnit.NANOSECONDS.toMillis(peerDownNanos),
+                e.getMessage());
+            downUntil.put(owner, System.nanoTime() + peerDownNanos);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private static Counter routed(MeterRegistry registry, String route) {
+        return Counter.builder("mutant.cluster.routed")
+            .description("Requests de POST /mutant por destino en modo cluster")
+            .tag("route", route)
+            .register(registry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static String normalize(String node) {
+        return node.endsWith("/") ? node.substring(0, node.length() - 1) : node;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.cluster;
+
+import org.example.cache.DnaHashing;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Anillo de hashing consistente con nodos virtuales.
+ *
+ * Cada nodo ocupa virtualNodes posiciones pseudoaleatorias del anillo de 64 bits;
+ * un hash pertenece al primer nodo en sentido horario. Con ~100 posiciones por
+ * nodo la carga queda repartida de forma pareja, y agregar o quitar un nodo solo
+ * mueve las claves de los arcos que ocupa (≈ 1/k del total).
+ *
+ * Inmutable: todas las instancias con la misma lista de nodos arman el mismo
+ * anillo, sin importar el orden en que estén configurados.
+ */
+public final class HashRing {
+
+    private final List<String> nodes;
+    private final long[] positions;
+    private final int[] owners;
+
+    public HashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("El anillo necesita al menos un nodo y un nodo virtual");
+        }
+        this.nodes = nodes.stream().sorted().distinct().toList();
+
+        int size = this.nodes.size() * virtualNodes;
+        long[] keys = new long[size];
+        for (int node = 0; node < this.nodes.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                keys[node * virtualNodes + replica] = DnaHashing.hash64(this.nodes.get(node) + "#" + replica);
+            }
+        }
+
+        // Ordenar posiciones (con signo, igual que la búsqueda) llevando el nodo dueño
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+        this.positions = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = keys[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * Nodo dueño de un hash de 64 bits.
+     */
+    public String owner(long hash) {
+        int index = Arrays.binarySearch(positions, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        // Pasado el último punto, el anillo da la vuelta al primero
+        return nodes.get(owners[index == positions.length ? 0 : index]);
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+}
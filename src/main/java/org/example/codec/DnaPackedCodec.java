@@ -0,0 +1,180 @@
+package org.example.codec;
+
+import org.example.cache.DnaKey;
+import org.example.dto.PackedDna;
+import org.example.exception.InvalidDnaException;
+import org.example.exception.PayloadTooLargeException;
+import org.example.service.DnaBases;
+import org.example.service.OffHeapCells;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * Codec del formato binario application/x-dna-packed.
+ *
+ * FORMATO:
+ * - N (4 bytes, big-endian): tamaño de la matriz
+ * - flags (1 byte): reservado, debe ser 0
+ * - ceil(N² / 4) bytes: bases a 2 bits (ver {@link PackedDna})
+ *
+ * {@link #encode(String[])} es la utilidad para clientes que quieran enviar
+ * matrices grandes sin el costo de JSON (comillas, comas, un String por fila).
+ *
+ * Desde N = offHeapMinSize (y por encima de las claves literales) el cuerpo se
+ * decodifica por bloques directo a {@link OffHeapCells}, calculando el digest de
+ * la clave en la misma pasada: los bytes empaquetados no llegan a existir en el heap.
+ */
+public final class DnaPackedCodec {
+
+    public static final String MEDIA_TYPE = "application/x-dna-packed";
+    public static final int HEADER_BYTES = 5;
+
+    private static final int CHUNK_BYTES = 1 << 13;
+
+    private DnaPackedCodec() {
+    }
+
+    /**
+     * Codifica una matriz de ADN (lado cliente).
+     *
+     * @throws InvalidDnaException si la matriz no es NxN o tiene bases inválidas
+     */
+    public static byte[] encode(String[] dna) {
+        int n = dna.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (int) PackedDna.packedLength(n));
+        buffer.putInt(n);
+        buffer.put((byte) 0);
+
+        byte[] body = buffer.array();
+        for (int row = 0; row < n; row++) {
+            if (dna[row] == null || dna[row].length() != n) {
+                throw InvalidDnaException.notSquare();
+            }
+            for (int col = 0; col < n; col++) {
+                int code = DnaBases.code(dna[row].charAt(col));
+                if (code == DnaBases.INVALID) {
+                    throw InvalidDnaException.invalidBase(dna[row].charAt(col));
+                }
+                int cell = row * n + col;
+                body[HEADER_BYTES + (cell >>> 2)] |= (byte) (code << ((cell & 3) << 1));
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Cuerpo binario completo (header y bases) de una matriz ya empaquetada,
+     * sin reconstruir las filas.
+     */
+    public static byte[] encode(PackedDna dna) {
+        int n = dna.getSize();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (int) PackedDna.packedLength(n));
+        buffer.putInt(n);
+        buffer.put((byte) 0);
+        if (!dna.isOffHeap()) {
+            return buffer.put(dna.getPacked()).array();
+        }
+
+        byte[] body = buffer.array();
+        for (int cell = 0; cell < n * n; cell++) {
+            body[HEADER_BYTES + (cell >>> 2)] |= (byte) (dna.code(cell) << ((cell & 3) << 1));
+        }
+        return body;
+    }
+
+    /**
+     * Decodifica un cuerpo binario leyendo como máximo los bytes que declara el header
+     * (más uno, para detectar bytes sobrantes).
+     *
+     * Solo se rechazan aquí los errores de formato (flags, tamaño máximo, bytes máximos).
+     * Un header incompleto se devuelve como matriz vacía; que la matriz no esté vacía,
+     * sea NxN y al menos 4x4 lo valida {@code @ValidPackedDna}, con los mismos mensajes
+     * y el mismo ErrorResponse que el cuerpo JSON.
+     *
+     * @param maxBodyBytes Máximo de bytes del cuerpo (header incluido) que puede declarar N
+     * @throws InvalidDnaException si el header no es válido
+     * @throws PayloadTooLargeException si N requiere más de maxBodyBytes
+     */
+    public static PackedDna decode(InputStream body, long maxSize, long maxBodyBytes) throws IOException {
+        return decode(body, maxSize, maxBodyBytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Igual que {@link #decode(InputStream, long, long)}; desde offHeapMinSize la matriz
+     * vuelve fuera del heap y quien la recibe debe cerrarla.
+     *
+     * @param offHeapMinSize N a partir del cual decodificar fuera del heap (ver MutantDetector)
+     */
+    public static PackedDna decode(InputStream body, long maxSize, long maxBodyBytes, int offHeapMinSize)
+            throws IOException {
+        byte[] header = body.readNBytes(HEADER_BYTES);
+        if (header.length < HEADER_BYTES) {
+            return new PackedDna(0, new byte[0]);
+        }
+
+        long n = ByteBuffer.wrap(header).getInt() & 0xFFFFFFFFL;
+        int flags = header[4];
+        if (flags != 0) {
+            throw new InvalidDnaException("Formato binario no soportado (flags=" + flags + ")");
+        }
+        if (n > maxSize) {
+            throw new InvalidDnaException("La matriz de ADN supera el tamaño máximo: " + maxSize + "x" + maxSize);
+        }
+        if (HEADER_BYTES + PackedDna.packedLength(n) > maxBodyBytes) {
+            throw new PayloadTooLargeException(maxBodyBytes);
+        }
+
+        if (n > DnaKey.MAX_LITERAL_SIZE && n >= offHeapMinSize) {
+            return decodeOffHeap(body, (int) n);
+        }
+
+        // readNBytes no reserva de antemano: un header mentiroso no fuerza una asignación grande
+        byte[] packed = body.readNBytes((int) PackedDna.packedLength(n) + 1);
+        return new PackedDna((int) n, packed);
+    }
+
+    /**
+     * Lee las bases por bloques de {@link #CHUNK_BYTES}, expandiendo cada byte a 4
+     * celdas en memoria nativa y actualizando el SHA-256 de la clave.
+     * Un cuerpo truncado o con bytes sobrantes libera la memoria y vuelve con
+     * largo inválido, para que {@code @ValidPackedDna} dé el mismo error que siempre.
+     */
+    private static PackedDna decodeOffHeap(InputStream body, int n) throws IOException {
+        long cells = (long) n * n;
+        int remaining = (int) PackedDna.packedLength(n);
+        OffHeapCells offHeap = OffHeapCells.allocate(n);
+        try {
+            MemorySegment segment = offHeap.segment();
+            MessageDigest sha = DnaKey.sha256();
+            byte[] chunk = new byte[CHUNK_BYTES];
+            long cell = 0;
+            int read;
+            while (remaining > 0 && (read = body.readNBytes(chunk, 0, Math.min(CHUNK_BYTES, remaining))) > 0) {
+                remaining -= read;
+                if (remaining == 0) {
+                    chunk[read - 1] = DnaKey.lastPackedByte(chunk[read - 1], n);
+                }
+                sha.update(chunk, 0, read);
+                for (int i = 0; i < read; i++) {
+                    int bits = chunk[i];
+                    for (int shift = 0; shift < 8 && cell < cells; shift += 2) {
+                        segment.set(ValueLayout.JAVA_BYTE, cell++, (byte) ((bits >>> shift) & 0b11));
+                    }
+                }
+            }
+            if (remaining > 0 || body.read() >= 0) {
+                offHeap.close();
+                return new PackedDna(n, new byte[0]);
+            }
+            return PackedDna.offHeap(n, offHeap, sha.digest());
+        } catch (IOException | RuntimeException e) {
+            offHeap.close();
+            throw e;
+        }
+    }
+}
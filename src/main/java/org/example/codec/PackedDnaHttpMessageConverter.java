@@ -0,0 +1,69 @@
+package org.example.codec;
+
+import org.example.dto.PackedDna;
+import org.example.exception.PayloadTooLargeException;
+import org.example.service.MutantDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * HttpMessageConverter para application/x-dna-packed.
+ *
+ * Lee el header y exactamente ceil(N² / 4) bytes directo al {@link PackedDna},
+ * sin pasar por Jackson ni crear un String por fila. Spring Boot lo registra
+ * automáticamente por ser un bean de tipo HttpMessageConverter.
+ *
+ * Un cuerpo que declara (por Content-Length o por N) más de
+ * mutant.packed.max-body-bytes se rechaza con 413 antes de leer las bases.
+ * Desde el N fuera del heap de MutantDetector la matriz se decodifica directo a
+ * memoria nativa; el controller la libera al responder.
+ */
+@Component
+public class PackedDnaHttpMessageConverter extends AbstractHttpMessageConverter<PackedDna> {
+
+    public static final MediaType PACKED_DNA = MediaType.parseMediaType(DnaPackedCodec.MEDIA_TYPE);
+
+    /**
+     * Lado máximo aceptado (nunca más de 46340: 46340² < Integer.MAX_VALUE celdas).
+     */
+    private final long maxSize;
+    private final long maxBodyBytes;
+    private final ObjectProvider<MutantDetector> mutantDetector;
+
+    public PackedDnaHttpMessageConverter(ObjectProvider<MutantDetector> mutantDetector,
+                                         @Value("${mutant.packed.max-size:8192}") long maxSize,
+                                         @Value("${mutant.packed.max-body-bytes:17825792}") long maxBodyBytes) {
+        super(PACKED_DNA);
+        this.mutantDetector = mutantDetector;
+        this.maxSize = maxSize;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PackedDna.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected PackedDna readInternal(Class<? extends PackedDna> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        if (inputMessage.getHeaders().getContentLength() > maxBodyBytes) {
+            throw new PayloadTooLargeException(maxBodyBytes);
+        }
+        MutantDetector detector = mutantDetector.getIfAvailable();
+        int offHeapMinSize = detector != null ? detector.getOffHeapMinSize() : Integer.MAX_VALUE;
+        return DnaPackedCodec.decode(inputMessage.getBody(), maxSize, maxBodyBytes, offHeapMinSize);
+    }
+
+    @Override
+    protected void writeInternal(PackedDna dna, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(DnaPackedCodec.encode(dna));
+    }
+}
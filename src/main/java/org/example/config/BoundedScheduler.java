@@ -0,0 +1,65 @@
+package org.example.config;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler de trabajo CPU del stack reactivo con backpressure explícita.
+ *
+ * Los workers son un {@link reactor.core.scheduler.Schedulers#newParallel} (un
+ * thread por core: más threads solo competirían por CPU), pero sus colas no
+ * tienen límite. La cota la pone este wrapper: cuenta las tareas en cola y en
+ * ejecución y, si admitir una más supera maxPending, la rechaza de inmediato con
+ * RejectedExecutionException (503) en vez de acumular latencia.
+ */
+public class BoundedScheduler implements Disposable {
+
+    private final Scheduler scheduler;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public BoundedScheduler(Scheduler scheduler, int maxPending) {
+        this.scheduler = scheduler;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Ejecuta la tarea en un worker al suscribirse. Un resultado null completa vacío.
+     *
+     * @return Mono con el resultado, o error RejectedExecutionException si no hay lugar
+     */
+    public <T> Mono<T> offload(Callable<T> task) {
+        return Mono.defer(() -> {
+            if (pending.incrementAndGet() > maxPending) {
+                pending.decrementAndGet();
+                return Mono.error(new RejectedExecutionException(
+                    "Cola de detección llena (" + maxPending + " tareas)"));
+            }
+            return Mono.fromCallable(task)
+                .subscribeOn(scheduler)
+                .doFinally(signal -> pending.decrementAndGet());
+        });
+    }
+
+    /**
+     * Tareas en cola y en ejecución.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void dispose() {
+        scheduler.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return scheduler.isDisposed();
+    }
+}
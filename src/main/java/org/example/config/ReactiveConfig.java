@@ -0,0 +1,28 @@
+package org.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuración del stack reactivo (perfil "reactive").
+ *
+ * MutantDetector, la canonicalización y la validación de la matriz son CPU-bound:
+ * no deben ejecutarse en los event loops de Netty. Se delegan a un scheduler
+ * paralelo de un thread por core, con un límite de tareas pendientes; al
+ * superarlo la tarea se rechaza y el request responde 503.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public BoundedScheduler detectionScheduler(
+            @Value("${mutant.reactive.detection-threads:0}") int threads,
+            @Value("${mutant.reactive.detection-queue:10000}") int queue) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedScheduler(Schedulers.newParallel("mutant-detection", size), queue);
+    }
+}
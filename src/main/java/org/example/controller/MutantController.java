@@ -8,31 +8,51 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.admission.AdmissionControl;
+import org.example.cluster.ClusterRouter;
+import org.example.codec.DnaPackedCodec;
+import org.example.delta.DeltaMatrixCache;
 import org.example.dto.DnaRequest;
+import org.example.dto.PackedDna;
 import org.example.dto.StatsResponse;
+import org.example.dto.UniqueStatsResponse;
 import org.example.service.MutantService;
 import org.example.service.StatsService;
+import org.example.service.StatsSnapshot;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Controlador REST para endpoints de detección de mutantes.
  * 
  * Endpoints:
  * - POST /mutant/ - Detecta si un ADN es mutante
  * - GET /stats - Obtiene estadísticas de verificaciones
+ * - GET /stats/unique - Estima ADN distintos por hora o día
  * 
  * Patrón: REST Controller + Dependency Injection
+ * (Con el perfil "reactive" lo reemplaza ReactiveMutantController)
  */
 @RestController
 @RequestMapping
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Tag(name = "Mutant Detection", description = "API para detección de mutantes y estadísticas")
 public class MutantController {
 
     private final MutantService mutantService;
     private final StatsService statsService;
+    private final AdmissionControl admissionControl;
+    private final ClusterRouter clusterRouter;
+    private final DeltaMatrixCache deltaMatrixCache;
 
     /**
      * GET / - Health check
@@ -46,8 +66,13 @@ public class MutantController {
      * POST /mutant/
      * 
      * Detecta si una secuencia de ADN pertenece a un mutante.
+     * En modo cluster, si el ADN pertenece a otra instancia se le reenvía
+     * (ver ClusterRouter); si no responde, se procesa local.
+     * Con mutant.delta.enabled, el header X-Dna-Id identifica al ADN como base
+     * de futuras diferencias (PATCH /mutant).
      * 
      * @param request DTO con el array de ADN
+     * @param forwardedBy Presente si otra instancia del cluster reenvió el request
      * @return 200 OK si es mutante, 403 FORBIDDEN si es humano
      */
     @PostMapping("/mutant")
@@ -71,15 +96,48 @@ public class MutantController {
             responseCode = "400",
             description = "ADN inválido (matriz no NxN, caracteres inválidos, etc.)",
             content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Servicio saturado: reintentar luego del header Retry-After",
+            content = @Content
         )
     })
-    public ResponseEntity<Void> isMutant(@Valid @RequestBody DnaRequest request) {
-        boolean isMutant = mutantService.analyzeDna(request.getDna());
-        
-        if (isMutant) {
-            return ResponseEntity.ok().build();
-        } else {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    public ResponseEntity<Void> isMutant(
+            @Valid @RequestBody DnaRequest request,
+            @RequestHeader(value = ClusterRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        String[] dna = request.getDna();
+        boolean isMutant = clusterRouter.route(dna, forwardedBy)
+            .orElseGet(() -> admissionControl.execute(dna.length, () -> mutantService.analyzeDna(dna)));
+        return verdict(isMutant, deltaMatrixCache.remember(dna));
+    }
+
+    /**
+     * POST /mutant/ (Content-Type: application/x-dna-packed)
+     * 
+     * Misma semántica que el endpoint JSON, con el ADN en formato binario
+     * empaquetado a 2 bits por base (ver DnaPackedCodec).
+     * 
+     * @param dna Matriz decodificada por PackedDnaHttpMessageConverter
+     * @param forwardedBy Presente si otra instancia del cluster reenvió el request
+     * @return 200 OK si es mutante, 403 FORBIDDEN si es humano
+     */
+    @PostMapping(value = "/mutant", consumes = DnaPackedCodec.MEDIA_TYPE)
+    @Operation(
+        summary = "Detectar mutante (binario)",
+        description = "Igual que POST /mutant con el cuerpo en application/x-dna-packed: " +
+                      "N (int big-endian), flags (1 byte, 0) y las bases a 2 bits (A=0, C=1, G=2, T=3)."
+    )
+    public ResponseEntity<Void> isMutantPacked(
+            @Valid @RequestBody PackedDna dna,
+            @RequestHeader(value = ClusterRouter.FORWARDED_HEADER, required = false) String forwardedBy) {
+        // El dueño sale de los bytes empaquetados; las filas solo se reconstruyen
+        // para registrar la base de diferencias, si entra en la caché.
+        // Las matrices grandes vienen fuera del heap: se liberan al responder
+        try (dna) {
+            boolean isMutant = clusterRouter.route(dna, forwardedBy).orElseGet(
+                () -> admissionControl.execute(dna.getSize(), () -> mutantService.analyzePackedDna(dna)));
+            return verdict(isMutant, deltaMatrixCache.remember(dna));
         }
     }
 
@@ -87,8 +145,11 @@ public class MutantController {
      * GET /stats
      * 
      * Obtiene estadísticas de las verificaciones de ADN realizadas.
+     * Responde el JSON ya serializado del snapshot vigente (ver StatsService) con
+     * ETag y Cache-Control; si If-None-Match coincide, 304 sin cuerpo.
      * 
-     * @return StatsResponse con contadores y ratio
+     * @param ifNoneMatch ETags que el cliente ya tiene
+     * @return StatsResponse serializado con contadores y ratio, o 304
      */
     @GetMapping("/stats")
     @Operation(
@@ -103,10 +164,72 @@ public class MutantController {
                 mediaType = "application/json",
                 schema = @Schema(implementation = StatsResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Sin cambios respecto del ETag enviado en If-None-Match",
+            content = @Content
         )
     })
-    public ResponseEntity<StatsResponse> getStats() {
-        StatsResponse stats = statsService.getStats();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<byte[]> getStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        StatsSnapshot snapshot = statsService.getSnapshot();
+        CacheControl cacheControl = CacheControl.maxAge(snapshot.maxAgeSeconds(), TimeUnit.SECONDS);
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(snapshot.etag())
+            .cacheControl(cacheControl)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.json());
+    }
+
+    /**
+     * GET /stats/unique
+     *
+     * Estima cuántos ADN distintos se analizaron por hora o por día, incluyendo
+     * los repetidos resueltos desde caché.
+     *
+     * @param granularity "hour" o "day" (UTC)
+     * @param limit       Cantidad de buckets, del más reciente hacia atrás
+     * @return UniqueStatsResponse con la estimación total y por bucket
+     */
+    @GetMapping("/stats/unique")
+    @Operation(
+        summary = "Estimar ADN distintos",
+        description = "Retorna la cantidad estimada (HyperLogLog, error ≈ 0,81%) de ADN distintos, " +
+                      "mutantes y humanos, por hora o por día."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estimaciones obtenidas exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UniqueStatsResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Granularidad o límite inválidos",
+            content = @Content
+        )
+    })
+    public ResponseEntity<UniqueStatsResponse> getUniqueStats(
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(defaultValue = "24") int limit) {
+        return ResponseEntity.ok(statsService.getUniqueStats(granularity, limit));
+    }
+
+    private ResponseEntity<Void> verdict(boolean isMutant, Optional<String> dnaId) {
+        ResponseEntity.BodyBuilder response = isMutant
+            ? ResponseEntity.ok()
+            : ResponseEntity.status(HttpStatus.FORBIDDEN);
+        dnaId.ifPresent(id -> response.header(DeltaMatrixCache.ID_HEADER, id));
+        return response.build();
     }
 }
@@ -0,0 +1,91 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.admission.AdmissionControl;
+import org.example.delta.DeltaMatrixCache;
+import org.example.delta.DnaDeltaService;
+import org.example.dto.DnaDeltaRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para reenviar ADN como diferencia contra uno ya analizado.
+ *
+ * Endpoints:
+ * - PATCH /mutant - Aplica filas modificadas sobre un ADN base y detecta
+ *
+ * Opt-in (mutant.delta.enabled=true). Las bases son las matrices recientes de
+ * POST /mutant y PATCH /mutant (header X-Dna-Id), en una caché por instancia.
+ * Pasa por el mismo control de admisión que POST /mutant.
+ */
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "mutant.delta", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "Mutant Detection", description = "API para detección de mutantes y estadísticas")
+public class MutantDeltaController {
+
+    private final DnaDeltaService dnaDeltaService;
+    private final AdmissionControl admissionControl;
+
+    /**
+     * PATCH /mutant
+     *
+     * @param request ADN base y filas modificadas
+     * @return 200 OK si es mutante, 403 FORBIDDEN si es humano; X-Dna-Id identifica el ADN resultante
+     */
+    @PatchMapping("/mutant")
+    @Operation(
+        summary = "Detectar mutante (diferencia)",
+        description = "Reemplaza filas de un ADN ya enviado (base = header X-Dna-Id de una respuesta previa) " +
+                      "y recalcula solo las filas afectadas. Retorna 200-OK si es mutante, 403-Forbidden si es humano."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Es mutante",
+            content = @Content(schema = @Schema(implementation = Void.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Es humano (no mutante)",
+            content = @Content(schema = @Schema(implementation = Void.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Diferencia inválida (fila fuera de rango, largo distinto de N, caracteres inválidos)",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "ADN base desconocido o desalojado: reenviar la matriz completa con POST /mutant",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Servicio saturado: reintentar luego del header Retry-After",
+            content = @Content
+        )
+    })
+    public ResponseEntity<Void> applyDelta(@Valid @RequestBody DnaDeltaRequest request) {
+        // Tamaño para el bulkhead: el N de la base, no el largo (sin validar) de una fila
+        DeltaMatrixCache.DeltaBase base = dnaDeltaService.base(request.getBase());
+        DnaDeltaService.DeltaResult result = admissionControl.execute(base.rows().length,
+            () -> dnaDeltaService.apply(base, request));
+        return ResponseEntity.status(result.isMutant() ? HttpStatus.OK : HttpStatus.FORBIDDEN)
+            .header(DeltaMatrixCache.ID_HEADER, result.id())
+            .build();
+    }
+}
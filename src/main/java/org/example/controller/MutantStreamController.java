@@ -0,0 +1,60 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.service.DnaStreamService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+/**
+ * Controlador REST para el procesamiento masivo de ADN en streaming.
+ * 
+ * Endpoints:
+ * - POST /mutant/stream - Analiza ADN en NDJSON y responde un veredicto por línea
+ * 
+ * El cuerpo se consume de a una línea mientras se escribe la respuesta, por lo que
+ * uploads de millones de muestras no se cargan completos en memoria.
+ */
+@RestController
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Tag(name = "Mutant Detection", description = "API para detección de mutantes y estadísticas")
+public class MutantStreamController {
+
+    private final DnaStreamService dnaStreamService;
+
+    /**
+     * POST /mutant/stream
+     * 
+     * @param body Cuerpo NDJSON: un objeto {"dna": [...]} por línea
+     * @return 200 OK con un DnaStreamResult por línea, en el orden de entrada
+     */
+    @PostMapping(
+        value = "/mutant/stream",
+        consumes = MediaType.APPLICATION_NDJSON_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @Operation(
+        summary = "Detectar mutantes en lote (NDJSON)",
+        description = "Recibe un ADN por línea ({\"dna\": [...]}) y responde, en el mismo orden, " +
+                      "una línea {\"line\": n, \"mutant\": true|false} o {\"line\": n, \"error\": \"...\"}. " +
+                      "Los resultados se envían a medida que se procesan."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stream de veredictos NDJSON")
+    })
+    public ResponseEntity<StreamingResponseBody> streamMutants(InputStream body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> dnaStreamService.process(body, out));
+    }
+}
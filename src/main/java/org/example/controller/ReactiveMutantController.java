@@ -0,0 +1,87 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.DnaRequest;
+import org.example.dto.StatsResponse;
+import org.example.dto.UniqueStatsResponse;
+import org.example.service.ReactiveMutantService;
+import org.example.service.ReactiveStatsService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador WebFlux (Netty) equivalente a {@link MutantController}.
+ * 
+ * Endpoints:
+ * - POST /mutant - Detecta si un ADN es mutante
+ * - GET /stats - Obtiene estadísticas de verificaciones
+ * - GET /stats/unique - Estima ADN distintos por hora o día
+ * 
+ * Se activa con el perfil "reactive" para comparar contra el stack servlet.
+ */
+@RestController
+@RequestMapping
+@Profile("reactive")
+@RequiredArgsConstructor
+@Tag(name = "Mutant Detection (reactive)", description = "API reactiva para detección de mutantes y estadísticas")
+public class ReactiveMutantController {
+
+    private final ReactiveMutantService mutantService;
+    private final ReactiveStatsService statsService;
+
+    /**
+     * GET / - Health check
+     */
+    @GetMapping("/")
+    public Mono<String> healthCheck() {
+        return Mono.just("Mutant Detector API (reactive) is running!");
+    }
+
+    /**
+     * POST /mutant
+     * 
+     * Sin @Valid: la validación recorre las N² bases y el servicio la hace fuera
+     * del event loop.
+     *
+     * @param request DTO con el array de ADN
+     * @return 200 OK si es mutante, 403 FORBIDDEN si es humano
+     */
+    @PostMapping("/mutant")
+    @Operation(summary = "Detectar mutante")
+    public Mono<ResponseEntity<Void>> isMutant(@RequestBody DnaRequest request) {
+        return mutantService.analyzeDna(request.getDna())
+            .map(isMutant -> isMutant
+                ? ResponseEntity.ok().<Void>build()
+                : ResponseEntity.status(HttpStatus.FORBIDDEN).<Void>build());
+    }
+
+    /**
+     * GET /stats
+     * 
+     * @return StatsResponse con contadores y ratio
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Obtener estadísticas")
+    public Mono<StatsResponse> getStats() {
+        return statsService.getStats();
+    }
+
+    /**
+     * GET /stats/unique
+     *
+     * @param granularity "hour" o "day" (UTC)
+     * @param limit       Cantidad de buckets, del más reciente hacia atrás
+     * @return UniqueStatsResponse con la estimación total y por bucket
+     */
+    @GetMapping("/stats/unique")
+    @Operation(summary = "Estimar ADN distintos")
+    public Mono<UniqueStatsResponse> getUniqueStats(@RequestParam(defaultValue = "hour") String granularity,
+                                                    @RequestParam(defaultValue = "24") int limit) {
+        return statsService.getUniqueStats(granularity, limit);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.admission.AdmissionControl;
+import org.example.dto.DnaRequest;
+import org.example.dto.SequenceAnalysisResponse;
+import org.example.dto.SequenceHistogramResponse;
+import org.example.service.SequenceAnalysisService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST del análisis completo de secuencias (uso offline / investigación).
+ *
+ * Endpoints:
+ * - POST /mutant/analyze - Cuenta todas las secuencias por dirección y base
+ * - GET /mutant/analyze/histogram - Histogramas agregados de las muestras analizadas
+ *
+ * Opt-in (mutant.analyze.enabled=true): el conteo completo no tiene early
+ * termination, así que cuesta O(N²) aun en mutantes. Pasa por el mismo
+ * control de admisión que POST /mutant.
+ */
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "mutant.analyze", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "Mutant Detection", description = "API para detección de mutantes y estadísticas")
+public class SequenceAnalysisController {
+
+    private final SequenceAnalysisService sequenceAnalysisService;
+    private final AdmissionControl admissionControl;
+
+    /**
+     * POST /mutant/analyze
+     *
+     * @param request DTO con el array de ADN
+     * @return 200 OK con el conteo completo, sea mutante o humano
+     */
+    @PostMapping("/mutant/analyze")
+    @Operation(
+        summary = "Analizar secuencias",
+        description = "Cuenta todas las secuencias de 4 bases iguales por dirección (→ ↓ ↘ ↙) y por base. " +
+                      "Siempre responde 200-OK; el veredicto va en el campo \"mutant\"."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Conteo completo",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SequenceAnalysisResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "ADN inválido (matriz no NxN, caracteres inválidos, etc.)",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Servicio saturado: reintentar luego del header Retry-After",
+            content = @Content
+        )
+    })
+    public ResponseEntity<SequenceAnalysisResponse> analyze(@Valid @RequestBody DnaRequest request) {
+        String[] dna = request.getDna();
+        return ResponseEntity.ok(admissionControl.execute(dna.length, () -> sequenceAnalysisService.analyze(dna)));
+    }
+
+    /**
+     * GET /mutant/analyze/histogram
+     *
+     * @return Histogramas agregados desde el arranque
+     */
+    @GetMapping("/mutant/analyze/histogram")
+    @Operation(
+        summary = "Histogramas de secuencias",
+        description = "Totales por dirección y base de todas las muestras analizadas y distribución " +
+                      "de secuencias por muestra. Se mantienen en memoria desde el arranque."
+    )
+    public ResponseEntity<SequenceHistogramResponse> histogram() {
+        return ResponseEntity.ok(sequenceAnalysisService.histogram());
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.delta;
+
+import org.example.cache.DnaHashing;
+import org.example.dto.PackedDna;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché LRU de matrices recientes que pueden usarse como base de un PATCH /mutant.
+ *
+ * Cada entrada guarda las filas (los mismos String del request, sin copiarlos) y,
+ * una vez calculado, el conteo de secuencias que comienza en cada fila. La clave
+ * es {@link DnaHashing#hash64(String[])} del ADN tal como lo envió el cliente, que
+ * la recibe en hexadecimal en el header {@link #ID_HEADER}.
+ *
+ * Acotada por cantidad de entradas y por celdas totales (N² por matriz), así unas
+ * pocas matrices gigantes no desplazan a cientos de chicas ni crecen sin límite.
+ * Un LinkedHashMap en orden de acceso bajo un ReentrantLock alcanza: cada operación
+ * es O(1) y el trabajo pesado (hash, conteos) se hace fuera del lock.
+ */
+@Component
+public class DeltaMatrixCache {
+
+    public static final String ID_HEADER = "X-Dna-Id";
+
+    private final boolean enabled;
+    private final int capacity;
+    private final long maxCells;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, DeltaBase> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cells;
+
+    public DeltaMatrixCache(@Value("${mutant.delta.enabled:false}") boolean enabled,
+                            @Value("${mutant.delta.capacity:1024}") int capacity,
+                            @Value("${mutant.delta.max-cells:67108864}") long maxCells) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Matriz base de una diferencia.
+     *
+     * @param rows      Filas de la matriz (no se modifican: cada diferencia trabaja sobre una copia)
+     * @param rowStarts Secuencias que comienzan en cada fila, o null si aún no se calcularon
+     */
+    public record DeltaBase(String[] rows, int[] rowStarts) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra un ADN analizado por POST /mutant como posible base de diferencias.
+     * No recalcula nada: los conteos por fila se calculan recién en el primer PATCH.
+     *
+     * @param dna ADN ya validado
+     * @return Identificador para el header {@link #ID_HEADER}, o vacío si está desactivado
+     *         o la matriz no entra en la caché
+     */
+    public Optional<String> remember(String[] dna) {
+        if (!accepts(dna.length)) {
+            return Optional.empty();
+        }
+        long hash = DnaHashing.hash64(dna);
+        lock.lock();
+        try {
+            // Si ya estaba, se conservan los conteos por fila calculados
+            if (entries.get(hash) == null) {
+                insert(hash, new DeltaBase(dna.clone(), null));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(id(hash));
+    }
+
+    /**
+     * Igual que {@link #remember(String[])} para un cuerpo binario. Las filas se
+     * reconstruyen solo si la matriz entra en la caché.
+     */
+    public Optional<String> remember(PackedDna dna) {
+        return accepts(dna.getSize()) ? remember(dna.toRows()) : Optional.empty();
+    }
+
+    public Optional<DeltaBase> get(long hash) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(entries.get(hash));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda (o reemplaza) una matriz con sus conteos por fila ya calculados.
+     */
+    public void put(long hash, DeltaBase base) {
+        if (!accepts(base.rows().length)) {
+            return;
+        }
+        lock.lock();
+        try {
+            insert(hash, base);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean accepts(long n) {
+        return enabled && n * n <= maxCells;
+    }
+
+    private void insert(long hash, DeltaBase base) {
+        DeltaBase previous = entries.put(hash, base);
+        if (previous != null) {
+            cells -= cellsOf(previous);
+        }
+        cells += cellsOf(base);
+
+        // Desalojo LRU: la entrada recién insertada es la última del orden de acceso
+        Iterator<Map.Entry<Long, DeltaBase>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > capacity || cells > maxCells) && entries.size() > 1) {
+            cells -= cellsOf(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long cellsOf(DeltaBase base) {
+        return (long) base.rows().length * base.rows().length;
+    }
+
+    /**
+     * Identificador público de un ADN: hash de 64 bits en 16 dígitos hexadecimales.
+     */
+    public static String id(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    /**
+     * Operación inversa de {@link #id(long)}.
+     *
+     * @throws IllegalArgumentException si no es un hexadecimal de hasta 64 bits
+     */
+    public static long parseId(String id) {
+        try {
+            return Long.parseUnsignedLong(id.trim(), 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identificador de ADN inválido: " + id);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.delta;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cache.DnaHashing;
+import org.example.dto.DnaDeltaRequest;
+import org.example.exception.InvalidDnaException;
+import org.example.exception.UnknownDnaBaseException;
+import org.example.service.DnaBases;
+import org.example.service.MutantService;
+import org.example.service.detection.SequenceCounter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reevaluación incremental de ADN enviado como diferencia (PATCH /mutant).
+ *
+ * Una secuencia que comienza en la fila r solo lee las filas r..r+3. Con los
+ * conteos por fila de la matriz base ({@link DeltaMatrixCache}), cambiar la fila k
+ * solo invalida los conteos de las filas k-3..k: se recuentan esas filas sobre una
+ * ventana de 4 filas codificadas y el resto se reutiliza. El veredicto sale de la
+ * suma (mutante si hay más de una secuencia, igual que MutantDetector).
+ *
+ * La primera diferencia sobre una base recién registrada calcula sus conteos
+ * completos una vez (O(N²)); las siguientes cuestan O(N) por fila cambiada.
+ * La matriz resultante se guarda como cualquier otro registro y queda a su vez
+ * como base de nuevas diferencias.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class DnaDeltaService {
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    private final DeltaMatrixCache deltaMatrixCache;
+    private final MutantService mutantService;
+
+    /**
+     * Resultado de una diferencia.
+     *
+     * @param id            Identificador de la matriz resultante (base de la próxima diferencia)
+     * @param isMutant      Veredicto
+     * @param rescannedRows Filas cuyos conteos se recalcularon
+     */
+    public record DeltaResult(String id, boolean isMutant, int rescannedRows) {
+    }
+
+    /**
+     * Base de la caché, sin calcular sus conteos (O(1)): su N dimensiona la admisión.
+     *
+     * @throws UnknownDnaBaseException si la base no está (o ya no está) en caché
+     */
+    public DeltaMatrixCache.DeltaBase base(String id) {
+        return deltaMatrixCache.get(DeltaMatrixCache.parseId(id))
+            .orElseThrow(() -> new UnknownDnaBaseException(id));
+    }
+
+    /**
+     * Aplica las filas modificadas sobre la base y resuelve el veredicto.
+     *
+     * @throws UnknownDnaBaseException si la base no está (o ya no está) en caché
+     * @throws InvalidDnaException     si una fila está fuera de rango, no tiene N bases o tiene bases inválidas
+     */
+    public DeltaResult apply(DnaDeltaRequest request) {
+        return apply(base(request.getBase()), request);
+    }
+
+    /**
+     * Aplica las filas modificadas sobre una base ya obtenida con {@link #base(String)}.
+     * Las filas se validan antes de calcular los conteos de la base (O(N²) la
+     * primera vez), así una diferencia inválida no paga ese recorrido.
+     *
+     * @throws InvalidDnaException si una fila está fuera de rango, no tiene N bases o tiene bases inválidas
+     */
+    public DeltaResult apply(DeltaMatrixCache.DeltaBase base, DnaDeltaRequest request) {
+        String[] rows = base.rows().clone();
+        int n = rows.length;
+
+        boolean[] dirty = new boolean[n];
+        for (DnaDeltaRequest.RowChange change : request.getRows()) {
+            int index = change.getIndex();
+            if (index < 0 || index >= n) {
+                throw new InvalidDnaException("Fila fuera de rango: " + index + " (N = " + n + ")");
+            }
+            rows[index] = validateRow(change.getBases(), n);
+            for (int row = Math.max(0, index - SEQUENCE_LENGTH + 1); row <= index; row++) {
+                dirty[row] = true;
+            }
+        }
+
+        int[] rowStarts = counted(request.getBase(), base).rowStarts().clone();
+        int rescanned = 0;
+        byte[] window = new byte[SEQUENCE_LENGTH * n];
+        for (int row = 0; row < n; row++) {
+            if (dirty[row]) {
+                rowStarts[row] = countRowStarts(rows, row, window);
+                rescanned++;
+            }
+        }
+
+        long sequences = 0;
+        for (int count : rowStarts) {
+            sequences += count;
+        }
+        boolean isMutant = sequences > 1;
+
+        long hash = DnaHashing.hash64(rows);
+        deltaMatrixCache.put(hash, new DeltaMatrixCache.DeltaBase(rows, rowStarts));
+        // Caché, BD y guardado como un POST /mutant; el veredicto ya está calculado
+        boolean verdict = mutantService.analyzeDna(rows, () -> isMutant);
+        return new DeltaResult(DeltaMatrixCache.id(hash), verdict, rescanned);
+    }
+
+    /**
+     * Base con sus conteos por fila, calculándolos la primera vez.
+     */
+    private DeltaMatrixCache.DeltaBase counted(String id, DeltaMatrixCache.DeltaBase base) {
+        if (base.rowStarts() != null) {
+            return base;
+        }
+
+        String[] rows = base.rows();
+        int[] rowStarts = new int[rows.length];
+        byte[] window = new byte[SEQUENCE_LENGTH * rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            rowStarts[row] = countRowStarts(rows, row, window);
+        }
+        DeltaMatrixCache.DeltaBase counted = new DeltaMatrixCache.DeltaBase(rows, rowStarts);
+        deltaMatrixCache.put(DeltaMatrixCache.parseId(id), counted);
+        return counted;
+    }
+
+    /**
+     * Codifica las filas row..row+3 (las que existan) y cuenta las secuencias de row.
+     */
+    private static int countRowStarts(String[] rows, int row, byte[] window) {
+        int n = rows.length;
+        int available = Math.min(SEQUENCE_LENGTH, n - row);
+        for (int offset = 0; offset < available; offset++) {
+            String bases = rows[row + offset];
+            for (int col = 0; col < n; col++) {
+                window[offset * n + col] = (byte) DnaBases.code(bases.charAt(col));
+            }
+        }
+        return SequenceCounter.countRowStarts(window, n, available, 0);
+    }
+
+    private static String validateRow(String bases, int n) {
+        if (bases.length() != n) {
+            throw InvalidDnaException.notSquare();
+        }
+        for (int col = 0; col < n; col++) {
+            char base = bases.charAt(col);
+            if (!DnaBases.isValid(base)) {
+                throw InvalidDnaException.invalidBase(base);
+            }
+        }
+        return bases;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para reenviar un ADN como diferencia contra uno ya analizado (PATCH /mutant).
+ *
+ * Ejemplo de JSON esperado (base = header X-Dna-Id de la respuesta anterior):
+ * {
+ *   "base": "9f3c51e07a2b44d1",
+ *   "rows": [
+ *     {"index": 2, "bases": "TTATTT"},
+ *     {"index": 4, "bases": "GCGTCA"}
+ *   ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaDeltaRequest {
+
+    /**
+     * Identificador (hash hexadecimal) del ADN base.
+     */
+    @NotBlank(message = "El ADN base no puede estar vacío")
+    private String base;
+
+    /**
+     * Filas que cambian respecto del ADN base; el resto se conserva.
+     */
+    @NotNull(message = "Las filas modificadas no pueden ser null")
+    @NotEmpty(message = "Debe indicar al menos una fila modificada")
+    private List<@Valid @NotNull(message = "Las filas modificadas no pueden ser null") RowChange> rows;
+
+    /**
+     * Fila reemplazada.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowChange {
+
+        /**
+         * Índice de la fila (0 = primera).
+         */
+        private int index;
+
+        /**
+         * Nuevo contenido de la fila (N bases A, T, C, G).
+         */
+        @NotNull(message = "Las bases de la fila no pueden ser null")
+        private String bases;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de cada línea de respuesta de POST /mutant/stream (NDJSON).
+ * 
+ * Ejemplos:
+ * {"line":1,"mutant":true}
+ * {"line":2,"error":"La matriz de ADN debe ser al menos de 4x4"}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DnaStreamResult {
+
+    /**
+     * Número de línea (1-based) del ADN en el cuerpo de entrada.
+     */
+    private long line;
+
+    /**
+     * Veredicto; null si la línea es inválida.
+     */
+    private Boolean mutant;
+
+    /**
+     * Motivo por el que la línea no pudo analizarse; null si fue analizada.
+     */
+    private String error;
+
+    public static DnaStreamResult verdict(long line, boolean mutant) {
+        return new DnaStreamResult(line, mutant, null);
+    }
+
+    public static DnaStreamResult error(long line, String error) {
+        return new DnaStreamResult(line, null, error);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.dto;
+
+import lombok.Getter;
+import org.example.service.DnaBases;
+import org.example.service.OffHeapCells;
+import org.example.validation.ValidPackedDna;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Matriz de ADN NxN empaquetada a 2 bits por base (formato application/x-dna-packed).
+ *
+ * Las celdas van fila por fila; la celda k ocupa los bits (k % 4) * 2 del byte k / 4.
+ * Los códigos son los de {@link DnaBases} (A=0, C=1, G=2, T=3).
+ *
+ * Las matrices grandes llegan ya decodificadas fuera del heap (un byte por celda,
+ * ver {@link #offHeap(int, OffHeapCells, byte[])}): no hay bytes empaquetados y la
+ * memoria se libera con {@link #close()} al terminar el request.
+ */
+@Getter
+@ValidPackedDna
+public class PackedDna implements AutoCloseable {
+
+    /**
+     * Tamaño N de la matriz.
+     */
+    private final int size;
+
+    /**
+     * Bases empaquetadas: ceil(N² / 4) bytes si el cuerpo es válido, o null si la
+     * matriz está fuera del heap.
+     */
+    private final byte[] packed;
+
+    /**
+     * SHA-256 de las bases empaquetadas, calculado al decodificar (solo fuera del heap).
+     */
+    private final byte[] digest;
+
+    private final OffHeapCells offHeapCells;
+
+    public PackedDna(int size, byte[] packed) {
+        this(size, packed, null, null);
+    }
+
+    private PackedDna(int size, byte[] packed, byte[] digest, OffHeapCells offHeapCells) {
+        this.size = size;
+        this.packed = packed;
+        this.digest = digest;
+        this.offHeapCells = offHeapCells;
+    }
+
+    /**
+     * Matriz ya decodificada fuera del heap, con exactamente N² celdas.
+     *
+     * @param cells  Códigos de cada celda; pasan a ser de esta instancia
+     * @param digest SHA-256 de las bases empaquetadas (la clave de la BD)
+     */
+    public static PackedDna offHeap(int size, OffHeapCells cells, byte[] digest) {
+        return new PackedDna(size, null, digest, cells);
+    }
+
+    /**
+     * Cantidad de bytes necesarios para N² bases a 2 bits cada una.
+     */
+    public static long packedLength(long size) {
+        return (size * size + 3) / 4;
+    }
+
+    public boolean isOffHeap() {
+        return offHeapCells != null;
+    }
+
+    /**
+     * Celdas fuera del heap (un código por byte), solo si {@link #isOffHeap()}.
+     */
+    public MemorySegment cells() {
+        return offHeapCells.segment();
+    }
+
+    /**
+     * true si el cuerpo trae exactamente los bytes que corresponden a N.
+     */
+    public boolean hasExpectedLength() {
+        return offHeapCells != null || packed != null && packed.length == packedLength(size);
+    }
+
+    /**
+     * Código de 2 bits de la celda indicada (índice fila por fila).
+     */
+    public int code(int cell) {
+        if (offHeapCells != null) {
+            return offHeapCells.segment().get(ValueLayout.JAVA_BYTE, cell);
+        }
+        return (packed[cell >>> 2] >>> ((cell & 3) << 1)) & 0b11;
+    }
+
+    /**
+     * Reconstruye las filas como Strings (necesario para la clave de la BD).
+     */
+    public String[] toRows() {
+        String[] rows = new String[size];
+        char[] row = new char[size];
+        for (int r = 0; r < size; r++) {
+            int offset = r * size;
+            for (int c = 0; c < size; c++) {
+                row[c] = DnaBases.base(code(offset + c));
+            }
+            rows[r] = new String(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Libera las celdas fuera del heap, si las hay.
+     */
+    @Override
+    public void close() {
+        if (offHeapCells != null) {
+            offHeapCells.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para responder con el conteo completo de secuencias en POST /mutant/analyze.
+ *
+ * Ejemplo de JSON de respuesta:
+ * {
+ *   "size": 6,
+ *   "mutant": true,
+ *   "total_sequences": 3,
+ *   "by_direction": {"horizontal": 1, "vertical": 1, "diagonal_down": 1, "diagonal_up": 0},
+ *   "by_base": {"A": 1, "C": 1, "G": 1, "T": 0},
+ *   "counts": {"horizontal": {"A": 0, "C": 1, "G": 0, "T": 0}, ...}
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceAnalysisResponse {
+
+    /**
+     * Tamaño N de la matriz.
+     */
+    @JsonProperty("size")
+    private int size;
+
+    /**
+     * Veredicto (más de una secuencia), igual al de POST /mutant.
+     */
+    @JsonProperty("mutant")
+    private boolean mutant;
+
+    @JsonProperty("total_sequences")
+    private long totalSequences;
+
+    @JsonUnwrapped
+    private SequenceBreakdown breakdown;
+}
@@ -0,0 +1,59 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.service.DnaBases;
+import org.example.service.detection.SequenceCounts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Desglose de secuencias por dirección y por base, compartido por las
+ * respuestas de POST /mutant/analyze y GET /mutant/analyze/histogram.
+ *
+ * Ejemplo de JSON:
+ * {
+ *   "by_direction": {"horizontal": 1, "vertical": 1, "diagonal_down": 1, "diagonal_up": 0},
+ *   "by_base": {"A": 1, "C": 1, "G": 1, "T": 0},
+ *   "counts": {"horizontal": {"A": 0, "C": 1, "G": 0, "T": 0}, ...}
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceBreakdown {
+
+    @JsonProperty("by_direction")
+    private Map<String, Long> byDirection;
+
+    @JsonProperty("by_base")
+    private Map<String, Long> byBase;
+
+    /**
+     * Conteo por dirección y base.
+     */
+    @JsonProperty("counts")
+    private Map<String, Map<String, Long>> counts;
+
+    public static SequenceBreakdown of(SequenceCounts sequences) {
+        Map<String, Long> byDirection = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (SequenceCounts.Direction direction : SequenceCounts.Direction.values()) {
+            byDirection.put(direction.label(), sequences.direction(direction));
+            Map<String, Long> perBase = new LinkedHashMap<>();
+            for (int base = 0; base < SequenceCounts.BASES; base++) {
+                perBase.put(String.valueOf(DnaBases.base(base)), sequences.count(direction, base));
+            }
+            counts.put(direction.label(), perBase);
+        }
+
+        Map<String, Long> byBase = new LinkedHashMap<>();
+        for (int base = 0; base < SequenceCounts.BASES; base++) {
+            byBase.put(String.valueOf(DnaBases.base(base)), sequences.base(base));
+        }
+        return new SequenceBreakdown(byDirection, byBase, counts);
+    }
+}
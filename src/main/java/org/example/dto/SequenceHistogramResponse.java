@@ -0,0 +1,50 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO para responder con los histogramas agregados de GET /mutant/analyze/histogram.
+ *
+ * Ejemplo de JSON de respuesta:
+ * {
+ *   "samples": 120,
+ *   "mutant_samples": 45,
+ *   "total_sequences": 310,
+ *   "by_direction": {...},
+ *   "by_base": {...},
+ *   "counts": {...},
+ *   "sequences_per_sample": {"0": 50, "1": 25, "2-3": 30, "4-7": 15}
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceHistogramResponse {
+
+    /**
+     * Muestras analizadas desde el arranque.
+     */
+    @JsonProperty("samples")
+    private long samples;
+
+    @JsonProperty("mutant_samples")
+    private long mutantSamples;
+
+    @JsonProperty("total_sequences")
+    private long totalSequences;
+
+    @JsonUnwrapped
+    private SequenceBreakdown breakdown;
+
+    /**
+     * Cantidad de muestras por rango de secuencias encontradas (potencias de 2).
+     */
+    @JsonProperty("sequences_per_sample")
+    private Map<String, Long> sequencesPerSample;
+}
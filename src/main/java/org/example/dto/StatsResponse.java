@@ -38,4 +38,12 @@ public class StatsResponse {
      */
     @JsonProperty("ratio")
     private double ratio;
+
+    /**
+     * Crea la respuesta calculando el ratio, manejando división por cero.
+     */
+    public static StatsResponse of(long mutantCount, long humanCount) {
+        double ratio = humanCount > 0 ? (double) mutantCount / humanCount : 0.0;
+        return new StatsResponse(mutantCount, humanCount, ratio);
+    }
 }
@@ -0,0 +1,89 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO para responder con las estimaciones de ADN distintos en /stats/unique.
+ *
+ * Los valores son estimaciones HyperLogLog (error estándar ≈ 0,81%) e incluyen
+ * los ADN resueltos desde caché, no solo los guardados en dna_records.
+ *
+ * Ejemplo de JSON de respuesta:
+ * {
+ *   "granularity": "hour",
+ *   "from": "2024-01-01T10:00:00Z",
+ *   "to": "2024-01-01T12:00:00Z",
+ *   "unique_dna": 1530,
+ *   "unique_mutant_dna": 410,
+ *   "unique_human_dna": 1120,
+ *   "buckets": [
+ *     {"start": "2024-01-01T10:00:00Z", "unique_dna": 800, "unique_mutant_dna": 200, "unique_human_dna": 600},
+ *     {"start": "2024-01-01T11:00:00Z", "unique_dna": 900, "unique_mutant_dna": 250, "unique_human_dna": 650}
+ *   ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniqueStatsResponse {
+
+    /**
+     * Tamaño de cada bucket: "hour" o "day" (UTC).
+     */
+    @JsonProperty("granularity")
+    private String granularity;
+
+    /**
+     * Inicio del bucket más antiguo incluido.
+     */
+    @JsonProperty("from")
+    private Instant from;
+
+    /**
+     * Fin (exclusivo) del bucket más reciente.
+     */
+    @JsonProperty("to")
+    private Instant to;
+
+    /**
+     * ADN distintos en toda la ventana (un ADN repetido en varios buckets cuenta una vez).
+     */
+    @JsonProperty("unique_dna")
+    private long uniqueDna;
+
+    @JsonProperty("unique_mutant_dna")
+    private long uniqueMutantDna;
+
+    @JsonProperty("unique_human_dna")
+    private long uniqueHumanDna;
+
+    /**
+     * Estimación por bucket, del más antiguo al más reciente.
+     */
+    @JsonProperty("buckets")
+    private List<Bucket> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        @JsonProperty("start")
+        private Instant start;
+
+        @JsonProperty("unique_dna")
+        private long uniqueDna;
+
+        @JsonProperty("unique_mutant_dna")
+        private long uniqueMutantDna;
+
+        @JsonProperty("unique_human_dna")
+        private long uniqueHumanDna;
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.durable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compactación online del archivo H2 (MVStore) del perfil "durable".
+ *
+ * El MVStore nunca sobrescribe páginas: cada commit agrega chunks nuevos y los
+ * viejos quedan con datos muertos (filas borradas por la retención, versiones
+ * reemplazadas, rollbacks del calentamiento). H2 solo compacta a fondo al cerrar,
+ * así que en un proceso de larga vida el archivo crece sin límite.
+ *
+ * Cada corrida reescribe los chunks con menos de target-fill-rate % de datos vivos,
+ * hasta write-mb por corrida, mientras la base sigue atendiendo lecturas e inserciones.
+ * El espacio liberado se reutiliza para los chunks nuevos.
+ */
+@Slf4j
+@Component
+@Profile("durable")
+public class DurableStoreCompactor {
+
+    private final DataSource dataSource;
+    private final int targetFillRate;
+    private final int writeBytes;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public DurableStoreCompactor(DataSource dataSource,
+                                 @Value("${mutant.durable.compaction.target-fill-rate:80}") int targetFillRate,
+                                 @Value("${mutant.durable.compaction.write-mb:64}") int writeMb) {
+        this.dataSource = dataSource;
+        this.targetFillRate = targetFillRate;
+        this.writeBytes = writeMb * 1024 * 1024;
+    }
+
+    /**
+     * Resultado de una corrida.
+     *
+     * @param rewritten   Si se reescribió algún chunk
+     * @param bytesBefore Tamaño del archivo antes de compactar
+     * @param bytesAfter  Tamaño del archivo después de compactar
+     */
+    public record Result(boolean rewritten, long bytesBefore, long bytesAfter, long millis) {
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.durable.compaction.interval-ms:300000}",
+               initialDelayString = "${mutant.durable.compaction.interval-ms:300000}")
+    public void scheduledCompact() {
+        try {
+            Result result = compact();
+            if (result.rewritten()) {
+                log.info("Compactación H2: {} -> {} bytes en {} ms",
+                    result.bytesBefore(), result.bytesAfter(), result.millis());
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Se reintenta en la próxima corrida; la base sigue operativa
+            log.error("Compactación H2: error compactando el archivo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compacta una vez. Si ya hay una corrida en curso, no hace nada.
+     */
+    public Result compact() throws SQLException {
+        long start = System.nanoTime();
+        if (!running.tryLock()) {
+            return new Result(false, 0, 0, 0);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            MVStore store = mvStore(connection);
+            long before = store.getFileStore().size();
+            boolean rewritten = store.compact(targetFillRate, writeBytes);
+            if (rewritten) {
+                store.commit();
+            }
+            return new Result(rewritten, before, store.getFileStore().size(),
+                (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * MVStore de la base embebida detrás de la conexión (el pool la expone vía unwrap).
+     */
+    private static MVStore mvStore(Connection connection) throws SQLException {
+        JdbcConnection h2 = connection.unwrap(JdbcConnection.class);
+        if (!(h2.getSession() instanceof SessionLocal session)) {
+            throw new SQLException("La compactación requiere H2 embebido, no en modo servidor");
+        }
+        return session.getDatabase().getStore().getMvStore();
+    }
+}
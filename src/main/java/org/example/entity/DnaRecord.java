@@ -5,12 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.example.cache.DnaKey;
+
+import java.time.LocalDateTime;
 
 /**
  * Entidad JPA que representa un registro de ADN analizado.
  * 
  * Almacena:
- * - La secuencia de ADN en formato String (concatenada con comas)
+ * - La secuencia de ADN en formato String (concatenada con comas, o digest si N > 99)
  * - Si es mutante o no
  * - Timestamp de cuando se analizó
  */
@@ -32,6 +35,8 @@ public class DnaRecord {
     /**
      * Secuencia de ADN almacenada como String único.
      * Ejemplo: "ATGCGA,CAGTGC,TTATGT,AGAAGG,CCCCTA,TCACTG"
+     * Desde 100x100 la secuencia no entra en la columna y se guarda la clave
+     * digest de tamaño fijo (ver {@link DnaKey}).
      */
     @Column(name = "dna_sequence", nullable = false, unique = true, length = 10000)
     private String dnaSequence;
@@ -42,6 +47,20 @@ public class DnaRecord {
     @Column(name = "is_mutant", nullable = false)
     private Boolean isMutant;
 
+    /**
+     * Fecha de alta, asignada por la BD (también en las inserciones JDBC y R2DBC).
+     * La usa RetentionMover para mover los registros vencidos al almacenamiento frío.
+     */
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    private LocalDateTime createdAt;
+
+    public DnaRecord(Long id, String dnaSequence, Boolean isMutant) {
+        this.id = id;
+        this.dnaSequence = dnaSequence;
+        this.isMutant = isMutant;
+    }
+
     /**
      * Constructor personalizado para crear un registro desde un array de DNA.
      * 
@@ -49,7 +68,7 @@ public class DnaRecord {
      * @param isMutant Si es mutante o no
      */
     public DnaRecord(String[] dna, Boolean isMutant) {
-        this.dnaSequence = String.join(",", dna);
+        this.dnaSequence = DnaKey.of(dna).sequence();
         this.isMutant = isMutant;
     }
 }
@@ -0,0 +1,38 @@
+package org.example.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.cache.DnaKey;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Fila de dna_records para el stack reactivo (Spring Data R2DBC).
+ *
+ * Misma tabla que {@link DnaRecord}; R2DBC no lee las anotaciones JPA,
+ * por eso se mapea con las anotaciones de Spring Data Relational.
+ */
+@Table("dna_records")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaRecordRow {
+
+    @Id
+    private Long id;
+
+    @Column("dna_sequence")
+    private String dnaSequence;
+
+    @Column("is_mutant")
+    private Boolean isMutant;
+
+    public DnaRecordRow(String[] dna, Boolean isMutant) {
+        this.dnaSequence = DnaKey.of(dna).sequence();
+        this.isMutant = isMutant;
+    }
+}
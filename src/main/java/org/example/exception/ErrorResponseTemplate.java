@@ -0,0 +1,88 @@
+package org.example.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * {@link ErrorResponse} pre-serializado para una combinación fija de status y error.
+ *
+ * Las partes constantes del JSON se codifican una vez; por request solo se
+ * agregan el timestamp, el mensaje (ya serializado, ver
+ * {@link InvalidDnaException#getMessageJson()}) y el path. El resultado es
+ * idéntico a serializar el ErrorResponse con el ObjectMapper de Spring
+ * (mismo orden de campos y timestamp ISO-8601 sin zona).
+ */
+public final class ErrorResponseTemplate {
+
+    public static final ErrorResponseTemplate INVALID_DNA =
+        new ErrorResponseTemplate(HttpStatus.BAD_REQUEST, "Invalid DNA");
+    public static final ErrorResponseTemplate VALIDATION_ERROR =
+        new ErrorResponseTemplate(HttpStatus.BAD_REQUEST, "Validation Error");
+    public static final ErrorResponseTemplate PAYLOAD_TOO_LARGE =
+        new ErrorResponseTemplate(HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large");
+
+    private static final byte[] HEAD = ascii("{\"timestamp\":\"");
+    private static final byte[] PATH = ascii(",\"path\":");
+    private static final byte[] TAIL = ascii("}");
+
+    private final HttpStatus status;
+    private final byte[] middle;
+
+    private ErrorResponseTemplate(HttpStatus status, String error) {
+        this.status = status;
+        this.middle = ("\",\"status\":" + status.value() + ",\"error\":" + new String(json(error),
+            StandardCharsets.UTF_8) + ",\"message\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Arma el cuerpo JSON completo.
+     *
+     * @param messageJson Mensaje ya serializado como string JSON
+     * @param path        URI del request
+     */
+    public byte[] render(byte[] messageJson, String path) {
+        byte[] timestamp = ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now()));
+        byte[] pathJson = json(path);
+
+        byte[] body = new byte[HEAD.length + timestamp.length + middle.length + messageJson.length
+            + PATH.length + pathJson.length + TAIL.length];
+        int pos = 0;
+        pos = append(body, pos, HEAD);
+        pos = append(body, pos, timestamp);
+        pos = append(body, pos, middle);
+        pos = append(body, pos, messageJson);
+        pos = append(body, pos, PATH);
+        pos = append(body, pos, pathJson);
+        append(body, pos, TAIL);
+        return body;
+    }
+
+    /**
+     * Serializa un String como string JSON (escapado y entre comillas) en UTF-8.
+     */
+    public static byte[] json(String value) {
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static int append(byte[] target, int pos, byte[] part) {
+        System.arraycopy(part, 0, target, pos, part.length);
+        return pos + part.length;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,12 +19,15 @@ import java.util.stream.Collectors;
  * 
  * Captura y maneja:
  * - Errores de validación (@Valid)
- * - Excepciones custom (InvalidDnaException)
+ * - Excepciones custom (InvalidDnaException, ServiceOverloadedException, UnknownDnaBaseException,
+ *   PayloadTooLargeException)
  * - Excepciones generales (IllegalArgumentException, Exception)
  * 
  * Patrón: @RestControllerAdvice
+ * (Con el perfil "reactive" lo reemplaza ReactiveExceptionHandler)
  */
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
     /**
@@ -49,26 +55,77 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Maneja excepciones custom de ADN inválido.
+     * Maneja excepciones custom de ADN inválido (lanzadas por MutantDetector y DnaPackedCodec).
+     * Ruta rápida: el cuerpo sale de un ErrorResponse pre-serializado, sin pasar por Jackson.
      */
     @ExceptionHandler(InvalidDnaException.class)
-    public ResponseEntity<ErrorResponse> handleInvalidDnaException(
+    public ResponseEntity<byte[]> handleInvalidDnaException(
             InvalidDnaException ex,
             HttpServletRequest request) {
         
+        ErrorResponseTemplate template = ErrorResponseTemplate.INVALID_DNA;
+        return ResponseEntity.status(template.getStatus())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(template.render(ex.getMessageJson(), request.getRequestURI()));
+    }
+
+    /**
+     * Maneja cuerpos binarios que superan el máximo de bytes, con el mismo
+     * ErrorResponse que responde DnaRequestPrecheckFilter para el JSON.
+     */
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<byte[]> handlePayloadTooLargeException(
+            PayloadTooLargeException ex,
+            HttpServletRequest request) {
+
+        ErrorResponseTemplate template = ErrorResponseTemplate.PAYLOAD_TOO_LARGE;
+        return ResponseEntity.status(template.getStatus())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(template.render(ErrorResponseTemplate.json(ex.getMessage()), request.getRequestURI()));
+    }
+
+    /**
+     * Maneja requests descartados por el control de admisión (load shedding).
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex,
+            HttpServletRequest request) {
+        
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
-            HttpStatus.BAD_REQUEST.value(),
-            "Invalid DNA",
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
             ex.getMessage(),
             request.getRequestURI()
         );
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+
+    /**
+     * Maneja diferencias (PATCH /mutant) contra un ADN base que ya no está en caché.
+     */
+    @ExceptionHandler(UnknownDnaBaseException.class)
+    public ResponseEntity<ErrorResponse> handleUnknownDnaBaseException(
+            UnknownDnaBaseException ex,
+            HttpServletRequest request) {
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.NOT_FOUND.value(),
+            "Not Found",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
     /**
-     * Maneja IllegalArgumentException (lanzado por MutantDetector).
+     * Maneja cualquier otra IllegalArgumentException.
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
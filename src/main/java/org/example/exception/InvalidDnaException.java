@@ -2,14 +2,125 @@ package org.example.exception;
 
 /**
  * Excepción custom para errores de validación de ADN.
+ *
+ * RUTA DE RECHAZO BARATA: el ADN inválido es una parte grande del tráfico, así que
+ * esta excepción no captura stack trace y los rechazos conocidos se obtienen de
+ * las factories estáticas, que devuelven instancias precreadas con el mensaje ya
+ * armado (y su versión JSON, ver {@link ErrorResponseTemplate}). Rechazar un ADN
+ * no construye Strings ni recorre la pila.
+ *
+ * Las instancias compartidas se crean además sin suprimidas (constructor de
+ * Throwable con enableSuppression = false): si una termina lanzada dentro de un
+ * try-with-resources, addSuppressed no le acumula excepciones de otros requests.
+ * Por eso extiende RuntimeException (IllegalArgumentException no expone ese
+ * constructor); los handlers la atienden por su propio tipo.
  */
 public class InvalidDnaException extends RuntimeException {
-    
+
+    /**
+     * N hasta el que se cachea el mensaje "Tamaño esperado: NxN".
+     */
+    static final int MAX_CACHED_SIZE = 1024;
+
+    private static final InvalidDnaException NULL_OR_EMPTY =
+        shared("La secuencia de ADN no puede ser null o vacía");
+    private static final InvalidDnaException NOT_SQUARE =
+        shared("La matriz de ADN debe ser NxN");
+    private static final InvalidDnaException NOT_SQUARE_MIN_SIZE =
+        shared("La matriz de ADN debe ser NxN. Tamaño mínimo: 4x4");
+    private static final InvalidDnaException TOO_SMALL =
+        shared("La matriz de ADN debe ser al menos de 4x4");
+
+    private static final InvalidDnaException[] INVALID_BASES = new InvalidDnaException[128];
+    private static final InvalidDnaException[] NOT_SQUARE_BY_SIZE = new InvalidDnaException[MAX_CACHED_SIZE + 1];
+
+    static {
+        for (char base = 0; base < INVALID_BASES.length; base++) {
+            INVALID_BASES[base] = shared(invalidBaseMessage(base));
+        }
+    }
+
+    /**
+     * Mensaje serializado como string JSON (con comillas), calculado una sola vez.
+     */
+    private volatile byte[] messageJson;
+
+    /**
+     * Sin stack trace: el mensaje alcanza para responder el 400.
+     */
     public InvalidDnaException(String message) {
-        super(message);
+        super(message, null, true, false);
     }
-    
+
     public InvalidDnaException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, false);
+    }
+
+    /**
+     * Instancia compartida entre requests: sin stack trace ni suprimidas.
+     */
+    private InvalidDnaException(String message, boolean enableSuppression) {
+        super(message, null, enableSuppression, false);
+    }
+
+    private static InvalidDnaException shared(String message) {
+        return new InvalidDnaException(message, false);
+    }
+
+    /**
+     * Mensaje como string JSON escapado y entre comillas, en UTF-8.
+     */
+    public byte[] getMessageJson() {
+        byte[] json = messageJson;
+        if (json == null) {
+            json = ErrorResponseTemplate.json(getMessage());
+            messageJson = json;
+        }
+        return json;
+    }
+
+    public static InvalidDnaException nullOrEmpty() {
+        return NULL_OR_EMPTY;
+    }
+
+    public static InvalidDnaException notSquare() {
+        return NOT_SQUARE;
+    }
+
+    public static InvalidDnaException tooSmall() {
+        return TOO_SMALL;
+    }
+
+    /**
+     * Matriz no NxN, con el tamaño esperado en el mensaje (el que reporta @ValidDnaSequence).
+     *
+     * @param n Tamaño esperado (cantidad de filas)
+     */
+    public static InvalidDnaException notSquare(int n) {
+        if (n < 4) {
+            return NOT_SQUARE_MIN_SIZE;
+        }
+        if (n > MAX_CACHED_SIZE) {
+            return new InvalidDnaException(notSquareMessage(n));
+        }
+        // Carrera benigna: dos hilos pueden crear la misma instancia, ambas válidas
+        InvalidDnaException cached = NOT_SQUARE_BY_SIZE[n];
+        if (cached == null) {
+            cached = shared(notSquareMessage(n));
+            NOT_SQUARE_BY_SIZE[n] = cached;
+        }
+        return cached;
+    }
+
+    public static InvalidDnaException invalidBase(char base) {
+        return base < INVALID_BASES.length ? INVALID_BASES[base] : new InvalidDnaException(invalidBaseMessage(base));
+    }
+
+    private static String notSquareMessage(int n) {
+        return "La matriz de ADN debe ser NxN. Tamaño esperado: " + n + "x" + n;
+    }
+
+    private static String invalidBaseMessage(char base) {
+        return "ADN inválido: Solo se permiten caracteres A, T, C, G. Encontrado: '" + base + "'";
     }
 }
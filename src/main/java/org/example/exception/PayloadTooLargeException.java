@@ -0,0 +1,13 @@
+package org.example.exception;
+
+/**
+ * Excepción lanzada cuando un cuerpo application/x-dna-packed declara (o trae)
+ * más bytes que mutant.packed.max-body-bytes. Se responde 413, igual que un
+ * cuerpo JSON que supera mutant.precheck.max-body-bytes.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(long maxBodyBytes) {
+        super("El cuerpo del request excede el máximo de " + maxBodyBytes + " bytes");
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.exception;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Manejador de excepciones del stack reactivo (perfil "reactive").
+ * 
+ * Produce el mismo {@link ErrorResponse} que {@link GlobalExceptionHandler},
+ * tomando el path de ServerHttpRequest en lugar de HttpServletRequest.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    /**
+     * Errores de Bean Validation (@Valid) en WebFlux.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationException(
+            WebExchangeBindException ex,
+            ServerHttpRequest request) {
+
+        String message = ex.getBindingResult().getFieldErrors().stream()
+            .map(FieldError::getDefaultMessage)
+            .collect(Collectors.joining(", "));
+
+        return error(HttpStatus.BAD_REQUEST, "Validation Error", message, request);
+    }
+
+    /**
+     * Validación de la matriz hecha por ReactiveMutantService fuera del event loop.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(
+            ConstraintViolationException ex,
+            ServerHttpRequest request) {
+
+        String message = ex.getConstraintViolations().stream()
+            .map(ConstraintViolation::getMessage)
+            .collect(Collectors.joining(", "));
+
+        return error(HttpStatus.BAD_REQUEST, "Validation Error", message, request);
+    }
+
+    /**
+     * JSON mal formado o cuerpo ilegible.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInputException(
+            ServerWebInputException ex,
+            ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getReason(), request);
+    }
+
+    @ExceptionHandler(InvalidDnaException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDnaException(
+            InvalidDnaException ex,
+            ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid DNA", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+            IllegalArgumentException ex,
+            ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+    }
+
+    /**
+     * La cola del scheduler de detección está llena.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(
+            RejectedExecutionException ex,
+            ServerHttpRequest request) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+            "Capacidad de detección agotada, reintente más tarde", request);
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message,
+                                                ServerHttpRequest request) {
+        ErrorResponse body = new ErrorResponse(
+            LocalDateTime.now(),
+            status.value(),
+            error,
+            message,
+            request.getPath().value()
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.exception;
+
+import lombok.Getter;
+
+/**
+ * Excepción lanzada cuando el control de admisión descarta un request
+ * (bulkhead saturado o espera estimada mayor a su presupuesto de latencia).
+ * Se responde 503 con el header Retry-After.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Segundos sugeridos al cliente antes de reintentar.
+     */
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
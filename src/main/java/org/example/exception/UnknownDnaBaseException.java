@@ -0,0 +1,13 @@
+package org.example.exception;
+
+/**
+ * Excepción lanzada cuando un PATCH /mutant referencia un ADN base que no está en
+ * la caché de matrices recientes (nunca se envió o ya fue desalojado).
+ * Se responde 404: el cliente debe reenviar la matriz completa con POST /mutant.
+ */
+public class UnknownDnaBaseException extends RuntimeException {
+
+    public UnknownDnaBaseException(String base) {
+        super("ADN base desconocido o desalojado: " + base + ". Reenviar la matriz completa con POST /mutant");
+    }
+}
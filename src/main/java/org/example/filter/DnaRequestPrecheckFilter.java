@@ -0,0 +1,447 @@
+package org.example.filter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exception.ErrorResponseTemplate;
+import org.example.exception.InvalidDnaException;
+import org.example.service.DnaBases;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rechazo temprano de cuerpos JSON de POST /mutant, antes del binding a DnaRequest.
+ *
+ * Sin este filtro Spring lee y bindea el cuerpo completo (un String por fila y el
+ * String[] entero) antes de que corra @ValidDnaSequence. Acá el cuerpo se recorre
+ * con el parser streaming de Jackson, leyendo cada fila desde el buffer del parser
+ * sin crear Strings:
+ * - Cuerpo mayor a mutant.precheck.max-body-bytes: 413
+ * - Primera fila con N mayor a mutant.precheck.max-size: 400
+ * - Una fila de largo distinto a N, más de N filas o una base inválida: 400
+ *
+ * El corte ocurre en la primera fila inválida: del resto del array solo se
+ * cuentan los elementos, sin decodificarlos. El validador toma N de la cantidad
+ * de filas (dna.length), no del largo de la primera; si ambos difieren reporta
+ * NxN con la cantidad de filas antes que cualquier otro error, y el filtro
+ * devuelve ese mismo mensaje.
+ * Los errores usan el mismo ErrorResponse que GlobalExceptionHandler, ya
+ * pre-serializado (ErrorResponseTemplate), con los mensajes cacheados de
+ * InvalidDnaException. Lo que el
+ * filtro no puede decidir de forma incremental (null, vacío, N < 4, menos filas
+ * que N, JSON mal formado) se deja a Bean Validation y a Jackson: el cuerpo leído
+ * se reenvía intacto al controller.
+ */
+@Component
+@Profile("!reactive")
+public class DnaRequestPrecheckFilter extends OncePerRequestFilter {
+
+    private static final String DNA_PATH = "/mutant";
+    private static final String DNA_FIELD = "dna";
+    private static final int MIN_SIZE = 4;
+
+    private final JsonFactory jsonFactory;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final boolean enabled;
+    private final int maxSize;
+    private final int maxBodyBytes;
+    private final InvalidDnaException sizeAboveMax;
+    private final byte[] bodyTooLargeJson;
+
+    public DnaRequestPrecheckFilter(ObjectMapper objectMapper,
+                                    @Value("${mutant.precheck.enabled:true}") boolean enabled,
+                                    @Value("${mutant.precheck.max-size:4096}") int maxSize,
+                                    @Value("${mutant.precheck.max-body-bytes:17825792}") int maxBodyBytes) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.maxBodyBytes = maxBodyBytes;
+        this.sizeAboveMax = new InvalidDnaException(
+            "La matriz de ADN excede el tamaño máximo permitido: " + maxSize + "x" + maxSize);
+        this.bodyTooLargeJson = ErrorResponseTemplate.json(
+            "El cuerpo del request excede el máximo de " + maxBodyBytes + " bytes");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !HttpMethod.POST.matches(request.getMethod())
+                || !DNA_PATH.equals(urlPathHelper.getPathWithinApplication(request))) {
+            return true;
+        }
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        try {
+            // El binario (application/x-dna-packed) ya se valida en su propio converter
+            return !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long declaredLength = request.getContentLengthLong();
+        if (declaredLength > maxBodyBytes) {
+            writeError(request, response, ErrorResponseTemplate.PAYLOAD_TOO_LARGE, bodyTooLargeJson);
+            return;
+        }
+
+        CapturingInputStream body = new CapturingInputStream(request.getInputStream(), maxBodyBytes);
+        InvalidDnaException violation;
+        try {
+            violation = precheck(body);
+            body.drain();
+        } catch (BodyTooLargeException e) {
+            writeError(request, response, ErrorResponseTemplate.PAYLOAD_TOO_LARGE, bodyTooLargeJson);
+            return;
+        }
+
+        if (violation != null) {
+            writeError(request, response, ErrorResponseTemplate.VALIDATION_ERROR, violation.getMessageJson());
+            return;
+        }
+        chain.doFilter(new ReplayedBodyRequest(request, body.captured(), body.size()), response);
+    }
+
+    /**
+     * Recorre el JSON buscando el campo "dna".
+     *
+     * @return La primera violación encontrada, o null si el cuerpo debe seguir
+     *         hacia el controller
+     */
+    private InvalidDnaException precheck(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            // El resto del cuerpo se sigue leyendo después del parser (drain)
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                token = parser.nextToken();
+                if (DNA_FIELD.equals(field) && token == JsonToken.START_ARRAY) {
+                    InvalidDnaException violation = precheckRows(parser);
+                    if (violation != null) {
+                        return violation;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return null;
+        } catch (JsonProcessingException e) {
+            // JSON mal formado: el mismo error lo reporta el binding de Spring
+            return null;
+        }
+    }
+
+    private InvalidDnaException precheckRows(JsonParser parser) throws IOException {
+        int n = -1;
+        int row = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_STRING) {
+                // Filas null o de otro tipo: las reporta @ValidDnaSequence
+                parser.skipChildren();
+                skipArray(parser);
+                return null;
+            }
+
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            int length = parser.getTextLength();
+            if (n < 0) {
+                n = length;
+                if (n > maxSize) {
+                    return sizeAboveMax;
+                }
+                if (n < MIN_SIZE) {
+                    // Los mensajes para matrices menores a 4x4 dependen de la cantidad
+                    // total de filas: se dejan al validador
+                    skipArray(parser);
+                    return null;
+                }
+            }
+            InvalidDnaException violation = checkRow(chars, offset, length, n, row);
+            if (violation != null) {
+                return consistentWithRowCount(violation, n, row + 1 + countRemaining(parser));
+            }
+            row++;
+        }
+        return null;
+    }
+
+    private static InvalidDnaException checkRow(char[] chars, int offset, int length, int n, int row) {
+        if (row >= n || length != n) {
+            return InvalidDnaException.notSquare(n);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            if (!DnaBases.isValid(chars[i])) {
+                return InvalidDnaException.invalidBase(chars[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ajusta la violación al mensaje de @ValidDnaSequence, que usa la cantidad de
+     * filas como N: si no coincide con el largo de la primera fila, el validador
+     * corta ya en la fila 0 con NxN de ese tamaño.
+     */
+    private static InvalidDnaException consistentWithRowCount(InvalidDnaException violation, int n, int rowCount) {
+        return rowCount != n ? InvalidDnaException.notSquare(rowCount) : violation;
+    }
+
+    /**
+     * Cuenta los elementos que quedan hasta el fin del array. Los strings no se
+     * decodifican (Jackson los materializa recién al pedir el texto).
+     */
+    private static int countRemaining(JsonParser parser) throws IOException {
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            parser.skipChildren();
+            count++;
+        }
+        return count;
+    }
+
+    private static void skipArray(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            parser.skipChildren();
+        }
+    }
+
+    private static void writeError(HttpServletRequest request, HttpServletResponse response,
+                                   ErrorResponseTemplate template, byte[] messageJson) throws IOException {
+        byte[] body = template.render(messageJson, request.getRequestURI());
+        response.setStatus(template.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * InputStream que guarda una copia de lo leído para reenviarlo al controller
+     * y corta la lectura al superar el máximo de bytes.
+     *
+     * La copia se guarda en bloques que nunca se realocan: el primero de
+     * {@link #INITIAL_BYTES} y luego bloques de {@link #SEGMENT_BYTES} a medida que
+     * llegan datos, en lugar de duplicar un array y tener dos copias del cuerpo en
+     * memoria al crecer. El Content-Length declarado no se usa para reservar: un
+     * cliente que declara el máximo y no envía nada no obtiene un buffer de ese tamaño.
+     */
+    private static final class CapturingInputStream extends InputStream {
+
+        private static final int INITIAL_BYTES = 8 * 1024;
+        private static final int SEGMENT_BYTES = 64 * 1024;
+
+        private final InputStream in;
+        private final int limit;
+        private final List<byte[]> segments = new ArrayList<>();
+        private byte[] current;
+        private int used;
+        private int size;
+
+        CapturingInputStream(InputStream in, int limit) {
+            this.in = in;
+            this.limit = limit;
+            this.current = new byte[Math.min(INITIAL_BYTES, limit)];
+            segments.add(current);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                if (size + read > limit) {
+                    throw new BodyTooLargeException();
+                }
+                int copied = 0;
+                while (copied < read) {
+                    if (used == current.length) {
+                        current = new byte[Math.min(SEGMENT_BYTES, limit - size - copied)];
+                        segments.add(current);
+                        used = 0;
+                    }
+                    int chunk = Math.min(read - copied, current.length - used);
+                    System.arraycopy(b, off + copied, current, used, chunk);
+                    used += chunk;
+                    copied += chunk;
+                }
+                size += read;
+            }
+            return read;
+        }
+
+        /**
+         * Lee (y captura) lo que el parser no consumió, hasta el fin del cuerpo.
+         */
+        void drain() throws IOException {
+            byte[] chunk = new byte[8192];
+            while (read(chunk, 0, chunk.length) >= 0) {
+                // solo captura
+            }
+        }
+
+        List<byte[]> captured() {
+            return segments;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+        BodyTooLargeException() {
+            super(null, null);
+        }
+    }
+
+    /**
+     * Request con el cuerpo ya leído por el filtro.
+     */
+    private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final List<byte[]> body;
+        private final int length;
+
+        ReplayedBodyRequest(HttpServletRequest request, List<byte[]> body, int length) {
+            super(request);
+            this.body = body;
+            this.length = length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ReplayedInputStream(body, length);
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return length;
+        }
+    }
+
+    /**
+     * Relee los bloques capturados. Los datos ya están en memoria, así que en modo
+     * asíncrono (setReadListener) el listener se notifica en el momento.
+     */
+    private static final class ReplayedInputStream extends ServletInputStream {
+
+        private final List<byte[]> segments;
+        private final int length;
+        private int position;
+        private int segment;
+        private int offset;
+
+        ReplayedInputStream(List<byte[]> segments, int length) {
+            this.segments = segments;
+            this.length = length;
+        }
+
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == length) {
+                return -1;
+            }
+            byte[] current = segments.get(segment);
+            if (offset == current.length) {
+                current = segments.get(++segment);
+                offset = 0;
+            }
+            int read = Math.min(len, Math.min(current.length - offset, length - position));
+            System.arraycopy(current, offset, b, off, read);
+            offset += read;
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return length - position;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position == length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                if (isFinished()) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.entity.DnaRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserciones masivas de registros de ADN vía JDBC batch.
+ *
+ * Usado por el procesamiento NDJSON (POST /mutant/stream): en vez de un
+ * save() + commit por línea, se envía un único batch por lote en una transacción.
+ * MERGE ... KEY (dna_sequence) vuelve idempotente la inserción: si la misma
+ * secuencia aparece dos veces en el lote, o ya fue guardada por otro request,
+ * no se viola el índice único.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DnaRecordBatchRepository {
+
+    private static final String MERGE_SQL =
+        "MERGE INTO dna_records (dna_sequence, is_mutant) KEY (dna_sequence) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Guarda los registros en un único batch JDBC.
+     *
+     * @param records Registros nuevos (el id se genera en BD)
+     */
+    @Transactional
+    public void saveAll(List<DnaRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MERGE_SQL, records, records.size(), (statement, record) -> {
+            statement.setString(1, record.getDnaSequence());
+            statement.setBoolean(2, record.getIsMutant());
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecordRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositorio R2DBC (no bloqueante) equivalente a {@link DnaRecordRepository}.
+ *
+ * Solo se instancia con el perfil "reactive".
+ */
+@Repository
+public interface ReactiveDnaRecordRepository extends R2dbcRepository<DnaRecordRow, Long> {
+
+    /**
+     * Busca un registro de ADN por su secuencia exacta.
+     *
+     * @param dnaSequence Secuencia de ADN concatenada (ej: "ATGCGA,CAGTGC,...")
+     * @return Mono con el registro, vacío si no existe
+     */
+    Mono<DnaRecordRow> findByDnaSequence(String dnaSequence);
+
+    /**
+     * Cuenta cuántos registros de ADN mutante existen.
+     */
+    @Query("SELECT COUNT(*) FROM dna_records WHERE is_mutant = TRUE")
+    Mono<Long> countMutants();
+
+    /**
+     * Cuenta cuántos registros de ADN humano existen.
+     */
+    @Query("SELECT COUNT(*) FROM dna_records WHERE is_mutant = FALSE")
+    Mono<Long> countHumans();
+}
@@ -0,0 +1,246 @@
+package org.example.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker para las llamadas a dna_records.
+ *
+ * El veredicto es cálculo puro (MutantDetector); la BD solo aporta deduplicación
+ * y estadísticas. Si la BD se vuelve lenta o falla, el breaker se abre y
+ * MutantService responde solo con detección + cachés en memoria, enviando los
+ * registros a DnaRecordSpool para guardarlos cuando la BD se recupere.
+ *
+ * ESTADOS:
+ * - CLOSED: las llamadas pasan; se registra el resultado en una ventana de las
+ *   últimas window-size llamadas. Con al menos min-calls, si el % de fallos o de
+ *   llamadas lentas (> slow-call-ms) supera su umbral, pasa a OPEN.
+ * - OPEN: ninguna llamada llega a la BD durante open-ms.
+ * - HALF_OPEN: se permiten half-open-calls llamadas de prueba; si todas salen
+ *   bien vuelve a CLOSED, con la primera mala vuelve a OPEN.
+ *
+ * Los errores de infraestructura (DataAccessException, TransactionException) cuentan
+ * como fallo y se traducen a DatabaseUnavailableException; cualquier otra excepción
+ * también cuenta como fallo pero se relanza tal cual. Una violación de unicidad es
+ * una respuesta válida de la BD.
+ * Métricas: mutant.db.breaker.state (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN) y
+ * mutant.db.breaker.rejected.
+ */
+@Slf4j
+@Component
+public class DatabaseCircuitBreaker implements MeterBinder {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final boolean enabled;
+    private final int minCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // Ventana circular de resultados (CLOSED): protegida por lock.
+    // ReentrantLock y no synchronized: con hilos virtuales un monitor fija el carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte[] window;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private int halfOpenSuccesses;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private Counter rejected;
+
+    public DatabaseCircuitBreaker(@Value("${mutant.db-breaker.enabled:true}") boolean enabled,
+                                  @Value("${mutant.db-breaker.window-size:50}") int windowSize,
+                                  @Value("${mutant.db-breaker.min-calls:10}") int minCalls,
+                                  @Value("${mutant.db-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                                  @Value("${mutant.db-breaker.slow-call-ms:500}") long slowCallMillis,
+                                  @Value("${mutant.db-breaker.slow-call-rate-threshold:50}") int slowCallRateThreshold,
+                                  @Value("${mutant.db-breaker.open-ms:10000}") long openMillis,
+                                  @Value("${mutant.db-breaker.half-open-calls:5}") int halfOpenCalls) {
+        this.enabled = enabled;
+        this.window = new byte[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mutant.db.breaker.state", this, breaker -> breaker.state.ordinal())
+            .description("Estado del circuit breaker de la BD (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN)")
+            .register(registry);
+        rejected = Counter.builder("mutant.db.breaker.rejected")
+            .description("Llamadas a la BD evitadas con el breaker abierto")
+            .register(registry);
+    }
+
+    /**
+     * Ejecuta una llamada a la BD a través del breaker.
+     *
+     * @throws DatabaseUnavailableException si el breaker no permite la llamada o
+     *                                      falló por un error de infraestructura
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        if (!tryAcquirePermission()) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new DatabaseUnavailableException("Circuit breaker de la BD abierto");
+        }
+
+        long start = System.nanoTime();
+        // Toda llamada que obtuvo permiso registra su resultado: en HALF_OPEN un
+        // permiso consumido sin resultado dejaría el breaker semiabierto para siempre
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            failed = false;
+            throw e;
+        } catch (DataAccessException | TransactionException e) {
+            throw new DatabaseUnavailableException("Error de BD: " + e.getMessage(), e);
+        } finally {
+            record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Variante de {@link #execute(Supplier)} para llamadas sin resultado.
+     */
+    public void run(Runnable call) {
+        execute(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isClosed() {
+        return !enabled || state == State.CLOSED;
+    }
+
+    private boolean tryAcquirePermission() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            lock.lock();
+            try {
+                if (state == State.OPEN) {
+                    transition(State.HALF_OPEN);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return halfOpenPermits.getAndDecrement() > 0;
+    }
+
+    private void record(long elapsedNanos, boolean failed) {
+        lock.lock();
+        try {
+            recordLocked(elapsedNanos, failed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordLocked(long elapsedNanos, boolean failed) {
+        byte outcome = failed ? FAILURE : elapsedNanos > slowCallNanos ? SLOW : SUCCESS;
+        if (state == State.HALF_OPEN) {
+            if (outcome != SUCCESS) {
+                transition(State.OPEN);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // Llamada que empezó antes de abrirse el breaker
+            return;
+        }
+
+        if (calls == window.length) {
+            forget(window[next]);
+        } else {
+            calls++;
+        }
+        window[next] = outcome;
+        next = (next + 1) % window.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+
+        if (calls >= minCalls && (failures * 100 >= failureRateThreshold * calls
+                || slowCalls * 100 >= slowCallRateThreshold * calls)) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void forget(byte outcome) {
+        if (outcome == FAILURE) {
+            failures--;
+        } else if (outcome == SLOW) {
+            slowCalls--;
+        }
+    }
+
+    /**
+     * Cambia de estado. Se llama con el lock tomado.
+     */
+    private void transition(State target) {
+        log.warn("Circuit breaker de la BD: {} -> {} (fallos {}/{}, lentas {}/{})",
+            state, target, failures, calls, slowCalls, calls);
+        calls = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+        halfOpenSuccesses = 0;
+        if (target == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (target == State.HALF_OPEN) {
+            halfOpenPermits.set(halfOpenCalls);
+        }
+        state = target;
+    }
+}
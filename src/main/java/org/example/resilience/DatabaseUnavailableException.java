@@ -0,0 +1,18 @@
+package org.example.resilience;
+
+/**
+ * La BD no está disponible: el circuit breaker está abierto o la llamada falló
+ * por un problema de infraestructura (timeout, pool agotado, conexión caída).
+ *
+ * No llega al cliente: MutantService la captura y responde en modo degradado.
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+
+    public DatabaseUnavailableException(String message) {
+        super(message);
+    }
+
+    public DatabaseUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
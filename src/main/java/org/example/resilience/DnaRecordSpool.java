@@ -0,0 +1,285 @@
+package org.example.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaRecord;
+import org.example.snapshot.DnaSnapshotFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Journal local y acotado de registros que no se pudieron guardar en la BD.
+ *
+ * Con el circuit breaker abierto el veredicto se sigue respondiendo, pero el
+ * registro se agrega acá; SpoolReplayer lo guarda cuando la BD se recupera.
+ *
+ * FORMATO: header magic (int) + versión (int), luego registros con el mismo
+ * layout y versión que {@link DnaSnapshotFormat} (N, flags, bases a 2 bits o digest),
+ * sin trailer.
+ * Un registro a medio escribir al final (crash) se descarta al reproducir.
+ *
+ * REPRODUCCIÓN: el journal se renombra a ".replay" y se abre uno nuevo, así los
+ * registros que llegan mientras tanto no se mezclan. Si el guardado falla, el
+ * archivo ".replay" queda y se reintenta completo en la próxima corrida
+ * (el MERGE de DnaRecordBatchRepository lo vuelve idempotente).
+ *
+ * Al superar max-records los registros nuevos se descartan: el veredicto ya se
+ * respondió y un ADN descartado se vuelve a guardar la próxima vez que llegue.
+ */
+@Slf4j
+@Component
+public class DnaRecordSpool implements MeterBinder {
+
+    private static final int MAGIC = 0x4D53504C;  // "MSPL"
+    private static final int VERSION = 2;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final boolean enabled;
+    private final Path path;
+    private final Path replayPath;
+    private final long maxRecords;
+
+    // Protegidos por lock (no synchronized: el flush de append no debe fijar el
+    // carrier de un hilo virtual)
+    private final ReentrantLock lock = new ReentrantLock();
+    private DataOutputStream out;
+    private long depth;
+
+    private Counter dropped;
+    private Counter replayed;
+
+    public DnaRecordSpool(@Value("${mutant.db-spool.enabled:true}") boolean enabled,
+                          @Value("${mutant.db-spool.path:./data/dna-spool.bin}") String path,
+                          @Value("${mutant.db-spool.max-records:100000}") long maxRecords) {
+        this.enabled = enabled;
+        this.maxRecords = maxRecords;
+        if (!enabled) {
+            this.path = null;
+            this.replayPath = null;
+            return;
+        }
+        this.path = Path.of(path).toAbsolutePath();
+        this.replayPath = this.path.resolveSibling(this.path.getFileName() + ".replay");
+        try {
+            Files.createDirectories(this.path.getParent());
+            this.depth = count(this.path) + count(replayPath);
+            this.out = openAppender();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el journal de la BD: " + path, e);
+        }
+        if (depth > 0) {
+            log.warn("Journal de la BD {}: {} registros pendientes de guardar", path, depth);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mutant.db.spool.depth", this, DnaRecordSpool::depth)
+            .description("Registros en el journal local pendientes de guardar en la BD")
+            .register(registry);
+        dropped = Counter.builder("mutant.db.spool.dropped")
+            .description("Registros descartados con el journal lleno")
+            .register(registry);
+        replayed = Counter.builder("mutant.db.spool.replayed")
+            .description("Registros del journal guardados en la BD tras la recuperación")
+            .register(registry);
+    }
+
+    /**
+     * Agrega un registro al journal.
+     *
+     * @return false si el journal está deshabilitado, lleno o no se pudo escribir
+     *         (dentro de una transacción la escritura se difiere al commit y devuelve true)
+     */
+    public boolean append(DnaRecord record) {
+        // Dentro de una transacción (ej: el calentamiento, que siempre hace rollback)
+        // el registro solo va al journal si hace commit, igual que el save a la BD
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(record);
+                }
+            });
+            return true;
+        }
+        return write(record);
+    }
+
+    private boolean write(DnaRecord record) {
+        lock.lock();
+        try {
+            if (!enabled || depth >= maxRecords) {
+                if (dropped != null) {
+                    dropped.increment();
+                }
+                return false;
+            }
+            DnaSnapshotFormat.writeRecord(out, record.getDnaSequence(), record.getIsMutant());
+            // Sin fsync: sobrevive a la caída del proceso, no a la del host
+            out.flush();
+            depth++;
+            return true;
+        } catch (IOException e) {
+            log.error("No se pudo escribir en el journal de la BD {}: {}", path, e.getMessage());
+            if (dropped != null) {
+                dropped.increment();
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long depth() {
+        lock.lock();
+        try {
+            return depth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entrega los registros pendientes en lotes. Solo la llama SpoolReplayer,
+     * desde un único hilo.
+     *
+     * @param saver Guarda un lote; si lanza una excepción la reproducción se corta
+     *              y los registros quedan para la próxima corrida
+     * @return Cantidad de registros reproducidos
+     */
+    public long replay(int batchSize, Consumer<List<DnaRecord>> saver) throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            if (!Files.exists(replayPath)) {
+                if (depth == 0) {
+                    return 0;
+                }
+                out.close();
+                Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+                out = openAppender();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        long count = 0;
+        try (DataInputStream in = openReader(replayPath)) {
+            List<DnaRecord> batch = new ArrayList<>(batchSize);
+            DnaSnapshotFormat.Entry entry;
+            while ((entry = next(in, count + batch.size())) != null) {
+                batch.add(new DnaRecord(null, entry.dnaSequence(), entry.isMutant()));
+                if (batch.size() >= batchSize) {
+                    saver.accept(batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+            saver.accept(batch);
+            count += batch.size();
+        }
+        Files.delete(replayPath);
+
+        lock.lock();
+        try {
+            depth = Math.max(0, depth - count);
+        } finally {
+            lock.unlock();
+        }
+        if (replayed != null) {
+            replayed.increment(count);
+        }
+        return count;
+    }
+
+    private DataOutputStream openAppender() throws IOException {
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), BUFFER_BYTES));
+        if (fresh) {
+            stream.writeInt(MAGIC);
+            stream.writeInt(VERSION);
+            stream.flush();
+        }
+        return stream;
+    }
+
+    private static DataInputStream openReader(Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES));
+        try {
+            if (in.readInt() != MAGIC || !DnaSnapshotFormat.isSupportedVersion(in.readInt())) {
+                throw new IOException("Journal de la BD con formato desconocido: " + file);
+            }
+            return in;
+        } catch (EOFException e) {
+            // Archivo creado pero sin header completo: se trata como vacío
+            in.close();
+            return new DataInputStream(InputStream.nullInputStream());
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Siguiente registro, o null al final del archivo (incluido un registro final incompleto).
+     */
+    private static DnaSnapshotFormat.Entry next(DataInputStream in, long read) throws IOException {
+        try {
+            return DnaSnapshotFormat.readRecord(in, read);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static long count(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long count = 0;
+        try (DataInputStream in = openReader(file)) {
+            while (next(in, count) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (out != null) {
+                out.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
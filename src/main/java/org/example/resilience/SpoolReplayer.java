@@ -0,0 +1,61 @@
+package org.example.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.repository.DnaRecordBatchRepository;
+import org.example.service.StatsVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Guarda en la BD los registros del journal ({@link DnaRecordSpool}) una vez
+ * que el circuit breaker vuelve a cerrarse.
+ *
+ * Corre en el thread del scheduler. Cada lote pasa por el breaker: si la BD
+ * vuelve a fallar, la reproducción se corta y se reintenta en la próxima corrida.
+ */
+@Slf4j
+@Component
+public class SpoolReplayer {
+
+    private final DnaRecordSpool spool;
+    private final DatabaseCircuitBreaker breaker;
+    private final DnaRecordBatchRepository batchRepository;
+    private final StatsVersion statsVersion;
+    private final int batchSize;
+
+    public SpoolReplayer(DnaRecordSpool spool,
+                         DatabaseCircuitBreaker breaker,
+                         DnaRecordBatchRepository batchRepository,
+                         StatsVersion statsVersion,
+                         @Value("${mutant.db-spool.replay-batch-size:500}") int batchSize) {
+        this.spool = spool;
+        this.breaker = breaker;
+        this.batchRepository = batchRepository;
+        this.statsVersion = statsVersion;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.db-spool.replay-interval-ms:5000}",
+               initialDelayString = "${mutant.db-spool.replay-interval-ms:5000}")
+    public void replay() {
+        if (spool.depth() == 0 || !breaker.isClosed()) {
+            return;
+        }
+        try {
+            long count = spool.replay(batchSize, batch -> {
+                breaker.run(() -> batchRepository.saveAll(batch));
+                statsVersion.markChanged();
+            });
+            if (count > 0) {
+                log.info("Journal de la BD: {} registros guardados tras la recuperación", count);
+            }
+        } catch (DatabaseUnavailableException e) {
+            log.warn("Journal de la BD: reproducción interrumpida, se reintenta luego: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Journal de la BD: no se pudo reproducir: {}", e.getMessage());
+        }
+    }
+}
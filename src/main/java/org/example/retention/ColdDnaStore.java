@@ -0,0 +1,349 @@
+package org.example.retention;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.DnaHashing;
+import org.example.snapshot.DnaSnapshotFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Almacenamiento frío de dna_records: archivo append-only con las matrices
+ * empaquetadas a 2 bits por base.
+ *
+ * Los registros viejos se mueven acá desde la tabla caliente (ver RetentionMover),
+ * de modo que el índice único de dna_sequence y idx_is_mutant dejan de crecer
+ * sin límite. El archivo se lee solo como fallback, cuando la BD no tiene el ADN.
+ *
+ * FORMATO:
+ * - Header: magic (int), versión (int)
+ * - Registros: N (int), flags (byte, bit 0 = mutante), bases a 2 bits o digest
+ *   (mismo layout que un registro de {@link DnaSnapshotFormat}, misma versión)
+ *
+ * ÍNDICE: en memoria, hash abierto de 16 bytes por registro
+ * ([hash64 de la secuencia][offset << 1 | mutante]), reconstruido al arrancar
+ * recorriendo el archivo. Un hit de hash se confirma leyendo el registro, así que
+ * una colisión nunca devuelve un veredicto ajeno. Un registro a medio escribir
+ * al final del archivo (crash) se descarta al reconstruir.
+ */
+@Slf4j
+@Component
+public class ColdDnaStore {
+
+    private static final int MAGIC = 0x4D434C44;  // "MCLD"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 5;
+    private static final int FLAG_MUTANT = 1;
+    private static final int MAX_SIZE = 46340;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final boolean enabled;
+    private final Path path;
+    private final FileChannel channel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Índice y contadores: protegidos por lock
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private long mutants;
+    private long humans;
+
+    /**
+     * Próxima posición de escritura; solo la modifica el mover.
+     */
+    private volatile long end;
+
+    public ColdDnaStore(@Value("${mutant.retention.enabled:false}") boolean enabled,
+                        @Value("${mutant.retention.cold-path:./data/dna-cold.bin}") String path) {
+        this.enabled = enabled;
+        this.keys = new long[MIN_CAPACITY];
+        this.values = new long[MIN_CAPACITY];
+        if (!enabled) {
+            this.path = null;
+            this.channel = null;
+            return;
+        }
+        this.path = Path.of(path);
+        try {
+            Path absolute = this.path.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            this.channel = FileChannel.open(absolute,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el almacenamiento frío: " + path, e);
+        }
+        log.info("Almacenamiento frío {}: {} registros ({} mutantes, {} humanos)", path, size, mutants, humans);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Busca el veredicto de una secuencia archivada.
+     *
+     * @param dnaSequence Filas unidas por comas (clave de dna_records)
+     * @return El veredicto, o vacío si la secuencia no está en el almacenamiento frío
+     */
+    public Optional<Boolean> find(String dnaSequence) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long hash = slotKey(DnaHashing.hash64(dnaSequence));
+        lock.readLock().lock();
+        try {
+            byte[] expected = null;
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] != hash) {
+                    continue;
+                }
+                if (expected == null) {
+                    expected = encode(dnaSequence, false);
+                }
+                long value = values[slot];
+                if (matches(value >>> 1, expected)) {
+                    return Optional.of((value & 1) != 0);
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el almacenamiento frío: " + path, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega registros al final del archivo y al índice. Las secuencias que ya
+     * estaban archivadas se omiten (el mover puede reintentar un lote).
+     * Solo la llama el mover, desde un único hilo.
+     *
+     * @return Cantidad de registros escritos
+     */
+    public int archive(List<ColdRecord> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        long[] hashes = new long[records.size()];
+        long[] offsets = new long[records.size()];
+        boolean[] verdicts = new boolean[records.size()];
+        int count = 0;
+        for (ColdRecord record : records) {
+            if (find(record.dnaSequence()).isPresent()) {
+                continue;
+            }
+            hashes[count] = slotKey(DnaHashing.hash64(record.dnaSequence()));
+            offsets[count] = end + out.size();
+            verdicts[count] = record.isMutant();
+            DnaSnapshotFormat.writeRecord(out, record.dnaSequence(), record.isMutant());
+            count++;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        // Primero el archivo (con fsync) y recién después el índice: quien llama borra
+        // de la tabla caliente solo cuando archive() retornó
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        long position = end;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        channel.force(false);
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                index(hashes[i], offsets[i], verdicts[i]);
+            }
+            end = position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return count;
+    }
+
+    public long countMutants() {
+        lock.readLock().lock();
+        try {
+            return mutants;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long countHumans() {
+        lock.readLock().lock();
+        try {
+            return humans;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tamaño del archivo en bytes.
+     */
+    public long sizeBytes() {
+        return enabled ? end : 0;
+    }
+
+    /**
+     * Reconstruye el índice recorriendo el archivo. Trunca un registro final incompleto.
+     */
+    private void load() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            channel.force(false);
+            end = HEADER_BYTES;
+            return;
+        }
+
+        ByteBuffer header = read(0, HEADER_BYTES);
+        if (header.getInt() != MAGIC || !DnaSnapshotFormat.isSupportedVersion(header.getInt())) {
+            throw new IOException("Almacenamiento frío con formato desconocido: " + path);
+        }
+
+        long position = HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= fileSize) {
+            ByteBuffer recordHeader = read(position, RECORD_HEADER_BYTES);
+            int n = recordHeader.getInt();
+            int flags = recordHeader.get();
+            if (n <= 0 || n > MAX_SIZE || position + recordLength(n, flags) > fileSize) {
+                break;
+            }
+            byte[] record = new byte[recordLength(n, flags)];
+            read(position, record.length).get(record);
+            index(slotKey(hashOf(record)), position, (flags & FLAG_MUTANT) != 0);
+            position += record.length;
+        }
+        if (position < fileSize) {
+            log.warn("Almacenamiento frío {}: se descartan {} bytes finales incompletos", path, fileSize - position);
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    private void index(long hash, long offset, boolean isMutant) {
+        if ((size + 1) * 2L > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = (int) hash & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = hash;
+        values[slot] = offset << 1 | (isMutant ? 1 : 0);
+        size++;
+        if (isMutant) {
+            mutants++;
+        } else {
+            humans++;
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = (int) oldKeys[i] & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Compara el registro guardado en offset con el esperado, ignorando los flags.
+     */
+    private boolean matches(long offset, byte[] expected) throws IOException {
+        ByteBuffer stored = read(offset, expected.length);
+        if (stored.getInt(0) != ByteBuffer.wrap(expected).getInt(0)) {
+            return false;
+        }
+        return Arrays.equals(stored.array(), RECORD_HEADER_BYTES, expected.length,
+            expected, RECORD_HEADER_BYTES, expected.length);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Almacenamiento frío truncado: " + path);
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Hash de un registro leído del archivo: se reconstruye la clave de BD
+     * (secuencia con comas o clave digest).
+     */
+    private static long hashOf(byte[] record) {
+        return DnaHashing.hash64(DnaSnapshotFormat.decodeSequence(ByteBuffer.wrap(record).getInt(),
+            record[Integer.BYTES], Arrays.copyOfRange(record, RECORD_HEADER_BYTES, record.length)));
+    }
+
+    private static byte[] encode(String dnaSequence, boolean isMutant) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DnaSnapshotFormat.writeRecord(new DataOutputStream(bytes), dnaSequence, isMutant);
+        return bytes.toByteArray();
+    }
+
+    private static int recordLength(int n, int flags) {
+        return RECORD_HEADER_BYTES + DnaSnapshotFormat.payloadLength(n, flags);
+    }
+
+    /**
+     * 0 marca un slot vacío, por eso ningún hash puede valer 0.
+     */
+    private static long slotKey(long hash) {
+        return hash == 0 ? 1 : hash;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Registro a archivar.
+     *
+     * @param dnaSequence Filas unidas por comas
+     * @param isMutant    Veredicto
+     */
+    public record ColdRecord(String dnaSequence, boolean isMutant) {
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.retention;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator para la retención de dna_records.
+ * 
+ * GET  /actuator/retention - Registros y bytes del almacenamiento frío
+ * POST /actuator/retention - Ejecuta una corrida del mover sin esperar al scheduler
+ *
+ * No se expone por defecto: el POST no tiene autenticación. El perfil "management"
+ * lo publica en un puerto de loopback (ver application-management.properties).
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "retention")
+public class RetentionEndpoint {
+
+    private final ColdDnaStore coldStore;
+    private final RetentionMover retentionMover;
+
+    @ReadOperation
+    public Map<String, Object> cold() {
+        return Map.of(
+            "enabled", coldStore.isEnabled(),
+            "mutants", coldStore.countMutants(),
+            "humans", coldStore.countHumans(),
+            "bytes", coldStore.sizeBytes()
+        );
+    }
+
+    @WriteOperation
+    public RetentionMover.Result run() throws IOException {
+        return retentionMover.run();
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.retention;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.service.StatsVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mueve registros viejos de dna_records al almacenamiento frío ({@link ColdDnaStore}).
+ *
+ * Corre en el thread del scheduler, nunca en el de un request. Cada lote:
+ * 1. Lee los registros más antiguos (por id) que exceden el TTL o el máximo de filas
+ * 2. Los agrega al archivo frío (con fsync) y a su índice
+ * 3. Los borra de la tabla caliente con un DELETE batch
+ *
+ * Como el paso 2 termina antes del 3, un ADN siempre está en al menos uno de los
+ * dos niveles. Entre los pasos 2 y 3, /stats puede contar el lote dos veces
+ * durante unos milisegundos. Los lotes son chicos y con transacciones cortas
+ * para no retener locks que frenen las inserciones.
+ */
+@Slf4j
+@Component
+public class RetentionMover {
+
+    private static final String SELECT_EXPIRED =
+        "SELECT id, dna_sequence, is_mutant FROM dna_records WHERE created_at < ? ORDER BY id LIMIT ?";
+    private static final String SELECT_OLDEST =
+        "SELECT id, dna_sequence, is_mutant FROM dna_records ORDER BY id LIMIT ?";
+    private static final String DELETE_SQL = "DELETE FROM dna_records WHERE id = ?";
+
+    private final ColdDnaStore coldStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final StatsVersion statsVersion;
+    private final long ttlMinutes;
+    private final long maxRows;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public RetentionMover(ColdDnaStore coldStore,
+                          JdbcTemplate jdbcTemplate,
+                          StatsVersion statsVersion,
+                          @Value("${mutant.retention.ttl-minutes:0}") long ttlMinutes,
+                          @Value("${mutant.retention.max-rows:0}") long maxRows,
+                          @Value("${mutant.retention.batch-size:1000}") int batchSize,
+                          @Value("${mutant.retention.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.coldStore = coldStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.statsVersion = statsVersion;
+        this.ttlMinutes = ttlMinutes;
+        this.maxRows = maxRows;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Resultado de una corrida.
+     */
+    public record Result(long moved, long millis) {
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.retention.interval-ms:60000}",
+               initialDelayString = "${mutant.retention.interval-ms:60000}")
+    public void scheduledRun() {
+        if (!coldStore.isEnabled()) {
+            return;
+        }
+        try {
+            Result result = run();
+            if (result.moved() > 0) {
+                log.info("Retención: {} registros movidos al almacenamiento frío en {} ms",
+                    result.moved(), result.millis());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Se reintenta en la próxima corrida; los registros siguen en la tabla caliente
+            log.error("Retención: error moviendo registros al almacenamiento frío: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Mueve hasta max-batches-per-run lotes. Si ya hay una corrida en curso, no hace nada.
+     */
+    public Result run() throws IOException {
+        long start = System.nanoTime();
+        if (!coldStore.isEnabled() || !running.tryLock()) {
+            return new Result(0, 0);
+        }
+        try {
+            long moved = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Row> rows = nextBatch();
+                if (rows.isEmpty()) {
+                    break;
+                }
+                moveBatch(rows);
+                moved += rows.size();
+                if (rows.size() < batchSize) {
+                    break;
+                }
+            }
+            return new Result(moved, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Primero los registros vencidos por TTL; después, si la tabla sigue por
+     * encima de max-rows, los más antiguos hasta volver al máximo.
+     */
+    private List<Row> nextBatch() {
+        if (ttlMinutes > 0) {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusMinutes(ttlMinutes));
+            List<Row> expired = jdbcTemplate.query(SELECT_EXPIRED, this::mapRow, cutoff, batchSize);
+            if (!expired.isEmpty()) {
+                return expired;
+            }
+        }
+        if (maxRows > 0) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class);
+            long excess = (count == null ? 0 : count) - maxRows;
+            if (excess > 0) {
+                return jdbcTemplate.query(SELECT_OLDEST, this::mapRow, (int) Math.min(excess, batchSize));
+            }
+        }
+        return List.of();
+    }
+
+    private void moveBatch(List<Row> rows) throws IOException {
+        List<ColdDnaStore.ColdRecord> records = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            records.add(new ColdDnaStore.ColdRecord(row.dnaSequence(), row.isMutant()));
+        }
+        coldStore.archive(records);
+        jdbcTemplate.batchUpdate(DELETE_SQL, rows, rows.size(),
+            (statement, row) -> statement.setLong(1, row.id()));
+        // Un snapshot de /stats publicado entre archive y delete cuenta el lote dos veces
+        statsVersion.markChanged();
+    }
+
+    private Row mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return new Row(resultSet.getLong(1), resultSet.getString(2), resultSet.getBoolean(3));
+    }
+
+    private record Row(long id, String dnaSequence, boolean isMutant) {
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lector de líneas con largo máximo para el NDJSON de POST /mutant/stream.
+ *
+ * BufferedReader.readLine() acumula la línea completa sin límite: un upload sin
+ * '\n' termina en un String del tamaño del cuerpo. Aquí una línea que supera
+ * maxLength deja de acumularse, se descarta hasta el próximo '\n' y se informa
+ * con {@link #overflowed()}, de modo que el stream sigue con la línea siguiente.
+ *
+ * Las líneas terminan en '\n' (un '\r' final se quita, como en "\r\n").
+ */
+final class BoundedLineReader implements Closeable {
+
+    private static final int BUFFER_CHARS = 8192;
+
+    private final Reader in;
+    private final int maxLength;
+    private final char[] buffer = new char[BUFFER_CHARS];
+    private int position;
+    private int limit;
+    private boolean overflowed;
+
+    BoundedLineReader(Reader in, int maxLength) {
+        this.in = in;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Lee la próxima línea.
+     *
+     * @return La línea sin el terminador, "" si superó el máximo (ver {@link #overflowed()})
+     *         o null al final del stream
+     */
+    String readLine() throws IOException {
+        overflowed = false;
+        StringBuilder line = new StringBuilder();
+        long length = 0;
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read < 0) {
+                    return length == 0 ? null : finish(line);
+                }
+                position = 0;
+                limit = read;
+            }
+
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            int chunk = position - start;
+            length += chunk;
+            if (!overflowed) {
+                if (length > maxLength) {
+                    // Se sigue leyendo hasta el '\n' sin acumular
+                    overflowed = true;
+                    line = new StringBuilder();
+                } else {
+                    line.append(buffer, start, chunk);
+                }
+            }
+            if (position < limit) {
+                position++;
+                return finish(line);
+            }
+        }
+    }
+
+    /**
+     * true si la última línea leída superaba el máximo y se descartó.
+     */
+    boolean overflowed() {
+        return overflowed;
+    }
+
+    private static String finish(StringBuilder line) {
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
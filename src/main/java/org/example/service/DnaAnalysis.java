@@ -0,0 +1,24 @@
+package org.example.service;
+
+import org.example.entity.DnaRecord;
+
+/**
+ * Resultado de analizar un ADN sin persistirlo.
+ *
+ * @param dnaSequence Clave de BD (filas canónicas unidas por comas, o digest si N > 99); null si ya existía
+ * @param isMutant    Veredicto
+ * @param isNew       true si el registro no existe en BD y hay que guardarlo
+ */
+public record DnaAnalysis(String dnaSequence, boolean isMutant, boolean isNew) {
+
+    /**
+     * Veredicto ya conocido (caché o BD): no hay nada que guardar.
+     */
+    static DnaAnalysis known(boolean isMutant) {
+        return new DnaAnalysis(null, isMutant, false);
+    }
+
+    public DnaRecord toRecord() {
+        return new DnaRecord(null, dnaSequence, isMutant);
+    }
+}
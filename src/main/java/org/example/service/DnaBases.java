@@ -0,0 +1,43 @@
+package org.example.service;
+
+/**
+ * Codificación compacta de las bases nitrogenadas.
+ *
+ * Cada base se representa con 2 bits respetando el orden alfabético
+ * (A=0, C=1, G=2, T=3), de modo que comparar códigos equivale a comparar
+ * los caracteres originales.
+ */
+public final class DnaBases {
+
+    public static final int INVALID = -1;
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    private DnaBases() {
+    }
+
+    /**
+     * Devuelve el código de 2 bits de la base o {@link #INVALID} si no es A, T, C, G.
+     * Usa un switch en lugar de un Set<Character> para evitar boxing en el hot path.
+     */
+    public static int code(char base) {
+        switch (base) {
+            case 'A': return 0;
+            case 'C': return 1;
+            case 'G': return 2;
+            case 'T': return 3;
+            default: return INVALID;
+        }
+    }
+
+    public static boolean isValid(char base) {
+        return code(base) != INVALID;
+    }
+
+    /**
+     * Operación inversa de {@link #code(char)}.
+     */
+    public static char base(int code) {
+        return BASES[code & 0b11];
+    }
+}
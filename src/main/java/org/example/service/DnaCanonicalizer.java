@@ -0,0 +1,198 @@
+package org.example.service;
+
+import org.example.cache.DnaKey;
+import org.example.dto.PackedDna;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canonicalización de matrices de ADN por simetría.
+ *
+ * Ser mutante no cambia al transponer, rotar (90°, 180°, 270°) o reflejar la matriz:
+ * las secuencias horizontales y verticales se intercambian y las diagonales se
+ * mapean entre sí. Este componente elige la menor (en orden lexicográfico por filas)
+ * de las 8 variantes del grupo diedral para usarla como clave de caché, de modo que
+ * los reenvíos simétricos de un mismo ADN reutilicen el resultado guardado.
+ *
+ * COSTO: las variantes se comparan celda a celda directamente sobre las filas originales
+ * con early termination (normalmente difieren en las primeras celdas). Cada variante
+ * es un mapeo afín (fila, columna) → (fila, columna) de origen, así que los recorridos
+ * avanzan con sumas, sin decidir la variante en cada celda. {@link #key(String[])}
+ * escribe la secuencia de la variante ganadora directamente en el buffer de la clave,
+ * sin armar un String[] intermedio.
+ *
+ * Solo se canonicalizan matrices de hasta mutant.canonicalization.max-size (como mucho
+ * {@link DnaKey#MAX_LITERAL_SIZE}): en las más grandes, comparar y recorrer la variante
+ * cuesta del orden de la detección misma y la clave es un digest de las filas tal cual.
+ *
+ * Se activa con mutant.canonicalization.enabled=true.
+ */
+@Component
+public class DnaCanonicalizer {
+
+    private static final int IDENTITY = 0;
+    private static final int VARIANTS = 8;
+
+    /*
+     * Celda de origen de (row, col) en cada variante:
+     *   fila    = ROW_BASE * (n - 1) + ROW_BY_ROW * row + ROW_BY_COL * col
+     *   columna = COL_BASE * (n - 1) + COL_BY_ROW * row + COL_BY_COL * col
+     *
+     * 0 identidad, 1 transpuesta, 2 reflejo horizontal, 3 reflejo vertical,
+     * 4 rotación 180°, 5 rotación 90° horaria, 6 rotación 270° horaria, 7 antitranspuesta.
+     */
+    private static final int[] ROW_BASE   = {0, 0, 0, 1,  1,  1, 0,  1};
+    private static final int[] ROW_BY_ROW = {1, 0, 1, -1, -1, 0, 0,  0};
+    private static final int[] ROW_BY_COL = {0, 1, 0, 0,  0, -1, 1, -1};
+    private static final int[] COL_BASE   = {0, 0, 1, 0,  1,  0, 1,  1};
+    private static final int[] COL_BY_ROW = {0, 1, 0, 0,  0,  1, -1, -1};
+    private static final int[] COL_BY_COL = {1, 0, -1, 1, -1, 0, 0,  0};
+
+    private final boolean enabled;
+    private final int maxSize;
+
+    public DnaCanonicalizer(@Value("${mutant.canonicalization.enabled:false}") boolean enabled,
+                            @Value("${mutant.canonicalization.max-size:99}") int maxSize) {
+        this.enabled = enabled;
+        this.maxSize = Math.min(maxSize, DnaKey.MAX_LITERAL_SIZE);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clave de la variante canónica del ADN. Sin canonicalización (desactivada, matriz
+     * más grande que max-size o no NxN) es la clave de las filas tal cual.
+     *
+     * @param dna Array de strings representando la matriz de ADN
+     * @return Clave de la variante mínima entre las 8 simetrías
+     */
+    public DnaKey key(String[] dna) {
+        if (!applies(dna)) {
+            return DnaKey.of(dna);
+        }
+        int n = dna.length;
+        int best = minimalVariant(dna, n);
+        if (best == IDENTITY) {
+            return DnaKey.of(dna);
+        }
+
+        return DnaKey.literal(variantSequence(dna, n, best), n);
+    }
+
+    /**
+     * Igual que {@link #key(String[])} para una matriz empaquetada ya validada. Solo
+     * reconstruye las filas si hay que canonicalizarla (N hasta max-size); si no, la
+     * clave sale directo de los bytes ({@link DnaKey#ofPacked(int, byte[])}), o del
+     * digest calculado al decodificarla fuera del heap.
+     */
+    public DnaKey key(PackedDna dna) {
+        if (enabled && dna.getSize() <= maxSize) {
+            return key(dna.toRows());
+        }
+        if (dna.isOffHeap()) {
+            return DnaKey.digest(dna.getSize(), dna.getDigest());
+        }
+        return DnaKey.ofPacked(dna.getSize(), dna.getPacked());
+    }
+
+    /**
+     * Devuelve la variante canónica del ADN, o el mismo array si la canonicalización
+     * no aplica (ver {@link #key(String[])}) o ya es canónica.
+     *
+     * @param dna Array de strings representando la matriz de ADN
+     * @return filas de la variante mínima entre las 8 simetrías
+     */
+    public String[] canonicalize(String[] dna) {
+        if (!applies(dna)) {
+            return dna;
+        }
+        int n = dna.length;
+        int best = minimalVariant(dna, n);
+        if (best == IDENTITY) {
+            return dna;
+        }
+
+        String sequence = variantSequence(dna, n, best);
+        String[] rows = new String[n];
+        for (int row = 0; row < n; row++) {
+            int start = row * (n + 1);
+            rows[row] = sequence.substring(start, start + n);
+        }
+        return rows;
+    }
+
+    private boolean applies(String[] dna) {
+        return enabled && dna != null && dna.length <= maxSize && isSquare(dna);
+    }
+
+    /**
+     * Filas de la variante unidas por comas (el formato de {@link DnaKey#of(String[])}),
+     * escritas directamente en un único buffer.
+     */
+    private static String variantSequence(String[] dna, int n, int variant) {
+        char[] sequence = new char[n * n + n - 1];
+        int position = 0;
+        int last = n - 1;
+        for (int row = 0; row < n; row++) {
+            if (row > 0) {
+                sequence[position++] = ',';
+            }
+            int sourceRow = ROW_BASE[variant] * last + ROW_BY_ROW[variant] * row;
+            int sourceCol = COL_BASE[variant] * last + COL_BY_ROW[variant] * row;
+            for (int col = 0; col < n; col++) {
+                sequence[position++] = dna[sourceRow].charAt(sourceCol);
+                sourceRow += ROW_BY_COL[variant];
+                sourceCol += COL_BY_COL[variant];
+            }
+        }
+        return new String(sequence);
+    }
+
+    private static int minimalVariant(String[] dna, int n) {
+        int best = IDENTITY;
+        for (int variant = 1; variant < VARIANTS; variant++) {
+            if (compare(dna, n, variant, best) < 0) {
+                best = variant;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Compara dos variantes celda a celda en orden de filas, sin materializarlas.
+     */
+    private static int compare(String[] dna, int n, int left, int right) {
+        int last = n - 1;
+        for (int row = 0; row < n; row++) {
+            int leftRow = ROW_BASE[left] * last + ROW_BY_ROW[left] * row;
+            int leftCol = COL_BASE[left] * last + COL_BY_ROW[left] * row;
+            int rightRow = ROW_BASE[right] * last + ROW_BY_ROW[right] * row;
+            int rightCol = COL_BASE[right] * last + COL_BY_ROW[right] * row;
+            for (int col = 0; col < n; col++) {
+                int diff = dna[leftRow].charAt(leftCol) - dna[rightRow].charAt(rightCol);
+                if (diff != 0) {
+                    return diff;
+                }
+                leftRow += ROW_BY_COL[left];
+                leftCol += COL_BY_COL[left];
+                rightRow += ROW_BY_COL[right];
+                rightCol += COL_BY_COL[right];
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isSquare(String[] dna) {
+        if (dna.length == 0) {
+            return false;
+        }
+        for (String row : dna) {
+            if (row == null || row.length() != dna.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.service;
+
+/**
+ * Buffers de trabajo reutilizables para la detección.
+ *
+ * Cada hilo de plataforma conserva un único byte[] que crece según el tamaño de la
+ * matriz, evitando asignar memoria en cada request; en virtual threads los buffers
+ * salen de un pool compartido y acotado (ver {@link ScratchBuffers}). Los buffers que
+ * superan {@link #MAX_RETAINED_CELLS} no se retienen: se usan una vez y quedan para
+ * el GC, así una matriz gigante no deja memoria fijada.
+ *
+ * Cada {@link #acquire(int)} va seguido de {@link #release(byte[])} en un finally.
+ */
+final class DnaScratch {
+
+    /**
+     * Máximo de celdas que se conservan por buffer entre requests (1 MiB ≈ matriz 1024x1024).
+     */
+    static final int MAX_RETAINED_CELLS = 1 << 20;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private static final ScratchBuffers<byte[]> CELLS = new ScratchBuffers<>();
+
+    private DnaScratch() {
+    }
+
+    /**
+     * Obtiene un buffer de al menos {@code size} bytes. El contenido previo no se limpia.
+     */
+    static byte[] acquire(int size) {
+        byte[] buffer = CELLS.acquire();
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+        if (size > MAX_RETAINED_CELLS) {
+            if (buffer != null) {
+                CELLS.release(buffer);
+            }
+            return new byte[size];
+        }
+
+        // El buffer chico se reemplaza: el nuevo vuelve al pool en release()
+        int capacity = buffer == null ? MIN_CAPACITY : buffer.length;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        return new byte[Math.min(capacity, MAX_RETAINED_CELLS)];
+    }
+
+    /**
+     * Devuelve un buffer obtenido con {@link #acquire(int)}.
+     */
+    static void release(byte[] buffer) {
+        if (buffer.length <= MAX_RETAINED_CELLS) {
+            CELLS.release(buffer);
+        }
+    }
+}
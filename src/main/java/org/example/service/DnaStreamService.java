@@ -0,0 +1,370 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaRequest;
+import org.example.dto.DnaStreamResult;
+import org.example.entity.DnaRecord;
+import org.example.exception.InvalidDnaException;
+import org.example.repository.DnaRecordBatchRepository;
+import org.example.resilience.DatabaseCircuitBreaker;
+import org.example.resilience.DatabaseUnavailableException;
+import org.example.resilience.DnaRecordSpool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Procesamiento masivo de ADN en NDJSON (POST /mutant/stream).
+ *
+ * Pipeline con memoria acotada sin importar el largo del upload:
+ * 1. Lector: parsea una línea por vez y envía la detección a un pool acotado.
+ *    Una línea de más de max-line-length caracteres no se acumula: se responde
+ *    con un error para esa línea y se sigue con la siguiente.
+ * 2. Workers: validan y analizan (cachés + BD + detector) sin guardar.
+ * 3. Escritor: toma los futures en orden de entrada y escribe un veredicto por línea.
+ *
+ * Lector y escritor se conectan con una cola acotada de futures: si el cliente
+ * lee lento o la detección se atrasa, el lector se bloquea y deja de consumir
+ * el request (backpressure hasta el socket). Además de la cantidad de líneas en
+ * vuelo (window), se acota su tamaño total entre todos los streams: el lector
+ * reserva los caracteres de cada línea (mutant.stream.max-in-flight-chars) y el
+ * escritor los libera al consumir su resultado.
+ *
+ * Los registros nuevos se guardan en lotes vía DnaRecordBatchRepository en lugar
+ * de una transacción por línea; con el circuit breaker de la BD abierto, el lote
+ * va al journal local. Sus veredictos entran a las cachés recién después de
+ * guardarse, y si el cliente se desconecta se guardan igual los ya calculados.
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+public class DnaStreamService {
+
+    private static final PendingLine END = new PendingLine(CompletableFuture.completedFuture(null), 0);
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final MutantService mutantService;
+    private final DnaRecordBatchRepository batchRepository;
+    private final DatabaseCircuitBreaker databaseCircuitBreaker;
+    private final DnaRecordSpool dnaRecordSpool;
+    private final StatsVersion statsVersion;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final ThreadPoolExecutor detectionExecutor;
+    private final ExecutorService readerExecutor;
+    private final int window;
+    private final int batchSize;
+    private final int maxLineLength;
+    private final int maxInFlightChars;
+    private final Semaphore inFlightChars;
+
+    public DnaStreamService(
+            MutantService mutantService,
+            DnaRecordBatchRepository batchRepository,
+            DatabaseCircuitBreaker databaseCircuitBreaker,
+            DnaRecordSpool dnaRecordSpool,
+            StatsVersion statsVersion,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${mutant.stream.workers:0}") int workers,
+            @Value("${mutant.stream.queue:1024}") int queue,
+            @Value("${mutant.stream.window:256}") int window,
+            @Value("${mutant.stream.batch-size:500}") int batchSize,
+            @Value("${mutant.stream.max-line-length:1048576}") int maxLineLength,
+            @Value("${mutant.stream.max-in-flight-chars:67108864}") int maxInFlightChars) {
+        this.mutantService = mutantService;
+        this.batchRepository = batchRepository;
+        this.databaseCircuitBreaker = databaseCircuitBreaker;
+        this.dnaRecordSpool = dnaRecordSpool;
+        this.statsVersion = statsVersion;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(DnaRequest.class);
+        this.window = window;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+        this.maxInFlightChars = maxInFlightChars;
+        this.inFlightChars = new Semaphore(maxInFlightChars);
+
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        // Cola llena: el lector ejecuta la detección él mismo, lo que frena la lectura
+        // (también tras el shutdown, para que ningún future quede sin completar)
+        this.detectionExecutor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queue),
+            namedThreads("mutant-stream-worker"),
+            (task, executor) -> task.run());
+        this.readerExecutor = Executors.newCachedThreadPool(namedThreads("mutant-stream-reader"));
+    }
+
+    /**
+     * Procesa el cuerpo NDJSON completo y escribe un resultado por línea no vacía.
+     * Bloquea hasta terminar de leer la entrada y escribir todos los resultados.
+     *
+     * @param in  Cuerpo del request: un objeto {"dna": [...]} por línea
+     * @param out Respuesta: un DnaStreamResult por línea, en el orden de entrada
+     */
+    public void process(InputStream in, OutputStream out) throws IOException {
+        BlockingQueue<PendingLine> pending = new ArrayBlockingQueue<>(window);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<DnaAnalysis> batch = new ArrayList<>(batchSize);
+        readerExecutor.execute(() -> read(in, pending, cancelled));
+
+        try {
+            write(pending, out, batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Procesamiento de stream interrumpido", e);
+        } finally {
+            // Si el escritor falla (ej: cliente desconectado), liberar al lector y
+            // guardar igual los registros nuevos ya calculados
+            cancelled.set(true);
+            drain(pending, batch);
+            saveBatch(batch);
+        }
+    }
+
+    private void read(InputStream in, BlockingQueue<PendingLine> pending, AtomicBoolean cancelled) {
+        long lineNumber = 0;
+        try (BoundedLineReader reader = new BoundedLineReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), maxLineLength)) {
+            String json;
+            while (!cancelled.get() && (json = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.overflowed()) {
+                    LineOutcome tooLong = new LineOutcome(DnaStreamResult.error(lineNumber,
+                        "Línea demasiado larga: máximo " + maxLineLength + " caracteres"), null);
+                    enqueue(pending, new PendingLine(CompletableFuture.completedFuture(tooLong), 0), cancelled);
+                    continue;
+                }
+                if (json.isBlank()) {
+                    continue;
+                }
+                // Una línea más larga que todo el presupuesto reserva el presupuesto completo
+                int chars = Math.min(json.length(), maxInFlightChars);
+                if (!reserve(chars, cancelled)) {
+                    break;
+                }
+                long line = lineNumber;
+                String body = json;
+                enqueue(pending, new PendingLine(detectionExecutor.submit(() -> analyzeLine(line, body)), chars),
+                    cancelled);
+            }
+        } catch (IOException e) {
+            log.warn("Error leyendo el stream NDJSON en la línea {}: {}", lineNumber + 1, e.getMessage());
+            LineOutcome failure = new LineOutcome(
+                DnaStreamResult.error(lineNumber + 1, "Error leyendo el stream: " + e.getMessage()), null);
+            enqueueQuietly(pending, new PendingLine(CompletableFuture.completedFuture(failure), 0), cancelled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            enqueueQuietly(pending, END, cancelled);
+            if (cancelled.get()) {
+                // Lo encolado después de que el escritor vació la cola solo se libera aquí
+                drain(pending, null);
+            }
+        }
+    }
+
+    private LineOutcome analyzeLine(long line, String json) {
+        DnaRequest request;
+        try {
+            request = requestReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            return new LineOutcome(DnaStreamResult.error(line, "JSON inválido: " + e.getOriginalMessage()), null);
+        }
+        if (request == null) {
+            return new LineOutcome(DnaStreamResult.error(line, "La secuencia de ADN no puede ser null"), null);
+        }
+
+        Set<ConstraintViolation<DnaRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return new LineOutcome(DnaStreamResult.error(line, violations.iterator().next().getMessage()), null);
+        }
+
+        try {
+            DnaAnalysis analysis = mutantService.analyzeWithoutSaving(request.getDna());
+            return new LineOutcome(DnaStreamResult.verdict(line, analysis.isMutant()), analysis);
+        } catch (InvalidDnaException | IllegalArgumentException e) {
+            return new LineOutcome(DnaStreamResult.error(line, e.getMessage()), null);
+        }
+    }
+
+    private void write(BlockingQueue<PendingLine> pending, OutputStream out, List<DnaAnalysis> batch)
+            throws IOException, InterruptedException {
+        PendingLine next;
+        while ((next = pending.take()) != END) {
+            LineOutcome outcome = await(next);
+            out.write(objectMapper.writeValueAsBytes(outcome.result()));
+            out.write('\n');
+
+            DnaAnalysis analysis = outcome.analysis();
+            if (analysis != null && analysis.isNew()) {
+                batch.add(analysis);
+                if (batch.size() >= batchSize) {
+                    saveBatch(batch);
+                }
+            }
+            // Flush solo cuando no hay más resultados listos: menos syscalls sin demorar al cliente
+            if (pending.isEmpty()) {
+                out.flush();
+            }
+        }
+        saveBatch(batch);
+        out.flush();
+    }
+
+    /**
+     * Tras un corte del escritor: libera las líneas que quedaron en la cola y junta
+     * en batch (si no es null) los registros nuevos de las que ya se analizaron.
+     */
+    private void drain(BlockingQueue<PendingLine> pending, List<DnaAnalysis> batch) {
+        PendingLine next;
+        while ((next = pending.poll()) != null) {
+            if (next == END) {
+                continue;
+            }
+            inFlightChars.release(next.chars());
+            Future<LineOutcome> result = next.result();
+            if (batch == null || !result.isDone() || result.isCancelled()) {
+                continue;
+            }
+            try {
+                DnaAnalysis analysis = result.get().analysis();
+                if (analysis != null && analysis.isNew()) {
+                    batch.add(analysis);
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                // Ya terminado: get() no bloquea ni se interrumpe; un error no tiene registro
+            }
+        }
+    }
+
+    /**
+     * Guarda el lote (BD o journal), pasa a las cachés lo que quedó guardado y lo vacía.
+     */
+    private void saveBatch(List<DnaAnalysis> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<DnaRecord> records = batch.stream().map(DnaAnalysis::toRecord).toList();
+        try {
+            databaseCircuitBreaker.run(() -> batchRepository.saveAll(records));
+            statsVersion.markChanged();
+            batch.forEach(mutantService::remember);
+        } catch (DatabaseUnavailableException e) {
+            for (int i = 0; i < records.size(); i++) {
+                if (dnaRecordSpool.append(records.get(i))) {
+                    mutantService.remember(batch.get(i));
+                }
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private LineOutcome await(PendingLine next) throws InterruptedException {
+        try {
+            return next.result().get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error inesperado analizando ADN", e.getCause());
+        } finally {
+            inFlightChars.release(next.chars());
+        }
+    }
+
+    /**
+     * Reserva caracteres del presupuesto compartido de líneas en vuelo.
+     *
+     * @return false si el stream se canceló mientras esperaba
+     */
+    private boolean reserve(int chars, AtomicBoolean cancelled) throws InterruptedException {
+        while (!cancelled.get()) {
+            if (inFlightChars.tryAcquire(chars, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void enqueue(BlockingQueue<PendingLine> pending, PendingLine line,
+                         AtomicBoolean cancelled) throws InterruptedException {
+        boolean queued = false;
+        try {
+            while (!queued && !cancelled.get()) {
+                queued = pending.offer(line, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            // Nunca llegó a la cola: nadie más va a liberar su reserva
+            if (!queued) {
+                inFlightChars.release(line.chars());
+            }
+        }
+    }
+
+    private void enqueueQuietly(BlockingQueue<PendingLine> pending, PendingLine line,
+                                AtomicBoolean cancelled) {
+        try {
+            enqueue(pending, line, cancelled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readerExecutor.shutdownNow();
+        detectionExecutor.shutdown();
+    }
+
+    /**
+     * Resultado de una línea: lo que se escribe y, si corresponde, el registro a guardar.
+     */
+    private record LineOutcome(DnaStreamResult result, DnaAnalysis analysis) {
+    }
+
+    /**
+     * Línea en vuelo: su resultado y los caracteres que reservó del presupuesto.
+     */
+    private record PendingLine(Future<LineOutcome> result, int chars) {
+    }
+}
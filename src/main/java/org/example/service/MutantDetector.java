@@ -1,22 +1,36 @@
 package org.example.service;
 
+import org.example.dto.PackedDna;
+import org.example.exception.InvalidDnaException;
+import org.example.service.detection.DetectionPlan;
+import org.example.service.detection.ScalarDetectionStrategy;
+import org.example.service.detection.SequenceCounter;
+import org.example.service.detection.SequenceCounts;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 
 /**
  * Servicio que contiene el algoritmo optimizado de detección de mutantes.
  * 
+ * Valida y codifica el ADN; el recorrido lo hace la DetectionStrategy que el
+ * plan vigente asigna al tamaño N (escalar, bitboards o paralela). Por defecto
+ * usa la estrategia escalar; DetectionCalibrator elige el plan al arrancar.
+ * 
  * OPTIMIZACIONES IMPLEMENTADAS:
  * 1. Early Termination - Retorna inmediatamente al encontrar >1 secuencia
- * 2. Conversión a char[][] - Acceso O(1) más rápido que String.charAt()
- * 3. Boundary Checking - Solo busca donde cabe la secuencia
- * 4. Direct Comparison - Comparaciones sin loops adicionales
- * 5. Validation Set O(1) - Validación eficiente de caracteres
+ * 2. Buffer plano reutilizable - Las bases se codifican en un byte[] por hilo, o de un pool
+ *    acotado en virtual threads (sin asignaciones)
+ * 3. Estrategia por tamaño - Cada rango de N usa el recorrido más rápido en este hardware
+ * 4. Validación con switch - Lectura in-place con charAt(), sin toCharArray() ni boxing
+ * 5. Matrices grandes fuera del heap - Desde N = offHeapMinSize las bases se codifican
+ *    directo en memoria nativa (OffHeapCells) que se libera al terminar la detección
  * 
  * COMPLEJIDAD:
  * - Temporal: O(N²) en el peor caso, ~O(N) con early termination en mutantes
- * - Espacial: O(1) - Solo usa variables locales y contador
+ * - Espacial: O(1) en estado estacionario - Los buffers se reutilizan entre requests
+ *   y las matrices grandes no dejan basura en el heap
  * 
  * @author MercadoLibre Backend Exam
  */
@@ -24,7 +38,14 @@ import java.util.Set;
 public class MutantDetector {
 
     private static final int SEQUENCE_LENGTH = 4;
-    private static final Set<Character> VALID_BASES = Set.of('A', 'T', 'C', 'G');
+
+    /**
+     * N a partir del cual la matriz se codifica fuera del heap (4096² = 16 MiB).
+     */
+    public static final int DEFAULT_OFF_HEAP_MIN_SIZE = 4096;
+
+    private volatile DetectionPlan plan = DetectionPlan.single(new ScalarDetectionStrategy());
+    private volatile int offHeapMinSize = DEFAULT_OFF_HEAP_MIN_SIZE;
 
     /**
      * Determina si una secuencia de ADN pertenece a un mutante.
@@ -34,112 +55,152 @@ public class MutantDetector {
      * 
      * @param dna Array de Strings que representa la matriz de ADN (NxN)
      * @return true si es mutante (2+ secuencias), false si es humano (0-1 secuencias)
-     * @throws IllegalArgumentException si el ADN es inválido
+     * @throws InvalidDnaException si el ADN es inválido
      */
     public boolean isMutant(String[] dna) {
-        validateDna(dna);
-        
-        int n = dna.length;
-        
-        // Optimización: Convertir a char[][] para acceso O(1) más rápido
-        char[][] matrix = new char[n][];
-        for (int i = 0; i < n; i++) {
-            matrix[i] = dna[i].toCharArray();
+        int n = validateDna(dna);
+        if (n >= offHeapMinSize) {
+            // Matriz grande: directo de las filas a memoria nativa, liberada al salir
+            try (OffHeapCells cells = OffHeapCells.allocate(n)) {
+                encode(dna, cells.segment());
+                return plan.strategyFor(n).hasMultipleSequences(cells.segment(), n);
+            }
         }
-        
-        int sequenceCount = 0;
-        
-        // Single Pass: Un solo recorrido de la matriz
-        for (int row = 0; row < n; row++) {
-            for (int col = 0; col < n; col++) {
-                
-                // Boundary Checking: Solo buscar si cabe la secuencia
-                
-                // Horizontal (→)
-                if (col <= n - SEQUENCE_LENGTH) {
-                    if (checkHorizontal(matrix, row, col)) {
-                        sequenceCount++;
-                        // Early Termination: Retornar inmediatamente si >1 secuencia
-                        if (sequenceCount > 1) {
-                            return true;
-                        }
-                    }
-                }
-                
-                // Vertical (↓)
-                if (row <= n - SEQUENCE_LENGTH) {
-                    if (checkVertical(matrix, row, col)) {
-                        sequenceCount++;
-                        if (sequenceCount > 1) {
-                            return true;
-                        }
-                    }
-                }
-                
-                // Diagonal principal (↘)
-                if (row <= n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
-                    if (checkDiagonalDown(matrix, row, col)) {
-                        sequenceCount++;
-                        if (sequenceCount > 1) {
-                            return true;
-                        }
-                    }
-                }
-                
-                // Diagonal inversa (↙)
-                if (row <= n - SEQUENCE_LENGTH && col >= SEQUENCE_LENGTH - 1) {
-                    if (checkDiagonalUp(matrix, row, col)) {
-                        sequenceCount++;
-                        if (sequenceCount > 1) {
-                            return true;
-                        }
-                    }
+
+        // Optimización: Codificar en un buffer plano reutilizado entre requests
+        byte[] cells = DnaScratch.acquire(n * n);
+        try {
+            encode(dna, cells);
+            return hasMultipleSequences(cells, n);
+        } finally {
+            DnaScratch.release(cells);
+        }
+    }
+
+    /**
+     * Variante para ADN recibido en formato binario (application/x-dna-packed).
+     * Los códigos de 2 bits se copian directo al buffer plano (o a la matriz fuera
+     * del heap, desde offHeapMinSize): no hay Strings ni caracteres que validar.
+     * Si el cuerpo ya se decodificó fuera del heap, se recorre sin copiar.
+     *
+     * @param dna Matriz empaquetada NxN
+     * @return true si es mutante (2+ secuencias), false si es humano
+     * @throws InvalidDnaException si la matriz no es NxN o es menor a 4x4
+     */
+    public boolean isPackedMutant(PackedDna dna) {
+        int n = dna.getSize();
+        if (n < SEQUENCE_LENGTH) {
+            throw InvalidDnaException.tooSmall();
+        }
+        if (!dna.hasExpectedLength()) {
+            throw InvalidDnaException.notSquare();
+        }
+        if (dna.isOffHeap()) {
+            return plan.strategyFor(n).hasMultipleSequences(dna.cells(), n);
+        }
+        if (n >= offHeapMinSize) {
+            try (OffHeapCells cells = OffHeapCells.allocate(n)) {
+                MemorySegment segment = cells.segment();
+                for (int cell = 0; cell < n * n; cell++) {
+                    segment.set(ValueLayout.JAVA_BYTE, cell, (byte) dna.code(cell));
                 }
+                return plan.strategyFor(n).hasMultipleSequences(segment, n);
             }
         }
-        
-        return false;
+
+        byte[] cells = DnaScratch.acquire(n * n);
+        try {
+            for (int cell = 0; cell < n * n; cell++) {
+                cells[cell] = (byte) dna.code(cell);
+            }
+            return hasMultipleSequences(cells, n);
+        } finally {
+            DnaScratch.release(cells);
+        }
     }
 
     /**
-     * Verifica secuencia horizontal (→).
-     * Direct Comparison: Sin loops, comparaciones directas.
+     * Cuenta TODAS las secuencias, por dirección y por base (POST /mutant/analyze).
+     *
+     * Sin early termination: recorre la matriz completa aunque el veredicto se
+     * conozca en la segunda secuencia, por eso no se usa para responder POST /mutant.
+     * Las matrices grandes se reparten por bandas de filas (ver SequenceCounter).
+     *
+     * @param dna Array de Strings que representa la matriz de ADN (NxN)
+     * @return Conteo completo; {@code isMutant()} coincide con {@link #isMutant(String[])}
+     * @throws InvalidDnaException si el ADN es inválido
      */
-    private boolean checkHorizontal(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        return matrix[row][col + 1] == base &&
-               matrix[row][col + 2] == base &&
-               matrix[row][col + 3] == base;
+    public SequenceCounts countSequences(String[] dna) {
+        int n = validateDna(dna);
+
+        byte[] cells = DnaScratch.acquire(n * n);
+        try {
+            encode(dna, cells);
+            return SequenceCounter.count(cells, n);
+        } finally {
+            DnaScratch.release(cells);
+        }
     }
 
     /**
-     * Verifica secuencia vertical (↓).
+     * Delega en la estrategia del plan vigente para este N.
      */
-    private boolean checkVertical(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        return matrix[row + 1][col] == base &&
-               matrix[row + 2][col] == base &&
-               matrix[row + 3][col] == base;
+    private boolean hasMultipleSequences(byte[] cells, int n) {
+        return plan.strategyFor(n).hasMultipleSequences(cells, n);
     }
 
     /**
-     * Verifica secuencia diagonal hacia abajo (↘).
+     * Plan de estrategias vigente (ver DetectionCalibrator).
      */
-    private boolean checkDiagonalDown(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        return matrix[row + 1][col + 1] == base &&
-               matrix[row + 2][col + 2] == base &&
-               matrix[row + 3][col + 3] == base;
+    public DetectionPlan getPlan() {
+        return plan;
+    }
+
+    public int getOffHeapMinSize() {
+        return offHeapMinSize;
     }
 
     /**
-     * Verifica secuencia diagonal hacia arriba (↙).
+     * N a partir del cual la detección trabaja fuera del heap (ver DetectionCalibrator).
      */
-    private boolean checkDiagonalUp(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        return matrix[row + 1][col - 1] == base &&
-               matrix[row + 2][col - 2] == base &&
-               matrix[row + 3][col - 3] == base;
+    public void setOffHeapMinSize(int offHeapMinSize) {
+        this.offHeapMinSize = Math.max(SEQUENCE_LENGTH, offHeapMinSize);
+    }
+
+    /**
+     * Reemplaza el plan de estrategias. Todas las estrategias dan el mismo
+     * resultado, así que cambiarlo en caliente es seguro.
+     */
+    public void setPlan(DetectionPlan plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * Copia las bases ya validadas al buffer plano, leyendo las filas in-place.
+     */
+    private void encode(String[] dna, byte[] cells) {
+        int n = dna.length;
+        for (int row = 0; row < n; row++) {
+            String bases = dna[row];
+            int offset = row * n;
+            for (int col = 0; col < n; col++) {
+                cells[offset + col] = (byte) DnaBases.code(bases.charAt(col));
+            }
+        }
+    }
+
+    /**
+     * Igual que {@link #encode(String[], byte[])} sobre la matriz fuera del heap.
+     */
+    private void encode(String[] dna, MemorySegment cells) {
+        int n = dna.length;
+        for (int row = 0; row < n; row++) {
+            String bases = dna[row];
+            long offset = (long) row * n;
+            for (int col = 0; col < n; col++) {
+                cells.set(ValueLayout.JAVA_BYTE, offset + col, (byte) DnaBases.code(bases.charAt(col)));
+            }
+        }
     }
 
     /**
@@ -147,31 +208,36 @@ public class MutantDetector {
      * - No null, no vacío
      * - Matriz NxN (cuadrada)
      * - Solo caracteres A, T, C, G
+     *
+     * Los rechazos usan las instancias precreadas de InvalidDnaException.
+     *
+     * @return el tamaño N de la matriz
      */
-    private void validateDna(String[] dna) {
+    private int validateDna(String[] dna) {
         if (dna == null || dna.length == 0) {
-            throw new IllegalArgumentException("La secuencia de ADN no puede ser null o vacía");
+            throw InvalidDnaException.nullOrEmpty();
         }
         
         int n = dna.length;
         
         for (String row : dna) {
             if (row == null || row.length() != n) {
-                throw new IllegalArgumentException("La matriz de ADN debe ser NxN");
+                throw InvalidDnaException.notSquare();
             }
 
             if (n < SEQUENCE_LENGTH) {
-                throw new IllegalArgumentException("La matriz de ADN debe ser al menos de 4x4");
+                throw InvalidDnaException.tooSmall();
             }
             
-            // Validation Set O(1): Verificar caracteres válidos
-            for (char base : row.toCharArray()) {
-                if (!VALID_BASES.contains(base)) {
-                    throw new IllegalArgumentException(
-                        "ADN inválido: Solo se permiten caracteres A, T, C, G. Encontrado: " + base
-                    );
+            // Lectura in-place: charAt() evita la copia de toCharArray()
+            for (int col = 0; col < n; col++) {
+                char base = row.charAt(col);
+                if (!DnaBases.isValid(base)) {
+                    throw InvalidDnaException.invalidBase(base);
                 }
             }
         }
+
+        return n;
     }
 }
@@ -1,10 +1,21 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.cache.DnaKey;
+import org.example.cache.MappedVerdictCache;
+import org.example.cache.SmallDnaVerdictTable;
+import org.example.dto.PackedDna;
 import org.example.entity.DnaRecord;
 import org.example.repository.DnaRecordRepository;
+import org.example.resilience.DatabaseCircuitBreaker;
+import org.example.resilience.DatabaseUnavailableException;
+import org.example.resilience.DnaRecordSpool;
+import org.example.retention.ColdDnaStore;
+import org.example.unique.UniqueDnaTracker;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 /**
  * Servicio de negocio para gestionar la detección de mutantes.
@@ -22,29 +33,171 @@ public class MutantService {
 
     private final MutantDetector mutantDetector;
     private final DnaRecordRepository dnaRecordRepository;
+    private final DnaCanonicalizer dnaCanonicalizer;
+    private final SmallDnaVerdictTable smallDnaVerdictTable;
+    private final MappedVerdictCache mappedVerdictCache;
+    private final ColdDnaStore coldDnaStore;
+    private final DatabaseCircuitBreaker databaseCircuitBreaker;
+    private final DnaRecordSpool dnaRecordSpool;
+    private final UniqueDnaTracker uniqueDnaTracker;
+    private final StatsVersion statsVersion;
 
     /**
      * Analiza una secuencia de ADN y determina si es mutante.
      * 
      * OPTIMIZACIÓN: Implementa caché verificando si el ADN ya fue analizado.
      * Si existe en BD, retorna el resultado previo sin re-analizar.
+     * Con la canonicalización activa, la clave es la variante simétrica mínima,
+     * por lo que las rotaciones/reflejos de un ADN ya analizado también son hits.
+     * Las matrices de hasta 8x8 se resuelven primero en SmallDnaVerdictTable,
+     * sin tocar la BD ni el detector. Luego se consulta la caché persistente
+     * mapeada en memoria (sobrevive a reinicios) y recién después la BD
+     * (tabla caliente y, si no está, el almacenamiento frío de la retención).
+     * Desde 100x100 la clave es un digest de tamaño fijo (ver {@link DnaKey}).
+     *
+     * MODO DEGRADADO: las llamadas a la BD pasan por DatabaseCircuitBreaker. Si la
+     * BD falla o está lenta, el veredicto sale de las cachés + el detector y el
+     * registro nuevo va al journal local (DnaRecordSpool) en lugar de a la BD.
+     * Sin @Transactional: la consulta y el save usan cada uno su propia
+     * transacción corta, así un fallo de la BD no deja la del request marcada
+     * como rollback-only.
      * 
      * @param dna Array de strings representando la matriz de ADN
      * @return true si es mutante, false si es humano
      */
-    @Transactional
     public boolean analyzeDna(String[] dna) {
-        String dnaSequence = String.join(",", dna);
+        return analyze(dna, () -> mutantDetector.isMutant(dna));
+    }
+
+    /**
+     * Igual que {@link #analyzeDna(String[])} para ADN en formato binario.
+     * La detección trabaja sobre los códigos empaquetados y la clave de caché/BD
+     * se calcula sobre los mismos bytes, sin reconstruir las filas como String.
+     *
+     * @param dna Matriz empaquetada NxN
+     * @return true si es mutante, false si es humano
+     */
+    public boolean analyzePackedDna(PackedDna dna) {
+        return analyze(dnaCanonicalizer.key(dna), () -> mutantDetector.isPackedMutant(dna));
+    }
+
+    /**
+     * Igual que {@link #analyzeDna(String[])} con la detección a cargo de quien llama
+     * (ej: el recálculo incremental de PATCH /mutant, ver DnaDeltaService).
+     * Solo se invoca si el ADN no está en caché ni en la BD.
+     *
+     * @param dna       ADN ya validado
+     * @param detection Veredicto del ADN
+     * @return true si es mutante, false si es humano
+     */
+    public boolean analyzeDna(String[] dna, BooleanSupplier detection) {
+        return analyze(dna, detection);
+    }
+
+    /**
+     * Variante para procesamiento masivo (POST /mutant/stream): consulta las cachés
+     * y la BD y detecta si hace falta, pero NO guarda. Quien llama acumula los
+     * registros nuevos, los persiste en lote con DnaRecordBatchRepository y recién
+     * entonces los pasa a {@link #remember(DnaAnalysis)}.
+     *
+     * @param dna Array de strings representando la matriz de ADN
+     * @return Veredicto, clave de BD y si el registro todavía no existe
+     */
+    public DnaAnalysis analyzeWithoutSaving(String[] dna) {
+        return lookupOrDetect(dna, () -> mutantDetector.isMutant(dna));
+    }
+
+    /**
+     * Agrega a las cachés el veredicto de un análisis de {@link #analyzeWithoutSaving(String[])}
+     * una vez que quien llama lo guardó (BD o journal). Antes no: si el registro se
+     * pierde, el ADN debe volver a ser un miss para guardarse la próxima vez.
+     */
+    public void remember(DnaAnalysis analysis) {
+        remember(DnaKey.parse(analysis.dnaSequence()), analysis.isMutant());
+    }
+
+    private boolean analyze(String[] dna, BooleanSupplier detection) {
+        return analyze(dnaCanonicalizer.key(dna), detection);
+    }
+
+    private boolean analyze(DnaKey key, BooleanSupplier detection) {
+        DnaAnalysis analysis = lookupOrDetect(key, detection);
+        // Un ADN nuevo entra a las cachés recién guardado (BD o journal): si el journal
+        // lo descarta, la próxima vez que llegue es un miss y se vuelve a guardar
+        if (analysis.isNew() && save(analysis.toRecord())) {
+            remember(key, analysis.isMutant());
+        }
+        return analysis.isMutant();
+    }
+
+    /**
+     * @return true si el registro quedó en la BD o en el journal
+     */
+    private boolean save(DnaRecord record) {
+        try {
+            databaseCircuitBreaker.run(() -> dnaRecordRepository.save(record));
+            statsVersion.markChanged();
+            return true;
+        } catch (DatabaseUnavailableException e) {
+            return dnaRecordSpool.append(record);
+        }
+    }
+
+    private void remember(DnaKey key, boolean isMutant) {
+        smallDnaVerdictTable.put(key, isMutant);
+        mappedVerdictCache.put(key, isMutant);
+    }
+
+    private DnaAnalysis lookupOrDetect(String[] dna, BooleanSupplier detection) {
+        return lookupOrDetect(dnaCanonicalizer.key(dna), detection);
+    }
+
+    private DnaAnalysis lookupOrDetect(DnaKey key, BooleanSupplier detection) {
+        DnaAnalysis analysis = resolve(key, detection);
+        // Estimación de ADN distintos: cuenta también los resueltos desde caché
+        uniqueDnaTracker.record(key, analysis.isMutant());
+        return analysis;
+    }
+
+    private DnaAnalysis resolve(DnaKey key, BooleanSupplier detection) {
+        // Fast path: Matrices pequeñas empaquetadas en la tabla primitiva
+        int cached = smallDnaVerdictTable.get(key);
+        if (cached != SmallDnaVerdictTable.MISS) {
+            return DnaAnalysis.known(cached == SmallDnaVerdictTable.MUTANT);
+        }
+
+        // Caché persistente: Archivo mapeado, recargado al reiniciar
+        int persisted = mappedVerdictCache.get(key);
+        if (persisted != MappedVerdictCache.MISS) {
+            boolean isMutant = persisted == MappedVerdictCache.MUTANT;
+            smallDnaVerdictTable.put(key, isMutant);
+            return DnaAnalysis.known(isMutant);
+        }
+
+        String dnaSequence = key.sequence();
         
-        // Caché: Verificar si ya existe en BD
-        return dnaRecordRepository.findByDnaSequence(dnaSequence)
-            .map(DnaRecord::getIsMutant)
-            .orElseGet(() -> {
-                // No existe: Analizar y guardar
-                boolean isMutant = mutantDetector.isMutant(dna);
-                DnaRecord record = new DnaRecord(dna, isMutant);
-                dnaRecordRepository.save(record);
-                return isMutant;
-            });
+        // Caché: Verificar si ya existe en BD (o si la retención ya lo archivó)
+        Optional<Boolean> existing = findHot(dnaSequence)
+            .or(() -> coldDnaStore.find(dnaSequence));
+        if (existing.isPresent()) {
+            remember(key, existing.get());
+            return DnaAnalysis.known(existing.get());
+        }
+        // No existe: Analizar (el guardado, y recién después las cachés, quedan a cargo de quien llama)
+        return new DnaAnalysis(dnaSequence, detection.getAsBoolean(), true);
+    }
+
+    /**
+     * Consulta la tabla caliente a través del breaker. Con la BD caída se trata
+     * como un miss: el ADN se detecta de nuevo y, si ya estaba guardado, el
+     * MERGE de la reproducción del journal lo vuelve idempotente.
+     */
+    private Optional<Boolean> findHot(String dnaSequence) {
+        try {
+            return databaseCircuitBreaker.execute(() -> dnaRecordRepository.findByDnaSequence(dnaSequence)
+                .map(DnaRecord::getIsMutant));
+        } catch (DatabaseUnavailableException e) {
+            return Optional.empty();
+        }
     }
 }
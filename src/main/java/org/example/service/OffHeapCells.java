@@ -0,0 +1,53 @@
+package org.example.service;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Matriz plana de códigos (un byte por celda, fila por fila) fuera del heap.
+ *
+ * Para N en las decenas de miles, el buffer de {@link DnaScratch} sería un byte[]
+ * de cientos de MB a GB que no se retiene y queda para el GC en cada request.
+ * Aquí las celdas viven en un {@link Arena} propio y se liberan en {@link #close()}
+ * al terminar la detección (try-with-resources), sin pasar por el GC.
+ *
+ * El arena es compartido (no confinado) porque la estrategia paralela lee la
+ * matriz desde los hilos del ForkJoinPool común. Los cuerpos binarios grandes
+ * se decodifican directo aquí (ver DnaPackedCodec), por eso es público.
+ */
+public final class OffHeapCells implements AutoCloseable {
+
+    private final Arena arena;
+    private final MemorySegment cells;
+
+    private OffHeapCells(Arena arena, MemorySegment cells) {
+        this.arena = arena;
+        this.cells = cells;
+    }
+
+    /**
+     * Reserva N² bytes fuera del heap. El contenido inicial es cero.
+     */
+    public static OffHeapCells allocate(int n) {
+        Arena arena = Arena.ofShared();
+        try {
+            return new OffHeapCells(arena, arena.allocate((long) n * n));
+        } catch (RuntimeException | OutOfMemoryError e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public MemorySegment segment() {
+        return cells;
+    }
+
+    /**
+     * Libera la memoria. Cualquier acceso posterior al segmento falla con
+     * IllegalStateException en lugar de leer memoria liberada.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.example.cache.DnaKey;
+import org.example.cache.MappedVerdictCache;
+import org.example.cache.SmallDnaVerdictTable;
+import org.example.config.BoundedScheduler;
+import org.example.dto.DnaRequest;
+import org.example.entity.DnaRecordRow;
+import org.example.repository.ReactiveDnaRecordRepository;
+import org.example.retention.ColdDnaStore;
+import org.example.unique.UniqueDnaTracker;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Versión no bloqueante de {@link MutantService} (perfil "reactive").
+ *
+ * Mismo flujo de caché (tabla de matrices pequeñas, archivo mapeado, BD), pero
+ * la BD se consulta vía R2DBC y todo el trabajo proporcional a N² (validación,
+ * clave canónica, lookup en el archivo mapeado, detección) corre en el scheduler
+ * acotado para no bloquear los event loops de Netty.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveMutantService {
+
+    private final MutantDetector mutantDetector;
+    private final ReactiveDnaRecordRepository dnaRecordRepository;
+    private final DnaCanonicalizer dnaCanonicalizer;
+    private final SmallDnaVerdictTable smallDnaVerdictTable;
+    private final MappedVerdictCache mappedVerdictCache;
+    private final ColdDnaStore coldDnaStore;
+    private final UniqueDnaTracker uniqueDnaTracker;
+    private final Validator validator;
+    private final BoundedScheduler detectionScheduler;
+
+    public ReactiveMutantService(MutantDetector mutantDetector,
+                                 ReactiveDnaRecordRepository dnaRecordRepository,
+                                 DnaCanonicalizer dnaCanonicalizer,
+                                 SmallDnaVerdictTable smallDnaVerdictTable,
+                                 MappedVerdictCache mappedVerdictCache,
+                                 ColdDnaStore coldDnaStore,
+                                 UniqueDnaTracker uniqueDnaTracker,
+                                 Validator validator,
+                                 @Qualifier("detectionScheduler") BoundedScheduler detectionScheduler) {
+        this.mutantDetector = mutantDetector;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.dnaCanonicalizer = dnaCanonicalizer;
+        this.smallDnaVerdictTable = smallDnaVerdictTable;
+        this.mappedVerdictCache = mappedVerdictCache;
+        this.coldDnaStore = coldDnaStore;
+        this.uniqueDnaTracker = uniqueDnaTracker;
+        this.validator = validator;
+        this.detectionScheduler = detectionScheduler;
+    }
+
+    /**
+     * Resultado de la etapa en el scheduler: la clave y el veredicto de las cachés
+     * en memoria, o null si hay que ir a la BD.
+     */
+    private record Lookup(DnaKey key, Boolean cached) {
+    }
+
+    /**
+     * Analiza una secuencia de ADN y determina si es mutante.
+     *
+     * El controlador no valida con @Valid (correría en el event loop): la
+     * validación de {@link DnaRequest} se hace aquí, en el scheduler.
+     *
+     * @param dna Array de strings representando la matriz de ADN
+     * @return Mono con true si es mutante, false si es humano, o error
+     *         ConstraintViolationException si la matriz no es válida
+     */
+    public Mono<Boolean> analyzeDna(String[] dna) {
+        return detectionScheduler.offload(() -> lookup(dna))
+            .flatMap(lookup -> resolve(dna, lookup)
+                .doOnNext(isMutant -> uniqueDnaTracker.record(lookup.key(), isMutant)));
+    }
+
+    private Lookup lookup(String[] dna) {
+        Set<ConstraintViolation<DnaRequest>> violations = validator.validateValue(DnaRequest.class, "dna", dna);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        DnaKey key = dnaCanonicalizer.key(dna);
+        int cached = smallDnaVerdictTable.get(key);
+        if (cached != SmallDnaVerdictTable.MISS) {
+            return new Lookup(key, cached == SmallDnaVerdictTable.MUTANT);
+        }
+        int persisted = mappedVerdictCache.get(key);
+        if (persisted != MappedVerdictCache.MISS) {
+            boolean isMutant = persisted == MappedVerdictCache.MUTANT;
+            smallDnaVerdictTable.put(key, isMutant);
+            return new Lookup(key, isMutant);
+        }
+        return new Lookup(key, null);
+    }
+
+    private Mono<Boolean> resolve(String[] dna, Lookup lookup) {
+        if (lookup.cached() != null) {
+            return Mono.just(lookup.cached());
+        }
+
+        DnaKey key = lookup.key();
+        String dnaSequence = key.sequence();
+        return dnaRecordRepository.findByDnaSequence(dnaSequence)
+            .map(DnaRecordRow::getIsMutant)
+            .switchIfEmpty(Mono.defer(() -> findCold(dnaSequence)))
+            .switchIfEmpty(Mono.defer(() -> detectAndSave(dna, key)))
+            .doOnNext(isMutant -> {
+                smallDnaVerdictTable.put(key, isMutant);
+                mappedVerdictCache.put(key, isMutant);
+            });
+    }
+
+    /**
+     * Fallback al almacenamiento frío de la retención. Lee del archivo, por eso
+     * corre en el scheduler de detección y no en el event loop.
+     */
+    private Mono<Boolean> findCold(String dnaSequence) {
+        if (!coldDnaStore.isEnabled()) {
+            return Mono.empty();
+        }
+        return detectionScheduler.offload(() -> coldDnaStore.find(dnaSequence).orElse(null));
+    }
+
+    private Mono<Boolean> detectAndSave(String[] dna, DnaKey key) {
+        return detectionScheduler.offload(() -> mutantDetector.isMutant(dna))
+            .flatMap(isMutant -> dnaRecordRepository.save(new DnaRecordRow(null, key.sequence(), isMutant))
+                .thenReturn(isMutant)
+                // Otro request guardó el mismo ADN en paralelo: el veredicto es el mismo
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(isMutant)));
+    }
+}
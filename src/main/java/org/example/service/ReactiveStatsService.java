@@ -0,0 +1,44 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.StatsResponse;
+import org.example.dto.UniqueStatsResponse;
+import org.example.repository.ReactiveDnaRecordRepository;
+import org.example.retention.ColdDnaStore;
+import org.example.unique.UniqueDnaTracker;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión no bloqueante de {@link StatsService} (perfil "reactive").
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStatsService {
+
+    private final ReactiveDnaRecordRepository dnaRecordRepository;
+    private final ColdDnaStore coldDnaStore;
+    private final UniqueDnaTracker uniqueDnaTracker;
+
+    /**
+     * Obtiene las estadísticas consultando ambos contadores en paralelo.
+     *
+     * @return Mono con StatsResponse con contadores y ratio
+     */
+    public Mono<StatsResponse> getStats() {
+        return Mono.zip(dnaRecordRepository.countMutants(), dnaRecordRepository.countHumans())
+            .map(counts -> StatsResponse.of(
+                counts.getT1() + coldDnaStore.countMutants(),
+                counts.getT2() + coldDnaStore.countHumans()));
+    }
+
+    /**
+     * Estimación de ADN distintos por hora o por día. Solo lee sketches en memoria,
+     * por eso no necesita salir del event loop.
+     */
+    public Mono<UniqueStatsResponse> getUniqueStats(String granularity, int limit) {
+        return Mono.fromCallable(() -> uniqueDnaTracker.stats(granularity, limit));
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffers de trabajo reutilizables entre requests, sin importar el tipo de hilo.
+ *
+ * En threads de plataforma (pocos y de larga vida) cada hilo conserva su buffer en
+ * un ThreadLocal. Con el perfil "virtual" cada request corre en un virtual thread
+ * nuevo: un ThreadLocal asignaría un buffer por request y nunca lo reutilizaría.
+ * Ahí los buffers salen de un pool compartido y acotado de
+ * {@link #SLOTS_PER_PROCESSOR} casilleros por procesador; cada hilo empieza a
+ * buscar en su propia franja (según su id) para repartir la contención, y si no
+ * encuentra uno libre asigna uno nuevo. Tomar y devolver no asignan memoria.
+ *
+ * @param <T> Tipo de buffer (byte[], long[], ...)
+ */
+public final class ScratchBuffers<T> {
+
+    static final int SLOTS_PER_PROCESSOR = 2;
+
+    private final ThreadLocal<T> perThread = new ThreadLocal<>();
+    private final AtomicReferenceArray<T> shared;
+
+    public ScratchBuffers() {
+        this(SLOTS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+    }
+
+    ScratchBuffers(int slots) {
+        this.shared = new AtomicReferenceArray<>(Math.max(1, slots));
+    }
+
+    /**
+     * Toma un buffer retenido, o null si no hay. El de un virtual thread queda
+     * fuera del pool hasta {@link #release(Object)}.
+     */
+    public T acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            return perThread.get();
+        }
+        int slots = shared.length();
+        int start = stripe(slots);
+        for (int i = 0; i < slots; i++) {
+            int slot = (start + i) % slots;
+            if (shared.getPlain(slot) != null) {
+                T buffer = shared.getAndSet(slot, null);
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retiene el buffer para el próximo request. Si el pool está lleno se descarta
+     * (queda para el GC): el pool nunca supera su cantidad de casilleros.
+     */
+    public void release(T buffer) {
+        if (!Thread.currentThread().isVirtual()) {
+            perThread.set(buffer);
+            return;
+        }
+        int slots = shared.length();
+        int start = stripe(slots);
+        for (int i = 0; i < slots; i++) {
+            int slot = (start + i) % slots;
+            if (shared.getPlain(slot) == null && shared.compareAndSet(slot, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    private static int stripe(int slots) {
+        return (int) (Thread.currentThread().threadId() % slots);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.service;
+
+import org.example.dto.SequenceAnalysisResponse;
+import org.example.dto.SequenceBreakdown;
+import org.example.dto.SequenceHistogramResponse;
+import org.example.service.detection.SequenceCounts;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Análisis completo de secuencias para investigación (POST /mutant/analyze).
+ *
+ * Cada análisis cuenta todas las secuencias de la muestra (ver
+ * {@link MutantDetector#countSequences(String[])}) y las suma a histogramas
+ * agregados en memoria. Los agregados se mantienen incrementalmente con
+ * LongAdder (sin contención entre requests) y nunca se recalculan sobre dna_records.
+ *
+ * No pasa por las cachés ni por la BD: el conteo completo no se guarda y el
+ * veredicto de POST /mutant no cambia.
+ */
+@Service
+public class SequenceAnalysisService {
+
+    /**
+     * Rangos del histograma de secuencias por muestra: 0, 1, 2-3, 4-7, ..., 2^62+.
+     */
+    private static final int RANGES = 64;
+
+    private final MutantDetector mutantDetector;
+
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder mutantSamples = new LongAdder();
+    private final LongAdder[] sequences = newAdders(SequenceCounts.Direction.values().length * SequenceCounts.BASES);
+    private final LongAdder[] sequencesPerSample = newAdders(RANGES);
+
+    public SequenceAnalysisService(MutantDetector mutantDetector) {
+        this.mutantDetector = mutantDetector;
+    }
+
+    /**
+     * Cuenta todas las secuencias de la muestra y actualiza los histogramas.
+     *
+     * @param dna Array de strings representando la matriz de ADN
+     * @return Conteo por dirección y base, con el veredicto
+     */
+    public SequenceAnalysisResponse analyze(String[] dna) {
+        SequenceCounts counts = mutantDetector.countSequences(dna);
+        record(counts);
+        return new SequenceAnalysisResponse(dna.length, counts.isMutant(), counts.total(),
+            SequenceBreakdown.of(counts));
+    }
+
+    /**
+     * Histogramas agregados de todas las muestras analizadas desde el arranque.
+     * Las lecturas no son atómicas entre contadores: con análisis en curso, los
+     * totales pueden diferir en las muestras de ese instante.
+     */
+    public SequenceHistogramResponse histogram() {
+        long[] totals = new long[sequences.length];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = sequences[i].sum();
+        }
+        SequenceCounts aggregate = SequenceCounts.of(totals);
+
+        Map<String, Long> perSample = new LinkedHashMap<>();
+        for (int range = 0; range < RANGES; range++) {
+            long count = sequencesPerSample[range].sum();
+            if (count > 0) {
+                perSample.put(rangeLabel(range), count);
+            }
+        }
+        return new SequenceHistogramResponse(samples.sum(), mutantSamples.sum(), aggregate.total(),
+            SequenceBreakdown.of(aggregate), perSample);
+    }
+
+    private void record(SequenceCounts counts) {
+        samples.increment();
+        if (counts.isMutant()) {
+            mutantSamples.increment();
+        }
+        for (SequenceCounts.Direction direction : SequenceCounts.Direction.values()) {
+            for (int base = 0; base < SequenceCounts.BASES; base++) {
+                long count = counts.count(direction, base);
+                if (count > 0) {
+                    sequences[SequenceCounts.slot(direction, base)].add(count);
+                }
+            }
+        }
+        sequencesPerSample[range(counts.total())].increment();
+    }
+
+    /**
+     * 0 → rango 0, 1 → 1, 2-3 → 2, 4-7 → 3, ...
+     */
+    private static int range(long total) {
+        return 64 - Long.numberOfLeadingZeros(total);
+    }
+
+    private static String rangeLabel(int range) {
+        if (range <= 1) {
+            return String.valueOf(range);
+        }
+        long from = 1L << (range - 1);
+        return range == RANGES - 1 ? from + "+" : from + "-" + ((from << 1) - 1);
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
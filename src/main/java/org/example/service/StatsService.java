@@ -1,10 +1,17 @@
 package org.example.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.StatsResponse;
+import org.example.dto.UniqueStatsResponse;
 import org.example.repository.DnaRecordRepository;
+import org.example.retention.ColdDnaStore;
+import org.example.unique.UniqueDnaTracker;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Servicio para calcular estadísticas de verificaciones de ADN.
  * 
@@ -12,12 +19,24 @@ import org.springframework.stereotype.Service;
  * - Consultar contadores de mutantes y humanos
  * - Calcular el ratio mutantes/humanos
  * - Manejar casos especiales (división por cero)
+ * - Publicar snapshots versionados de /stats con el JSON ya serializado
+ *
+ * Los contadores cambian mucho menos de lo que se leen: mientras la versión de
+ * {@link StatsVersion} no avance, todos los GET /stats comparten el mismo
+ * {@link StatsSnapshot} sin consultar la BD ni volver a serializar.
  */
 @Service
 @RequiredArgsConstructor
 public class StatsService {
 
     private final DnaRecordRepository dnaRecordRepository;
+    private final ColdDnaStore coldDnaStore;
+    private final UniqueDnaTracker uniqueDnaTracker;
+    private final StatsVersion statsVersion;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock publishing = new ReentrantLock();
+
+    private volatile StatsSnapshot current;
 
     /**
      * Obtiene las estadísticas de verificaciones realizadas.
@@ -25,12 +44,67 @@ public class StatsService {
      * @return StatsResponse con contadores y ratio
      */
     public StatsResponse getStats() {
-        long mutantCount = dnaRecordRepository.countMutants();
-        long humanCount = dnaRecordRepository.countHumans();
+        return getSnapshot().stats();
+    }
+
+    /**
+     * Snapshot de la versión actual. Solo el primer lector tras un cambio consulta
+     * la BD; los concurrentes esperan ese mismo resultado en lugar de repetir los COUNT.
+     *
+     * @return StatsSnapshot con contadores, JSON serializado y ETag
+     */
+    public StatsSnapshot getSnapshot() {
+        StatsSnapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == statsVersion.current()) {
+            return snapshot;
+        }
+        publishing.lock();
+        try {
+            // La versión se lee antes de los COUNT: un cambio durante la consulta
+            // deja este snapshot atrasado y fuerza otra publicación
+            long version = statsVersion.current();
+            snapshot = current;
+            if (snapshot != null && snapshot.version() == version) {
+                return snapshot;
+            }
+            StatsResponse stats = computeStats();
+            snapshot = new StatsSnapshot(version, stats, serialize(stats),
+                StatsSnapshot.etagOf(stats), statsVersion.getMaxAgeSeconds());
+            current = snapshot;
+            return snapshot;
+        } finally {
+            publishing.unlock();
+        }
+    }
+
+    /**
+     * Suma la tabla caliente y los registros ya movidos al almacenamiento frío.
+     */
+    private StatsResponse computeStats() {
+        long mutantCount = dnaRecordRepository.countMutants() + coldDnaStore.countMutants();
+        long humanCount = dnaRecordRepository.countHumans() + coldDnaStore.countHumans();
         
         // Calcular ratio, manejando división por cero
-        double ratio = humanCount > 0 ? (double) mutantCount / humanCount : 0.0;
-        
-        return new StatsResponse(mutantCount, humanCount, ratio);
+        return StatsResponse.of(mutantCount, humanCount);
+    }
+
+    private byte[] serialize(StatsResponse stats) {
+        try {
+            return objectMapper.writeValueAsBytes(stats);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudieron serializar las estadísticas", e);
+        }
+    }
+
+    /**
+     * Estimación de ADN distintos por hora o por día (sketches HyperLogLog en memoria,
+     * sin consultar la BD).
+     *
+     * @param granularity "hour" o "day"
+     * @param limit       Cantidad de buckets, del más reciente hacia atrás
+     * @return UniqueStatsResponse con la estimación total y por bucket
+     */
+    public UniqueStatsResponse getUniqueStats(String granularity, int limit) {
+        return uniqueDnaTracker.stats(granularity, limit);
     }
 }
@@ -0,0 +1,48 @@
+package org.example.service;
+
+import org.example.dto.StatsResponse;
+
+/**
+ * Estadísticas publicadas por StatsService para una versión de los datos.
+ *
+ * Inmutable: el JSON se serializa una sola vez por cambio y se comparte entre
+ * todos los GET /stats hasta la próxima versión (nadie debe modificar {@code stats}
+ * ni {@code json}).
+ * El ETag depende solo de los contadores (el cuerpo es función de ellos), así que
+ * se mantiene entre versiones sin cambios reales, reinicios e instancias.
+ *
+ * @param version       Versión de {@link StatsVersion} leída antes de consultar la BD
+ * @param stats         Contadores y ratio
+ * @param json          Cuerpo de la respuesta ya serializado
+ * @param etag          ETag fuerte, con comillas
+ * @param maxAgeSeconds Valor de Cache-Control: max-age
+ */
+public record StatsSnapshot(long version, StatsResponse stats, byte[] json, String etag, long maxAgeSeconds) {
+
+    static String etagOf(StatsResponse stats) {
+        return "\"" + Long.toHexString(stats.getCountMutantDna()) + "-" +
+            Long.toHexString(stats.getCountHumanDna()) + "\"";
+    }
+
+    /**
+     * Evalúa un header If-None-Match: lista de ETags separados por comas o "*".
+     * Usa comparación débil (RFC 9110), así que también acepta W/"...".
+     *
+     * @return true si el cliente ya tiene esta representación (corresponde 304)
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión de los datos que alimentan GET /stats.
+ *
+ * Cada escritura que cambia los contadores de dna_records (save, lotes del stream,
+ * reproducción del journal, restauración de un snapshot, retención) llama a
+ * {@link #markChanged()}. StatsService solo vuelve a consultar la BD cuando la
+ * versión publicada quedó atrás. Como red de seguridad para cambios hechos fuera
+ * de la aplicación (consola H2, otra instancia sobre el mismo archivo), la versión
+ * también avanza cada refresh-ms.
+ */
+@Component
+public class StatsVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final long maxAgeSeconds;
+
+    public StatsVersion(@Value("${mutant.stats.max-age-seconds:1}") long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public void markChanged() {
+        version.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.stats.refresh-ms:60000}",
+               initialDelayString = "${mutant.stats.refresh-ms:60000}")
+    public void refresh() {
+        markChanged();
+    }
+
+    /**
+     * Segundos que un cliente puede reutilizar la respuesta sin revalidar (Cache-Control: max-age).
+     */
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.service.detection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.service.MutantDetector;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Elige al arrancar qué estrategia de detección usar para cada rango de N.
+ *
+ * Modos (en orden de prioridad):
+ * - pinned: mutant.detection.strategy fija una estrategia para todo N (debugging)
+ * - calibrated: micro-benchmark de cada estrategia con matrices humanas (peor caso,
+ *   sin early termination) de 8x8 a mutant.detection.calibration.max-size. Por
+ *   encima de ese N (medir matrices de miles de filas demoraría el arranque) siguen
+ *   los rangos de la tabla que empiezan más arriba, ej: "20000:tiled" para fijar
+ *   una estrategia en cuerpos empaquetados enormes
+ * - table: la tabla fija de mutant.detection.table
+ *
+ * Corre antes de que el servidor web acepte tráfico. El plan elegido se loguea
+ * y se expone en /actuator/detection. También fija desde qué N la matriz se
+ * codifica fuera del heap (mutant.detection.off-heap-min-size).
+ */
+@Slf4j
+@Component
+public class DetectionCalibrator implements SmartInitializingSingleton {
+
+    public static final String AUTO = "auto";
+
+    private static final int MIN_CALIBRATION_SIZE = 8;
+    private static final int CELLS_PER_TRIAL = 1 << 17;
+    private static final int TRIALS = 3;
+    private static final double MIN_SPEEDUP = 0.9;
+
+    private final MutantDetector mutantDetector;
+    private final Map<String, DetectionStrategy> strategies = new LinkedHashMap<>();
+    private final String pinnedStrategy;
+    private final String table;
+    private final boolean calibrationEnabled;
+    private final int maxCalibrationSize;
+    private final int offHeapMinSize;
+
+    private volatile String mode = "default";
+    private volatile Map<Integer, Map<String, Long>> measurements = Collections.emptyMap();
+    private int sink;
+
+    public DetectionCalibrator(MutantDetector mutantDetector,
+                               List<DetectionStrategy> strategies,
+                               @Value("${mutant.detection.strategy:auto}") String pinnedStrategy,
+                               @Value("${mutant.detection.table:4:scalar}") String table,
+                               @Value("${mutant.detection.calibration.enabled:true}") boolean calibrationEnabled,
+                               @Value("${mutant.detection.calibration.max-size:1024}") int maxCalibrationSize,
+                               @Value("${mutant.detection.off-heap-min-size:4096}") int offHeapMinSize) {
+        this.mutantDetector = mutantDetector;
+        strategies.forEach(strategy -> this.strategies.put(strategy.name(), strategy));
+        this.pinnedStrategy = pinnedStrategy.trim();
+        this.table = table;
+        this.calibrationEnabled = calibrationEnabled;
+        this.maxCalibrationSize = maxCalibrationSize;
+        this.offHeapMinSize = offHeapMinSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        DetectionPlan plan;
+        if (!AUTO.equalsIgnoreCase(pinnedStrategy)) {
+            DetectionStrategy strategy = strategies.get(pinnedStrategy);
+            if (strategy == null) {
+                throw new IllegalStateException("mutant.detection.strategy desconocida: " + pinnedStrategy +
+                    ". Disponibles: " + strategies.keySet());
+            }
+            plan = DetectionPlan.single(strategy);
+            mode = "pinned";
+        } else if (calibrationEnabled) {
+            long start = System.nanoTime();
+            plan = calibrate();
+            mode = "calibrated";
+            log.info("Calibración de detección en {} ms: {}", (System.nanoTime() - start) / 1_000_000, measurements);
+        } else {
+            plan = DetectionPlan.parse(table, strategies);
+            mode = "table";
+        }
+
+        mutantDetector.setPlan(plan);
+        mutantDetector.setOffHeapMinSize(offHeapMinSize);
+        log.info("Plan de detección ({}): {}; fuera del heap desde N = {}", mode, plan, offHeapMinSize);
+    }
+
+    /**
+     * Mide cada estrategia en tamaños crecientes y arma los rangos con la ganadora
+     * de cada tamaño (los tamaños consecutivos con la misma ganadora se unen).
+     */
+    private DetectionPlan calibrate() {
+        Map<Integer, Map<String, Long>> results = new LinkedHashMap<>();
+        List<DetectionPlan.Range> ranges = new ArrayList<>();
+
+        // Calentamiento: que el JIT compile todas las estrategias antes de medir
+        for (int size = MIN_CALIBRATION_SIZE; size <= maxCalibrationSize; size <<= 1) {
+            byte[] cells = humanCells(size);
+            for (DetectionStrategy strategy : strategies.values()) {
+                runBatch(strategy, cells, size, iterations(size));
+            }
+        }
+
+        DetectionStrategy baseline = strategies.getOrDefault(ScalarDetectionStrategy.NAME,
+            strategies.values().iterator().next());
+        for (int size = MIN_CALIBRATION_SIZE; size <= maxCalibrationSize; size <<= 1) {
+            byte[] cells = humanCells(size);
+            Map<String, Long> timings = new LinkedHashMap<>();
+            for (DetectionStrategy strategy : strategies.values()) {
+                timings.put(strategy.name(), measure(strategy, cells, size));
+            }
+
+            // Otra estrategia reemplaza a la escalar solo si es claramente más rápida:
+            // evita que el ruido de medición alterne estrategias equivalentes
+            DetectionStrategy best = baseline;
+            long bestNanos = timings.get(baseline.name());
+            for (DetectionStrategy strategy : strategies.values()) {
+                long nanos = timings.get(strategy.name());
+                if (nanos < bestNanos * MIN_SPEEDUP) {
+                    bestNanos = nanos;
+                    best = strategy;
+                }
+            }
+
+            results.put(size, timings);
+            if (ranges.isEmpty()) {
+                ranges.add(new DetectionPlan.Range(0, best));
+            } else if (ranges.get(ranges.size() - 1).strategy() != best) {
+                ranges.add(new DetectionPlan.Range(size, best));
+            }
+        }
+
+        measurements = Collections.unmodifiableMap(results);
+        DetectionPlan tablePlan = DetectionPlan.parse(table, strategies);
+        if (ranges.isEmpty()) {
+            return tablePlan;
+        }
+        return new DetectionPlan(ranges).followedBy(tablePlan, maxCalibrationSize);
+    }
+
+    /**
+     * Nanosegundos por matriz: mejor de varios intentos.
+     */
+    private long measure(DetectionStrategy strategy, byte[] cells, int size) {
+        int iterations = iterations(size);
+        long best = Long.MAX_VALUE;
+        for (int trial = 0; trial < TRIALS; trial++) {
+            long start = System.nanoTime();
+            runBatch(strategy, cells, size, iterations);
+            best = Math.min(best, (System.nanoTime() - start) / iterations);
+        }
+        return best;
+    }
+
+    private static int iterations(int size) {
+        return Math.max(1, CELLS_PER_TRIAL / (size * size));
+    }
+
+    private void runBatch(DetectionStrategy strategy, byte[] cells, int size, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            // sink evita que el JIT descarte la llamada
+            sink += strategy.hasMultipleSequences(cells, size) ? 1 : 0;
+        }
+    }
+
+    /**
+     * Matriz humana sin ninguna secuencia: fuerza el recorrido completo.
+     */
+    static byte[] humanCells(int n) {
+        byte[] cells = new byte[n * n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                cells[row * n + col] = (byte) ((col / 2 + row) % 4);
+            }
+        }
+        return cells;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public Map<Integer, Map<String, Long>> getMeasurements() {
+        return measurements;
+    }
+}
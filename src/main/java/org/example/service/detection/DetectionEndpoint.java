@@ -0,0 +1,35 @@
+package org.example.service.detection;
+
+import lombok.RequiredArgsConstructor;
+import org.example.service.MutantDetector;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator con el plan de detección vigente.
+ * 
+ * GET /actuator/detection - Modo (pinned/calibrated/table), rangos de N con su
+ * estrategia, el N desde el que la matriz va fuera del heap y, si hubo calibración, los ns por matriz medidos para cada una.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "detection")
+public class DetectionEndpoint {
+
+    private final MutantDetector mutantDetector;
+    private final DetectionCalibrator detectionCalibrator;
+
+    @ReadOperation
+    public Map<String, Object> detection() {
+        Map<String, Object> detection = new LinkedHashMap<>();
+        detection.put("mode", detectionCalibrator.getMode());
+        detection.put("ranges", mutantDetector.getPlan().describe());
+        detection.put("offHeapMinSize", mutantDetector.getOffHeapMinSize());
+        detection.put("calibrationNanosPerMatrix", detectionCalibrator.getMeasurements());
+        return detection;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.service.detection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla inmutable "tamaño N → estrategia".
+ *
+ * Cada rango empieza en fromSize y llega hasta el inicio del siguiente.
+ * Formato de texto (propiedad mutant.detection.table): "4:scalar,256:packed,1024:parallel".
+ */
+public final class DetectionPlan {
+
+    /**
+     * Rango de la tabla.
+     *
+     * @param fromSize Primer N (inclusive) al que aplica la estrategia
+     * @param strategy Estrategia a usar
+     */
+    public record Range(int fromSize, DetectionStrategy strategy) {
+    }
+
+    private final int[] fromSizes;
+    private final DetectionStrategy[] strategies;
+
+    public DetectionPlan(List<Range> ranges) {
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("El plan de detección debe tener al menos un rango");
+        }
+        this.fromSizes = new int[ranges.size()];
+        this.strategies = new DetectionStrategy[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            Range range = ranges.get(i);
+            if (i > 0 && range.fromSize() <= fromSizes[i - 1]) {
+                throw new IllegalArgumentException("Los rangos del plan de detección deben ser crecientes");
+            }
+            fromSizes[i] = range.fromSize();
+            strategies[i] = range.strategy();
+        }
+    }
+
+    /**
+     * Plan con una única estrategia para todos los tamaños.
+     */
+    public static DetectionPlan single(DetectionStrategy strategy) {
+        return new DetectionPlan(List.of(new Range(0, strategy)));
+    }
+
+    /**
+     * Interpreta una tabla "N:estrategia,N:estrategia,...".
+     *
+     * @param table     Texto de la tabla
+     * @param available Estrategias disponibles por nombre
+     * @throws IllegalArgumentException si el formato o algún nombre es inválido
+     */
+    public static DetectionPlan parse(String table, Map<String, DetectionStrategy> available) {
+        List<Range> ranges = new ArrayList<>();
+        for (String entry : table.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida en la tabla de detección: " + entry);
+            }
+            DetectionStrategy strategy = available.get(parts[1].trim());
+            if (strategy == null) {
+                throw new IllegalArgumentException("Estrategia de detección desconocida: " + parts[1].trim() +
+                    ". Disponibles: " + available.keySet());
+            }
+            int fromSize = Integer.parseInt(parts[0].trim());
+            // El primer rango cubre cualquier N válido
+            ranges.add(new Range(ranges.isEmpty() ? 0 : fromSize, strategy));
+        }
+        return new DetectionPlan(ranges);
+    }
+
+    /**
+     * Este plan seguido de los rangos de otro que empiezan por encima de aboveSize
+     * (ej: la tabla fija más allá del mayor N calibrado).
+     */
+    public DetectionPlan followedBy(DetectionPlan other, int aboveSize) {
+        List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < fromSizes.length; i++) {
+            ranges.add(new Range(fromSizes[i], strategies[i]));
+        }
+        for (int i = 0; i < other.fromSizes.length; i++) {
+            int fromSize = other.fromSizes[i];
+            if (fromSize > aboveSize && fromSize > fromSizes[fromSizes.length - 1]
+                    && ranges.get(ranges.size() - 1).strategy() != other.strategies[i]) {
+                ranges.add(new Range(fromSize, other.strategies[i]));
+            }
+        }
+        return new DetectionPlan(ranges);
+    }
+
+    /**
+     * Estrategia para una matriz NxN. Sin asignaciones: se llama en cada request.
+     */
+    public DetectionStrategy strategyFor(int n) {
+        for (int i = fromSizes.length - 1; i > 0; i--) {
+            if (n >= fromSizes[i]) {
+                return strategies[i];
+            }
+        }
+        return strategies[0];
+    }
+
+    /**
+     * Rangos en forma serializable (para logs y actuator).
+     */
+    public List<Map<String, Object>> describe() {
+        List<Map<String, Object>> ranges = new ArrayList<>();
+        for (int i = 0; i < fromSizes.length; i++) {
+            Map<String, Object> range = new LinkedHashMap<>();
+            range.put("fromSize", Math.max(fromSizes[i], 4));
+            range.put("toSize", i + 1 < fromSizes.length ? fromSizes[i + 1] - 1 : null);
+            range.put("strategy", strategies[i].name());
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < fromSizes.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(Math.max(fromSizes[i], 4)).append(':').append(strategies[i].name());
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.service.detection;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Estrategia de búsqueda de secuencias sobre la matriz plana de códigos de 2 bits.
+ *
+ * Todas las estrategias deben dar exactamente el mismo resultado que
+ * {@link ScalarDetectionStrategy}: cada posición inicial de 4 bases iguales
+ * en cada dirección (→ ↓ ↘ ↙) cuenta como una secuencia, y el ADN es mutante
+ * a partir de la segunda. Solo cambia cómo se recorre la matriz.
+ *
+ * Las implementaciones registradas como beans participan de la calibración
+ * de arranque (ver DetectionCalibrator).
+ *
+ * La matriz llega en un byte[] (heap) o, para N grandes, en un MemorySegment
+ * fuera del heap con el mismo layout (ver MutantDetector); ambas variantes
+ * deben dar el mismo resultado.
+ */
+public interface DetectionStrategy {
+
+    /**
+     * Nombre estable, usado en la configuración y en el endpoint de actuator.
+     */
+    String name();
+
+    /**
+     * @param cells Matriz NxN fila por fila, con códigos A=0, C=1, G=2, T=3
+     * @param n     Tamaño de la matriz (N >= 4)
+     * @return true si hay más de una secuencia
+     */
+    boolean hasMultipleSequences(byte[] cells, int n);
+
+    /**
+     * Igual que {@link #hasMultipleSequences(byte[], int)} con la matriz fuera del heap.
+     *
+     * @param cells Segmento de al menos N² bytes, fila por fila, mismos códigos
+     * @param n     Tamaño de la matriz (N >= 4)
+     * @return true si hay más de una secuencia
+     */
+    boolean hasMultipleSequences(MemorySegment cells, int n);
+}
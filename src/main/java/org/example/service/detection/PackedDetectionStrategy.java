@@ -0,0 +1,223 @@
+package org.example.service.detection;
+
+import org.example.service.ScratchBuffers;
+import org.springframework.stereotype.Component;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Búsqueda bit-paralela con bitboards: 64 celdas por operación.
+ *
+ * Por cada base se arma un plano de bits (1 bit por celda, filas de
+ * ceil(N/64) longs), derivado de los 2 bits del código de cada celda. Las posiciones donde empieza una secuencia salen de
+ * AND entre la fila y sus desplazamientos:
+ * - Horizontal (→): M[r] & M[r]>>1 & M[r]>>2 & M[r]>>3
+ * - Vertical (↓):   M[r] & M[r+1] & M[r+2] & M[r+3]
+ * - Diagonal (↘):   M[r] & M[r+1]>>1 & M[r+2]>>2 & M[r+3]>>3
+ * - Diagonal (↙):   M[r] & M[r+1]<<1 & M[r+2]<<2 & M[r+3]<<3
+ * y se cuentan con Long.bitCount. Los bits fuera de la matriz son 0, por lo
+ * que no hace falta boundary checking: el conteo coincide con el escalar.
+ *
+ * Armar los planos cuesta una pasada escalar, así que conviene en matrices grandes
+ * (sobre todo humanas, que se recorren completas).
+ */
+@Component
+public class PackedDetectionStrategy implements DetectionStrategy {
+
+    public static final String NAME = "packed";
+
+    private static final int BASES = 4;
+
+    /**
+     * Máximo de longs que se conservan por buffer entre requests (1 MiB ≈ matriz 1448x1448).
+     */
+    private static final int MAX_RETAINED_WORDS = 1 << 17;
+
+    private static final ScratchBuffers<long[]> PLANES = new ScratchBuffers<>();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean hasMultipleSequences(byte[] cells, int n) {
+        int words = (n + 63) >>> 6;
+        int planeWords = n * words;
+        long[] planes = acquirePlanes(BASES * planeWords);
+        try {
+            // Cada word se arma en registros a partir de los 2 bits del código (sin branches)
+            for (int row = 0; row < n; row++) {
+                int offset = row * n;
+                int rowStart = row * words;
+                for (int word = 0; word < words; word++) {
+                    int from = word << 6;
+                    int to = Math.min(n, from + 64);
+                    long low = 0;
+                    long high = 0;
+                    for (int col = from; col < to; col++) {
+                        int code = cells[offset + col];
+                        low |= (long) (code & 1) << col;
+                        high |= (long) (code >>> 1) << col;
+                    }
+                    storeWord(planes, planeWords, rowStart + word, low, high, to - from);
+                }
+            }
+
+            return countStarts(planes, planeWords, words, n, n, 0) > 1;
+        } finally {
+            releasePlanes(planes);
+        }
+    }
+
+    /**
+     * Matriz fuera del heap: los planos se arman por bandas de filas (más las 3
+     * siguientes, que las secuencias verticales y diagonales también leen) del
+     * tamaño del buffer retenido, así el heap usado no crece con N². La primera
+     * banda es la más grande: un único buffer sirve para todas.
+     */
+    @Override
+    public boolean hasMultipleSequences(MemorySegment cells, int n) {
+        int words = (n + 63) >>> 6;
+        int bandStarts = Math.max(1, MAX_RETAINED_WORDS / (BASES * words) - 3);
+        long[] planes = acquirePlanes(BASES * Math.min(bandStarts + 3, n) * words);
+        try {
+            int sequenceCount = 0;
+            for (int fromRow = 0; fromRow < n; fromRow += bandStarts) {
+                int startRows = Math.min(bandStarts, n - fromRow);
+                int bandRows = Math.min(startRows + 3, n - fromRow);
+                int planeWords = bandRows * words;
+
+                for (int row = 0; row < bandRows; row++) {
+                    long offset = (long) (fromRow + row) * n;
+                    int rowStart = row * words;
+                    for (int word = 0; word < words; word++) {
+                        int from = word << 6;
+                        int to = Math.min(n, from + 64);
+                        long low = 0;
+                        long high = 0;
+                        for (int col = from; col < to; col++) {
+                            int code = cells.get(ValueLayout.JAVA_BYTE, offset + col);
+                            low |= (long) (code & 1) << col;
+                            high |= (long) (code >>> 1) << col;
+                        }
+                        storeWord(planes, planeWords, rowStart + word, low, high, to - from);
+                    }
+                }
+
+                sequenceCount = countStarts(planes, planeWords, words, startRows, bandRows, sequenceCount);
+                if (sequenceCount > 1) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            releasePlanes(planes);
+        }
+    }
+
+    /**
+     * Guarda un word de cada plano a partir de los bits bajo/alto de los códigos.
+     *
+     * @param cols Columnas válidas del word (los bits restantes quedan en 0)
+     */
+    private static void storeWord(long[] planes, int planeWords, int index, long low, long high, int cols) {
+        long valid = cols == 64 ? -1L : (1L << cols) - 1;
+        planes[index] = ~low & ~high & valid;                      // A
+        planes[planeWords + index] = low & ~high;                  // C
+        planes[2 * planeWords + index] = ~low & high & valid;      // G
+        planes[3 * planeWords + index] = low & high;               // T
+    }
+
+    /**
+     * Suma a {@code sequenceCount} las secuencias que empiezan en las primeras
+     * {@code startRows} filas de los planos, que tienen {@code bandRows} filas.
+     *
+     * @return El total acumulado; se corta apenas supera 1 (early termination)
+     */
+    private static int countStarts(long[] planes, int planeWords, int words,
+                                   int startRows, int bandRows, int sequenceCount) {
+        for (int base = 0; base < BASES; base++) {
+            int plane = base * planeWords;
+            for (int row = 0; row < startRows; row++) {
+                int r0 = plane + row * words;
+                boolean fitsVertically = row <= bandRows - 4;
+                for (int word = 0; word < words; word++) {
+                    long m0 = planes[r0 + word];
+                    if (m0 == 0) {
+                        continue;
+                    }
+
+                    long horizontal = m0
+                        & shiftRight(planes, r0, word, words, 1)
+                        & shiftRight(planes, r0, word, words, 2)
+                        & shiftRight(planes, r0, word, words, 3);
+                    sequenceCount += Long.bitCount(horizontal);
+
+                    if (fitsVertically) {
+                        int r1 = r0 + words;
+                        int r2 = r1 + words;
+                        int r3 = r2 + words;
+                        long vertical = m0 & planes[r1 + word] & planes[r2 + word] & planes[r3 + word];
+                        long diagonalDown = m0
+                            & shiftRight(planes, r1, word, words, 1)
+                            & shiftRight(planes, r2, word, words, 2)
+                            & shiftRight(planes, r3, word, words, 3);
+                        long diagonalUp = m0
+                            & shiftLeft(planes, r1, word, 1)
+                            & shiftLeft(planes, r2, word, 2)
+                            & shiftLeft(planes, r3, word, 3);
+                        sequenceCount += Long.bitCount(vertical)
+                            + Long.bitCount(diagonalDown)
+                            + Long.bitCount(diagonalUp);
+                    }
+
+                    // Early Termination
+                    if (sequenceCount > 1) {
+                        return sequenceCount;
+                    }
+                }
+            }
+        }
+        return sequenceCount;
+    }
+
+    /**
+     * Bits [64*word + k, 64*word + 64 + k) de la fila: la celda c+k queda en la posición c.
+     */
+    private static long shiftRight(long[] planes, int rowStart, int word, int words, int k) {
+        long next = word + 1 < words ? planes[rowStart + word + 1] : 0L;
+        return (planes[rowStart + word] >>> k) | (next << (64 - k));
+    }
+
+    /**
+     * La celda c-k queda en la posición c.
+     */
+    private static long shiftLeft(long[] planes, int rowStart, int word, int k) {
+        long previous = word > 0 ? planes[rowStart + word - 1] : 0L;
+        return (planes[rowStart + word] << k) | (previous >>> (64 - k));
+    }
+
+    private static long[] acquirePlanes(int size) {
+        long[] buffer = PLANES.acquire();
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+        if (buffer != null && size > MAX_RETAINED_WORDS) {
+            // El nuevo no se retiene: el buffer actual sigue disponible
+            PLANES.release(buffer);
+        }
+        return new long[size];
+    }
+
+    /**
+     * Retiene el buffer si no supera {@link #MAX_RETAINED_WORDS}; uno chico que se
+     * reemplazó con acquirePlanes simplemente queda para el GC.
+     */
+    private static void releasePlanes(long[] buffer) {
+        if (buffer.length <= MAX_RETAINED_WORDS) {
+            PLANES.release(buffer);
+        }
+    }
+}
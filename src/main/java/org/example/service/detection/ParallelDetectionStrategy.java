@@ -0,0 +1,73 @@
+package org.example.service.detection;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Recorrido repartido por bandas de filas en el ForkJoinPool común.
+ *
+ * Cada banda cuenta las secuencias que empiezan en sus filas (pueden leer filas
+ * de la banda siguiente) y las suma a un contador compartido; al superar 1,
+ * anyMatch corta el resto de las bandas. Solo compensa el costo de coordinación
+ * en matrices grandes.
+ *
+ * Dentro de cada banda se usa el recorrido por tiles de {@link TiledDetectionStrategy}
+ * (mismo conteo que el escalar): en las N más grandes que llegan aquí, 4 filas
+ * ya no entran en L1 y cada hilo relee las mismas filas desde L2/L3.
+ */
+@Component
+public class ParallelDetectionStrategy implements DetectionStrategy {
+
+    public static final String NAME = "parallel";
+
+    private static final int ROWS_PER_TASK = 32;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean hasMultipleSequences(byte[] cells, int n) {
+        int tasks = (n + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        if (tasks == 1) {
+            return TiledDetectionStrategy.countRows(cells, n, 0, n, 2) > 1;
+        }
+
+        AtomicInteger total = new AtomicInteger();
+        return IntStream.range(0, tasks).parallel().anyMatch(task -> {
+            if (total.get() > 1) {
+                return true;
+            }
+            int fromRow = task * ROWS_PER_TASK;
+            int toRow = Math.min(n, fromRow + ROWS_PER_TASK);
+            int found = TiledDetectionStrategy.countRows(cells, n, fromRow, toRow, 2);
+            return found > 0 && total.addAndGet(found) > 1;
+        });
+    }
+
+    /**
+     * Mismas bandas sobre la matriz fuera del heap (el arena es compartido entre hilos).
+     */
+    @Override
+    public boolean hasMultipleSequences(MemorySegment cells, int n) {
+        int tasks = (n + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        if (tasks == 1) {
+            return TiledDetectionStrategy.countRows(cells, n, 0, n, 2) > 1;
+        }
+
+        AtomicInteger total = new AtomicInteger();
+        return IntStream.range(0, tasks).parallel().anyMatch(task -> {
+            if (total.get() > 1) {
+                return true;
+            }
+            int fromRow = task * ROWS_PER_TASK;
+            int toRow = Math.min(n, fromRow + ROWS_PER_TASK);
+            int found = TiledDetectionStrategy.countRows(cells, n, fromRow, toRow, 2);
+            return found > 0 && total.addAndGet(found) > 1;
+        });
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.service.detection;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Recorrido escalar celda por celda (el algoritmo original de MutantDetector).
+ *
+ * OPTIMIZACIONES:
+ * 1. Early Termination - Retorna inmediatamente al encontrar >1 secuencia
+ * 2. Boundary Checking - Solo busca donde cabe la secuencia
+ * 3. Direct Comparison - Comparaciones sin loops adicionales
+ *
+ * Sin asignaciones ni coordinación: es la opción más rápida en matrices chicas.
+ */
+@Component
+public class ScalarDetectionStrategy implements DetectionStrategy {
+
+    public static final String NAME = "scalar";
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean hasMultipleSequences(byte[] cells, int n) {
+        return countSequences(cells, n, 0, n, 2) > 1;
+    }
+
+    @Override
+    public boolean hasMultipleSequences(MemorySegment cells, int n) {
+        return countSequences(cells, n, 0, n, 2) > 1;
+    }
+
+    /**
+     * Cuenta las secuencias que comienzan en las filas [fromRow, toRow).
+     * Las secuencias pueden extenderse a filas posteriores a toRow.
+     *
+     * @param limit Se deja de contar al alcanzar este valor (early termination)
+     * @return Cantidad de secuencias encontradas, como máximo limit
+     */
+    static int countSequences(byte[] cells, int n, int fromRow, int toRow, int limit) {
+        int sequenceCount = 0;
+        
+        for (int row = fromRow; row < toRow; row++) {
+            for (int col = 0; col < n; col++) {
+                int index = row * n + col;
+                
+                // Boundary Checking: Solo buscar si cabe la secuencia
+                
+                // Horizontal (→)
+                if (col <= n - SEQUENCE_LENGTH) {
+                    if (checkHorizontal(cells, index)) {
+                        sequenceCount++;
+                        // Early Termination: Retornar inmediatamente al llegar al límite
+                        if (sequenceCount >= limit) {
+                            return sequenceCount;
+                        }
+                    }
+                }
+                
+                // Vertical (↓)
+                if (row <= n - SEQUENCE_LENGTH) {
+                    if (checkVertical(cells, index, n)) {
+                        sequenceCount++;
+                        if (sequenceCount >= limit) {
+                            return sequenceCount;
+                        }
+                    }
+                }
+                
+                // Diagonal principal (↘)
+                if (row <= n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
+                    if (checkDiagonalDown(cells, index, n)) {
+                        sequenceCount++;
+                        if (sequenceCount >= limit) {
+                            return sequenceCount;
+                        }
+                    }
+                }
+                
+                // Diagonal inversa (↙)
+                if (row <= n - SEQUENCE_LENGTH && col >= SEQUENCE_LENGTH - 1) {
+                    if (checkDiagonalUp(cells, index, n)) {
+                        sequenceCount++;
+                        if (sequenceCount >= limit) {
+                            return sequenceCount;
+                        }
+                    }
+                }
+            }
+        }
+        
+        return sequenceCount;
+    }
+
+    /**
+     * Verifica secuencia horizontal (→).
+     * Direct Comparison: Sin loops, comparaciones directas.
+     */
+    private static boolean checkHorizontal(byte[] cells, int index) {
+        final byte base = cells[index];
+        return cells[index + 1] == base &&
+               cells[index + 2] == base &&
+               cells[index + 3] == base;
+    }
+
+    /**
+     * Verifica secuencia vertical (↓).
+     */
+    private static boolean checkVertical(byte[] cells, int index, int n) {
+        final byte base = cells[index];
+        return cells[index + n] == base &&
+               cells[index + 2 * n] == base &&
+               cells[index + 3 * n] == base;
+    }
+
+    /**
+     * Verifica secuencia diagonal hacia abajo (↘).
+     */
+    private static boolean checkDiagonalDown(byte[] cells, int index, int n) {
+        final byte base = cells[index];
+        final int step = n + 1;
+        return cells[index + step] == base &&
+               cells[index + 2 * step] == base &&
+               cells[index + 3 * step] == base;
+    }
+
+    /**
+     * Verifica secuencia diagonal hacia arriba (↙).
+     */
+    private static boolean checkDiagonalUp(byte[] cells, int index, int n) {
+        final byte base = cells[index];
+        final int step = n - 1;
+        return cells[index + step] == base &&
+               cells[index + 2 * step] == base &&
+               cells[index + 3 * step] == base;
+    }
+
+    /**
+     * Variante de {@link #countSequences(byte[], int, int, int, int)} sobre un segmento
+     * fuera del heap. Mismo recorrido; los índices son long (N² puede superar 2^31).
+     */
+    static int countSequences(MemorySegment cells, int n, int fromRow, int toRow, int limit) {
+        int sequenceCount = 0;
+        long rowStride = n;
+
+        for (int row = fromRow; row < toRow; row++) {
+            boolean fitsVertically = row <= n - SEQUENCE_LENGTH;
+            for (int col = 0; col < n; col++) {
+                long index = row * rowStride + col;
+                byte base = cells.get(ValueLayout.JAVA_BYTE, index);
+
+                // Horizontal (→)
+                if (col <= n - SEQUENCE_LENGTH && matches(cells, index, 1, base)) {
+                    if (++sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+
+                if (!fitsVertically) {
+                    continue;
+                }
+
+                // Vertical (↓)
+                if (matches(cells, index, rowStride, base)) {
+                    if (++sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+
+                // Diagonal principal (↘)
+                if (col <= n - SEQUENCE_LENGTH && matches(cells, index, rowStride + 1, base)) {
+                    if (++sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+
+                // Diagonal inversa (↙)
+                if (col >= SEQUENCE_LENGTH - 1 && matches(cells, index, rowStride - 1, base)) {
+                    if (++sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+            }
+        }
+
+        return sequenceCount;
+    }
+
+    /**
+     * Las 3 celdas siguientes en la dirección de {@code step} tienen la misma base.
+     */
+    private static boolean matches(MemorySegment cells, long index, long step, byte base) {
+        return cells.get(ValueLayout.JAVA_BYTE, index + step) == base &&
+               cells.get(ValueLayout.JAVA_BYTE, index + 2 * step) == base &&
+               cells.get(ValueLayout.JAVA_BYTE, index + 3 * step) == base;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.service.detection;
+
+import java.util.stream.IntStream;
+
+/**
+ * Conteo completo de secuencias (sin early termination) en una sola pasada.
+ *
+ * A diferencia de las {@link DetectionStrategy}, que cortan en la segunda
+ * secuencia, acá se recorre toda la matriz y cada secuencia se suma en el
+ * casillero de su dirección y su base. En matrices grandes las filas se
+ * reparten por bandas en el ForkJoinPool común (como ParallelDetectionStrategy):
+ * cada banda acumula en su propio arreglo y al final se suman.
+ */
+public final class SequenceCounter {
+
+    private static final int SEQUENCE_LENGTH = 4;
+    private static final int ROWS_PER_TASK = 32;
+    private static final int PARALLEL_THRESHOLD = 128;
+
+    private SequenceCounter() {
+    }
+
+    /**
+     * @param cells Matriz NxN fila por fila, con códigos A=0, C=1, G=2, T=3
+     * @param n     Tamaño de la matriz (N >= 4)
+     */
+    public static SequenceCounts count(byte[] cells, int n) {
+        int tasks = (n + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        if (n < PARALLEL_THRESHOLD || tasks == 1) {
+            long[] counts = SequenceCounts.newCounts();
+            count(cells, n, 0, n, counts);
+            return new SequenceCounts(counts);
+        }
+
+        long[] total = IntStream.range(0, tasks).parallel()
+            .mapToObj(task -> {
+                long[] counts = SequenceCounts.newCounts();
+                int fromRow = task * ROWS_PER_TASK;
+                count(cells, n, fromRow, Math.min(n, fromRow + ROWS_PER_TASK), counts);
+                return counts;
+            })
+            .reduce(SequenceCounts.newCounts(), SequenceCounter::sum);
+        return new SequenceCounts(total);
+    }
+
+    /**
+     * Suma en counts las secuencias que comienzan en las filas [fromRow, toRow).
+     * Las secuencias pueden extenderse a filas posteriores a toRow.
+     */
+    static void count(byte[] cells, int n, int fromRow, int toRow, long[] counts) {
+        int horizontal = SequenceCounts.slot(SequenceCounts.Direction.HORIZONTAL, 0);
+        int vertical = SequenceCounts.slot(SequenceCounts.Direction.VERTICAL, 0);
+        int diagonalDown = SequenceCounts.slot(SequenceCounts.Direction.DIAGONAL_DOWN, 0);
+        int diagonalUp = SequenceCounts.slot(SequenceCounts.Direction.DIAGONAL_UP, 0);
+        int lastStart = n - SEQUENCE_LENGTH;
+
+        for (int row = fromRow; row < toRow; row++) {
+            boolean fitsDown = row <= lastStart;
+            for (int col = 0; col < n; col++) {
+                int index = row * n + col;
+                byte base = cells[index];
+
+                if (col <= lastStart && matches(cells, index, 1, base)) {
+                    counts[horizontal + base]++;
+                }
+                if (!fitsDown) {
+                    continue;
+                }
+                if (matches(cells, index, n, base)) {
+                    counts[vertical + base]++;
+                }
+                if (col <= lastStart && matches(cells, index, n + 1, base)) {
+                    counts[diagonalDown + base]++;
+                }
+                if (col >= SEQUENCE_LENGTH - 1 && matches(cells, index, n - 1, base)) {
+                    counts[diagonalUp + base]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cantidad de secuencias (de cualquier dirección y base) que comienzan en una fila.
+     *
+     * La suma sobre todas las filas es el total de {@link #count(byte[], int)}. Las
+     * secuencias de la fila r solo leen las filas r..r+3, así que un cambio en la
+     * fila k afecta únicamente a los conteos de las filas k-3..k (ver DnaDeltaService).
+     *
+     * @param cells Buffer con {@code rows} filas consecutivas de ancho n
+     * @param n     Tamaño de la matriz (N >= 4)
+     * @param rows  Filas presentes en el buffer a partir de la fila 0 del buffer
+     * @param row   Fila (dentro del buffer) cuyas secuencias se cuentan
+     */
+    public static int countRowStarts(byte[] cells, int n, int rows, int row) {
+        int lastStart = n - SEQUENCE_LENGTH;
+        boolean fitsDown = row + SEQUENCE_LENGTH <= rows;
+        int sequences = 0;
+        for (int col = 0; col < n; col++) {
+            int index = row * n + col;
+            byte base = cells[index];
+
+            if (col <= lastStart && matches(cells, index, 1, base)) {
+                sequences++;
+            }
+            if (!fitsDown) {
+                continue;
+            }
+            if (matches(cells, index, n, base)) {
+                sequences++;
+            }
+            if (col <= lastStart && matches(cells, index, n + 1, base)) {
+                sequences++;
+            }
+            if (col >= SEQUENCE_LENGTH - 1 && matches(cells, index, n - 1, base)) {
+                sequences++;
+            }
+        }
+        return sequences;
+    }
+
+    private static boolean matches(byte[] cells, int index, int step, byte base) {
+        return cells[index + step] == base &&
+               cells[index + 2 * step] == base &&
+               cells[index + 3 * step] == base;
+    }
+
+    private static long[] sum(long[] left, long[] right) {
+        long[] result = left.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] += right[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.service.detection;
+
+import java.util.Arrays;
+
+/**
+ * Conteo completo de secuencias de una matriz (o acumulado de varias), por
+ * dirección y por base.
+ *
+ * Usa la misma definición que la detección: cada posición inicial de 4 bases
+ * iguales en una dirección cuenta una vez, así una corrida de 5 bases iguales
+ * son 2 secuencias. Por eso {@code total() > 1} coincide con el veredicto.
+ */
+public final class SequenceCounts {
+
+    public static final int BASES = 4;
+
+    /**
+     * Direcciones recorridas, en el orden de ScalarDetectionStrategy.
+     */
+    public enum Direction {
+        HORIZONTAL("horizontal"),
+        VERTICAL("vertical"),
+        DIAGONAL_DOWN("diagonal_down"),
+        DIAGONAL_UP("diagonal_up");
+
+        private final String label;
+
+        Direction(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Nombre usado en las respuestas JSON.
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Índice [dirección * 4 + código de base].
+     */
+    private final long[] counts;
+
+    SequenceCounts(long[] counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * Crea un conteo a partir de valores ya acumulados (ej: histogramas agregados).
+     *
+     * @param counts Indexado por [dirección * 4 + código de base]; se copia
+     */
+    public static SequenceCounts of(long[] counts) {
+        if (counts.length != DIRECTIONS.length * BASES) {
+            throw new IllegalArgumentException("Se esperaban " + DIRECTIONS.length * BASES + " contadores");
+        }
+        return new SequenceCounts(counts.clone());
+    }
+
+    public static int slot(Direction direction, int base) {
+        return direction.ordinal() * BASES + base;
+    }
+
+    static long[] newCounts() {
+        return new long[DIRECTIONS.length * BASES];
+    }
+
+    public long count(Direction direction, int base) {
+        return counts[slot(direction, base)];
+    }
+
+    public long direction(Direction direction) {
+        long total = 0;
+        for (int base = 0; base < BASES; base++) {
+            total += count(direction, base);
+        }
+        return total;
+    }
+
+    /**
+     * @param base Código de 2 bits (A=0, C=1, G=2, T=3)
+     */
+    public long base(int base) {
+        long total = 0;
+        for (Direction direction : DIRECTIONS) {
+            total += count(direction, base);
+        }
+        return total;
+    }
+
+    public long total() {
+        return Arrays.stream(counts).sum();
+    }
+
+    public boolean isMutant() {
+        return total() > 1;
+    }
+}
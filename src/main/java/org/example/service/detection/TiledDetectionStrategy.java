@@ -0,0 +1,251 @@
+package org.example.service.detection;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Recorrido escalar por bloques del tamaño de la caché L1.
+ *
+ * El escalar avanza fila por fila: para cada celda lee las 3 filas siguientes, así
+ * que cada fila se vuelve a traer desde L2/L3 en las 4 pasadas que la usan cuando
+ * 4 filas completas ya no entran en L1 (N de varios miles). Aquí la matriz plana se
+ * recorre en bandas de {@link #BAND_ROWS} filas iniciales y, dentro de cada banda,
+ * en tiles de {@link #TILE_COLS} columnas: las 7 filas que lee una banda
+ * (4 iniciales + 3 siguientes) quedan en L1 mientras se procesa el tile.
+ *
+ * Las cuatro direcciones se evalúan juntas en cada celda. En las columnas interiores
+ * (todas las direcciones caben) no hay boundary checking; los bordes y las últimas
+ * 3 filas usan el chequeo completo. Cuenta exactamente las mismas posiciones
+ * iniciales que el escalar; solo cambia el orden en que se visitan.
+ */
+@Component
+public class TiledDetectionStrategy implements DetectionStrategy {
+
+    public static final String NAME = "tiled";
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    /**
+     * Filas iniciales por banda (cada una lee además las 3 siguientes).
+     */
+    static final int BAND_ROWS = 4;
+
+    /**
+     * Columnas por tile: 7 filas x 2048 bytes = 14 KiB, la mitad de un L1d típico
+     * de 32 KiB (el resto queda para los desbordes de ±3 columnas y la pila).
+     */
+    static final int TILE_COLS = 2048;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean hasMultipleSequences(byte[] cells, int n) {
+        return countRows(cells, n, 0, n, 2) > 1;
+    }
+
+    @Override
+    public boolean hasMultipleSequences(MemorySegment cells, int n) {
+        return countRows(cells, n, 0, n, 2) > 1;
+    }
+
+    /**
+     * Cuenta por bandas y tiles las secuencias que comienzan en las filas
+     * [fromRow, toRow). Es también el recorrido de cada banda de
+     * ParallelDetectionStrategy.
+     *
+     * @param limit Se deja de contar al alcanzar este valor (Early Termination)
+     */
+    static int countRows(byte[] cells, int n, int fromRow, int toRow, int limit) {
+        int sequenceCount = 0;
+        for (int bandStart = fromRow; bandStart < toRow; bandStart += BAND_ROWS) {
+            int bandEnd = Math.min(toRow, bandStart + BAND_ROWS);
+            for (int tileStart = 0; tileStart < n; tileStart += TILE_COLS) {
+                int tileEnd = Math.min(n, tileStart + TILE_COLS);
+                sequenceCount += countTile(cells, n, bandStart, bandEnd, tileStart, tileEnd, limit - sequenceCount);
+                if (sequenceCount >= limit) {
+                    return sequenceCount;
+                }
+            }
+        }
+        return sequenceCount;
+    }
+
+    /**
+     * Variante de {@link #countRows(byte[], int, int, int, int)} fuera del heap.
+     */
+    static int countRows(MemorySegment cells, int n, int fromRow, int toRow, int limit) {
+        int sequenceCount = 0;
+        for (int bandStart = fromRow; bandStart < toRow; bandStart += BAND_ROWS) {
+            int bandEnd = Math.min(toRow, bandStart + BAND_ROWS);
+            for (int tileStart = 0; tileStart < n; tileStart += TILE_COLS) {
+                int tileEnd = Math.min(n, tileStart + TILE_COLS);
+                sequenceCount += countTile(cells, n, bandStart, bandEnd, tileStart, tileEnd, limit - sequenceCount);
+                if (sequenceCount >= limit) {
+                    return sequenceCount;
+                }
+            }
+        }
+        return sequenceCount;
+    }
+
+    /**
+     * Cuenta las secuencias que comienzan en las filas [fromRow, toRow) y las
+     * columnas [fromCol, toCol).
+     *
+     * @param limit Se deja de contar al alcanzar este valor (puede pasarse: una
+     *              celda suma hasta 4 secuencias de una vez)
+     */
+    static int countTile(byte[] cells, int n, int fromRow, int toRow, int fromCol, int toCol, int limit) {
+        int lastStart = n - SEQUENCE_LENGTH;
+        // Columnas interiores: caben →, ↘ (col <= lastStart) y ↙ (col >= 3)
+        int innerFrom = Math.max(fromCol, SEQUENCE_LENGTH - 1);
+        int innerTo = Math.min(toCol, lastStart + 1);
+        int leftTo = Math.min(innerFrom, toCol);
+        int rightFrom = Math.max(innerFrom, innerTo);
+        int sequenceCount = 0;
+
+        for (int row = fromRow; row < toRow; row++) {
+            int offset = row * n;
+            boolean fitsDown = row <= lastStart;
+            if (!fitsDown) {
+                // Últimas 3 filas: solo horizontales
+                for (int col = fromCol; col < toCol; col++) {
+                    sequenceCount += startsAt(cells, n, offset + col, col, false);
+                    if (sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+                continue;
+            }
+
+            for (int col = fromCol; col < leftTo; col++) {
+                sequenceCount += startsAt(cells, n, offset + col, col, true);
+                if (sequenceCount >= limit) {
+                    return sequenceCount;
+                }
+            }
+            for (int col = innerFrom; col < innerTo; col++) {
+                int index = offset + col;
+                byte base = cells[index];
+                int found = (matches(cells, index, 1, base) ? 1 : 0)
+                    + (matches(cells, index, n, base) ? 1 : 0)
+                    + (matches(cells, index, n + 1, base) ? 1 : 0)
+                    + (matches(cells, index, n - 1, base) ? 1 : 0);
+                if (found != 0) {
+                    sequenceCount += found;
+                    if (sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+            }
+            for (int col = rightFrom; col < toCol; col++) {
+                sequenceCount += startsAt(cells, n, offset + col, col, true);
+                if (sequenceCount >= limit) {
+                    return sequenceCount;
+                }
+            }
+        }
+        return sequenceCount;
+    }
+
+    /**
+     * Secuencias que comienzan en una celda de borde, con boundary checking completo.
+     */
+    private static int startsAt(byte[] cells, int n, int index, int col, boolean fitsDown) {
+        byte base = cells[index];
+        int lastStart = n - SEQUENCE_LENGTH;
+        int found = col <= lastStart && matches(cells, index, 1, base) ? 1 : 0;
+        if (fitsDown) {
+            found += matches(cells, index, n, base) ? 1 : 0;
+            found += col <= lastStart && matches(cells, index, n + 1, base) ? 1 : 0;
+            found += col >= SEQUENCE_LENGTH - 1 && matches(cells, index, n - 1, base) ? 1 : 0;
+        }
+        return found;
+    }
+
+    private static boolean matches(byte[] cells, int index, int step, byte base) {
+        return cells[index + step] == base &&
+               cells[index + 2 * step] == base &&
+               cells[index + 3 * step] == base;
+    }
+
+    /**
+     * Variante de {@link #countTile(byte[], int, int, int, int, int, int)} sobre un
+     * segmento fuera del heap (índices long).
+     */
+    static int countTile(MemorySegment cells, int n, int fromRow, int toRow, int fromCol, int toCol, int limit) {
+        int lastStart = n - SEQUENCE_LENGTH;
+        int innerFrom = Math.max(fromCol, SEQUENCE_LENGTH - 1);
+        int innerTo = Math.min(toCol, lastStart + 1);
+        int leftTo = Math.min(innerFrom, toCol);
+        int rightFrom = Math.max(innerFrom, innerTo);
+        long stride = n;
+        int sequenceCount = 0;
+
+        for (int row = fromRow; row < toRow; row++) {
+            long offset = row * stride;
+            boolean fitsDown = row <= lastStart;
+            if (!fitsDown) {
+                for (int col = fromCol; col < toCol; col++) {
+                    sequenceCount += startsAt(cells, n, offset + col, col, false);
+                    if (sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+                continue;
+            }
+
+            for (int col = fromCol; col < leftTo; col++) {
+                sequenceCount += startsAt(cells, n, offset + col, col, true);
+                if (sequenceCount >= limit) {
+                    return sequenceCount;
+                }
+            }
+            for (int col = innerFrom; col < innerTo; col++) {
+                long index = offset + col;
+                byte base = cells.get(ValueLayout.JAVA_BYTE, index);
+                int found = (matches(cells, index, 1, base) ? 1 : 0)
+                    + (matches(cells, index, stride, base) ? 1 : 0)
+                    + (matches(cells, index, stride + 1, base) ? 1 : 0)
+                    + (matches(cells, index, stride - 1, base) ? 1 : 0);
+                if (found != 0) {
+                    sequenceCount += found;
+                    if (sequenceCount >= limit) {
+                        return sequenceCount;
+                    }
+                }
+            }
+            for (int col = rightFrom; col < toCol; col++) {
+                sequenceCount += startsAt(cells, n, offset + col, col, true);
+                if (sequenceCount >= limit) {
+                    return sequenceCount;
+                }
+            }
+        }
+        return sequenceCount;
+    }
+
+    private static int startsAt(MemorySegment cells, int n, long index, int col, boolean fitsDown) {
+        byte base = cells.get(ValueLayout.JAVA_BYTE, index);
+        int lastStart = n - SEQUENCE_LENGTH;
+        long stride = n;
+        int found = col <= lastStart && matches(cells, index, 1, base) ? 1 : 0;
+        if (fitsDown) {
+            found += matches(cells, index, stride, base) ? 1 : 0;
+            found += col <= lastStart && matches(cells, index, stride + 1, base) ? 1 : 0;
+            found += col >= SEQUENCE_LENGTH - 1 && matches(cells, index, stride - 1, base) ? 1 : 0;
+        }
+        return found;
+    }
+
+    private static boolean matches(MemorySegment cells, long index, long step, byte base) {
+        return cells.get(ValueLayout.JAVA_BYTE, index + step) == base &&
+               cells.get(ValueLayout.JAVA_BYTE, index + 2 * step) == base &&
+               cells.get(ValueLayout.JAVA_BYTE, index + 3 * step) == base;
+    }
+}
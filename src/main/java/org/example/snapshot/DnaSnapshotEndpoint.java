@@ -0,0 +1,30 @@
+package org.example.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Endpoint de actuator para generar un snapshot de dna_records bajo demanda.
+ * 
+ * POST /actuator/dnasnapshot - Exporta la tabla al archivo configurado
+ * (mutant.snapshot.path) y retorna cantidad de registros, bytes y duración.
+ *
+ * No tiene autenticación: solo se expone con el perfil "management", que mueve
+ * actuator a un puerto de loopback (ver application-management.properties).
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "dnasnapshot")
+public class DnaSnapshotEndpoint {
+
+    private final DnaSnapshotService dnaSnapshotService;
+
+    @WriteOperation
+    public DnaSnapshotService.Result export() throws IOException {
+        return dnaSnapshotService.export();
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.snapshot;
+
+import org.example.cache.DnaKey;
+import org.example.service.DnaBases;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formato binario de los snapshots de dna_records.
+ *
+ * FORMATO (todo dentro de un stream GZIP):
+ * - Header: magic (int), versión (int)
+ * - Registros: N (int), flags (byte, bit 0 = mutante, bit 1 = digest, bit 2 = fecha),
+ *   y luego las bases a 2 bits (A=0, C=1, G=2, T=3; 4 por byte, ceil(N*N/4) bytes) o,
+ *   con el bit digest, los 32 bytes del SHA-256 de una clave {@link DnaKey} de N > 99.
+ *   Con el bit fecha sigue el created_at del registro (long, epoch millis)
+ * - Trailer: -1 (int), cantidad de registros (long)
+ *
+ * N y los flags funcionan como prefijo de largo: el tamaño de cada registro se
+ * deriva de ellos. La versión 1 no tiene registros digest y la 2 no tiene fechas;
+ * ambas se siguen leyendo (sus registros se restauran con la fecha de la carga).
+ * El journal y el archivo frío reutilizan el layout de registro sin el bit fecha.
+ * El trailer permite detectar un archivo truncado.
+ */
+public final class DnaSnapshotFormat {
+
+    private static final int MAGIC = 0x4D534E50;  // "MSNP"
+    private static final int VERSION = 3;
+    private static final int END = -1;
+    private static final int FLAG_MUTANT = 1;
+    private static final int FLAG_DIGEST = 2;
+    private static final int FLAG_CREATED_AT = 4;
+    private static final int MAX_SIZE = 46340;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private DnaSnapshotFormat() {
+    }
+
+    /**
+     * Registro leído del snapshot.
+     *
+     * @param dnaSequence Filas unidas por comas, igual que la columna dna_sequence
+     * @param isMutant    Veredicto
+     * @param createdAt   Fecha de alta en dna_records, o null si el registro no la trae
+     */
+    public record Entry(String dnaSequence, boolean isMutant, Instant createdAt) {
+
+        public Entry(String dnaSequence, boolean isMutant) {
+            this(dnaSequence, isMutant, null);
+        }
+    }
+
+    /**
+     * Abre un snapshot para escritura y escribe el header.
+     * Usa la compresión más rápida: el cuello de botella es el volcado, no el disco.
+     */
+    public static DataOutputStream openWriter(Path path) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(Files.newOutputStream(path), BUFFER_BYTES) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_BYTES));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        return out;
+    }
+
+    /**
+     * Abre un snapshot para lectura y valida el header.
+     */
+    public static DataInputStream openReader(Path path) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+            new GZIPInputStream(Files.newInputStream(path), BUFFER_BYTES), BUFFER_BYTES));
+        try {
+            if (in.readInt() != MAGIC || !isSupportedVersion(in.readInt())) {
+                throw new IOException("Snapshot con formato desconocido: " + path);
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * true si un lector de esta versión entiende archivos de la versión indicada
+     * (mismo criterio para los archivos que reutilizan el layout de registro).
+     */
+    public static boolean isSupportedVersion(int version) {
+        return version >= 1 && version <= VERSION;
+    }
+
+    /**
+     * Escribe un registro a partir de la secuencia tal como está en la BD.
+     *
+     * @param dnaSequence Filas unidas por comas (ej: "ATGCGA,CAGTGC,...") o clave digest
+     */
+    public static void writeRecord(DataOutputStream out, String dnaSequence, boolean isMutant) throws IOException {
+        writeRecord(out, dnaSequence, isMutant, null);
+    }
+
+    /**
+     * Escribe un registro con su fecha de alta, para que la restauración conserve
+     * la antigüedad que usa la retención por TTL.
+     *
+     * @param createdAt Fecha de alta, o null para omitirla
+     */
+    public static void writeRecord(DataOutputStream out, String dnaSequence, boolean isMutant,
+                                   Instant createdAt) throws IOException {
+        int flags = (isMutant ? FLAG_MUTANT : 0) | (createdAt != null ? FLAG_CREATED_AT : 0);
+        if (DnaKey.isDigest(dnaSequence)) {
+            out.writeInt(DnaKey.digestSize(dnaSequence));
+            out.writeByte(flags | FLAG_DIGEST);
+            out.write(DnaKey.digestBytes(dnaSequence));
+            writeCreatedAt(out, createdAt);
+            return;
+        }
+
+        int comma = dnaSequence.indexOf(',');
+        int n = comma < 0 ? dnaSequence.length() : comma;
+        if ((long) n * n + n - 1 != dnaSequence.length()) {
+            throw new IOException("Secuencia no NxN en dna_records: " + n + "x" + n);
+        }
+
+        byte[] packed = new byte[(n * n + 3) / 4];
+        int cell = 0;
+        for (int i = 0; i < dnaSequence.length(); i++) {
+            char base = dnaSequence.charAt(i);
+            if (base == ',') {
+                continue;
+            }
+            int code = DnaBases.code(base);
+            if (code == DnaBases.INVALID) {
+                throw new IOException("Base inválida en dna_records: " + base);
+            }
+            packed[cell >>> 2] |= (byte) (code << ((cell & 3) << 1));
+            cell++;
+        }
+
+        out.writeInt(n);
+        out.writeByte(flags);
+        out.write(packed);
+        writeCreatedAt(out, createdAt);
+    }
+
+    private static void writeCreatedAt(DataOutputStream out, Instant createdAt) throws IOException {
+        if (createdAt != null) {
+            out.writeLong(createdAt.toEpochMilli());
+        }
+    }
+
+    /**
+     * Cierra la sección de registros con la cantidad escrita.
+     */
+    public static void writeTrailer(DataOutputStream out, long count) throws IOException {
+        out.writeInt(END);
+        out.writeLong(count);
+    }
+
+    /**
+     * Lee el siguiente registro.
+     *
+     * @param read Registros leídos hasta ahora, para validar contra el trailer
+     * @return El registro, o null al llegar al trailer
+     * @throws IOException si el archivo está truncado o corrupto
+     */
+    public static Entry readRecord(DataInputStream in, long read) throws IOException {
+        int n = in.readInt();
+        if (n == END) {
+            long count = in.readLong();
+            if (count != read) {
+                throw new IOException("Snapshot inconsistente: " + read + " registros, trailer " + count);
+            }
+            return null;
+        }
+        if (n <= 0 || n > MAX_SIZE) {
+            throw new IOException("Snapshot corrupto: tamaño de matriz " + n);
+        }
+
+        int flags = in.readByte();
+        byte[] payload = new byte[payloadLength(n, flags)];
+        in.readFully(payload);
+        Instant createdAt = (flags & FLAG_CREATED_AT) != 0 ? Instant.ofEpochMilli(in.readLong()) : null;
+        return new Entry(decodeSequence(n, flags, payload), (flags & FLAG_MUTANT) != 0, createdAt);
+    }
+
+    /**
+     * Bytes que siguen al header (N, flags) de un registro.
+     */
+    public static int payloadLength(int n, int flags) {
+        return (flags & FLAG_DIGEST) != 0 ? DnaKey.DIGEST_BYTES : (n * n + 3) / 4;
+    }
+
+    /**
+     * Clave de BD de un registro: la secuencia con comas o, con el bit digest, la clave digest.
+     */
+    public static String decodeSequence(int n, int flags, byte[] payload) {
+        return (flags & FLAG_DIGEST) != 0 ? DnaKey.digest(n, payload).sequence() : decodeSequence(n, payload);
+    }
+
+    /**
+     * Reconstruye la secuencia con comas a partir de las bases empaquetadas de un registro.
+     */
+    public static String decodeSequence(int n, byte[] packed) {
+        char[] sequence = new char[n * n + n - 1];
+        int pos = 0;
+        for (int cell = 0; cell < n * n; cell++) {
+            if (cell > 0 && cell % n == 0) {
+                sequence[pos++] = ',';
+            }
+            sequence[pos++] = DnaBases.base(packed[cell >>> 2] >>> ((cell & 3) << 1));
+        }
+        return new String(sequence);
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.snapshot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.repository.DnaRecordRepository;
+import org.example.service.StatsVersion;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Exportación e importación masiva de dna_records como snapshot comprimido.
+ *
+ * Con H2 en memoria y ddl-auto=create-drop cada reinicio pierde el historial.
+ * Este componente vuelca la tabla a un archivo (ver {@link DnaSnapshotFormat})
+ * y la restaura al arrancar, antes de que el servidor web acepte tráfico.
+ *
+ * CARGA RÁPIDA: los índices de dna_records se eliminan antes de la carga y se
+ * recrean al final (un único build ordenado en vez de mantenerlos fila por fila),
+ * y las filas se insertan por JDBC batch con un commit por lote.
+ *
+ * Cada registro conserva su created_at: una restauración no reinicia el TTL de
+ * la retención. Los snapshots anteriores a la versión 3 no traen la fecha y sus
+ * registros toman la de la carga.
+ */
+@Slf4j
+@Component
+public class DnaSnapshotService implements SmartInitializingSingleton {
+
+    private static final String SELECT_SQL =
+        "SELECT dna_sequence, is_mutant, created_at FROM dna_records ORDER BY id";
+    private static final String INSERT_SQL =
+        "INSERT INTO dna_records (dna_sequence, is_mutant, created_at) " +
+        "VALUES (?, ?, COALESCE(CAST(? AS TIMESTAMP), CURRENT_TIMESTAMP))";
+    private static final String UNIQUE_CONSTRAINTS_SQL =
+        "SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+        "WHERE TABLE_NAME = 'DNA_RECORDS' AND CONSTRAINT_TYPE = 'UNIQUE'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final StatsVersion statsVersion;
+    private final Path path;
+    private final boolean restoreOnStartup;
+    private final boolean exportOnShutdown;
+    private final int batchSize;
+
+    /**
+     * Resultado de una exportación o restauración.
+     */
+    public record Result(String path, long records, long bytes, long millis) {
+    }
+
+    /**
+     * DnaRecordRepository no se usa directamente: la dependencia garantiza que este
+     * bean se destruya antes que JPA (que con create-drop borra la tabla al cerrar).
+     */
+    public DnaSnapshotService(JdbcTemplate jdbcTemplate,
+                              DataSource dataSource,
+                              DnaRecordRepository dnaRecordRepository,
+                              StatsVersion statsVersion,
+                              @Value("${mutant.snapshot.path:./data/dna-records.snap.gz}") String path,
+                              @Value("${mutant.snapshot.restore-on-startup:false}") boolean restoreOnStartup,
+                              @Value("${mutant.snapshot.export-on-shutdown:false}") boolean exportOnShutdown,
+                              @Value("${mutant.snapshot.batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.statsVersion = statsVersion;
+        this.path = Path.of(path);
+        this.restoreOnStartup = restoreOnStartup;
+        this.exportOnShutdown = exportOnShutdown;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!restoreOnStartup) {
+            return;
+        }
+        try {
+            restore();
+        } catch (IOException | SQLException e) {
+            // Un snapshot dañado no debe impedir el arranque: se sigue con la tabla vacía
+            log.error("No se pudo restaurar el snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Vuelca dna_records al archivo configurado. Escribe a un temporal y lo
+     * renombra al final, así un volcado interrumpido no pisa el snapshot anterior.
+     */
+    public Result export() throws IOException {
+        long start = System.nanoTime();
+        Path target = path.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        long[] count = {0};
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(temp)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(batchSize);
+                return statement;
+            }, row -> {
+                try {
+                    Timestamp createdAt = row.getTimestamp(3);
+                    DnaSnapshotFormat.writeRecord(out, row.getString(1), row.getBoolean(2),
+                        createdAt != null ? createdAt.toInstant() : null);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            DnaSnapshotFormat.writeTrailer(out, count[0]);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Result result = new Result(target.toString(), count[0], Files.size(target), elapsedMillis(start));
+        log.info("Snapshot exportado: {}", result);
+        return result;
+    }
+
+    /**
+     * Carga el snapshot en dna_records si el archivo existe y la tabla está vacía.
+     *
+     * @return Resultado de la carga (0 registros si no había nada que restaurar)
+     */
+    public Result restore() throws IOException, SQLException {
+        long start = System.nanoTime();
+        if (!Files.exists(path)) {
+            log.info("Sin snapshot para restaurar en {}", path);
+            return new Result(path.toString(), 0, 0, 0);
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class);
+        if (existing != null && existing > 0) {
+            log.warn("dna_records ya tiene {} registros: no se restaura el snapshot", existing);
+            return new Result(path.toString(), 0, 0, 0);
+        }
+
+        List<String> uniqueConstraints = jdbcTemplate.queryForList(UNIQUE_CONSTRAINTS_SQL, String.class);
+        dropIndexes(uniqueConstraints);
+        long loaded;
+        try {
+            loaded = bulkInsert();
+        } finally {
+            createIndexes(uniqueConstraints);
+            statsVersion.markChanged();
+        }
+
+        Result result = new Result(path.toString(), loaded, Files.size(path), elapsedMillis(start));
+        log.info("Snapshot restaurado: {}", result);
+        return result;
+    }
+
+    private long bulkInsert() throws IOException, SQLException {
+        long count = 0;
+        try (DataInputStream in = DnaSnapshotFormat.openReader(path);
+             Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                DnaSnapshotFormat.Entry entry;
+                while ((entry = DnaSnapshotFormat.readRecord(in, count)) != null) {
+                    insert.setString(1, entry.dnaSequence());
+                    insert.setBoolean(2, entry.isMutant());
+                    if (entry.createdAt() != null) {
+                        insert.setTimestamp(3, Timestamp.from(entry.createdAt()));
+                    } else {
+                        insert.setNull(3, Types.TIMESTAMP);
+                    }
+                    insert.addBatch();
+                    if (++count % batchSize == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                // Carga parcial: se descarta completa para no dejar la tabla a medias
+                connection.rollback();
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE TABLE dna_records");
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Elimina las restricciones e índices declarados en DnaRecord.
+     * La restricción única de la columna puede reutilizar idx_dna_sequence,
+     * por eso se elimina primero.
+     */
+    private void dropIndexes(List<String> uniqueConstraints) {
+        for (String constraint : uniqueConstraints) {
+            jdbcTemplate.execute("ALTER TABLE dna_records DROP CONSTRAINT IF EXISTS " + constraint);
+        }
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_dna_sequence");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_is_mutant");
+    }
+
+    private void createIndexes(List<String> uniqueConstraints) {
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_dna_sequence ON dna_records (dna_sequence)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_is_mutant ON dna_records (is_mutant)");
+        // dna_sequence es la única columna con unique = true en DnaRecord
+        for (String constraint : uniqueConstraints) {
+            jdbcTemplate.execute("ALTER TABLE dna_records ADD CONSTRAINT IF NOT EXISTS " + constraint +
+                " UNIQUE (dna_sequence)");
+        }
+    }
+
+    @PreDestroy
+    public void exportOnShutdown() {
+        if (!exportOnShutdown) {
+            return;
+        }
+        try {
+            export();
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo exportar el snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.unique;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Sketch HyperLogLog para estimar la cantidad de elementos distintos.
+ *
+ * 2^14 registros de 1 byte (16 KiB por sketch, error estándar ≈ 0,81%).
+ * Recibe hashes de 64 bits ya mezclados (ver DnaHashing): los 14 bits altos
+ * eligen el registro y el resto aporta la posición del primer 1.
+ *
+ * CONCURRENCIA: {@link #add(long)} actualiza el registro con CAS, sin locks;
+ * como un registro solo crece, basta reintentar mientras el valor nuevo sea mayor.
+ * Las lecturas ({@link #estimate()}, {@link #merge(HyperLogLog)}) pueden ver un
+ * estado intermedio, lo que para una estimación es indistinguible de leer
+ * unos microsegundos antes.
+ *
+ * Los sketches se combinan tomando el máximo por registro: la unión de dos
+ * ventanas se estima sin volver a ver los datos.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 14;
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final VarHandle REGISTER = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Reconstruye un sketch persistido con {@link #toBytes()}.
+     */
+    public static HyperLogLog fromBytes(byte[] registers) {
+        if (registers.length != REGISTERS) {
+            throw new IllegalArgumentException("Sketch con " + registers.length + " registros, se esperaban " + REGISTERS);
+        }
+        return new HyperLogLog(registers.clone());
+    }
+
+    /**
+     * Agrega un hash de 64 bits.
+     *
+     * @return true si algún registro cambió (el sketch debe volver a persistirse)
+     */
+    public boolean add(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Bit centinela: el rango máximo queda acotado a 64 - PRECISION + 1
+        byte rank = (byte) (Long.numberOfLeadingZeros(hash << PRECISION | 1L << (PRECISION - 1)) + 1);
+        byte current = (byte) REGISTER.getOpaque(registers, index);
+        while (rank > current) {
+            byte witness = (byte) REGISTER.compareAndExchange(registers, index, current, rank);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    /**
+     * Cantidad estimada de hashes distintos agregados.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Rango bajo: linear counting es más preciso mientras quedan registros vacíos
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Incorpora otro sketch a este (unión).
+     */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            byte rank = other.registers[i];
+            byte current = (byte) REGISTER.getOpaque(registers, i);
+            while (rank > current) {
+                byte witness = (byte) REGISTER.compareAndExchange(registers, i, current, rank);
+                if (witness == current) {
+                    break;
+                }
+                current = witness;
+            }
+        }
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(registers.clone());
+    }
+
+    /**
+     * Copia de los registros, para persistir el sketch.
+     */
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+}
@@ -0,0 +1,274 @@
+package org.example.unique;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.DnaKey;
+import org.example.dto.UniqueStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Estimación de ADN distintos por ventana de tiempo (GET /stats/unique).
+ *
+ * Un COUNT(DISTINCT) sobre dna_records no sirve: es caro y no ve los ADN que
+ * MutantService resolvió desde caché. En su lugar, cada request agrega el hash
+ * de su clave canónica a un {@link HyperLogLog} del bucket de la hora actual
+ * (uno para mutantes y otro para humanos). En el camino del request solo se
+ * calcula el hash y se hace un CAS; los días y ventanas más largas se obtienen
+ * uniendo los sketches por hora al consultar. El calentamiento del JIT no cuenta
+ * (ver {@link #record(DnaKey, boolean)}).
+ *
+ * Se conservan retention-hours buckets (32 KiB cada uno) y se persisten cada
+ * persist-interval-ms en un archivo GZIP (solo si hubo cambios), así las
+ * estimaciones sobreviven a un reinicio.
+ *
+ * FORMATO: magic (int), versión (int), precisión (int), cantidad de buckets (int),
+ * y por bucket: hora desde epoch (long), registros mutantes, registros humanos.
+ */
+@Slf4j
+@Component
+public class UniqueDnaTracker {
+
+    private static final int MAGIC = 0x4D484C4C;  // "MHLL"
+    private static final int VERSION = 1;
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final boolean enabled;
+    private final Path path;
+    private final int retentionHours;
+    private final ConcurrentSkipListMap<Long, HourBucket> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * Bucket de la hora en curso: evita el lookup en el mapa en cada request.
+     */
+    private volatile HourBucket current;
+    private volatile boolean dirty;
+
+    public UniqueDnaTracker(@Value("${mutant.unique.enabled:true}") boolean enabled,
+                            @Value("${mutant.unique.path:./data/dna-unique.hll.gz}") String path,
+                            @Value("${mutant.unique.retention-hours:168}") int retentionHours) {
+        this.enabled = enabled;
+        this.path = path == null ? null : Path.of(path);
+        this.retentionHours = Math.max(1, retentionHours);
+        if (enabled && this.path != null) {
+            load(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Registra un ADN analizado.
+     *
+     * @param key      Clave canónica del ADN (la misma que usan las cachés y la BD)
+     * @param isMutant Veredicto
+     */
+    public void record(String[] key, boolean isMutant) {
+        if (enabled) {
+            record(DnaKey.of(key), isMutant);
+        }
+    }
+
+    /**
+     * Registra un ADN analizado a partir de su clave ya calculada.
+     *
+     * @param key      Clave canónica del ADN (la misma que usan las cachés y la BD)
+     * @param isMutant Veredicto
+     */
+    public void record(DnaKey key, boolean isMutant) {
+        if (!enabled) {
+            return;
+        }
+        long hash = key.hash();
+        long now = System.currentTimeMillis();
+        // Dentro de una transacción (ej: el calentamiento, que siempre hace rollback)
+        // solo cuenta si hace commit, igual que dna_records
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(hash, isMutant, now);
+                }
+            });
+            return;
+        }
+        record(hash, isMutant, now);
+    }
+
+    void record(long hash, boolean isMutant, long epochMillis) {
+        long hour = epochMillis / HOUR_MILLIS;
+        HourBucket bucket = current;
+        if (bucket == null || bucket.hour() != hour) {
+            bucket = bucket(hour);
+        }
+        if ((isMutant ? bucket.mutants() : bucket.humans()).add(hash)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Estimaciones de las últimas {@code limit} horas o días (UTC), incluyendo el actual.
+     *
+     * @param granularity "hour" o "day"
+     * @param limit       Cantidad de buckets (se acota a la retención)
+     * @throws IllegalArgumentException si la granularidad o el límite no son válidos
+     */
+    public UniqueStatsResponse stats(String granularity, int limit) {
+        return stats(granularity, limit, System.currentTimeMillis());
+    }
+
+    UniqueStatsResponse stats(String granularity, int limit, long epochMillis) {
+        int width = switch (granularity) {
+            case "hour" -> 1;
+            case "day" -> 24;
+            default -> throw new IllegalArgumentException("granularity debe ser 'hour' o 'day'");
+        };
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit debe ser mayor a 0");
+        }
+        int count = Math.min(limit, (retentionHours + width - 1) / width);
+        long end = (epochMillis / HOUR_MILLIS / width + 1) * width;
+        long start = end - (long) count * width;
+
+        HyperLogLog windowMutants = new HyperLogLog();
+        HyperLogLog windowHumans = new HyperLogLog();
+        List<UniqueStatsResponse.Bucket> result = new ArrayList<>(count);
+        for (long from = start; from < end; from += width) {
+            HyperLogLog mutants = new HyperLogLog();
+            HyperLogLog humans = new HyperLogLog();
+            for (HourBucket bucket : buckets.subMap(from, from + width).values()) {
+                mutants.merge(bucket.mutants());
+                humans.merge(bucket.humans());
+            }
+            windowMutants.merge(mutants);
+            windowHumans.merge(humans);
+            result.add(new UniqueStatsResponse.Bucket(Instant.ofEpochMilli(from * HOUR_MILLIS),
+                union(mutants, humans), mutants.estimate(), humans.estimate()));
+        }
+
+        return new UniqueStatsResponse(granularity,
+            Instant.ofEpochMilli(start * HOUR_MILLIS), Instant.ofEpochMilli(end * HOUR_MILLIS),
+            union(windowMutants, windowHumans), windowMutants.estimate(), windowHumans.estimate(), result);
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.unique.persist-interval-ms:60000}",
+               initialDelayString = "${mutant.unique.persist-interval-ms:60000}")
+    public void scheduledPersist() {
+        if (!enabled || path == null || !dirty) {
+            return;
+        }
+        try {
+            persist();
+        } catch (IOException e) {
+            log.error("No se pudieron persistir los sketches de ADN distintos en {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe todos los buckets a un temporal y lo renombra al final.
+     */
+    void persist() throws IOException {
+        dirty = false;
+        Path target = path.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_BYTES), BUFFER_BYTES))) {
+                List<HourBucket> snapshot = new ArrayList<>(buckets.values());
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(HyperLogLog.PRECISION);
+                out.writeInt(snapshot.size());
+                for (HourBucket bucket : snapshot) {
+                    out.writeLong(bucket.hour());
+                    out.write(bucket.mutants().toBytes());
+                    out.write(bucket.humans().toBytes());
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Restaura los buckets persistidos dentro de la retención. Un archivo dañado
+     * no impide el arranque: se sigue con los sketches vacíos.
+     */
+    private void load(long epochMillis) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        long oldest = epochMillis / HOUR_MILLIS - retentionHours + 1;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path), BUFFER_BYTES), BUFFER_BYTES))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != HyperLogLog.PRECISION) {
+                throw new IOException("formato desconocido");
+            }
+            int count = in.readInt();
+            byte[] registers = new byte[HyperLogLog.REGISTERS];
+            for (int i = 0; i < count; i++) {
+                long hour = in.readLong();
+                in.readFully(registers);
+                HyperLogLog mutants = HyperLogLog.fromBytes(registers);
+                in.readFully(registers);
+                HyperLogLog humans = HyperLogLog.fromBytes(registers);
+                if (hour >= oldest) {
+                    buckets.put(hour, new HourBucket(hour, mutants, humans));
+                }
+            }
+            log.info("Sketches de ADN distintos restaurados: {} buckets desde {}", buckets.size(), path);
+        } catch (IOException | RuntimeException e) {
+            buckets.clear();
+            log.error("No se pudieron restaurar los sketches de ADN distintos {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene (o crea) el bucket de una hora. Al empezar una hora nueva se
+     * descartan los buckets fuera de la retención.
+     */
+    private HourBucket bucket(long hour) {
+        HourBucket bucket = buckets.computeIfAbsent(hour,
+            h -> new HourBucket(h, new HyperLogLog(), new HyperLogLog()));
+        HourBucket latest = current;
+        if (latest == null || hour > latest.hour()) {
+            current = bucket;
+            buckets.headMap(hour - retentionHours + 1).clear();
+        }
+        return bucket;
+    }
+
+    private static long union(HyperLogLog mutants, HyperLogLog humans) {
+        HyperLogLog all = mutants.copy();
+        all.merge(humans);
+        return all.estimate();
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduledPersist();
+    }
+
+    private record HourBucket(long hour, HyperLogLog mutants, HyperLogLog humans) {
+    }
+}
@@ -2,8 +2,8 @@ package org.example.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-
-import java.util.Set;
+import org.example.exception.InvalidDnaException;
+import org.example.service.DnaBases;
 
 /**
  * Implementación del validador custom para secuencias de ADN.
@@ -12,11 +12,13 @@ import java.util.Set;
  * 1. No null, no vacío
  * 2. Matriz NxN (cuadrada)
  * 3. Solo caracteres A, T, C, G
+ *
+ * Los mensajes salen de las instancias precreadas de InvalidDnaException: un
+ * conjunto fijo de templates que el interpolador de Hibernate Validator cachea,
+ * en lugar de concatenar un String nuevo por cada request inválido.
  */
 public class DnaSequenceValidator implements ConstraintValidator<ValidDnaSequence, String[]> {
 
-    private static final Set<Character> VALID_BASES = Set.of('A', 'T', 'C', 'G');
-
     @Override
     public void initialize(ValidDnaSequence constraintAnnotation) {
         // Inicialización si es necesaria
@@ -34,34 +36,29 @@ public class DnaSequenceValidator implements ConstraintValidator<ValidDnaSequenc
         // Validar que sea matriz NxN y solo contenga A, T, C, G
         for (String row : dna) {
             if (row == null || row.length() != n) {
-                context.disableDefaultConstraintViolation();
-                String mensaje = (n < 4)
-                    ? "La matriz de ADN debe ser NxN. Tamaño mínimo: 4x4"
-                    : "La matriz de ADN debe ser NxN. Tamaño esperado: " + n + "x" + n;
-                context.buildConstraintViolationWithTemplate(mensaje)
-                    .addConstraintViolation();
-                return false;
+                return violation(context, InvalidDnaException.notSquare(n));
             }
             
             if (n < 4) {
-                context.disableDefaultConstraintViolation();
-                context.buildConstraintViolationWithTemplate(
-                    "La matriz de ADN debe ser al menos de 4x4"
-                ).addConstraintViolation();
-                return false;
+                return violation(context, InvalidDnaException.tooSmall());
             }
 
-            for (char base : row.toCharArray()) {
-                if (!VALID_BASES.contains(base)) {
-                    context.disableDefaultConstraintViolation();
-                    context.buildConstraintViolationWithTemplate(
-                        "ADN inválido: Solo se permiten caracteres A, T, C, G. Encontrado: '" + base + "'"
-                    ).addConstraintViolation();
-                    return false;
+            // Lectura in-place con charAt(): sin copiar la fila a un char[]
+            for (int col = 0; col < n; col++) {
+                char base = row.charAt(col);
+                if (!DnaBases.isValid(base)) {
+                    return violation(context, InvalidDnaException.invalidBase(base));
                 }
             }
         }
 
         return true;
     }
+
+    private boolean violation(ConstraintValidatorContext context, InvalidDnaException rejection) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(rejection.getMessage())
+            .addConstraintViolation();
+        return false;
+    }
 }
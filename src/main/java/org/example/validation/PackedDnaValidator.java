@@ -0,0 +1,44 @@
+package org.example.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.example.dto.PackedDna;
+import org.example.exception.InvalidDnaException;
+
+/**
+ * Validador de {@link PackedDna}.
+ * 
+ * Con 2 bits por base no existen caracteres inválidos, así que solo se valida
+ * la forma. Los mensajes coinciden con los de {@link DnaSequenceValidator} y se
+ * reportan sobre el campo "packed" para que GlobalExceptionHandler arme el mismo
+ * ErrorResponse que para el cuerpo JSON.
+ */
+public class PackedDnaValidator implements ConstraintValidator<ValidPackedDna, PackedDna> {
+
+    @Override
+    public boolean isValid(PackedDna dna, ConstraintValidatorContext context) {
+        if (dna == null) {
+            return false;
+        }
+
+        int n = dna.getSize();
+        if (n == 0) {
+            return violation(context, "La secuencia de ADN no puede estar vacía");
+        }
+        if (n < 4) {
+            return violation(context, InvalidDnaException.tooSmall().getMessage());
+        }
+        if (!dna.hasExpectedLength()) {
+            return violation(context, InvalidDnaException.notSquare(n).getMessage());
+        }
+        return true;
+    }
+
+    private boolean violation(ConstraintValidatorContext context, String message) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message)
+            .addPropertyNode("packed")
+            .addConstraintViolation();
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/**
+ * Anotación de validación para ADN en formato binario empaquetado.
+ * 
+ * Valida que:
+ * - La matriz no esté vacía y sea al menos 4x4
+ * - El cuerpo tenga exactamente ceil(N² / 4) bytes (matriz NxN)
+ * 
+ * Uso:
+ * @ValidPackedDna
+ * public class PackedDna { ... }
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = PackedDnaValidator.class)
+@Documented
+public @interface ValidPackedDna {
+    
+    String message() default "Secuencia de ADN inválida";
+    
+    Class<?>[] groups() default {};
+    
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,29 @@
+package org.example.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator "warmup": DOWN mientras dura el calentamiento del JIT.
+ * 
+ * Incluido en el grupo de readiness (/actuator/health/readiness), de modo que
+ * el balanceador no envía tráfico a la instancia hasta que WarmupRunner termina.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupRunner warmupRunner;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmupRunner.isFinished() ? Health.up() : Health.down();
+        return builder
+            .withDetail("iterations", warmupRunner.getCompletedIterations())
+            .withDetail("targetIterations", warmupRunner.getTargetIterations())
+            .withDetail("lastWindowMicrosPerOp", warmupRunner.getLastWindowMicros())
+            .build();
+    }
+}
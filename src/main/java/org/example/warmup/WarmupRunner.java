@@ -0,0 +1,183 @@
+package org.example.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaRequest;
+import org.example.service.DnaBases;
+import org.example.service.MutantService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fase de calentamiento del JIT al arrancar.
+ *
+ * Tras un deploy, los primeros miles de requests corren interpretados o en C1
+ * (MutantDetector, binding de Jackson, DnaSequenceValidator, JPA) y son 10-50x
+ * más lentos. Este componente envía ADN sintético de tamaños representativos por
+ * el pipeline completo (JSON → DnaRequest → validación → MutantService) dentro
+ * de transacciones que siempre hacen rollback, así /stats no se contamina. Las
+ * escrituras fuera de la BD (cachés de veredictos, journal, estimador de únicos)
+ * se difieren al commit, por lo que tampoco quedan rastros del ADN sintético.
+ *
+ * Mientras dura, WarmupHealthIndicator mantiene el probe de readiness en DOWN.
+ * Termina al completar mutant.warmup.iterations, al alcanzar la latencia objetivo
+ * o al agotar mutant.warmup.max-duration-ms (lo que ocurra primero).
+ */
+@Slf4j
+@Component
+public class WarmupRunner {
+
+    private static final int WINDOW = 500;
+
+    private final MutantService mutantService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int iterations;
+    private final int[] sizes;
+    private final long targetLatencyMicros;
+    private final long maxDurationMillis;
+
+    private volatile boolean finished;
+    private volatile long completedIterations;
+    private volatile long lastWindowMicros;
+
+    public WarmupRunner(MutantService mutantService,
+                        ObjectMapper objectMapper,
+                        Validator validator,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${mutant.warmup.enabled:true}") boolean enabled,
+                        @Value("${mutant.warmup.iterations:20000}") int iterations,
+                        @Value("${mutant.warmup.sizes:6,10,20,50}") int[] sizes,
+                        @Value("${mutant.warmup.target-latency-micros:0}") long targetLatencyMicros,
+                        @Value("${mutant.warmup.max-duration-ms:60000}") long maxDurationMillis) {
+        this.mutantService = mutantService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.sizes = sizes;
+        this.targetLatencyMicros = targetLatencyMicros;
+        this.maxDurationMillis = maxDurationMillis;
+        this.finished = !enabled;
+    }
+
+    /**
+     * Arranca el calentamiento en segundo plano: el servidor ya escucha (liveness UP)
+     * pero readiness sigue en DOWN hasta que termine.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Ejecuta el calentamiento en el hilo actual.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + maxDurationMillis * 1_000_000;
+        String reason = "iteraciones completas";
+
+        try {
+            long windowStart = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                runOnce(sizes[i % sizes.length]);
+                completedIterations = i + 1;
+
+                if ((i + 1) % WINDOW == 0) {
+                    long now = System.nanoTime();
+                    lastWindowMicros = (now - windowStart) / WINDOW / 1_000;
+                    windowStart = now;
+                    if (targetLatencyMicros > 0 && lastWindowMicros <= targetLatencyMicros) {
+                        reason = "latencia objetivo alcanzada";
+                        break;
+                    }
+                    if (now > deadline) {
+                        reason = "tiempo máximo agotado";
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Un fallo del calentamiento no debe dejar la instancia fuera de servicio
+            reason = "error: " + e.getMessage();
+            log.warn("Calentamiento interrumpido", e);
+        } finally {
+            finished = true;
+        }
+
+        log.info("Calentamiento JIT terminado ({}) en {} ms: {} iteraciones, {} µs/op en la última ventana",
+            reason, (System.nanoTime() - start) / 1_000_000, completedIterations, lastWindowMicros);
+    }
+
+    /**
+     * Una pasada por el pipeline de POST /mutant con rollback de la transacción.
+     */
+    private void runOnce(int size) {
+        String[] dna = syntheticDna(size);
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(new DnaRequest(dna));
+                DnaRequest request = objectMapper.readValue(json, DnaRequest.class);
+                if (validator.validate(request).isEmpty()) {
+                    mutantService.analyzeDna(request.getDna());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo serializar el ADN sintético", e);
+            }
+        });
+    }
+
+    /**
+     * Patrón humano (sin secuencias) con N celdas al azar: mezcla humanos (recorrido
+     * completo) y mutantes (early termination), siempre con claves distintas para
+     * que las cachés no corten el camino hasta el detector y la BD.
+     */
+    static String[] syntheticDna(int n) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[][] rows = new char[n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                rows[row][col] = DnaBases.base(col / 2 + row);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            rows[random.nextInt(n)][random.nextInt(n)] = DnaBases.base(random.nextInt(4));
+        }
+        return Arrays.stream(rows).map(String::new).toArray(String[]::new);
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getCompletedIterations() {
+        return completedIterations;
+    }
+
+    public int getTargetIterations() {
+        return iterations;
+    }
+
+    public long getLastWindowMicros() {
+        return lastWindowMicros;
+    }
+}
@@ -0,0 +1,14 @@
+-- Esquema de dna_records para el perfil "durable" (ver DnaRecord).
+-- El índice único se crea antes que la restricción para que H2 la apoye sobre
+-- idx_dna_sequence en lugar de mantener un segundo índice en cada inserción.
+CREATE TABLE dna_records (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    dna_sequence VARCHAR(10000) NOT NULL,
+    is_mutant    BOOLEAN NOT NULL,
+    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_dna_sequence ON dna_records (dna_sequence);
+CREATE INDEX idx_is_mutant ON dna_records (is_mutant);
+
+ALTER TABLE dna_records ADD CONSTRAINT uk_dna_sequence UNIQUE (dna_sequence);
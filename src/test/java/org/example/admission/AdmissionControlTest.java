@@ -0,0 +1,155 @@
+package org.example.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para AdmissionControl y Bulkhead.
+ */
+@DisplayName("AdmissionControl - Tests de load shedding")
+class AdmissionControlTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AdmissionControl admission;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (admission != null) {
+            admission.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deshabilitado: ejecuta en el hilo del llamador")
+    void testDisabledRunsInline() {
+        admission = new AdmissionControl(registry, false, 200, 1, 1, 1, 0);
+
+        Thread caller = Thread.currentThread();
+        assertSame(caller, admission.execute(1000, Thread::currentThread));
+    }
+
+    @Test
+    @DisplayName("Debe devolver el resultado y propagar las excepciones de la tarea")
+    void testExecuteReturnsResultAndPropagatesErrors() {
+        admission = new AdmissionControl(registry, true, 200, 1_000_000, 1, 10, 2000);
+
+        assertTrue(admission.execute(6, () -> true));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> admission.execute(6, () -> {
+                throw new IllegalArgumentException("ADN inválido");
+            }));
+        assertEquals("ADN inválido", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debe descartar cuando la espera estimada supera el presupuesto")
+    void testShedsWhenBudgetExceeded() throws Exception {
+        admission = new AdmissionControl(registry, true, 200, 1_000_000, 1, 10, 0);
+        CompletableFuture<Boolean> blocked = occupy(1000);
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+            () -> admission.execute(1000, () -> true));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, shed("large", "latency_budget"));
+
+        release.countDown();
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Debe descartar cuando la cola del bulkhead está llena")
+    void testShedsWhenQueueFull() throws Exception {
+        admission = new AdmissionControl(registry, true, 200, 1_000_000, 1, 1, 60_000);
+        CompletableFuture<Boolean> running = occupy(1000);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> admission.execute(1000, () -> true));
+        awaitQueued("large");
+
+        assertThrows(ServiceOverloadedException.class, () -> admission.execute(1000, () -> true));
+        assertEquals(1.0, shed("large", "queue_full"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Las matrices grandes no consumen el bulkhead de las chicas")
+    void testLargeMatricesIsolated() throws Exception {
+        admission = new AdmissionControl(registry, true, 200, 1_000_000, 1, 1, 60_000);
+        CompletableFuture<Boolean> large = occupy(1000);
+
+        assertTrue(admission.execute(6, () -> true));
+
+        release.countDown();
+        assertTrue(large.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Las matrices chicas deben correr en el hilo del llamador")
+    void testSmallRunsOnCaller() {
+        admission = new AdmissionControl(registry, true, 200, 1_000_000, 1, 1, 60_000);
+
+        Thread caller = Thread.currentThread();
+        assertSame(caller, admission.execute(6, Thread::currentThread));
+    }
+
+    @Test
+    @DisplayName("Debe descartar matrices chicas cuando las celdas en curso superan el presupuesto")
+    void testShedsSmallWhenCostBudgetExceeded() throws Exception {
+        // Un request de 6x6 cuesta 36 + 1000 celdas: entra uno solo
+        admission = new AdmissionControl(registry, true, 200, 1500, 1, 1, 60_000);
+        CompletableFuture<Boolean> running = occupy(6);
+
+        assertThrows(ServiceOverloadedException.class, () -> admission.execute(6, () -> true));
+        assertEquals(1.0, shed("small", "cost_budget"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        // Sin otros requests en curso entra aunque su costo supere el presupuesto
+        assertTrue(admission.execute(100, () -> true));
+    }
+
+    /**
+     * Ocupa el bulkhead correspondiente a N (el único thread de las grandes, o el
+     * presupuesto de las chicas) hasta que se libere el latch.
+     */
+    private CompletableFuture<Boolean> occupy(int n) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> result = CompletableFuture.supplyAsync(() -> admission.execute(n, () -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return result;
+    }
+
+    private void awaitQueued(String bulkhead) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("mutant.admission.queue.size").tag("bulkhead", bulkhead).gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "La tarea nunca llegó a la cola");
+            Thread.sleep(5);
+        }
+    }
+
+    private double shed(String bulkhead, String reason) {
+        return registry.get("mutant.admission.shed")
+            .tag("bulkhead", bulkhead).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.benchmark;
+
+import org.example.service.detection.ScalarDetectionStrategy;
+import org.example.service.detection.TiledDetectionStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.LinuxPerfNormProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compara con JMH + perf (LinuxPerfNormProfiler) los cache misses por matriz del
+ * recorrido escalar y del recorrido por tiles.
+ *
+ * Con N chico las 4 filas que lee el escalar entran en L1 y ambos recorridos traen
+ * cada línea una vez; la diferencia aparece cuando 4 filas superan el L1d
+ * (N = 12288: 48 KiB). Solo se verifica ese tamaño; el resto se imprime.
+ *
+ * Requiere Linux con perf y kernel.perf_event_paranoid <= 2 (si no, el test se omite):
+ * ./scripts/cache-misses.sh
+ */
+@Tag("benchmark")
+@DisplayName("DetectionStrategy - Cache misses por operación (JMH + perf)")
+class DetectionCacheMissesTest {
+
+    private static final String L1_MISSES = "L1-dcache-load-misses";
+    private static final String LLC_MISSES = "LLC-load-misses";
+    private static final String ASSERTED_SIZE = "12288";
+
+    @Test
+    @DisplayName("El recorrido por tiles debe tener menos misses de L1 cuando 4 filas no entran en L1")
+    void testTiledHasFewerL1Misses() throws Exception {
+        assumeTrue(perfAvailable(), "perf no está disponible o perf_event_paranoid no lo permite");
+
+        Options options = new OptionsBuilder()
+            .include(DetectionStrategyBenchmark.class.getSimpleName())
+            .param("strategy", ScalarDetectionStrategy.NAME, TiledDetectionStrategy.NAME)
+            .addProfiler(LinuxPerfNormProfiler.class, "events=" + L1_MISSES + "," + LLC_MISSES)
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> l1MissesByRun = new HashMap<>();
+        for (RunResult result : results) {
+            String strategy = result.getParams().getParam("strategy");
+            String size = result.getParams().getParam("size");
+            double l1Misses = perOp(result.getSecondaryResults(), L1_MISSES);
+            System.out.printf("%-7s N=%-6s %8.3f ms/op  L1 misses/op: %,14.0f  LLC misses/op: %,12.0f%n",
+                strategy, size, result.getPrimaryResult().getScore(), l1Misses,
+                perOp(result.getSecondaryResults(), LLC_MISSES));
+            l1MissesByRun.put(strategy + ":" + size, l1Misses);
+        }
+
+        double scalar = l1MissesByRun.get(ScalarDetectionStrategy.NAME + ":" + ASSERTED_SIZE);
+        double tiled = l1MissesByRun.get(TiledDetectionStrategy.NAME + ":" + ASSERTED_SIZE);
+        assertTrue(tiled < scalar,
+            "N=" + ASSERTED_SIZE + ": tiled " + tiled + " L1 misses/op, scalar " + scalar);
+    }
+
+    private static double perOp(Map<String, Result> secondaryResults, String event) {
+        return secondaryResults.entrySet().stream()
+            .filter(entry -> entry.getKey().endsWith(event))
+            .mapToDouble(entry -> entry.getValue().getScore())
+            .findFirst()
+            .orElse(Double.NaN);
+    }
+
+    private static boolean perfAvailable() {
+        try {
+            Process perf = new ProcessBuilder("perf", "stat", "-e", L1_MISSES, "true")
+                .redirectErrorStream(true)
+                .start();
+            perf.getInputStream().transferTo(OutputStream.nullOutputStream());
+            return perf.waitFor() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.benchmark;
+
+import org.example.service.DnaBases;
+import org.example.service.detection.DetectionStrategy;
+import org.example.service.detection.PackedDetectionStrategy;
+import org.example.service.detection.ParallelDetectionStrategy;
+import org.example.service.detection.ScalarDetectionStrategy;
+import org.example.service.detection.TiledDetectionStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de cada DetectionStrategy sobre la matriz plana ya codificada.
+ *
+ * Usa matrices humanas (recorrido completo, sin early termination), así la
+ * diferencia entre estrategias es solo el orden de recorrido. Ejecutar con el
+ * profiler perfnorm para ver los cache misses por operación
+ * (ver DetectionCacheMissesTest y scripts/cache-misses.sh).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DetectionStrategyBenchmark {
+
+    private static final Map<String, DetectionStrategy> STRATEGIES = Map.of(
+        ScalarDetectionStrategy.NAME, new ScalarDetectionStrategy(),
+        PackedDetectionStrategy.NAME, new PackedDetectionStrategy(),
+        ParallelDetectionStrategy.NAME, new ParallelDetectionStrategy(),
+        TiledDetectionStrategy.NAME, new TiledDetectionStrategy());
+
+    @Param({"scalar", "tiled"})
+    public String strategy;
+
+    @Param({"1000", "4096", "12288"})
+    public int size;
+
+    private DetectionStrategy detectionStrategy;
+    private byte[] cells;
+
+    @Setup
+    public void setUp() {
+        detectionStrategy = STRATEGIES.get(strategy);
+        String[] human = DnaSamples.human(size);
+        cells = new byte[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                cells[row * size + col] = (byte) DnaBases.code(human[row].charAt(col));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean human() {
+        return detectionStrategy.hasMultipleSequences(cells, size);
+    }
+}
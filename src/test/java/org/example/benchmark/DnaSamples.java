@@ -0,0 +1,46 @@
+package org.example.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Generador de matrices de ADN deterministas para benchmarks.
+ */
+public final class DnaSamples {
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    private DnaSamples() {
+    }
+
+    /**
+     * Matriz NxN sin ninguna secuencia de 4 (obliga a recorrer toda la matriz).
+     * Patrón: base = (col / 2 + row) % 4.
+     */
+    public static String[] human(int n) {
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = BASES[(c / 2 + r) % 4];
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+
+    /**
+     * Matriz NxN cuyas dos secuencias están en las últimas filas (peor caso para mutantes).
+     */
+    public static String[] mutant(int n) {
+        String[] dna = human(n);
+        dna[n - 2] = withPrefix(dna[n - 2], 'A');
+        dna[n - 1] = withPrefix(dna[n - 1], 'C');
+        return dna;
+    }
+
+    private static String withPrefix(String row, char base) {
+        char[] chars = row.toCharArray();
+        Arrays.fill(chars, 0, 4, base);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.benchmark;
+
+import org.example.MutantDetectorApplication;
+import org.example.durable.DurableStoreCompactor;
+import org.example.service.DnaBases;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide el perfil "durable" (H2 en archivo): inserciones sostenidas con el índice
+ * único activo y tiempo de arranque con la tabla ya cargada.
+ *
+ * Por defecto carga 10M registros (el MVStore vive en disco, no requiere heap extra):
+ * ./gradlew benchmark --tests '*DurableH2BenchmarkTest' -Ddurable.records=20000000
+ * Imprime el throughput de cada tramo de 1M para ver si decae al crecer el índice.
+ */
+@Tag("benchmark")
+@DisplayName("Perfil durable - Inserciones sostenidas y reinicio")
+class DurableH2BenchmarkTest {
+
+    private static final String INSERT_SQL =
+        "MERGE INTO dna_records (dna_sequence, is_mutant) KEY (dna_sequence) VALUES (?, ?)";
+    private static final int MATRIX_SIZE = 6;
+    private static final int BATCH_SIZE = 10_000;
+    private static final long REPORT_EVERY = 1_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Debe sostener las inserciones y reabrir la base con todos los registros")
+    void testSustainedInsertsAndRestart() throws Exception {
+        long records = Long.getLong("durable.records", 10_000_000L);
+        Path database = tempDir.resolve("mutantdb");
+
+        try (ConfigurableApplicationContext context = start(database)) {
+            long start = System.nanoTime();
+            insert(context.getBean(DataSource.class), records);
+            long insertMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            System.out.println("Registros: " + records);
+            System.out.println("Inserción total: " + insertMillis + " ms (" +
+                records * 1000 / insertMillis + " registros/s)");
+            System.out.println("Compactación: " + context.getBean(DurableStoreCompactor.class).compact());
+        }
+        System.out.println("Archivo: " + Files.size(tempDir.resolve("mutantdb.mv.db")) + " bytes");
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(database)) {
+            long restartMillis = (System.nanoTime() - start) / 1_000_000;
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long countStart = System.nanoTime();
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class);
+            System.out.println("Reinicio: " + restartMillis + " ms");
+            System.out.println("Primer COUNT(*): " + (System.nanoTime() - countStart) / 1_000_000 + " ms");
+            assertEquals(records, count);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Path database) {
+        return new SpringApplicationBuilder(MutantDetectorApplication.class)
+            .profiles("durable")
+            .properties(
+                "server.port=0",
+                "mutant.durable.path=" + database,
+                "mutant.warmup.enabled=false",
+                "mutant.detection.calibration.enabled=false",
+                "logging.level.org.example=INFO")
+            .run();
+    }
+
+    /**
+     * Inserta por JDBC batch con un commit por lote, igual que DnaRecordBatchRepository.
+     */
+    private static void insert(DataSource dataSource, long records) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            long segmentStart = System.nanoTime();
+            for (long i = 0; i < records; i++) {
+                insert.setString(1, sequence(i));
+                insert.setBoolean(2, (i & 3) == 0);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i + 1 == records) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % REPORT_EVERY == 0) {
+                    long millis = Math.max(1, (System.nanoTime() - segmentStart) / 1_000_000);
+                    System.out.println("  hasta " + (i + 1) + ": " + REPORT_EVERY * 1000 / millis + " registros/s");
+                    segmentStart = System.nanoTime();
+                }
+            }
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Secuencia distinta por índice codificada en las celdas (6x6 = 72 bits).
+     */
+    private static String sequence(long index) {
+        StringBuilder sequence = new StringBuilder(MATRIX_SIZE * (MATRIX_SIZE + 1));
+        long bits = index * 0x9E3779B97F4A7C15L;
+        for (int cell = 0; cell < MATRIX_SIZE * MATRIX_SIZE; cell++) {
+            if (cell > 0 && cell % MATRIX_SIZE == 0) {
+                sequence.append(',');
+            }
+            sequence.append(DnaBases.base((int) (bits >>> ((cell & 31) << 1))));
+        }
+        return sequence.toString();
+    }
+}
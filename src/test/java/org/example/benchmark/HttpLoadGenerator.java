@@ -0,0 +1,105 @@
+package org.example.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Generador de carga HTTP para los benchmarks de extremo a extremo.
+ *
+ * Mantiene hasta {@code concurrency} requests en vuelo (cada una en su propio
+ * virtual thread del cliente) y mide throughput y percentiles de latencia.
+ */
+public final class HttpLoadGenerator {
+
+    private final HttpClient client;
+
+    public HttpLoadGenerator() {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    /**
+     * Ejecuta {@code total} requests manteniendo {@code concurrency} en vuelo.
+     *
+     * @param requests fábrica de requests por índice (permite variar el cuerpo)
+     */
+    public Result run(IntFunction<HttpRequest> requests, int concurrency, int total) throws InterruptedException {
+        long[] latencies = new long[total];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                inFlight.acquire();
+                int index = i;
+                executor.submit(() -> {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response =
+                            client.send(requests.apply(index), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - begin;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(
+            total / (elapsed / 1_000_000_000.0),
+            percentile(latencies, 0.50),
+            percentile(latencies, 0.99),
+            errors.get()
+        );
+    }
+
+    /**
+     * Request POST /mutant con el ADN indicado.
+     */
+    public static HttpRequest postMutant(String baseUrl, String[] dna) {
+        String body = "{\"dna\":[\"" + String.join("\",\"", dna) + "\"]}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/mutant"))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(index, 0)]) / 1000.0;
+    }
+
+    /**
+     * Throughput en req/s y latencias en milisegundos.
+     */
+    public record Result(double throughput, double p50Millis, double p99Millis, int errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50=%.2f ms, p99=%.2f ms, errores=%d",
+                throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
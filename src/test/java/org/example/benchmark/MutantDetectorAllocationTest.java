@@ -0,0 +1,109 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica con JMH + GCProfiler que la detección no asigna memoria en estado estacionario.
+ *
+ * Ejecutar con: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@DisplayName("MutantDetector - Asignaciones por operación (JMH)")
+class MutantDetectorAllocationTest {
+
+    /**
+     * Tolerancia en B/op: el profiler reporta ruido de unos pocos bytes.
+     */
+    private static final double MAX_BYTES_PER_OP = 1.0;
+
+    /**
+     * Tolerancia con un virtual thread por operación: la lambda capturada y el ruido
+     * del scheduler. Un buffer por request serían size² bytes (10 KB a 1 MB).
+     */
+    private static final double MAX_VIRTUAL_THREAD_BYTES_PER_OP = 256.0;
+
+    @Test
+    @DisplayName("Debe asignar ~0 B/op para ADN válido")
+    void testZeroAllocationForValidDna() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(MutantDetectorBenchmark.class.getSimpleName())
+            .param("size", "6", "100")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+        for (RunResult result : results) {
+            double bytesPerOp = allocationRateNorm(result.getSecondaryResults());
+            String benchmark = result.getParams().getBenchmark() + " size=" + result.getParams().getParam("size");
+            assertTrue(bytesPerOp <= MAX_BYTES_PER_OP,
+                benchmark + " asignó " + bytesPerOp + " B/op");
+        }
+    }
+
+    @Test
+    @DisplayName("En virtual threads (perfil \"virtual\") la detección no debe asignar su buffer por request")
+    void testNoScratchAllocationPerVirtualThread() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(VirtualThreadDetectorBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        // B/op por tamaño: el del hilo vacío es el costo fijo de crear el virtual thread
+        Map<String, Map<String, Double>> bytesPerOp = results.stream().collect(Collectors.groupingBy(
+            result -> result.getParams().getParam("size"),
+            Collectors.toMap(result -> result.getParams().getBenchmark(),
+                result -> allocationRateNorm(result.getSecondaryResults()))));
+        assertFalse(bytesPerOp.isEmpty());
+        bytesPerOp.forEach((size, byBenchmark) -> {
+            double thread = value(byBenchmark, ".emptyThread");
+            double detection = value(byBenchmark, ".human") - thread;
+            assertTrue(detection <= MAX_VIRTUAL_THREAD_BYTES_PER_OP,
+                "size=" + size + " asignó " + detection + " B/op además del virtual thread");
+        });
+    }
+
+    private static double value(Map<String, Double> byBenchmark, String suffix) {
+        return byBenchmark.entrySet().stream()
+            .filter(entry -> entry.getKey().endsWith(suffix))
+            .mapToDouble(Map.Entry::getValue)
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Sin resultado para " + suffix));
+    }
+
+    private double allocationRateNorm(Map<String, Result> secondaryResults) {
+        return secondaryResults.entrySet().stream()
+            .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+            .mapToDouble(entry -> entry.getValue().getScore())
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("GCProfiler no reportó gc.alloc.rate.norm"));
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.benchmark;
+
+import org.example.service.MutantDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de MutantDetector.isMutant para distintos tamaños de matriz.
+ *
+ * Ejecutar con el profiler de GC para ver los bytes asignados por operación
+ * (ver MutantDetectorAllocationTest).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MutantDetectorBenchmark {
+
+    @Param({"6", "100", "1000"})
+    public int size;
+
+    private MutantDetector detector;
+    private String[] human;
+    private String[] mutant;
+
+    @Setup
+    public void setUp() {
+        detector = new MutantDetector();
+        human = DnaSamples.human(size);
+        mutant = DnaSamples.mutant(size);
+    }
+
+    @Benchmark
+    public boolean human() {
+        return detector.isMutant(human);
+    }
+
+    @Benchmark
+    public boolean mutant() {
+        return detector.isMutant(mutant);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.benchmark;
+
+import org.example.MutantDetectorApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara el stack servlet (Tomcat + JPA) con el reactivo (Netty + R2DBC)
+ * en latencia p99 y memoria por conexión con alta concurrencia.
+ *
+ * La memoria por conexión se estima como (pico de heap durante la carga −
+ * heap base tras GC) / conexiones concurrentes; incluye al cliente en ambos casos.
+ *
+ * Ejecutar con: ./gradlew benchmark --tests '*ReactiveStackBenchmarkTest'
+ */
+@Tag("benchmark")
+@DisplayName("Stack reactivo vs servlet - POST /mutant")
+class ReactiveStackBenchmarkTest {
+
+    private static final int CONCURRENCY = 5_000;
+    private static final int TOTAL_REQUESTS = 50_000;
+    private static final int MATRIX_SIZE = 50;
+
+    @Test
+    @DisplayName("Debe medir p99 y memoria por conexión en ambos stacks")
+    void testCompareStacks() throws Exception {
+        String servlet = measure("default");
+        String reactive = measure("reactive");
+
+        System.out.println("Servlet (Tomcat + JPA):   " + servlet);
+        System.out.println("Reactivo (Netty + R2DBC): " + reactive);
+    }
+
+    private String measure(String profile) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .profiles(profile)
+                .properties(
+                    "server.port=0",
+                    "server.tomcat.max-connections=20000",
+                    "logging.level.org.example=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            String[] human = DnaSamples.human(MATRIX_SIZE);
+            String[] mutant = DnaSamples.mutant(MATRIX_SIZE);
+
+            HttpLoadGenerator generator = new HttpLoadGenerator();
+            generator.run(i -> HttpLoadGenerator.postMutant(baseUrl, i % 2 == 0 ? human : mutant), 100, 5_000);
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            long baseline = memory.getHeapMemoryUsage().getUsed();
+            AtomicLong peak = new AtomicLong(baseline);
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(
+                () -> peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS);
+            int peakThreads;
+            HttpLoadGenerator.Result result;
+            try {
+                result = generator.run(i -> HttpLoadGenerator.postMutant(baseUrl, i % 2 == 0 ? human : mutant),
+                    CONCURRENCY, TOTAL_REQUESTS);
+            } finally {
+                sampler.shutdownNow();
+                peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+            }
+
+            assertEquals(0, result.errors());
+            long bytesPerConnection = (peak.get() - baseline) / CONCURRENCY;
+            return result + String.format(", ~%d KB/conexión, pico de threads=%d",
+                bytesPerConnection / 1024, peakThreads);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.benchmark;
+
+import org.example.MutantDetectorApplication;
+import org.example.service.DnaBases;
+import org.example.snapshot.DnaSnapshotFormat;
+import org.example.snapshot.DnaSnapshotService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.DataOutputStream;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide la restauración de un snapshot de dna_records al arrancar y la exportación.
+ * 
+ * Objetivo: 10M registros restaurados en segundos. Por defecto usa 1M para no
+ * exigir varios GB de heap; para la medición completa:
+ * ./gradlew benchmark --tests '*SnapshotRestoreBenchmarkTest' -Dsnapshot.records=10000000
+ * (requiere -Xmx en torno a 8g para la BD en memoria)
+ */
+@Tag("benchmark")
+@DisplayName("Snapshot de dna_records - Restauración masiva")
+class SnapshotRestoreBenchmarkTest {
+
+    private static final int MATRIX_SIZE = 6;
+    private static final Instant CREATED_AT = Instant.parse("2024-01-15T10:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Debe restaurar el snapshot al arrancar y volver a exportarlo")
+    void testRestoreAndExport() throws Exception {
+        long records = Long.getLong("snapshot.records", 1_000_000L);
+        Path snapshot = tempDir.resolve("dna-records.snap.gz");
+        writeSnapshot(snapshot, records);
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .properties(
+                    "server.port=0",
+                    "mutant.snapshot.path=" + snapshot,
+                    "mutant.snapshot.restore-on-startup=true",
+                    "logging.level.org.example=INFO")
+                .run()) {
+            long startupMillis = (System.nanoTime() - start) / 1_000_000;
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            assertEquals(records, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_DNA_SEQUENCE'", Long.class));
+            // La restauración conserva la fecha de alta (no reinicia el TTL de la retención)
+            assertEquals(records, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dna_records WHERE created_at = ?", Long.class, Timestamp.from(CREATED_AT)));
+
+            DnaSnapshotService.Result exported = context.getBean(DnaSnapshotService.class).export();
+            System.out.println("Registros: " + records);
+            System.out.println("Arranque con restauración: " + startupMillis + " ms");
+            System.out.println("Exportación: " + exported);
+            assertEquals(records, exported.records());
+        }
+    }
+
+    /**
+     * Genera secuencias distintas codificando el índice en las celdas (6x6 = 72 bits).
+     */
+    private void writeSnapshot(Path file, long records) throws Exception {
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(file)) {
+            StringBuilder sequence = new StringBuilder();
+            for (long i = 0; i < records; i++) {
+                sequence.setLength(0);
+                long bits = i * 0x9E3779B97F4A7C15L;
+                for (int cell = 0; cell < MATRIX_SIZE * MATRIX_SIZE; cell++) {
+                    if (cell > 0 && cell % MATRIX_SIZE == 0) {
+                        sequence.append(',');
+                    }
+                    sequence.append(DnaBases.base((int) (bits >>> ((cell & 31) << 1))));
+                }
+                DnaSnapshotFormat.writeRecord(out, sequence.toString(), (i & 3) == 0, CREATED_AT);
+            }
+            DnaSnapshotFormat.writeTrailer(out, records);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.benchmark;
+
+import org.example.service.MutantDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de MutantDetector.isMutant con un virtual thread nuevo por operación,
+ * como atiende Tomcat cada request con el perfil "virtual".
+ *
+ * {@link #emptyThread()} mide solo el costo de crear y esperar el hilo: la diferencia
+ * de B/op con {@link #human()} es lo que asigna la detección (ver MutantDetectorAllocationTest).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VirtualThreadDetectorBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private MutantDetector detector;
+    private String[] human;
+    private volatile boolean verdict;
+
+    @Setup
+    public void setUp() {
+        detector = new MutantDetector();
+        human = DnaSamples.human(size);
+    }
+
+    @Benchmark
+    public boolean emptyThread() throws InterruptedException {
+        Thread.ofVirtual().start(() -> verdict = false).join();
+        return verdict;
+    }
+
+    @Benchmark
+    public boolean human() throws InterruptedException {
+        Thread.ofVirtual().start(() -> verdict = detector.isMutant(human)).join();
+        return verdict;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.benchmark;
+
+import org.example.MutantDetectorApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara el throughput de POST /mutant con el pool de threads de plataforma de Tomcat
+ * y con el perfil "virtual" (virtual threads) a 10.000 conexiones concurrentes.
+ *
+ * Ejecutar con: ./gradlew benchmark --tests '*VirtualThreadsBenchmarkTest'
+ * (puede requerir subir el límite de archivos abiertos: ulimit -n 65535)
+ */
+@Tag("benchmark")
+@DisplayName("Virtual threads vs threads de plataforma - POST /mutant")
+class VirtualThreadsBenchmarkTest {
+
+    private static final int CONCURRENCY = 10_000;
+    private static final int TOTAL_REQUESTS = 100_000;
+    private static final int MATRIX_SIZE = 20;
+
+    @Test
+    @DisplayName("Debe medir throughput con ambos modelos de threads")
+    void testCompareThroughput() throws Exception {
+        HttpLoadGenerator.Result platform = measure("default");
+        HttpLoadGenerator.Result virtual = measure("virtual");
+
+        System.out.println("Threads de plataforma: " + platform);
+        System.out.println("Virtual threads:       " + virtual);
+        assertEquals(0, virtual.errors());
+    }
+
+    private HttpLoadGenerator.Result measure(String profile) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .profiles(profile)
+                .properties(
+                    "server.port=0",
+                    "server.tomcat.max-connections=20000",
+                    "server.tomcat.accept-count=1000",
+                    "logging.level.org.example=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            String[][] samples = samples();
+
+            HttpLoadGenerator generator = new HttpLoadGenerator();
+            // Calentamiento: el JIT y el pool de conexiones no deben sesgar la medición
+            generator.run(i -> HttpLoadGenerator.postMutant(baseUrl, samples[i % samples.length]), 100, 5_000);
+            return generator.run(i -> HttpLoadGenerator.postMutant(baseUrl, samples[i % samples.length]),
+                CONCURRENCY, TOTAL_REQUESTS);
+        }
+    }
+
+    /**
+     * Matrices distintas para que cada request haga un round-trip real a la BD.
+     */
+    private String[][] samples() {
+        String[][] samples = new String[MATRIX_SIZE * 4][];
+        for (int i = 0; i < samples.length; i++) {
+            String[] dna = DnaSamples.human(MATRIX_SIZE);
+            char[] row = dna[i % MATRIX_SIZE].toCharArray();
+            row[i / MATRIX_SIZE] = row[i / MATRIX_SIZE] == 'A' ? 'T' : 'A';
+            dna[i % MATRIX_SIZE] = new String(row);
+            samples[i] = dna;
+        }
+        return samples;
+    }
+}
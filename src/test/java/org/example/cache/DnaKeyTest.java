@@ -0,0 +1,125 @@
+package org.example.cache;
+
+import org.example.codec.DnaPackedCodec;
+import org.example.exception.InvalidDnaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DnaKey.
+ *
+ * Categorías:
+ * 1. Claves literales (compatibles con dna_records y las cachés existentes)
+ * 2. Claves digest para N > 99
+ * 3. Claves de matrices empaquetadas
+ */
+@DisplayName("DnaKey - Tests de la clave de BD y cachés")
+class DnaKeyTest {
+
+    @Test
+    @DisplayName("Debe usar las filas unidas por comas y los hashes de DnaHashing hasta 99x99")
+    void testLiteralKey() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        DnaKey key = DnaKey.of(dna);
+
+        assertEquals("ATGCGA,CAGTGC,TTATGT,AGAAGG,CCCCTA,TCACTG", key.sequence());
+        assertEquals(6, key.size());
+        assertEquals(DnaHashing.hash64(dna, DnaHashing.SEED), key.hash());
+        assertEquals(DnaHashing.hash64(dna, DnaHashing.ALTERNATE_SEED), key.alternateHash());
+        assertFalse(key.isDigest());
+
+        String[] largest = matrix(DnaKey.MAX_LITERAL_SIZE, 'A');
+        assertTrue(DnaKey.of(largest).sequence().length() <= 10000);
+        assertFalse(DnaKey.of(largest).isDigest());
+    }
+
+    @Test
+    @DisplayName("Debe usar un digest de tamaño fijo desde 100x100")
+    void testDigestKey() {
+        String[] dna = matrix(1000, 'C');
+
+        DnaKey key = DnaKey.of(dna);
+
+        assertTrue(key.isDigest());
+        assertEquals(1000, key.size());
+        assertEquals(1000, DnaKey.digestSize(key.sequence()));
+        assertEquals(key, DnaKey.digest(1000, DnaKey.digestBytes(key.sequence())));
+        assertTrue(key.sequence().length() < 100);
+        assertEquals(key, DnaKey.of(matrix(1000, 'C')));
+    }
+
+    @Test
+    @DisplayName("Debe distinguir matrices grandes que difieren en una celda o en N")
+    void testDigestDistinguishesMatrices() {
+        String[] dna = matrix(101, 'G');
+        String[] changed = dna.clone();
+        changed[100] = "G".repeat(100) + "T";
+
+        assertNotEquals(DnaKey.of(dna), DnaKey.of(changed));
+        assertNotEquals(DnaKey.of(matrix(100, 'A')).sequence(), DnaKey.of(matrix(104, 'A')).sequence());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar matrices grandes no NxN o con bases inválidas")
+    void testRejectsInvalidLargeMatrix() {
+        String[] notSquare = matrix(120, 'A');
+        notSquare[7] = "A".repeat(119);
+        String[] invalid = matrix(120, 'A');
+        invalid[3] = "X" + "A".repeat(119);
+
+        assertThrows(InvalidDnaException.class, () -> DnaKey.of(notSquare));
+        assertThrows(InvalidDnaException.class, () -> DnaKey.of(invalid));
+    }
+
+    @Test
+    @DisplayName("La clave de los bytes empaquetados debe coincidir con la de las filas")
+    void testPackedKeyMatchesRows() {
+        Random random = new Random(7);
+        for (int n : new int[]{6, 7, DnaKey.MAX_LITERAL_SIZE, 100, 101}) {
+            String[] dna = randomMatrix(random, n);
+            byte[] body = DnaPackedCodec.encode(dna);
+            byte[] packed = Arrays.copyOfRange(body, DnaPackedCodec.HEADER_BYTES, body.length);
+            // Bits sobrantes del último byte (N² no múltiplo de 4): no forman parte de la clave
+            if ((n * n) % 4 != 0) {
+                packed[packed.length - 1] |= (byte) 0xC0;
+            }
+
+            assertEquals(DnaKey.of(dna), DnaKey.ofPacked(n, packed), "N = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir la clave a partir de su secuencia")
+    void testParseSequence() {
+        String[] small = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String[] large = matrix(150, 'T');
+
+        assertEquals(DnaKey.of(small), DnaKey.parse(DnaKey.of(small).sequence()));
+        assertEquals(DnaKey.of(large), DnaKey.parse(DnaKey.of(large).sequence()));
+    }
+
+    private static String[] randomMatrix(Random random, int n) {
+        char[] bases = {'A', 'C', 'G', 'T'};
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = bases[random.nextInt(4)];
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+
+    private static String[] matrix(int n, char base) {
+        String[] dna = new String[n];
+        Arrays.fill(dna, String.valueOf(base).repeat(n));
+        return dna;
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para MappedVerdictCache.
+ *
+ * Categorías:
+ * 1. Hits / misses
+ * 2. Persistencia entre reinicios
+ * 3. Slots corruptos (checksum)
+ */
+@DisplayName("MappedVerdictCache - Tests de la caché persistente")
+class MappedVerdictCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final String[] mutantDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATGT",
+        "AGAAGG",
+        "CCCCTA",
+        "TCACTG"
+    };
+
+    private final String[] humanDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATTT",
+        "AGACGG",
+        "GCGTCA",
+        "TCACTG"
+    };
+
+    @Test
+    @DisplayName("Debe devolver los veredictos guardados")
+    void testPutAndGet() {
+        MappedVerdictCache cache = open(1);
+
+        assertEquals(MappedVerdictCache.MISS, cache.get(mutantDna));
+        cache.put(mutantDna, true);
+        cache.put(humanDna, false);
+
+        assertEquals(MappedVerdictCache.MUTANT, cache.get(mutantDna));
+        assertEquals(MappedVerdictCache.HUMAN, cache.get(humanDna));
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Debe conservar los veredictos al reabrir el archivo")
+    void testSurvivesRestart() {
+        MappedVerdictCache cache = open(1);
+        cache.put(mutantDna, true);
+        cache.close();
+
+        MappedVerdictCache reopened = open(1);
+        assertEquals(MappedVerdictCache.MUTANT, reopened.get(mutantDna));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debe reinicializar el archivo si cambia el tamaño configurado")
+    void testResizeResetsFile() {
+        MappedVerdictCache cache = open(1);
+        cache.put(mutantDna, true);
+        cache.close();
+
+        MappedVerdictCache resized = open(2);
+        assertEquals(MappedVerdictCache.MISS, resized.get(mutantDna));
+        resized.close();
+    }
+
+    @Test
+    @DisplayName("Debe tratar como vacío un slot con checksum inválido")
+    void testCorruptedSlotIsMiss() throws Exception {
+        MappedVerdictCache cache = open(1);
+        cache.put(mutantDna, true);
+        cache.close();
+
+        // Corromper el valor (offset 16 del slot) de todos los slots ocupados
+        try (RandomAccessFile file = new RandomAccessFile(file().toFile(), "rw")) {
+            for (long offset = 64; offset < file.length(); offset += 32) {
+                file.seek(offset + 16);
+                long value = file.readLong();
+                if (value != 0) {
+                    file.seek(offset + 16);
+                    file.writeLong(value ^ 1);
+                }
+            }
+        }
+
+        MappedVerdictCache reopened = open(1);
+        assertEquals(MappedVerdictCache.MISS, reopened.get(mutantDna));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debe tratar como miss una huella igual con otro tamaño de matriz")
+    void testSizeMismatchIsMiss() {
+        MappedVerdictCache cache = open(1);
+        cache.put(new DnaKey("#100:00", 100, 42L, 43L), true);
+
+        assertEquals(MappedVerdictCache.MUTANT, cache.get(new DnaKey("#100:00", 100, 42L, 43L)));
+        assertEquals(MappedVerdictCache.MISS, cache.get(new DnaKey("#101:00", 101, 42L, 43L)));
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción solo debe persistir el veredicto si hace commit")
+    void testPutDeferredToCommit() {
+        MappedVerdictCache cache = open(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put(mutantDna, true);
+            assertEquals(MappedVerdictCache.MISS, cache.get(mutantDna));
+        } finally {
+            // Rollback (ej: el calentamiento): las sincronizaciones se descartan sin afterCommit
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(MappedVerdictCache.MISS, cache.get(mutantDna));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put(humanDna, false);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(MappedVerdictCache.HUMAN, cache.get(humanDna));
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Debe ignorar todas las operaciones si está desactivada")
+    void testDisabled() {
+        MappedVerdictCache cache = new MappedVerdictCache(false, null, 0);
+        cache.put(mutantDna, true);
+
+        assertEquals(MappedVerdictCache.MISS, cache.get(mutantDna));
+        assertFalse(cache.isEnabled());
+    }
+
+    private MappedVerdictCache open(int sizeMb) {
+        return new MappedVerdictCache(true, file().toString(), sizeMb);
+    }
+
+    private Path file() {
+        return tempDir.resolve("verdicts.bin");
+    }
+}
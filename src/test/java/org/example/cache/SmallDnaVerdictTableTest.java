@@ -0,0 +1,147 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SmallDnaVerdictTable.
+ *
+ * Categorías:
+ * 1. Empaquetado y elegibilidad
+ * 2. Hits / misses
+ * 3. Capacidad acotada (CLOCK)
+ * 4. Lecturas concurrentes
+ */
+@DisplayName("SmallDnaVerdictTable - Tests de la tabla primitiva")
+class SmallDnaVerdictTableTest {
+
+    private final String[] mutantDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATGT",
+        "AGAAGG",
+        "CCCCTA",
+        "TCACTG"
+    };
+
+    @Test
+    @DisplayName("Debe devolver el veredicto guardado")
+    void testPutAndGet() {
+        SmallDnaVerdictTable table = new SmallDnaVerdictTable(true, 64);
+
+        assertEquals(SmallDnaVerdictTable.MISS, table.get(mutantDna));
+        table.put(mutantDna, true);
+
+        assertEquals(SmallDnaVerdictTable.MUTANT, table.get(mutantDna));
+    }
+
+    @Test
+    @DisplayName("Debe distinguir matrices de distinto tamaño con los mismos bits")
+    void testSizeIsPartOfTheKey() {
+        SmallDnaVerdictTable table = new SmallDnaVerdictTable(true, 64);
+        String[] allA4 = {"AAAA", "AAAA", "AAAA", "AAAA"};
+        String[] allA5 = {"AAAAA", "AAAAA", "AAAAA", "AAAAA", "AAAAA"};
+
+        table.put(allA4, false);
+
+        assertEquals(SmallDnaVerdictTable.HUMAN, table.get(allA4));
+        assertEquals(SmallDnaVerdictTable.MISS, table.get(allA5));
+    }
+
+    @Test
+    @DisplayName("Debe ignorar matrices no elegibles")
+    void testNotPackable() {
+        SmallDnaVerdictTable table = new SmallDnaVerdictTable(true, 64);
+        String[] nineByNine = new String[9];
+        Arrays.fill(nineByNine, "ATGCATGCA");
+        String[] invalid = {"ATGC", "CXGT", "TGAT", "GCAT"};
+
+        table.put(nineByNine, true);
+        table.put(invalid, true);
+
+        assertEquals(SmallDnaVerdictTable.MISS, table.get(nineByNine));
+        assertEquals(SmallDnaVerdictTable.MISS, table.get(invalid));
+    }
+
+    @Test
+    @DisplayName("Debe empaquetar 8x8 en exactamente dos long")
+    void testPackEightByEight() {
+        String[] dna = new String[8];
+        Arrays.fill(dna, "TTTTTTTT");
+
+        assertEquals(-1L, SmallDnaVerdictTable.pack(dna, 0));  // 32 celdas T (0b11)
+        assertEquals(-1L, SmallDnaVerdictTable.pack(dna, 1));
+    }
+
+    @Test
+    @DisplayName("No debe superar la capacidad configurada")
+    void testBoundedCapacity() {
+        SmallDnaVerdictTable table = new SmallDnaVerdictTable(true, 16);
+        int stored = 0;
+        for (int i = 0; i < 256; i++) {
+            table.put(matrix(i), i % 2 == 0);
+        }
+        for (int i = 0; i < 256; i++) {
+            int verdict = table.get(matrix(i));
+            if (verdict != SmallDnaVerdictTable.MISS) {
+                assertEquals(i % 2 == 0 ? SmallDnaVerdictTable.MUTANT : SmallDnaVerdictTable.HUMAN, verdict);
+                stored++;
+            }
+        }
+        assertTrue(stored <= table.capacity());
+        assertTrue(stored > 0);
+    }
+
+    @Test
+    @DisplayName("Las lecturas concurrentes nunca deben ver un veredicto incorrecto")
+    void testConcurrentReaders() throws Exception {
+        SmallDnaVerdictTable table = new SmallDnaVerdictTable(true, 32);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int round = 0; round < 200; round++) {
+                    for (int i = 0; i < 256; i++) {
+                        table.put(matrix(i), i % 2 == 0);
+                    }
+                }
+            });
+            Future<?>[] readers = new Future<?>[3];
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = executor.submit(() -> {
+                    for (int round = 0; round < 200; round++) {
+                        for (int i = 0; i < 256; i++) {
+                            int verdict = table.get(matrix(i));
+                            if (verdict != SmallDnaVerdictTable.MISS) {
+                                assertEquals(i % 2 == 0 ? SmallDnaVerdictTable.MUTANT : SmallDnaVerdictTable.HUMAN,
+                                    verdict);
+                            }
+                        }
+                    }
+                });
+            }
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Matriz 4x4 distinta para cada i en [0, 256): el índice se codifica en la primera fila.
+     */
+    private String[] matrix(int i) {
+        char[] bases = {'A', 'C', 'G', 'T'};
+        String first = "" + bases[i & 3] + bases[(i >> 2) & 3] + bases[(i >> 4) & 3] + bases[(i >> 6) & 3];
+        return new String[]{first, "CAGT", "TGAT", "GCAT"};
+    }
+}
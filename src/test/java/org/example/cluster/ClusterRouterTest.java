@@ -0,0 +1,144 @@
+package org.example.cluster;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.cache.DnaHashing;
+import org.example.codec.DnaPackedCodec;
+import org.example.dto.PackedDna;
+import org.example.service.DnaCanonicalizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ClusterRouter contra un nodo HTTP local.
+ */
+@DisplayName("ClusterRouter - Tests del enrutamiento por hashing consistente")
+class ClusterRouterTest {
+
+    private static final String SELF = "http://localhost:1";
+
+    private HttpServer peer;
+
+    @AfterEach
+    void tearDown() {
+        if (peer != null) {
+            peer.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reenviar al dueño y devolver su veredicto")
+    void testForwardsToOwner() throws IOException {
+        AtomicReference<String> forwardedBy = new AtomicReference<>();
+        AtomicInteger calls = new AtomicInteger();
+        String peerUrl = startPeer(exchange -> {
+            calls.incrementAndGet();
+            forwardedBy.set(exchange.getRequestHeaders().getFirst(ClusterRouter.FORWARDED_HEADER));
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(403, -1);
+            exchange.close();
+        });
+        ClusterRouter router = router(peerUrl);
+        String[] dna = dnaOwnedBy(peerUrl, peerUrl);
+
+        assertEquals(Optional.of(false), router.route(dna, null));
+        assertEquals(SELF, forwardedBy.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Un cuerpo binario debe ir al mismo dueño y reenviarse con los mismos bytes")
+    void testForwardsPackedToOwner() throws IOException {
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        String peerUrl = startPeer(exchange -> {
+            received.set(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        ClusterRouter router = router(peerUrl);
+        String[] dna = dnaOwnedBy(peerUrl, peerUrl);
+        byte[] body = DnaPackedCodec.encode(dna);
+        PackedDna packed = new PackedDna(dna.length,
+            Arrays.copyOfRange(body, DnaPackedCodec.HEADER_BYTES, body.length));
+
+        assertEquals(Optional.of(true), router.route(packed, null));
+        assertArrayEquals(body, received.get());
+        assertEquals(Optional.empty(), router.route(packed, "http://localhost:2"));
+    }
+
+    @Test
+    @DisplayName("Debe procesar local si el ADN es propio o si el request ya fue reenviado")
+    void testLocalFastPathAndLoopGuard() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        String peerUrl = startPeer(exchange -> {
+            calls.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        ClusterRouter router = router(peerUrl);
+
+        assertEquals(Optional.empty(), router.route(dnaOwnedBy(SELF, peerUrl), null));
+        assertEquals(Optional.empty(), router.route(dnaOwnedBy(peerUrl, peerUrl), "http://localhost:2"));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    @DisplayName("Con el dueño caído debe procesar local y no reintentar durante peer-down-ms")
+    void testFallbackWhenPeerDown() throws IOException {
+        String peerUrl = startPeer(exchange -> exchange.close());
+        peer.stop(0);
+        peer = null;
+        ClusterRouter router = router(peerUrl);
+        String[] dna = dnaOwnedBy(peerUrl, peerUrl);
+
+        assertEquals(Optional.empty(), router.route(dna, null));
+        // Segundo intento: el nodo está marcado caído, responde sin esperar el timeout
+        long start = System.nanoTime();
+        assertEquals(Optional.empty(), router.route(dna, null));
+        assertTrue(System.nanoTime() - start < 50_000_000L);
+    }
+
+    private String startPeer(com.sun.net.httpserver.HttpHandler handler) throws IOException {
+        peer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        peer.createContext("/mutant", handler);
+        peer.start();
+        return "http://localhost:" + peer.getAddress().getPort();
+    }
+
+    private static ClusterRouter router(String peerUrl) {
+        return new ClusterRouter(new DnaCanonicalizer(false, 99), true, SELF,
+            new String[]{SELF, peerUrl}, 64, 1_000, 60_000);
+    }
+
+    /**
+     * Busca un ADN 4x4 cuyo dueño sea el nodo pedido en el anillo {SELF, peer}.
+     */
+    private static String[] dnaOwnedBy(String owner, String peerUrl) {
+        HashRing ring = new HashRing(List.of(SELF, peerUrl), 64);
+        Random random = new Random(1);
+        while (true) {
+            String[] dna = new String[4];
+            for (int row = 0; row < 4; row++) {
+                StringBuilder bases = new StringBuilder();
+                for (int col = 0; col < 4; col++) {
+                    bases.append("ACGT".charAt(random.nextInt(4)));
+                }
+                dna[row] = bases.toString();
+            }
+            if (ring.owner(DnaHashing.hash64(dna)).equals(owner)) {
+                return dna;
+            }
+        }
+    }
+}
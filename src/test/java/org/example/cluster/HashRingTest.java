@@ -0,0 +1,69 @@
+package org.example.cluster;
+
+import org.example.cache.DnaHashing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para HashRing (hashing consistente con nodos virtuales).
+ */
+@DisplayName("HashRing - Tests del anillo de hashing consistente")
+class HashRingTest {
+
+    private static final List<String> NODES =
+        List.of("http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+
+    @Test
+    @DisplayName("Debe repartir las claves de forma pareja entre los nodos")
+    void testBalancedDistribution() {
+        HashRing ring = new HashRing(NODES, 128);
+        Map<String, Integer> load = new HashMap<>();
+        for (long key = 0; key < 30_000; key++) {
+            load.merge(ring.owner(DnaHashing.mix(key + 1)), 1, Integer::sum);
+        }
+
+        assertEquals(3, load.size());
+        // 10.000 claves esperadas por nodo: ±25% con 128 nodos virtuales
+        load.values().forEach(count -> assertTrue(count > 7_500 && count < 12_500, "carga " + count));
+    }
+
+    @Test
+    @DisplayName("Agregar un nodo solo mueve claves hacia el nodo nuevo")
+    void testAddingNodeMovesFewKeys() {
+        HashRing before = new HashRing(NODES, 128);
+        List<String> grown = new java.util.ArrayList<>(NODES);
+        grown.add("http://localhost:8083");
+        HashRing after = new HashRing(grown, 128);
+
+        int moved = 0;
+        for (long key = 0; key < 20_000; key++) {
+            long hash = DnaHashing.mix(key + 1);
+            String oldOwner = before.owner(hash);
+            String newOwner = after.owner(hash);
+            if (!oldOwner.equals(newOwner)) {
+                moved++;
+                assertEquals("http://localhost:8083", newOwner);
+            }
+        }
+        // ≈ 1/4 de las claves
+        assertTrue(moved > 3_000 && moved < 7_000, "movidas " + moved);
+    }
+
+    @Test
+    @DisplayName("El anillo no depende del orden de configuración de los nodos")
+    void testOrderIndependent() {
+        HashRing ring = new HashRing(NODES, 64);
+        HashRing reversed = new HashRing(List.of(NODES.get(2), NODES.get(0), NODES.get(1)), 64);
+
+        for (long key = 0; key < 1_000; key++) {
+            long hash = DnaHashing.mix(key + 1);
+            assertEquals(ring.owner(hash), reversed.owner(hash));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.codec;
+
+import org.example.cache.DnaKey;
+import org.example.dto.PackedDna;
+import org.example.exception.InvalidDnaException;
+import org.example.exception.PayloadTooLargeException;
+import org.example.service.DnaCanonicalizer;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DnaPackedCodec (formato application/x-dna-packed).
+ */
+@DisplayName("DnaPackedCodec - Tests del formato binario")
+class DnaPackedCodecTest {
+
+    private static final long MAX_SIZE = 1000;
+    private static final long MAX_BODY_BYTES = 4096;
+
+    private final String[] mutantDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATGT",
+        "AGAAGG",
+        "CCCCTA",
+        "TCACTG"
+    };
+
+    private final String[] humanDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATTT",
+        "AGACGG",
+        "GCGTCA",
+        "TCACTG"
+    };
+
+    @Test
+    @DisplayName("Debe codificar y decodificar sin pérdida")
+    void testRoundTrip() throws IOException {
+        PackedDna decoded = decode(DnaPackedCodec.encode(mutantDna));
+
+        assertEquals(6, decoded.getSize());
+        assertTrue(decoded.hasExpectedLength());
+        assertArrayEquals(mutantDna, decoded.toRows());
+    }
+
+    @Test
+    @DisplayName("Debe usar 5 bytes de header y 2 bits por base")
+    void testEncodedLength() {
+        byte[] body = DnaPackedCodec.encode(mutantDna);
+
+        assertEquals(DnaPackedCodec.HEADER_BYTES + 9, body.length);  // 36 bases / 4
+        assertEquals(6, body[3]);
+        assertEquals(0, body[4]);
+    }
+
+    @Test
+    @DisplayName("El detector debe dar el mismo veredicto sobre la forma empaquetada")
+    void testDetectorOnPackedDna() throws IOException {
+        MutantDetector detector = new MutantDetector();
+
+        assertTrue(detector.isPackedMutant(decode(DnaPackedCodec.encode(mutantDna))));
+        assertFalse(detector.isPackedMutant(decode(DnaPackedCodec.encode(humanDna))));
+    }
+
+    @Test
+    @DisplayName("Debe marcar como inválido un cuerpo truncado o con bytes sobrantes")
+    void testWrongPayloadLength() throws IOException {
+        byte[] body = DnaPackedCodec.encode(mutantDna);
+        byte[] truncated = Arrays.copyOf(body, body.length - 1);
+        byte[] extended = Arrays.copyOf(body, body.length + 1);
+
+        assertFalse(decode(truncated).hasExpectedLength());
+        assertFalse(decode(extended).hasExpectedLength());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar flags desconocidos y tamaño excesivo")
+    void testInvalidHeader() {
+        byte[] flags = DnaPackedCodec.encode(mutantDna);
+        flags[4] = 1;
+        byte[] huge = {0, 0, 0x10, 0, 0};  // N = 4096 > MAX_SIZE
+
+        assertThrows(InvalidDnaException.class, () -> decode(flags));
+        assertThrows(InvalidDnaException.class, () -> decode(huge));
+    }
+
+    @Test
+    @DisplayName("Un header incompleto se decodifica como matriz vacía para @ValidPackedDna")
+    void testIncompleteHeaderIsEmpty() throws IOException {
+        assertEquals(0, decode(new byte[0]).getSize());
+        assertEquals(0, decode(new byte[]{0, 0}).getSize());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un N cuyo cuerpo supera el máximo de bytes sin leer las bases")
+    void testRejectsBodyAboveMaxBytes() {
+        byte[] header = {0, 0, 0, (byte) 200, 0};  // 200² / 4 = 10000 bytes > MAX_BODY_BYTES
+
+        assertThrows(PayloadTooLargeException.class, () -> decode(header));
+    }
+
+    @Test
+    @DisplayName("Debe reproducir el cuerpo binario desde la forma empaquetada")
+    void testEncodePacked() throws IOException {
+        byte[] body = DnaPackedCodec.encode(mutantDna);
+
+        assertArrayEquals(body, DnaPackedCodec.encode(decode(body)));
+    }
+
+    @Test
+    @DisplayName("El encoder debe rechazar matrices no NxN o con bases inválidas")
+    void testEncoderValidation() {
+        assertThrows(InvalidDnaException.class,
+            () -> DnaPackedCodec.encode(new String[]{"ATGC", "CAGT", "TG"}));
+        assertThrows(InvalidDnaException.class,
+            () -> DnaPackedCodec.encode(new String[]{"ATGC", "CXGT", "TGAT", "GCAT"}));
+    }
+
+    @Test
+    @DisplayName("Desde offHeapMinSize debe decodificar fuera del heap con la misma clave y veredicto")
+    void testDecodesLargeBodyOffHeap() throws IOException {
+        // N = 123: N² no es múltiplo de 4, el último byte trae bits sin celda
+        String[] dna = randomDna(new Random(7), 123);
+        byte[] body = DnaPackedCodec.encode(dna);
+        body[body.length - 1] |= (byte) 0xC0;
+        MutantDetector detector = new MutantDetector();
+
+        try (PackedDna onHeap = decode(body);
+             PackedDna offHeap = DnaPackedCodec.decode(new ByteArrayInputStream(body), MAX_SIZE, 1 << 20, 100)) {
+            assertFalse(onHeap.isOffHeap());
+            assertTrue(offHeap.isOffHeap());
+            assertTrue(offHeap.hasExpectedLength());
+            assertArrayEquals(dna, offHeap.toRows());
+            assertEquals(DnaKey.of(dna), new DnaCanonicalizer(true, 99).key(offHeap));
+            assertEquals(detector.isPackedMutant(onHeap), detector.isPackedMutant(offHeap));
+            assertArrayEquals(DnaPackedCodec.encode(dna), DnaPackedCodec.encode(offHeap));
+        }
+    }
+
+    @Test
+    @DisplayName("Fuera del heap, un cuerpo truncado o con bytes sobrantes queda con largo inválido")
+    void testOffHeapWrongPayloadLength() throws IOException {
+        byte[] body = DnaPackedCodec.encode(randomDna(new Random(8), 120));
+
+        try (PackedDna truncated = DnaPackedCodec.decode(
+                 new ByteArrayInputStream(Arrays.copyOf(body, body.length - 1)), MAX_SIZE, 1 << 20, 100);
+             PackedDna extended = DnaPackedCodec.decode(
+                 new ByteArrayInputStream(Arrays.copyOf(body, body.length + 1)), MAX_SIZE, 1 << 20, 100)) {
+            assertFalse(truncated.isOffHeap());
+            assertFalse(truncated.hasExpectedLength());
+            assertFalse(extended.hasExpectedLength());
+        }
+    }
+
+    private static String[] randomDna(Random random, int n) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            StringBuilder bases = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                bases.append("ACGT".charAt(random.nextInt(4)));
+            }
+            dna[row] = bases.toString();
+        }
+        return dna;
+    }
+
+    private PackedDna decode(byte[] body) throws IOException {
+        return DnaPackedCodec.decode(new ByteArrayInputStream(body), MAX_SIZE, MAX_BODY_BYTES);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para BoundedScheduler (scheduler paralelo con límite de pendientes).
+ */
+@DisplayName("BoundedScheduler - Tests de backpressure")
+class BoundedSchedulerTest {
+
+    private final BoundedScheduler scheduler = new BoundedScheduler(Schedulers.newParallel("test-detection", 1), 2);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar la tarea en un worker y no en el hilo que se suscribe")
+    void testRunsOnWorker() {
+        String thread = scheduler.offload(() -> Thread.currentThread().getName()).block(Duration.ofSeconds(5));
+
+        assertNotNull(thread);
+        assertTrue(thread.startsWith("test-detection"), thread);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar de inmediato al superar el límite de tareas pendientes")
+    void testRejectsAboveMaxPending() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Mono<Boolean> blocking = scheduler.offload(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        // Una en ejecución y otra en la cola del único worker
+        blocking.subscribe();
+        blocking.subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(2, scheduler.pending());
+
+        assertThrows(RejectedExecutionException.class,
+            () -> scheduler.offload(() -> true).block(Duration.ofSeconds(5)));
+        assertEquals(2, scheduler.pending());
+
+        // Al terminar las pendientes se vuelve a admitir
+        release.countDown();
+        assertEquals(true, scheduler.offload(() -> true)
+            .retryWhen(Retry.fixedDelay(50, Duration.ofMillis(20)))
+            .block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    @DisplayName("Un resultado null debe completar vacío")
+    void testNullCompletesEmpty() {
+        assertNull(scheduler.offload(() -> null).block(Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cache.DnaKey;
+import org.example.codec.DnaPackedCodec;
+import org.example.dto.DnaRequest;
+import org.example.repository.DnaRecordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de punta a punta de POST /mutant con matrices de más de 99x99, cuya
+ * secuencia no entra en dna_sequence: se guardan con la clave digest.
+ *
+ * Patrón: @SpringBootTest + MockMvc (BD H2 en memoria real, sin mocks)
+ */
+@SpringBootTest(properties = {
+    "mutant.warmup.enabled=false",
+    "mutant.detection.calibration.enabled=false",
+    "mutant.db-spool.enabled=false",
+    "mutant.unique.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("MutantController - Tests de punta a punta con matrices grandes")
+class MutantControllerLargeDnaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DnaRecordRepository dnaRecordRepository;
+
+    @Test
+    @DisplayName("Debe analizar y guardar un ADN mutante de 150x150")
+    void testLargeMutantIsSaved() throws Exception {
+        String[] dna = new String[150];
+        Arrays.fill(dna, "A".repeat(150));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            // La segunda vez el veredicto sale de la BD
+            mockMvc.perform(post("/mutant")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new DnaRequest(dna))))
+                    .andExpect(status().isOk());
+        }
+
+        assertTrue(dnaRecordRepository.findByDnaSequence(DnaKey.of(dna).sequence()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debe analizar y guardar un ADN humano de 120x120")
+    void testLargeHumanIsSaved() throws Exception {
+        String[] dna = humanDna(120);
+
+        mockMvc.perform(post("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DnaRequest(dna))))
+                .andExpect(status().isForbidden());
+
+        assertTrue(dnaRecordRepository.findByDnaSequence(DnaKey.of(dna).sequence()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debe analizar y guardar un ADN binario de 300x300 con la misma clave que el JSON")
+    void testLargePackedIsSaved() throws Exception {
+        String[] dna = humanDna(300);
+
+        mockMvc.perform(post("/mutant")
+                .contentType(DnaPackedCodec.MEDIA_TYPE)
+                .content(DnaPackedCodec.encode(dna)))
+                .andExpect(status().isForbidden());
+
+        assertTrue(dnaRecordRepository.findByDnaSequence(DnaKey.of(dna).sequence()).isPresent());
+    }
+
+    /**
+     * Pares de bases que avanzan una posición por fila: ninguna dirección repite
+     * la misma base más de 2 veces seguidas.
+     */
+    private static String[] humanDna(int n) {
+        char[] bases = {'A', 'C', 'G', 'T'};
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = bases[(c / 2 + r) % 4];
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+}
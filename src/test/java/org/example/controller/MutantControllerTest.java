@@ -1,10 +1,19 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.admission.AdmissionControl;
+import org.example.cluster.ClusterRouter;
+import org.example.codec.DnaPackedCodec;
+import org.example.delta.DeltaMatrixCache;
 import org.example.dto.DnaRequest;
+import org.example.dto.PackedDna;
 import org.example.dto.StatsResponse;
+import org.example.dto.UniqueStatsResponse;
+import org.example.exception.ServiceOverloadedException;
 import org.example.service.MutantService;
 import org.example.service.StatsService;
+import org.example.service.StatsSnapshot;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +22,16 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -46,6 +64,22 @@ class MutantControllerTest {
     @MockBean
     private StatsService statsService;
 
+    @MockBean
+    private AdmissionControl admissionControl;
+
+    @MockBean
+    private ClusterRouter clusterRouter;
+
+    @MockBean
+    private DeltaMatrixCache deltaMatrixCache;
+
+    @BeforeEach
+    void setUp() {
+        // Sin carga: el control de admisión ejecuta el análisis directamente
+        when(admissionControl.execute(anyInt(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
     // ==========================================
     // TESTS POST /mutant
     // ==========================================
@@ -160,6 +194,129 @@ class MutantControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /mutant - Debe aceptar ADN en formato binario empaquetado")
+    void testIsMutantPackedReturnOk() throws Exception {
+        // Arrange
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+        when(mutantService.analyzePackedDna(any())).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(DnaPackedCodec.MEDIA_TYPE)
+                .content(DnaPackedCodec.encode(dna)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Binario: mismo error que JSON cuando la matriz es menor a 4x4")
+    void testIsMutantPackedTooSmall() throws Exception {
+        // Arrange: N = 3 con 3 bytes de bases
+        byte[] body = {0, 0, 0, 3, 0, 0, 0, 0};
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(DnaPackedCodec.MEDIA_TYPE)
+                .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Error"))
+                .andExpect(jsonPath("$.message").value("La matriz de ADN debe ser al menos de 4x4"));
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Binario: 400 BAD REQUEST cuando el cuerpo está truncado")
+    void testIsMutantPackedTruncated() throws Exception {
+        // Arrange: N = 6 pero solo 2 bytes de bases (se esperan 9)
+        byte[] body = {0, 0, 0, 6, 0, 0, 0};
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(DnaPackedCodec.MEDIA_TYPE)
+                .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("La matriz de ADN debe ser NxN. Tamaño esperado: 6x6"));
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Binario: mismo error que JSON cuando el cuerpo no trae header")
+    void testIsMutantPackedEmpty() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(DnaPackedCodec.MEDIA_TYPE)
+                .content(new byte[]{0, 0}))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Error"))
+                .andExpect(jsonPath("$.message").value("La secuencia de ADN no puede estar vacía"));
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Binario: en modo cluster se enruta con el cuerpo empaquetado")
+    void testIsMutantPackedForwardedToOwner() throws Exception {
+        // Arrange: El ADN pertenece a otra instancia, que responde mutante
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC"};
+        when(clusterRouter.route(any(PackedDna.class), isNull())).thenReturn(Optional.of(true));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(DnaPackedCodec.MEDIA_TYPE)
+                .content(DnaPackedCodec.encode(dna)))
+                .andExpect(status().isOk());
+        verify(mutantService, never()).analyzePackedDna(any());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe retornar 503 con Retry-After cuando el servicio está saturado")
+    void testIsMutantOverloaded() throws Exception {
+        // Arrange
+        DnaRequest request = new DnaRequest(new String[]{"ATGC", "CAGT", "TTAT", "AGAA"});
+        when(admissionControl.execute(anyInt(), any()))
+            .thenThrow(new ServiceOverloadedException("Servicio saturado (small): reintentar en 2s", 2));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
+    @Test
+    @DisplayName("POST /mutant - En modo cluster debe responder el veredicto del nodo dueño")
+    void testIsMutantForwardedToOwner() throws Exception {
+        // Arrange: El ADN pertenece a otra instancia, que responde humano
+        when(clusterRouter.route(any(String[].class), isNull())).thenReturn(Optional.of(false));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"))
+                .andExpect(status().isForbidden());
+        verify(mutantService, never()).analyzeDna(any());
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Con diferencias activas debe identificar el ADN en X-Dna-Id")
+    void testIsMutantReturnsDnaId() throws Exception {
+        // Arrange
+        when(mutantService.analyzeDna(any())).thenReturn(true);
+        when(deltaMatrixCache.remember(any(String[].class))).thenReturn(Optional.of("00000000000000ff"));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Dna-Id", "00000000000000ff"));
+    }
+
     // ==========================================
     // TESTS GET /stats
     // ==========================================
@@ -169,12 +326,14 @@ class MutantControllerTest {
     void testGetStatsSuccess() throws Exception {
         // Arrange
         StatsResponse statsResponse = new StatsResponse(40L, 100L, 0.4);
-        when(statsService.getStats()).thenReturn(statsResponse);
+        when(statsService.getSnapshot()).thenReturn(snapshot(statsResponse));
 
         // Act & Assert
         mockMvc.perform(get("/stats"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"28-64\""))
+                .andExpect(header().string("Cache-Control", "max-age=1"))
                 .andExpect(jsonPath("$.count_mutant_dna").value(40))
                 .andExpect(jsonPath("$.count_human_dna").value(100))
                 .andExpect(jsonPath("$.ratio").value(0.4));
@@ -185,7 +344,7 @@ class MutantControllerTest {
     void testGetStatsWithNoData() throws Exception {
         // Arrange
         StatsResponse statsResponse = new StatsResponse(0L, 0L, 0.0);
-        when(statsService.getStats()).thenReturn(statsResponse);
+        when(statsService.getSnapshot()).thenReturn(snapshot(statsResponse));
 
         // Act & Assert
         mockMvc.perform(get("/stats"))
@@ -195,4 +354,57 @@ class MutantControllerTest {
                 .andExpect(jsonPath("$.count_human_dna").value(0))
                 .andExpect(jsonPath("$.ratio").value(0.0));
     }
+
+    @Test
+    @DisplayName("GET /stats - Debe responder 304 sin cuerpo si el ETag coincide")
+    void testGetStatsNotModified() throws Exception {
+        // Arrange
+        when(statsService.getSnapshot()).thenReturn(snapshot(new StatsResponse(40L, 100L, 0.4)));
+
+        // Act & Assert
+        mockMvc.perform(get("/stats").header("If-None-Match", "\"28-64\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"28-64\""))
+                .andExpect(content().string(""));
+    }
+
+    private StatsSnapshot snapshot(StatsResponse stats) throws Exception {
+        return new StatsSnapshot(0L, stats, objectMapper.writeValueAsBytes(stats),
+            "\"" + Long.toHexString(stats.getCountMutantDna()) + "-" +
+                Long.toHexString(stats.getCountHumanDna()) + "\"", 1L);
+    }
+
+    // ==========================================
+    // TESTS GET /stats/unique
+    // ==========================================
+
+    @Test
+    @DisplayName("GET /stats/unique - Debe retornar las estimaciones por bucket")
+    void testGetUniqueStats() throws Exception {
+        // Arrange
+        Instant day = Instant.parse("2024-01-01T00:00:00Z");
+        UniqueStatsResponse unique = new UniqueStatsResponse("day", day, day.plusSeconds(86_400),
+            150L, 40L, 110L, List.of(new UniqueStatsResponse.Bucket(day, 150L, 40L, 110L)));
+        when(statsService.getUniqueStats("day", 1)).thenReturn(unique);
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/unique").param("granularity", "day").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("day"))
+                .andExpect(jsonPath("$.unique_dna").value(150))
+                .andExpect(jsonPath("$.buckets[0].unique_mutant_dna").value(40))
+                .andExpect(jsonPath("$.buckets[0].unique_human_dna").value(110));
+    }
+
+    @Test
+    @DisplayName("GET /stats/unique - Debe retornar 400 con una granularidad inválida")
+    void testGetUniqueStatsInvalidGranularity() throws Exception {
+        // Arrange
+        when(statsService.getUniqueStats("week", 24))
+            .thenThrow(new IllegalArgumentException("granularity debe ser 'hour' o 'day'"));
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/unique").param("granularity", "week"))
+                .andExpect(status().isBadRequest());
+    }
 }
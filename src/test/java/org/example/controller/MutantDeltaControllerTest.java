@@ -0,0 +1,122 @@
+package org.example.controller;
+
+import org.example.admission.AdmissionControl;
+import org.example.delta.DeltaMatrixCache;
+import org.example.delta.DnaDeltaService;
+import org.example.service.MutantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración para MutantDeltaController (PATCH /mutant).
+ *
+ * Usa el DnaDeltaService y la DeltaMatrixCache reales; MutantService solo
+ * devuelve el veredicto calculado por la diferencia (sin caché ni BD).
+ */
+@WebMvcTest(controllers = MutantDeltaController.class, properties = "mutant.delta.enabled=true")
+@Import({DnaDeltaService.class, DeltaMatrixCache.class})
+@DisplayName("MutantDeltaController - Tests de Integración de diferencias")
+class MutantDeltaControllerTest {
+
+    private static final String[] HUMAN = {
+        "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"
+    };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeltaMatrixCache deltaMatrixCache;
+
+    @MockBean
+    private MutantService mutantService;
+
+    @MockBean
+    private AdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        when(admissionControl.execute(anyInt(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(mutantService.analyzeDna(any(String[].class), any(BooleanSupplier.class)))
+            .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(1).getAsBoolean());
+    }
+
+    @Test
+    @DisplayName("PATCH /mutant - Debe detectar el mutante a partir de las filas modificadas")
+    void testApplyDeltaReturnsVerdict() throws Exception {
+        String base = deltaMatrixCache.remember(HUMAN).orElseThrow();
+
+        // Fila 2 con AAAA y fila 4 con CCCC: dos secuencias horizontales
+        mockMvc.perform(patch("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"base\":\"" + base + "\",\"rows\":[" +
+                    "{\"index\":2,\"bases\":\"AAAATT\"},{\"index\":4,\"bases\":\"CCCCTA\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Dna-Id"));
+
+        // Sin cambios efectivos sigue siendo humano
+        mockMvc.perform(patch("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"base\":\"" + base + "\",\"rows\":[{\"index\":0,\"bases\":\"ATGCGA\"}]}"))
+                .andExpect(status().isForbidden())
+                .andExpect(header().string("X-Dna-Id", base));
+    }
+
+    @Test
+    @DisplayName("PATCH /mutant - Debe retornar 404 si la base no está en caché")
+    void testApplyDeltaUnknownBase() throws Exception {
+        mockMvc.perform(patch("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"base\":\"0123456789abcdef\",\"rows\":[{\"index\":0,\"bases\":\"AAAAAA\"}]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Not Found"));
+    }
+
+    @Test
+    @DisplayName("PATCH /mutant - Debe retornar 400 sin filas modificadas o con una fila inválida")
+    void testApplyDeltaInvalidRequest() throws Exception {
+        String base = deltaMatrixCache.remember(HUMAN).orElseThrow();
+
+        mockMvc.perform(patch("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"base\":\"" + base + "\",\"rows\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"base\":\"" + base + "\",\"rows\":[{\"index\":9,\"bases\":\"AAAAAA\"}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("PATCH /mutant - La admisión debe usar el N de la base, no el largo de la fila enviada")
+    void testApplyDeltaAdmissionSizedFromBase() throws Exception {
+        String base = deltaMatrixCache.remember(HUMAN).orElseThrow();
+
+        mockMvc.perform(patch("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"base\":\"" + base + "\",\"rows\":[{\"index\":0,\"bases\":\"" +
+                    "A".repeat(5000) + "\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(admissionControl).execute(eq(HUMAN.length), any());
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.controller;
+
+import org.example.entity.DnaRecord;
+import org.example.repository.DnaRecordBatchRepository;
+import org.example.resilience.DatabaseCircuitBreaker;
+import org.example.resilience.DnaRecordSpool;
+import org.example.service.DnaAnalysis;
+import org.example.service.DnaStreamService;
+import org.example.service.MutantService;
+import org.example.service.StatsVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración para MutantStreamController (POST /mutant/stream).
+ * 
+ * Usa el DnaStreamService real (pipeline lector/workers/escritor) con
+ * MutantService y el repositorio batch mockeados.
+ */
+@WebMvcTest(value = MutantStreamController.class, properties = "mutant.stream.max-line-length=1024")
+@Import({DnaStreamService.class, DatabaseCircuitBreaker.class, StatsVersion.class})
+@DisplayName("MutantStreamController - Tests de Integración NDJSON")
+class MutantStreamControllerTest {
+
+    private static final String MUTANT_LINE =
+        "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+    private static final String HUMAN_LINE =
+        "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATTT\",\"AGACGG\",\"GCGTCA\",\"TCACTG\"]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DnaStreamService dnaStreamService;
+
+    @MockBean
+    private MutantService mutantService;
+
+    @MockBean
+    private DnaRecordBatchRepository batchRepository;
+
+    @MockBean
+    private DnaRecordSpool dnaRecordSpool;
+
+    @Test
+    @DisplayName("POST /mutant/stream - Debe responder un veredicto por línea en orden")
+    void testStreamPreservesOrder() throws Exception {
+        // Arrange
+        when(mutantService.analyzeWithoutSaving(any())).thenAnswer(invocation -> {
+            String[] dna = invocation.getArgument(0);
+            boolean isMutant = dna[2].equals("TTATGT");
+            return new DnaAnalysis(String.join(",", dna), isMutant, true);
+        });
+        String body = MUTANT_LINE + "\n" + HUMAN_LINE + "\n\n" + MUTANT_LINE + "\n";
+
+        // Act & Assert
+        String content = stream(body);
+        assertEquals(
+            "{\"line\":1,\"mutant\":true}\n" +
+            "{\"line\":2,\"mutant\":false}\n" +
+            "{\"line\":4,\"mutant\":true}\n",
+            content);
+    }
+
+    @Test
+    @DisplayName("POST /mutant/stream - Las líneas inválidas reportan error sin cortar el stream")
+    void testInvalidLinesReportError() throws Exception {
+        // Arrange
+        when(mutantService.analyzeWithoutSaving(any()))
+            .thenReturn(new DnaAnalysis(null, true, false));
+        String body = "{\"dna\":[\"ATG\",\"CAG\",\"TTA\"]}\n" +
+                      "no es json\n" +
+                      MUTANT_LINE + "\n";
+
+        // Act
+        String[] lines = stream(body).split("\n");
+
+        // Assert
+        assertEquals(3, lines.length);
+        assertEquals("{\"line\":1,\"error\":\"La matriz de ADN debe ser al menos de 4x4\"}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"line\":2,\"error\":\"JSON inválido"));
+        assertEquals("{\"line\":3,\"mutant\":true}", lines[2]);
+        verify(batchRepository, never()).saveAll(argThat(list -> !list.isEmpty()));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/stream - Debe guardar los registros nuevos en lote")
+    @SuppressWarnings("unchecked")
+    void testNewRecordsSavedInBatch() throws Exception {
+        // Arrange
+        when(mutantService.analyzeWithoutSaving(any()))
+            .thenReturn(new DnaAnalysis("ATGCGA,CAGTGC", true, true))
+            .thenReturn(new DnaAnalysis(null, false, false));
+
+        // Act
+        stream(MUTANT_LINE + "\n" + HUMAN_LINE + "\n");
+
+        // Assert
+        ArgumentCaptor<List<DnaRecord>> batch = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).saveAll(batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertEquals("ATGCGA,CAGTGC", batch.getValue().get(0).getDnaSequence());
+    }
+
+    @Test
+    @DisplayName("POST /mutant/stream - Una línea demasiado larga reporta error y el stream sigue")
+    void testOversizedLineReportsError() throws Exception {
+        // Arrange
+        when(mutantService.analyzeWithoutSaving(any()))
+            .thenReturn(new DnaAnalysis(null, true, false));
+        String oversized = "{\"dna\":[\"" + "A".repeat(5000) + "\"]}";
+        String body = MUTANT_LINE + "\n" + oversized + "\n" + MUTANT_LINE + "\n";
+
+        // Act
+        String[] lines = stream(body).split("\n");
+
+        // Assert
+        assertEquals(3, lines.length);
+        assertEquals("{\"line\":1,\"mutant\":true}", lines[0]);
+        assertEquals("{\"line\":2,\"error\":\"Línea demasiado larga: máximo 1024 caracteres\"}", lines[1]);
+        assertEquals("{\"line\":3,\"mutant\":true}", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Si el cliente se desconecta, los registros nuevos ya analizados se guardan igual")
+    @SuppressWarnings("unchecked")
+    void testClientDisconnectStillSavesBatch() {
+        // Arrange: La respuesta falla en la primera escritura
+        DnaAnalysis analysis = new DnaAnalysis("ATGCGA,CAGTGC", true, true);
+        when(mutantService.analyzeWithoutSaving(any())).thenReturn(analysis);
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        ByteArrayInputStream body = new ByteArrayInputStream(
+            (MUTANT_LINE + "\n").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        assertThrows(IOException.class, () -> dnaStreamService.process(body, disconnected));
+
+        // Assert: El registro se guarda y recién entonces pasa a las cachés
+        ArgumentCaptor<List<DnaRecord>> batch = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).saveAll(batch.capture());
+        assertEquals("ATGCGA,CAGTGC", batch.getValue().get(0).getDnaSequence());
+        verify(mutantService).remember(analysis);
+    }
+
+    private String stream(String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/mutant/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
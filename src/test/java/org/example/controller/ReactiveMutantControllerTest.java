@@ -0,0 +1,105 @@
+package org.example.controller;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.example.dto.DnaRequest;
+import org.example.dto.StatsResponse;
+import org.example.service.ReactiveMutantService;
+import org.example.service.ReactiveStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de integración para ReactiveMutantController (perfil "reactive").
+ * 
+ * Patrón: @WebFluxTest + WebTestClient
+ */
+@WebFluxTest(ReactiveMutantController.class)
+@ActiveProfiles("reactive")
+@DisplayName("ReactiveMutantController - Tests de Integración WebFlux")
+class ReactiveMutantControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveMutantService mutantService;
+
+    @MockBean
+    private ReactiveStatsService statsService;
+
+    private final String[] mutantDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATGT",
+        "AGAAGG",
+        "CCCCTA",
+        "TCACTG"
+    };
+
+    @Test
+    @DisplayName("POST /mutant - Debe retornar 200 OK cuando es mutante")
+    void testIsMutantReturnOk() {
+        when(mutantService.analyzeDna(any())).thenReturn(Mono.just(true));
+
+        webTestClient.post().uri("/mutant")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new DnaRequest(mutantDna))
+            .exchange()
+            .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe retornar 403 FORBIDDEN cuando es humano")
+    void testIsMutantReturnForbidden() {
+        when(mutantService.analyzeDna(any())).thenReturn(Mono.just(false));
+
+        webTestClient.post().uri("/mutant")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new DnaRequest(mutantDna))
+            .exchange()
+            .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("POST /mutant - Debe retornar 400 BAD REQUEST cuando hay caracteres inválidos")
+    void testIsMutantWithInvalidCharacters() {
+        String[] dna = {"ATGC", "CXGT", "TGAT", "GCAT"};
+        // La validación la hace el servicio, fuera del event loop
+        when(mutantService.analyzeDna(any())).thenReturn(Mono.error(new ConstraintViolationException(
+            Validation.buildDefaultValidatorFactory().getValidator().validateValue(DnaRequest.class, "dna", dna))));
+
+        webTestClient.post().uri("/mutant")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new DnaRequest(dna))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Validation Error")
+            .jsonPath("$.path").isEqualTo("/mutant");
+    }
+
+    @Test
+    @DisplayName("GET /stats - Debe retornar estadísticas correctamente")
+    void testGetStatsSuccess() {
+        when(statsService.getStats()).thenReturn(Mono.just(new StatsResponse(40L, 100L, 0.4)));
+
+        webTestClient.get().uri("/stats")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.count_mutant_dna").isEqualTo(40)
+            .jsonPath("$.count_human_dna").isEqualTo(100)
+            .jsonPath("$.ratio").isEqualTo(0.4);
+    }
+}
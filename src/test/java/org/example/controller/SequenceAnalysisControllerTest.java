@@ -0,0 +1,97 @@
+package org.example.controller;
+
+import org.example.admission.AdmissionControl;
+import org.example.service.MutantDetector;
+import org.example.service.SequenceAnalysisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración para SequenceAnalysisController (POST /mutant/analyze).
+ *
+ * Usa el MutantDetector y el SequenceAnalysisService reales.
+ */
+@WebMvcTest(controllers = SequenceAnalysisController.class, properties = "mutant.analyze.enabled=true")
+@Import({SequenceAnalysisService.class, MutantDetector.class})
+@DisplayName("SequenceAnalysisController - Tests de Integración del análisis completo")
+class SequenceAnalysisControllerTest {
+
+    private static final String MUTANT_BODY =
+        "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+    private static final String HUMAN_BODY =
+        "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATTT\",\"AGACGG\",\"GCGTCA\",\"TCACTG\"]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        when(admissionControl.execute(anyInt(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    @DisplayName("POST /mutant/analyze - Debe contar todas las secuencias por dirección y base")
+    void testAnalyzeCountsEverySequence() throws Exception {
+        mockMvc.perform(post("/mutant/analyze")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(MUTANT_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(6))
+                .andExpect(jsonPath("$.mutant").value(true))
+                .andExpect(jsonPath("$.total_sequences").value(3))
+                .andExpect(jsonPath("$.by_direction.horizontal").value(1))
+                .andExpect(jsonPath("$.by_direction.vertical").value(1))
+                .andExpect(jsonPath("$.by_direction.diagonal_down").value(1))
+                .andExpect(jsonPath("$.counts.horizontal.C").value(1))
+                .andExpect(jsonPath("$.by_base.A").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /mutant/analyze/histogram - Debe acumular las muestras analizadas")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testHistogramAccumulates() throws Exception {
+        mockMvc.perform(post("/mutant/analyze").contentType(MediaType.APPLICATION_JSON).content(MUTANT_BODY))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/mutant/analyze").contentType(MediaType.APPLICATION_JSON).content(HUMAN_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mutant").value(false));
+
+        mockMvc.perform(get("/mutant/analyze/histogram"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.samples").value(2))
+                .andExpect(jsonPath("$.mutant_samples").value(1))
+                .andExpect(jsonPath("$.total_sequences").value(3))
+                .andExpect(jsonPath("$.sequences_per_sample['0']").value(1))
+                .andExpect(jsonPath("$.sequences_per_sample['2-3']").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/analyze - Debe retornar 400 con ADN inválido")
+    void testAnalyzeInvalidDna() throws Exception {
+        mockMvc.perform(post("/mutant/analyze")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"dna\":[\"ATGX\",\"CAGT\",\"TTAT\",\"AGAA\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.delta;
+
+import org.example.codec.DnaPackedCodec;
+import org.example.dto.DnaDeltaRequest;
+import org.example.dto.PackedDna;
+import org.example.exception.InvalidDnaException;
+import org.example.exception.UnknownDnaBaseException;
+import org.example.service.DnaBases;
+import org.example.service.MutantDetector;
+import org.example.service.MutantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para DnaDeltaService (reevaluación incremental de PATCH /mutant).
+ *
+ * El veredicto y los conteos incrementales se comparan contra MutantDetector
+ * recorriendo la matriz completa.
+ */
+@DisplayName("DnaDeltaService - Tests de la reevaluación incremental")
+class DnaDeltaServiceTest {
+
+    private static final String[] HUMAN = {
+        "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"
+    };
+
+    private final MutantDetector mutantDetector = new MutantDetector();
+    private DeltaMatrixCache cache;
+    private DnaDeltaService service;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DeltaMatrixCache(true, 64, 1 << 20);
+        MutantService mutantService = mock(MutantService.class);
+        // Sin caché ni BD: el veredicto es el que calcula la diferencia
+        when(mutantService.analyzeDna(any(String[].class), any(BooleanSupplier.class)))
+            .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(1).getAsBoolean());
+        service = new DnaDeltaService(cache, mutantService);
+    }
+
+    @Test
+    @DisplayName("Debe coincidir con la detección completa en diferencias encadenadas al azar")
+    void testMatchesFullDetection() {
+        Random random = new Random(42);
+        for (int sample = 0; sample < 200; sample++) {
+            int n = 4 + random.nextInt(12);
+            String[] dna = randomDna(random, n);
+            String id = cache.remember(dna).orElseThrow();
+
+            for (int step = 0; step < 5; step++) {
+                List<DnaDeltaRequest.RowChange> changes = new ArrayList<>();
+                for (int change = 0; change <= random.nextInt(3); change++) {
+                    int index = random.nextInt(n);
+                    String bases = randomRow(random, n);
+                    changes.add(new DnaDeltaRequest.RowChange(index, bases));
+                    dna[index] = bases;
+                }
+
+                DnaDeltaService.DeltaResult result = service.apply(new DnaDeltaRequest(id, changes));
+
+                assertEquals(mutantDetector.isMutant(dna), result.isMutant(), Arrays.toString(dna));
+                int[] rowStarts = cache.get(DeltaMatrixCache.parseId(result.id())).orElseThrow().rowStarts();
+                assertEquals(mutantDetector.countSequences(dna).total(), Arrays.stream(rowStarts).sum());
+                id = result.id();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Solo debe recontar las filas que pueden contener a la fila modificada")
+    void testRescansOnlyAffectedRows() {
+        String[] dna = randomDna(new Random(7), 10);
+        String id = cache.remember(dna).orElseThrow();
+
+        DnaDeltaService.DeltaResult middle = service.apply(
+            new DnaDeltaRequest(id, List.of(new DnaDeltaRequest.RowChange(5, "AAAACCCCGG"))));
+        DnaDeltaService.DeltaResult top = service.apply(
+            new DnaDeltaRequest(middle.id(), List.of(new DnaDeltaRequest.RowChange(1, "TTTTGGGGAA"))));
+
+        assertEquals(4, middle.rescannedRows());  // filas 2..5
+        assertEquals(2, top.rescannedRows());     // filas 0..1
+        assertTrue(top.isMutant());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar bases desconocidas y filas inválidas")
+    void testRejectsUnknownBaseAndInvalidRows() {
+        String id = cache.remember(HUMAN.clone()).orElseThrow();
+
+        assertThrows(UnknownDnaBaseException.class, () -> service.apply(
+            new DnaDeltaRequest("0123456789abcdef", List.of(new DnaDeltaRequest.RowChange(0, "AAAAAA")))));
+        assertThrows(InvalidDnaException.class, () -> service.apply(
+            new DnaDeltaRequest(id, List.of(new DnaDeltaRequest.RowChange(6, "AAAAAA")))));
+        assertThrows(InvalidDnaException.class, () -> service.apply(
+            new DnaDeltaRequest(id, List.of(new DnaDeltaRequest.RowChange(0, "AAAA")))));
+        assertThrows(InvalidDnaException.class, () -> service.apply(
+            new DnaDeltaRequest(id, List.of(new DnaDeltaRequest.RowChange(0, "AAAXAA")))));
+        assertThrows(IllegalArgumentException.class, () -> service.apply(
+            new DnaDeltaRequest("no-hex", List.of(new DnaDeltaRequest.RowChange(0, "AAAAAA")))));
+    }
+
+    @Test
+    @DisplayName("Una diferencia inválida no debe calcular los conteos de la base")
+    void testValidatesRowsBeforeCountingBase() {
+        String id = cache.remember(HUMAN.clone()).orElseThrow();
+        DeltaMatrixCache.DeltaBase base = service.base(id);
+
+        assertEquals(6, base.rows().length);
+        assertThrows(InvalidDnaException.class, () -> service.apply(
+            base, new DnaDeltaRequest(id, List.of(new DnaDeltaRequest.RowChange(0, "A".repeat(1000))))));
+        assertNull(cache.get(DeltaMatrixCache.parseId(id)).orElseThrow().rowStarts());
+
+        service.apply(base, new DnaDeltaRequest(id, List.of(new DnaDeltaRequest.RowChange(0, "ATGCGA"))));
+        assertNotNull(cache.get(DeltaMatrixCache.parseId(id)).orElseThrow().rowStarts());
+    }
+
+    @Test
+    @DisplayName("La caché debe desalojar por celdas totales en orden LRU")
+    void testCacheEvictsByCells() {
+        DeltaMatrixCache small = new DeltaMatrixCache(true, 64, 100);
+        String first = small.remember(randomDna(new Random(1), 6)).orElseThrow();
+        String second = small.remember(randomDna(new Random(2), 6)).orElseThrow();
+        small.get(DeltaMatrixCache.parseId(first));  // first pasa a ser el más reciente
+        small.remember(randomDna(new Random(3), 6));
+
+        assertEquals(2, small.size());
+        assertTrue(small.get(DeltaMatrixCache.parseId(first)).isPresent());
+        assertTrue(small.get(DeltaMatrixCache.parseId(second)).isEmpty());
+        assertTrue(small.remember(randomDna(new Random(4), 11)).isEmpty());  // 121 celdas > 100
+    }
+
+    @Test
+    @DisplayName("Un cuerpo binario se registra con el mismo id, sin reconstruir filas si no entra")
+    void testRemembersPackedWithinCellLimit() {
+        DeltaMatrixCache small = new DeltaMatrixCache(true, 64, 100);
+        String[] dna = randomDna(new Random(5), 6);
+        byte[] packed = Arrays.copyOfRange(DnaPackedCodec.encode(dna), DnaPackedCodec.HEADER_BYTES,
+            DnaPackedCodec.HEADER_BYTES + (int) PackedDna.packedLength(6));
+        PackedDna tooLarge = new PackedDna(11, new byte[(int) PackedDna.packedLength(11)]) {
+            @Override
+            public String[] toRows() {
+                throw new AssertionError("No debe reconstruir filas por encima de max-cells");
+            }
+        };
+
+        assertEquals(small.remember(dna.clone()), small.remember(new PackedDna(6, packed)));
+        assertTrue(small.remember(tooLarge).isEmpty());
+    }
+
+    private static String[] randomDna(Random random, int n) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            dna[row] = randomRow(random, n);
+        }
+        return dna;
+    }
+
+    /**
+     * Alfabeto sesgado hacia A para que aparezcan secuencias con frecuencia.
+     */
+    private static String randomRow(Random random, int n) {
+        char[] row = new char[n];
+        for (int col = 0; col < n; col++) {
+            row[col] = random.nextInt(3) == 0 ? 'A' : DnaBases.base(random.nextInt(4));
+        }
+        return new String(row);
+    }
+}
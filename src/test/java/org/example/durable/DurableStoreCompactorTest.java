@@ -0,0 +1,100 @@
+package org.example.durable;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del perfil "durable": migración de dna_records y compactación online
+ * sobre un H2 en archivo real.
+ */
+@DisplayName("DurableStoreCompactor - Tests de H2 en archivo")
+class DurableStoreCompactorTest {
+
+    private static final String INSERT_SQL = "INSERT INTO dna_records (dna_sequence, is_mutant) VALUES (?, ?)";
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:file:" + tempDir.resolve("mutantdb") + ";WRITE_DELAY=1000");
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("La migración debe crear dna_records con clave única y fecha de alta")
+    void testMigrationSchema() {
+        jdbcTemplate.update(INSERT_SQL, "AAAA,CCCC,GGGG,TTTT", false);
+
+        assertThrows(DuplicateKeyException.class,
+            () -> jdbcTemplate.update(INSERT_SQL, "AAAA,CCCC,GGGG,TTTT", true));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT created_at FROM dna_records", Object.class));
+        assertEquals(2, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME IN ('IDX_DNA_SEQUENCE', 'IDX_IS_MUTANT')",
+            Long.class));
+    }
+
+    @Test
+    @DisplayName("Debe compactar con la base en uso sin perder registros")
+    void testCompactKeepsRecords() throws SQLException {
+        insert(20_000);
+        jdbcTemplate.update("DELETE FROM dna_records WHERE MOD(id, 10) <> 0");
+        DurableStoreCompactor compactor = new DurableStoreCompactor(dataSource, 80, 64);
+
+        DurableStoreCompactor.Result result = compactor.compact();
+        compactor.compact();
+
+        assertTrue(result.bytesBefore() > 0);
+        assertTrue(result.bytesAfter() > 0);
+        assertEquals(2_000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM dna_records WHERE dna_sequence = ?", Long.class, sequence(9_999)));
+    }
+
+    private void insert(int records) {
+        List<Object[]> rows = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            rows.add(new Object[]{sequence(i), (i & 1) == 0});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Secuencia 4x4 distinta por índice (32 bits en las 16 celdas).
+     */
+    private static String sequence(int index) {
+        StringBuilder sequence = new StringBuilder();
+        for (int cell = 0; cell < 16; cell++) {
+            if (cell > 0 && cell % 4 == 0) {
+                sequence.append(',');
+            }
+            sequence.append("ACGT".charAt((index >>> (cell * 2)) & 3));
+        }
+        return sequence.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para la ruta rápida de rechazo (InvalidDnaException + ErrorResponseTemplate).
+ */
+@DisplayName("ErrorResponseTemplate - Tests del ErrorResponse pre-serializado")
+class ErrorResponseTemplateTest {
+
+    // Misma configuración que el ObjectMapper de Spring Boot para fechas
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    @Test
+    @DisplayName("Debe producir el mismo JSON que serializar ErrorResponse")
+    void testRenderMatchesObjectMapper() throws Exception {
+        InvalidDnaException ex = InvalidDnaException.invalidBase('"');
+
+        byte[] fast = ErrorResponseTemplate.INVALID_DNA.render(ex.getMessageJson(), "/mutant");
+
+        JsonNode rendered = objectMapper.readTree(fast);
+        LocalDateTime timestamp = LocalDateTime.parse(rendered.get("timestamp").asText());
+        ErrorResponse expected = new ErrorResponse(timestamp, 400, "Invalid DNA", ex.getMessage(), "/mutant");
+        assertEquals(objectMapper.writeValueAsString(expected), new String(fast, "UTF-8"));
+    }
+
+    @Test
+    @DisplayName("Los rechazos conocidos son instancias cacheadas y sin stack trace")
+    void testCachedStacklessInstances() {
+        assertSame(InvalidDnaException.notSquare(), InvalidDnaException.notSquare());
+        assertSame(InvalidDnaException.invalidBase('X'), InvalidDnaException.invalidBase('X'));
+        assertSame(InvalidDnaException.notSquare(6), InvalidDnaException.notSquare(6));
+        assertEquals(0, InvalidDnaException.tooSmall().getStackTrace().length);
+        assertEquals(0, new InvalidDnaException("ADN inválido").getStackTrace().length);
+
+        assertEquals("La matriz de ADN debe ser NxN. Tamaño esperado: 6x6",
+            InvalidDnaException.notSquare(6).getMessage());
+        assertEquals("La matriz de ADN debe ser NxN. Tamaño mínimo: 4x4",
+            InvalidDnaException.notSquare(3).getMessage());
+        assertEquals("ADN inválido: Solo se permiten caracteres A, T, C, G. Encontrado: 'X'",
+            InvalidDnaException.invalidBase('X').getMessage());
+    }
+
+    @Test
+    @DisplayName("Las instancias compartidas no acumulan excepciones suprimidas")
+    void testSharedInstancesIgnoreSuppressed() {
+        InvalidDnaException shared = InvalidDnaException.notSquare(6);
+        shared.addSuppressed(new IllegalStateException("otro request"));
+        InvalidDnaException.invalidBase('X').addSuppressed(new IllegalStateException("otro request"));
+
+        assertEquals(0, shared.getSuppressed().length);
+        assertEquals(0, InvalidDnaException.invalidBase('X').getSuppressed().length);
+    }
+}
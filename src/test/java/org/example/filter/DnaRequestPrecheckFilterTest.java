@@ -0,0 +1,238 @@
+package org.example.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.example.codec.DnaPackedCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DnaRequestPrecheckFilter.
+ */
+@DisplayName("DnaRequestPrecheckFilter - Tests del rechazo temprano")
+class DnaRequestPrecheckFilterTest {
+
+    private static final int MAX_SIZE = 8;
+    private static final int MAX_BODY_BYTES = 256;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final DnaRequestPrecheckFilter filter =
+        new DnaRequestPrecheckFilter(objectMapper, true, MAX_SIZE, MAX_BODY_BYTES);
+
+    @Test
+    @DisplayName("ADN válido: el cuerpo llega intacto al controller")
+    void testValidBodyIsReplayed() throws Exception {
+        String body = "{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAC\"]}";
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(json(body), chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        String replayed = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(body, replayed);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una primera fila mayor al N máximo")
+    void testRejectsSizeAboveMax() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(json("{\"dna\":[\"ATGCATGCA\"]}"), chain);
+
+        assertRejected(response, chain, 400, "La matriz de ADN excede el tamaño máximo permitido: 8x8");
+    }
+
+    @Test
+    @DisplayName("Debe cortar en la primera fila de largo distinto a N")
+    void testRejectsRowLengthMismatch() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        // Lo que sigue a la fila inválida solo se cuenta: la base inválida no se reporta
+        MockHttpServletResponse response = perform(json(
+            "{\"dna\":[\"ATGCGA\",\"CAGT\",\"XXXXXX\",\"ATGCGA\",\"ATGCGA\",\"ATGCGA\"]}"), chain);
+
+        assertRejected(response, chain, 400, "La matriz de ADN debe ser NxN. Tamaño esperado: 6x6");
+    }
+
+    @Test
+    @DisplayName("Con la primera fila más larga que la cantidad de filas debe reportar la cantidad de filas")
+    void testFirstRowLongerThanRowCountReportsRowCount() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(
+            json("{\"dna\":[\"AAAAA\",\"AAAA\",\"AAAA\",\"AAAA\"]}"), chain);
+
+        assertRejected(response, chain, 400, "La matriz de ADN debe ser NxN. Tamaño esperado: 4x4");
+    }
+
+    @Test
+    @DisplayName("Una base inválida en una matriz no cuadrada se reporta como NxN, como el validador")
+    void testInvalidBaseWithFewerRowsReportsRowCount() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(json("{\"dna\":[\"AAAA\",\"AAXA\"]}"), chain);
+
+        assertRejected(response, chain, 400, "La matriz de ADN debe ser NxN. Tamaño esperado: 2x2");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar más filas que N")
+    void testRejectsTooManyRows() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(
+            json("{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAC\",\"GGGG\"]}"), chain);
+
+        assertRejected(response, chain, 400, "La matriz de ADN debe ser NxN. Tamaño esperado: 5x5");
+    }
+
+    @Test
+    @DisplayName("Con más filas que N debe reportar la cantidad real de filas, como el validador")
+    void testTooManyRowsReportsRowCount() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(
+            json("{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAC\",\"GGGG\",null,\"X\"]}"), chain);
+
+        assertRejected(response, chain, 400, "La matriz de ADN debe ser NxN. Tamaño esperado: 7x7");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar bases inválidas con el mismo mensaje que el validador")
+    void testRejectsInvalidBase() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(
+            json("{\"dna\":[\"ATGC\",\"CXGT\",\"TTAT\",\"AGAC\"]}"), chain);
+
+        assertRejected(response, chain, 400,
+            "ADN inválido: Solo se permiten caracteres A, T, C, G. Encontrado: 'X'");
+    }
+
+    @Test
+    @DisplayName("Debe responder 413 cuando el cuerpo supera el máximo de bytes")
+    void testRejectsBodyTooLarge() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        String padding = " ".repeat(MAX_BODY_BYTES);
+
+        MockHttpServletResponse response = perform(json("{\"dna\":[\"ATGC\"]" + padding + "}"), chain);
+
+        assertRejected(response, chain, 413, "El cuerpo del request excede el máximo de 256 bytes");
+    }
+
+    @Test
+    @DisplayName("Casos que dependen del total de filas se dejan al validador")
+    void testDelegatesSmallMatrices() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(json("{\"dna\":[\"ATG\",\"CAG\",\"TTA\"]}"), chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Un cuerpo que ocupa varios bloques se reenvía completo, con o sin Content-Length")
+    void testChunkedBodyIsReplayed() throws Exception {
+        DnaRequestPrecheckFilter largeFilter = new DnaRequestPrecheckFilter(objectMapper, true, MAX_SIZE, 1 << 20);
+        String body = "{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAC\"]" + " ".repeat(200_000) + "}";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        largeFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        String replayed = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(body, replayed);
+    }
+
+    @Test
+    @DisplayName("El cuerpo reenviado admite lectura asíncrona con ReadListener")
+    void testReplayedBodySupportsReadListener() throws Exception {
+        String body = "{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAC\"]}";
+        MockFilterChain chain = new MockFilterChain();
+        perform(json(body), chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] chunk = new byte[8];
+                int n;
+                while (in.isReady() && (n = in.read(chunk)) >= 0) {
+                    read.write(chunk, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertTrue(allDataRead.get());
+        assertEquals(body, read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("No aplica al formato binario")
+    void testSkipsPackedBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContentType(DnaPackedCodec.MEDIA_TYPE);
+        request.setContent(new byte[MAX_BODY_BYTES * 2]);
+        MockFilterChain chain = new MockFilterChain();
+
+        perform(request, chain);
+
+        assertSame(request, chain.getRequest());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest json(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private void assertRejected(MockHttpServletResponse response, MockFilterChain chain,
+                                int status, String message) throws Exception {
+        assertNull(chain.getRequest(), "El request no debe llegar al controller");
+        assertEquals(status, response.getStatus());
+        assertEquals(message, objectMapper.readTree(response.getContentAsByteArray()).get("message").asText());
+        assertEquals("/mutant", objectMapper.readTree(response.getContentAsByteArray()).get("path").asText());
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DatabaseCircuitBreaker.
+ */
+@DisplayName("DatabaseCircuitBreaker - Tests del circuit breaker de la BD")
+class DatabaseCircuitBreakerTest {
+
+    @Test
+    @DisplayName("Debe abrirse al superar la tasa de fallos y dejar de llamar a la BD")
+    void testOpensOnFailureRate() {
+        DatabaseCircuitBreaker breaker = breaker(60_000);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DatabaseUnavailableException.class, () -> breaker.run(() -> {
+                calls.incrementAndGet();
+                throw new DataAccessResourceFailureException("timeout");
+            }));
+        }
+
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isClosed());
+        // 2 llamadas alcanzan min-calls; las siguientes se rechazan sin tocar la BD
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Debe cerrarse tras las llamadas de prueba exitosas en HALF_OPEN")
+    void testClosesAfterSuccessfulProbe() throws InterruptedException {
+        DatabaseCircuitBreaker breaker = breaker(10);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(DatabaseUnavailableException.class, () -> breaker.run(() -> {
+                throw new DataAccessResourceFailureException("timeout");
+            }));
+        }
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(20);
+
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Una excepción inesperada en HALF_OPEN debe volver a OPEN y no consumir el permiso")
+    void testUnexpectedExceptionInHalfOpenReopens() throws InterruptedException {
+        DatabaseCircuitBreaker breaker = breaker(10);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(DatabaseUnavailableException.class, () -> breaker.run(() -> {
+                throw new DataAccessResourceFailureException("timeout");
+            }));
+        }
+        Thread.sleep(20);
+
+        assertThrows(IllegalStateException.class, () -> breaker.run(() -> {
+            throw new IllegalStateException("bug");
+        }));
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, breaker.getState());
+
+        // Tras open-ms vuelve a probar y se recupera
+        Thread.sleep(20);
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Una violación de unicidad no cuenta como fallo de la BD")
+    void testIntegrityViolationIsNotAFailure() {
+        DatabaseCircuitBreaker breaker = breaker(60_000);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DataIntegrityViolationException.class, () -> breaker.run(() -> {
+                throw new DataIntegrityViolationException("duplicado");
+            }));
+        }
+
+        assertTrue(breaker.isClosed());
+    }
+
+    private static DatabaseCircuitBreaker breaker(long openMillis) {
+        return new DatabaseCircuitBreaker(true, 10, 2, 50, 500, 100, openMillis, 1);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.resilience;
+
+import org.example.entity.DnaRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DnaRecordSpool (journal local del modo degradado).
+ */
+@DisplayName("DnaRecordSpool - Tests del journal de la BD")
+class DnaRecordSpoolTest {
+
+    private static final String MUTANT = "ATGCGA,CAGTGC,TTATGT,AGAAGG,CCCCTA,TCACTG";
+    private static final String HUMAN = "ATGCGA,CAGTGC,TTATTT,AGACGG,GCGTCA,TCACTG";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Debe reproducir los registros pendientes, también tras reiniciar")
+    void testReplayAfterRestart() throws IOException {
+        DnaRecordSpool spool = open(10);
+        assertTrue(spool.append(new DnaRecord(null, MUTANT, true)));
+        assertTrue(spool.append(new DnaRecord(null, HUMAN, false)));
+        spool.close();
+
+        DnaRecordSpool reopened = open(10);
+        assertEquals(2, reopened.depth());
+
+        List<DnaRecord> saved = new ArrayList<>();
+        assertEquals(2, reopened.replay(1, saved::addAll));
+
+        assertEquals(0, reopened.depth());
+        assertEquals(MUTANT, saved.get(0).getDnaSequence());
+        assertTrue(saved.get(0).getIsMutant());
+        assertEquals(HUMAN, saved.get(1).getDnaSequence());
+        assertFalse(saved.get(1).getIsMutant());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Si el guardado falla, los registros quedan para la próxima corrida")
+    void testFailedReplayKeepsRecords() throws IOException {
+        DnaRecordSpool spool = open(10);
+        spool.append(new DnaRecord(null, MUTANT, true));
+
+        assertThrows(DatabaseUnavailableException.class, () -> spool.replay(10, batch -> {
+            throw new DatabaseUnavailableException("BD caída");
+        }));
+        assertEquals(1, spool.depth());
+
+        List<DnaRecord> saved = new ArrayList<>();
+        assertEquals(1, spool.replay(10, saved::addAll));
+        assertEquals(1, saved.size());
+        assertEquals(0, spool.depth());
+        spool.close();
+    }
+
+    @Test
+    @DisplayName("Debe descartar registros nuevos con el journal lleno")
+    void testDropsWhenFull() throws IOException {
+        DnaRecordSpool spool = open(1);
+
+        assertTrue(spool.append(new DnaRecord(null, MUTANT, true)));
+        assertFalse(spool.append(new DnaRecord(null, HUMAN, false)));
+        assertEquals(1, spool.depth());
+        spool.close();
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción solo debe escribir si hace commit")
+    void testAppendDeferredToCommit() throws IOException {
+        DnaRecordSpool spool = open(10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            spool.append(new DnaRecord(null, MUTANT, true));
+            assertEquals(0, spool.depth());
+        } finally {
+            // Rollback: las sincronizaciones se descartan sin afterCommit
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, spool.depth());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            spool.append(new DnaRecord(null, HUMAN, false));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, spool.depth());
+        spool.close();
+    }
+
+    private DnaRecordSpool open(long maxRecords) {
+        return new DnaRecordSpool(true, tempDir.resolve("spool.bin").toString(), maxRecords);
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.retention;
+
+import org.example.cache.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ColdDnaStore (almacenamiento frío de la retención).
+ */
+@DisplayName("ColdDnaStore - Tests del almacenamiento frío")
+class ColdDnaStoreTest {
+
+    private static final String MUTANT = "ATGCGA,CAGTGC,TTATGT,AGAAGG,CCCCTA,TCACTG";
+    private static final String HUMAN = "ATGCGA,CAGTGC,TTATTT,AGACGG,GCGTCA,TCACTG";
+    private static final String UNKNOWN = "AAAA,CCCC,GGGG,TTTT";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Debe encontrar los registros archivados con su veredicto")
+    void testArchiveAndFind() throws IOException {
+        ColdDnaStore store = open();
+
+        assertEquals(2, store.archive(List.of(
+            new ColdDnaStore.ColdRecord(MUTANT, true),
+            new ColdDnaStore.ColdRecord(HUMAN, false))));
+
+        assertEquals(Optional.of(true), store.find(MUTANT));
+        assertEquals(Optional.of(false), store.find(HUMAN));
+        assertEquals(Optional.empty(), store.find(UNKNOWN));
+        assertEquals(1, store.countMutants());
+        assertEquals(1, store.countHumans());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Reintentar un lote no duplica registros ni contadores")
+    void testArchiveIsIdempotent() throws IOException {
+        ColdDnaStore store = open();
+        List<ColdDnaStore.ColdRecord> batch = List.of(new ColdDnaStore.ColdRecord(MUTANT, true));
+
+        store.archive(batch);
+        long bytes = store.sizeBytes();
+
+        assertEquals(0, store.archive(batch));
+        assertEquals(bytes, store.sizeBytes());
+        assertEquals(1, store.countMutants());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir índice y contadores al reabrir el archivo")
+    void testReloadRebuildsIndex() throws IOException {
+        ColdDnaStore store = open();
+        store.archive(List.of(
+            new ColdDnaStore.ColdRecord(MUTANT, true),
+            new ColdDnaStore.ColdRecord(HUMAN, false)));
+        store.close();
+
+        ColdDnaStore reopened = open();
+
+        assertEquals(Optional.of(true), reopened.find(MUTANT));
+        assertEquals(Optional.of(false), reopened.find(HUMAN));
+        assertEquals(1, reopened.countMutants());
+        assertEquals(1, reopened.countHumans());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debe archivar y reencontrar claves digest de matrices grandes tras reabrir")
+    void testDigestKeysSurviveReload() throws IOException {
+        String[] large = new String[200];
+        Arrays.fill(large, "GATC".repeat(50));
+        String digest = DnaKey.of(large).sequence();
+        ColdDnaStore store = open();
+        store.archive(List.of(
+            new ColdDnaStore.ColdRecord(digest, true),
+            new ColdDnaStore.ColdRecord(HUMAN, false)));
+        store.close();
+
+        ColdDnaStore reopened = open();
+
+        assertEquals(Optional.of(true), reopened.find(digest));
+        assertEquals(Optional.of(false), reopened.find(HUMAN));
+        assertEquals(1, reopened.countMutants());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debe descartar un registro final incompleto (crash a mitad de escritura)")
+    void testTruncatedTailIsDiscarded() throws IOException {
+        ColdDnaStore store = open();
+        store.archive(List.of(new ColdDnaStore.ColdRecord(MUTANT, true)));
+        long complete = store.sizeBytes();
+        store.archive(List.of(new ColdDnaStore.ColdRecord(HUMAN, false)));
+        store.close();
+        try (FileChannel channel = FileChannel.open(file(), StandardOpenOption.WRITE)) {
+            channel.truncate(complete + 3);
+        }
+
+        ColdDnaStore reopened = open();
+
+        assertEquals(complete, reopened.sizeBytes());
+        assertEquals(Optional.of(true), reopened.find(MUTANT));
+        assertEquals(Optional.empty(), reopened.find(HUMAN));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Deshabilitado: no abre archivos y nunca encuentra nada")
+    void testDisabled() {
+        ColdDnaStore store = new ColdDnaStore(false, null);
+
+        assertFalse(store.isEnabled());
+        assertEquals(Optional.empty(), store.find(MUTANT));
+        assertEquals(0, store.countMutants());
+        assertEquals(0, store.sizeBytes());
+    }
+
+    private ColdDnaStore open() {
+        return new ColdDnaStore(true, file().toString());
+    }
+
+    private Path file() {
+        return tempDir.resolve("cold.bin");
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.service;
+
+import org.example.cache.DnaKey;
+import org.example.codec.DnaPackedCodec;
+import org.example.dto.PackedDna;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DnaCanonicalizer.
+ *
+ * Verifica que las 8 simetrías de una matriz comparten la misma forma canónica
+ * y que el veredicto de MutantDetector no cambia.
+ */
+@DisplayName("DnaCanonicalizer - Tests de Simetrías")
+class DnaCanonicalizerTest {
+
+    private final DnaCanonicalizer canonicalizer = new DnaCanonicalizer(true, 99);
+    private final MutantDetector mutantDetector = new MutantDetector();
+
+    private final String[] mutantDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATGT",
+        "AGAAGG",
+        "CCCCTA",
+        "TCACTG"
+    };
+
+    @Test
+    @DisplayName("Las 8 simetrías deben tener la misma forma canónica")
+    void testAllSymmetriesShareCanonicalForm() {
+        String[] expected = canonicalizer.canonicalize(mutantDna);
+
+        for (String[] variant : symmetries(mutantDna)) {
+            assertArrayEquals(expected, canonicalizer.canonicalize(variant));
+        }
+    }
+
+    @Test
+    @DisplayName("La forma canónica debe ser la menor de las 8 simetrías")
+    void testCanonicalFormIsMinimal() {
+        String canonical = String.join(",", canonicalizer.canonicalize(mutantDna));
+
+        for (String[] variant : symmetries(mutantDna)) {
+            assertTrue(canonical.compareTo(String.join(",", variant)) <= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("El veredicto debe ser el mismo en todas las simetrías")
+    void testVerdictIsInvariant() {
+        for (String[] variant : symmetries(mutantDna)) {
+            assertTrue(mutantDetector.isMutant(variant));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe devolver el mismo array si está desactivado")
+    void testDisabledReturnsSameArray() {
+        DnaCanonicalizer disabled = new DnaCanonicalizer(false, 99);
+        assertSame(mutantDna, disabled.canonicalize(mutantDna));
+    }
+
+    @Test
+    @DisplayName("Debe devolver el mismo array si la matriz no es NxN")
+    void testNonSquareReturnsSameArray() {
+        String[] dna = {"ATGC", "CAGT", "TG"};
+        assertSame(dna, canonicalizer.canonicalize(dna));
+    }
+
+    @Test
+    @DisplayName("La clave debe ser la de la forma canónica en las 8 simetrías")
+    void testKeyMatchesCanonicalForm() {
+        DnaKey expected = DnaKey.of(canonicalizer.canonicalize(mutantDna));
+
+        for (String[] variant : symmetries(mutantDna)) {
+            assertEquals(expected, canonicalizer.key(variant));
+        }
+    }
+
+    @Test
+    @DisplayName("No debe canonicalizar matrices más grandes que max-size")
+    void testAboveMaxSizeKeepsRows() {
+        DnaCanonicalizer limited = new DnaCanonicalizer(true, 5);
+        String[] reflected = reflect(mutantDna);
+
+        assertSame(reflected, limited.canonicalize(reflected));
+        assertEquals(DnaKey.of(reflected), limited.key(reflected));
+        assertNotEquals(limited.key(mutantDna), limited.key(reflected));
+    }
+
+    @Test
+    @DisplayName("La clave de un ADN empaquetado debe ser la de sus filas")
+    void testPackedKeyMatchesRows() {
+        String[] reflected = reflect(mutantDna);
+        byte[] body = DnaPackedCodec.encode(reflected);
+        PackedDna packed = new PackedDna(reflected.length,
+            Arrays.copyOfRange(body, DnaPackedCodec.HEADER_BYTES, body.length));
+
+        assertEquals(canonicalizer.key(reflected), canonicalizer.key(packed));
+        DnaCanonicalizer limited = new DnaCanonicalizer(true, 5);
+        assertEquals(limited.key(reflected), limited.key(packed));
+    }
+
+    /**
+     * Genera las 8 simetrías rotando 4 veces la matriz y su reflejo.
+     */
+    private List<String[]> symmetries(String[] dna) {
+        List<String[]> variants = new ArrayList<>();
+        String[] current = dna;
+        for (int i = 0; i < 4; i++) {
+            variants.add(current);
+            variants.add(reflect(current));
+            current = rotate(current);
+        }
+        return variants;
+    }
+
+    private String[] rotate(String[] dna) {
+        int n = dna.length;
+        String[] rotated = new String[n];
+        for (int row = 0; row < n; row++) {
+            StringBuilder builder = new StringBuilder();
+            for (int col = 0; col < n; col++) {
+                builder.append(dna[n - 1 - col].charAt(row));
+            }
+            rotated[row] = builder.toString();
+        }
+        return rotated;
+    }
+
+    private String[] reflect(String[] dna) {
+        String[] reflected = new String[dna.length];
+        for (int row = 0; row < dna.length; row++) {
+            reflected[row] = new StringBuilder(dna[row]).reverse().toString();
+        }
+        return reflected;
+    }
+}
@@ -1,9 +1,14 @@
 package org.example.service;
 
+import org.example.codec.DnaPackedCodec;
+import org.example.exception.InvalidDnaException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -194,8 +199,8 @@ class MutantDetectorTest {
     @Test
     @DisplayName("Debe lanzar excepción si el ADN es null")
     void testNullDnaArray() {
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
+        InvalidDnaException exception = assertThrows(
+            InvalidDnaException.class,
             () -> mutantDetector.isMutant(null)
         );
         assertEquals("La secuencia de ADN no puede ser null o vacía", exception.getMessage());
@@ -205,8 +210,8 @@ class MutantDetectorTest {
     @DisplayName("Debe lanzar excepción si el ADN está vacío")
     void testEmptyDnaArray() {
         String[] dna = {};
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
+        InvalidDnaException exception = assertThrows(
+            InvalidDnaException.class,
             () -> mutantDetector.isMutant(dna)
         );
         assertEquals("La secuencia de ADN no puede ser null o vacía", exception.getMessage());
@@ -220,8 +225,8 @@ class MutantDetectorTest {
             "CAGTGC",
             "TTAT"    // Fila más corta
         };
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
+        InvalidDnaException exception = assertThrows(
+            InvalidDnaException.class,
             () -> mutantDetector.isMutant(dna)
         );
         assertEquals("La matriz de ADN debe ser NxN", exception.getMessage());
@@ -236,8 +241,8 @@ class MutantDetectorTest {
             "TGAT",
             "GCAT"
         };
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
+        InvalidDnaException exception = assertThrows(
+            InvalidDnaException.class,
             () -> mutantDetector.isMutant(dna)
         );
         assertTrue(exception.getMessage().contains("Solo se permiten caracteres A, T, C, G"));
@@ -252,8 +257,8 @@ class MutantDetectorTest {
             "TGAT",
             "GCAT"
         };
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
+        InvalidDnaException exception = assertThrows(
+            InvalidDnaException.class,
             () -> mutantDetector.isMutant(dna)
         );
         assertEquals("La matriz de ADN debe ser NxN", exception.getMessage());
@@ -276,4 +281,80 @@ class MutantDetectorTest {
         };
         assertTrue(mutantDetector.isMutant(dna));
     }
+
+    @Test
+    @DisplayName("Debe reutilizar el buffer del hilo sin arrastrar datos de la matriz anterior")
+    void testScratchBufferReuseAcrossSizes() {
+        String[] largeMutant = {
+            "AAAAGCTA",
+            "CCCCTAGT",
+            "GTACGTAC",
+            "TACGTACG",
+            "ACGTACGT",
+            "CGTACGTA",
+            "GTACGTAC",
+            "TACGTACG"
+        };
+        String[] smallHuman = {
+            "ATGC",
+            "CAGT",
+            "TGAT",
+            "GCAT"
+        };
+        assertTrue(mutantDetector.isMutant(largeMutant));
+        assertFalse(mutantDetector.isMutant(smallHuman));
+        assertTrue(mutantDetector.isMutant(largeMutant));
+    }
+
+    @Test
+    @DisplayName("Debe analizar matrices mayores al límite de buffer retenido")
+    void testMatrixLargerThanRetainedScratch() {
+        int n = 1100;  // 1.21M celdas > DnaScratch.MAX_RETAINED_CELLS
+        char[] bases = {'A', 'C', 'G', 'T'};
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = bases[(c / 2 + r) % 4];  // Patrón sin secuencias de 4
+            }
+            dna[r] = new String(row);
+        }
+        assertFalse(mutantDetector.isMutant(dna));
+
+        dna[n - 1] = "GGGG" + dna[n - 1].substring(4);
+        dna[n - 2] = "TTTT" + dna[n - 2].substring(4);
+        assertTrue(mutantDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Debe dar el mismo veredicto con la matriz fuera del heap")
+    void testOffHeapMatchesOnHeap() throws IOException {
+        String[] mutant = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+        String[] human = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATTT",
+            "AGACGG",
+            "GCGTCA",
+            "TCACTG"
+        };
+        boolean mutantOnHeap = mutantDetector.isMutant(mutant);
+        boolean humanOnHeap = mutantDetector.isMutant(human);
+
+        mutantDetector.setOffHeapMinSize(4);
+
+        assertEquals(mutantOnHeap, mutantDetector.isMutant(mutant));
+        assertEquals(humanOnHeap, mutantDetector.isMutant(human));
+        assertTrue(mutantDetector.isPackedMutant(DnaPackedCodec.decode(
+            new ByteArrayInputStream(DnaPackedCodec.encode(mutant)), 100, 4096)));
+        assertFalse(mutantDetector.isPackedMutant(DnaPackedCodec.decode(
+            new ByteArrayInputStream(DnaPackedCodec.encode(human)), 100, 4096)));
+    }
 }
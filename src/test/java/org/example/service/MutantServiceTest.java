@@ -1,14 +1,24 @@
 package org.example.service;
 
+import org.example.cache.DnaKey;
+import org.example.cache.MappedVerdictCache;
+import org.example.cache.SmallDnaVerdictTable;
 import org.example.entity.DnaRecord;
 import org.example.repository.DnaRecordRepository;
+import org.example.resilience.DatabaseCircuitBreaker;
+import org.example.resilience.DnaRecordSpool;
+import org.example.retention.ColdDnaStore;
+import org.example.unique.UniqueDnaTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 
 import java.util.Optional;
 
@@ -36,6 +46,31 @@ class MutantServiceTest {
     @Mock
     private DnaRecordRepository dnaRecordRepository;
 
+    @Spy
+    private DnaCanonicalizer dnaCanonicalizer = new DnaCanonicalizer(false, 99);
+
+    @Spy
+    private SmallDnaVerdictTable smallDnaVerdictTable = new SmallDnaVerdictTable(true, 1024);
+
+    @Spy
+    private MappedVerdictCache mappedVerdictCache = new MappedVerdictCache(false, null, 0);
+
+    @Spy
+    private ColdDnaStore coldDnaStore = new ColdDnaStore(false, null);
+
+    @Spy
+    private DatabaseCircuitBreaker databaseCircuitBreaker =
+        new DatabaseCircuitBreaker(true, 10, 2, 50, 500, 100, 60_000, 1);
+
+    @Mock
+    private DnaRecordSpool dnaRecordSpool;
+
+    @Spy
+    private UniqueDnaTracker uniqueDnaTracker = new UniqueDnaTracker(false, null, 168);
+
+    @Spy
+    private StatsVersion statsVersion = new StatsVersion(1);
+
     @InjectMocks
     private MutantService mutantService;
 
@@ -85,6 +120,7 @@ class MutantServiceTest {
         verify(dnaRecordRepository, times(1)).findByDnaSequence(anyString());
         verify(mutantDetector, times(1)).isMutant(mutantDna);
         verify(dnaRecordRepository, times(1)).save(any(DnaRecord.class));
+        verify(statsVersion, times(1)).markChanged();  // /stats debe republicarse
     }
 
     @Test
@@ -125,6 +161,7 @@ class MutantServiceTest {
         verify(dnaRecordRepository, times(1)).findByDnaSequence(anyString());
         verify(mutantDetector, never()).isMutant(any());  // NO debe analizar
         verify(dnaRecordRepository, never()).save(any());  // NO debe guardar
+        verify(statsVersion, never()).markChanged();
     }
 
     @Test
@@ -145,6 +182,67 @@ class MutantServiceTest {
         verify(dnaRecordRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Debe usar el almacenamiento frío si el ADN ya no está en la tabla caliente")
+    void testAnalyzeDnaFromColdStore() {
+        // Arrange: La retención ya movió el registro fuera de dna_records
+        when(dnaRecordRepository.findByDnaSequence(anyString()))
+            .thenReturn(Optional.empty());
+        doReturn(Optional.of(true)).when(coldDnaStore).find(anyString());
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert: NO debe analizar ni volver a guardar en la tabla caliente
+        assertTrue(result);
+        verify(coldDnaStore, times(1)).find("ATGCGA,CAGTGC,TTATGT,AGAAGG,CCCCTA,TCACTG");
+        verify(mutantDetector, never()).isMutant(any());
+        verify(dnaRecordRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Debe responder en modo degradado y enviar el registro al journal si la BD falla")
+    void testAnalyzeDnaWithDatabaseDown() {
+        // Arrange: La BD no responde
+        when(dnaRecordRepository.findByDnaSequence(anyString()))
+            .thenThrow(new DataAccessResourceFailureException("Connection is not available"));
+        when(dnaRecordRepository.save(any(DnaRecord.class)))
+            .thenThrow(new DataAccessResourceFailureException("Connection is not available"));
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert: El veredicto sale del detector y el registro queda en el journal
+        assertTrue(result);
+        ArgumentCaptor<DnaRecord> spooled = ArgumentCaptor.forClass(DnaRecord.class);
+        verify(dnaRecordSpool, times(1)).append(spooled.capture());
+        assertEquals("ATGCGA,CAGTGC,TTATGT,AGAAGG,CCCCTA,TCACTG", spooled.getValue().getDnaSequence());
+        assertTrue(spooled.getValue().getIsMutant());
+    }
+
+    @Test
+    @DisplayName("No debe cachear un ADN nuevo que no se pudo guardar ni enviar al journal")
+    void testDroppedRecordIsNotCached() {
+        // Arrange: La BD no responde y el journal descarta el registro (lleno)
+        when(dnaRecordRepository.findByDnaSequence(anyString()))
+            .thenThrow(new DataAccessResourceFailureException("Connection is not available"));
+        when(dnaRecordRepository.save(any(DnaRecord.class)))
+            .thenThrow(new DataAccessResourceFailureException("Connection is not available"));
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        when(dnaRecordSpool.append(any(DnaRecord.class))).thenReturn(false);
+
+        // Act
+        mutantService.analyzeDna(mutantDna);
+        boolean second = mutantService.analyzeDna(mutantDna);
+
+        // Assert: La segunda vez no sale de la caché: se detecta e intenta guardar de nuevo
+        assertTrue(second);
+        verify(mutantDetector, times(2)).isMutant(mutantDna);
+        verify(dnaRecordSpool, times(2)).append(any(DnaRecord.class));
+        verify(smallDnaVerdictTable, never()).put(any(DnaKey.class), anyBoolean());
+    }
+
     @Test
     @DisplayName("Debe manejar correctamente el formato de secuencia concatenada")
     void testDnaSequenceFormatting() {
@@ -166,4 +264,55 @@ class MutantServiceTest {
         // Assert: Verificar que se buscó con el formato correcto
         verify(dnaRecordRepository, times(1)).findByDnaSequence(expectedSequence);
     }
+
+    @Test
+    @DisplayName("Debe usar la variante canónica como clave cuando la canonicalización está activa")
+    void testCanonicalKeyForSymmetricResubmission() {
+        // Arrange: ADN transpuesto de humanDna (misma clave canónica)
+        MutantService canonicalService =
+            new MutantService(mutantDetector, dnaRecordRepository, new DnaCanonicalizer(true, 99),
+                new SmallDnaVerdictTable(false, 1024), new MappedVerdictCache(false, null, 0),
+                new ColdDnaStore(false, null), databaseCircuitBreaker, dnaRecordSpool,
+                uniqueDnaTracker, statsVersion);
+        String[] transposed = new String[humanDna.length];
+        for (int col = 0; col < humanDna.length; col++) {
+            StringBuilder row = new StringBuilder();
+            for (String original : humanDna) {
+                row.append(original.charAt(col));
+            }
+            transposed[col] = row.toString();
+        }
+        when(dnaRecordRepository.findByDnaSequence(anyString()))
+            .thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(any())).thenReturn(false);
+
+        // Act
+        canonicalService.analyzeDna(humanDna);
+        canonicalService.analyzeDna(transposed);
+
+        // Assert: Ambas consultas usan exactamente la misma clave
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(dnaRecordRepository, times(2)).findByDnaSequence(keys.capture());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Debe resolver matrices pequeñas repetidas desde la tabla en memoria")
+    void testSmallMatrixServedFromTable() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaSequence(anyString()))
+            .thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+
+        // Act: La segunda llamada no debe llegar a BD ni al detector
+        boolean first = mutantService.analyzeDna(mutantDna);
+        boolean second = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(dnaRecordRepository, times(1)).findByDnaSequence(anyString());
+        verify(mutantDetector, times(1)).isMutant(mutantDna);
+        verify(dnaRecordRepository, times(1)).save(any(DnaRecord.class));
+    }
 }
@@ -0,0 +1,86 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ScratchBuffers (buffers por hilo o pool compartido).
+ */
+@DisplayName("ScratchBuffers - Tests de reutilización por tipo de hilo")
+class ScratchBuffersTest {
+
+    @Test
+    @DisplayName("Virtual threads sucesivos deben reutilizar el mismo buffer")
+    void testVirtualThreadsReuseBuffer() throws InterruptedException {
+        ScratchBuffers<byte[]> buffers = new ScratchBuffers<>(4);
+        List<byte[]> used = new ArrayList<>();
+
+        for (int request = 0; request < 100; request++) {
+            Thread.ofVirtual().start(() -> {
+                byte[] buffer = buffers.acquire();
+                if (buffer == null) {
+                    buffer = new byte[64];
+                }
+                used.add(buffer);
+                buffers.release(buffer);
+            }).join();
+        }
+
+        assertEquals(100, used.size());
+        assertTrue(used.stream().allMatch(buffer -> buffer == used.get(0)));
+    }
+
+    @Test
+    @DisplayName("El pool compartido no debe retener más buffers que casilleros")
+    void testSharedPoolIsBounded() throws InterruptedException {
+        ScratchBuffers<byte[]> buffers = new ScratchBuffers<>(2);
+        CountDownLatch allAcquired = new CountDownLatch(8);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                byte[] buffer = new byte[64];
+                allAcquired.countDown();
+                try {
+                    allAcquired.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                buffers.release(buffer);
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<byte[]> retained = new ArrayList<>();
+        Thread.ofVirtual().start(() -> {
+            byte[] buffer;
+            while ((buffer = buffers.acquire()) != null) {
+                retained.add(buffer);
+            }
+        }).join();
+        assertEquals(2, retained.size());
+    }
+
+    @Test
+    @DisplayName("Cada thread de plataforma debe conservar su propio buffer")
+    void testPlatformThreadKeepsOwnBuffer() throws InterruptedException {
+        ScratchBuffers<byte[]> buffers = new ScratchBuffers<>(4);
+        byte[] own = new byte[64];
+        buffers.release(own);
+        AtomicReference<byte[]> other = new AtomicReference<>(own);
+
+        Thread.ofPlatform().start(() -> other.set(buffers.acquire())).join();
+
+        assertSame(own, buffers.acquire());
+        assertSame(own, buffers.acquire());
+        assertNull(other.get());
+    }
+}
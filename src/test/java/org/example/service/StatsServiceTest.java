@@ -1,12 +1,17 @@
 package org.example.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dto.StatsResponse;
 import org.example.repository.DnaRecordRepository;
+import org.example.retention.ColdDnaStore;
+import org.example.unique.UniqueDnaTracker;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +32,18 @@ class StatsServiceTest {
     @Mock
     private DnaRecordRepository dnaRecordRepository;
 
+    @Spy
+    private ColdDnaStore coldDnaStore = new ColdDnaStore(false, null);
+
+    @Spy
+    private UniqueDnaTracker uniqueDnaTracker = new UniqueDnaTracker(false, null, 168);
+
+    @Spy
+    private StatsVersion statsVersion = new StatsVersion(5);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private StatsService statsService;
 
@@ -50,6 +67,24 @@ class StatsServiceTest {
         verify(dnaRecordRepository, times(1)).countHumans();
     }
 
+    @Test
+    @DisplayName("Debe sumar los registros movidos al almacenamiento frío")
+    void testGetStatsIncludesColdStore() {
+        // Arrange: 40 mutantes y 100 humanos en caliente, 10 y 20 archivados
+        when(dnaRecordRepository.countMutants()).thenReturn(40L);
+        when(dnaRecordRepository.countHumans()).thenReturn(100L);
+        doReturn(10L).when(coldDnaStore).countMutants();
+        doReturn(20L).when(coldDnaStore).countHumans();
+
+        // Act
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(50L, stats.getCountMutantDna());
+        assertEquals(120L, stats.getCountHumanDna());
+        assertEquals(50.0 / 120.0, stats.getRatio(), 0.001);
+    }
+
     @Test
     @DisplayName("Debe calcular ratio 1.0 cuando hay igual cantidad de mutantes y humanos")
     void testGetStatsWithEqualCounts() {
@@ -129,4 +164,52 @@ class StatsServiceTest {
         assertEquals(100L, stats.getCountHumanDna());
         assertEquals(0.33, stats.getRatio(), 0.001);  // 33/100 = 0.33
     }
+
+    @Test
+    @DisplayName("Debe reutilizar el snapshot publicado mientras la versión no cambie")
+    void testSnapshotReusedUntilVersionChanges() {
+        // Arrange
+        when(dnaRecordRepository.countMutants()).thenReturn(40L, 41L);
+        when(dnaRecordRepository.countHumans()).thenReturn(100L);
+
+        // Act: Dos lecturas con la misma versión, luego un cambio
+        StatsSnapshot first = statsService.getSnapshot();
+        StatsSnapshot second = statsService.getSnapshot();
+        statsVersion.markChanged();
+        StatsSnapshot third = statsService.getSnapshot();
+
+        // Assert: Sin COUNT ni serialización hasta el cambio
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals(41L, third.stats().getCountMutantDna());
+        assertNotEquals(first.etag(), third.etag());
+        verify(dnaRecordRepository, times(2)).countMutants();
+        verify(dnaRecordRepository, times(2)).countHumans();
+    }
+
+    @Test
+    @DisplayName("Debe publicar el JSON serializado con ETag fuerte y max-age")
+    void testSnapshotJsonAndEtag() throws Exception {
+        // Arrange
+        when(dnaRecordRepository.countMutants()).thenReturn(40L);
+        when(dnaRecordRepository.countHumans()).thenReturn(100L);
+
+        // Act
+        StatsSnapshot snapshot = statsService.getSnapshot();
+        statsVersion.markChanged();
+        StatsSnapshot unchanged = statsService.getSnapshot();
+
+        // Assert: Mismos contadores en otra versión conservan el ETag
+        JsonNode json = new ObjectMapper().readTree(snapshot.json());
+        assertEquals(40L, json.get("count_mutant_dna").asLong());
+        assertEquals(100L, json.get("count_human_dna").asLong());
+        assertEquals(0.4, json.get("ratio").asDouble(), 0.001);
+        assertEquals("\"28-64\"", snapshot.etag());
+        assertEquals(snapshot.etag(), unchanged.etag());
+        assertEquals(5L, snapshot.maxAgeSeconds());
+        assertTrue(snapshot.matches("W/\"1-2\", \"28-64\""));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches("\"28-65\""));
+        assertFalse(snapshot.matches(null));
+    }
 }
@@ -0,0 +1,213 @@
+package org.example.service.detection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para las estrategias de detección y el plan por tamaño.
+ * 
+ * Todas las estrategias deben coincidir con la escalar en cualquier matriz.
+ */
+@DisplayName("DetectionStrategy - Tests de equivalencia y plan")
+class DetectionStrategyTest {
+
+    private final DetectionStrategy scalar = new ScalarDetectionStrategy();
+    private final DetectionStrategy packed = new PackedDetectionStrategy();
+    private final DetectionStrategy parallel = new ParallelDetectionStrategy();
+    private final DetectionStrategy tiled = new TiledDetectionStrategy();
+
+    @Test
+    @DisplayName("Las estrategias deben coincidir con la escalar en matrices aleatorias")
+    void testStrategiesMatchScalarOnRandomMatrices() {
+        Random random = new Random(42);
+        for (int i = 0; i < 3000; i++) {
+            int n = 4 + random.nextInt(i < 2500 ? 12 : 140);
+            byte[] cells = randomCells(random, n, 1 + random.nextInt(4));
+            assertSameVerdict(cells, n);
+        }
+    }
+
+    @Test
+    @DisplayName("Las estrategias deben coincidir con secuencias en los bordes de cada word de 64 bits")
+    void testStrategiesMatchAroundWordBoundaries() {
+        int[] sizes = {63, 64, 65, 67, 128, 130};
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int n : sizes) {
+            for (int[] direction : directions) {
+                for (int col = 0; col < n; col++) {
+                    byte[] cells = DetectionCalibrator.humanCells(n);
+                    int row = n / 2 - 4;
+                    boolean fits = col + 3 * direction[1] >= 0 && col + 3 * direction[1] < n;
+                    if (!fits) {
+                        continue;
+                    }
+                    // Una secuencia plantada: humano. Con dos (dirección y su vecina): mutante
+                    plant(cells, n, row, col, direction, (byte) 0);
+                    assertSameVerdict(cells, n);
+                    plant(cells, n, row + 4, col, direction, (byte) 1);
+                    assertSameVerdict(cells, n);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Las variantes fuera del heap deben coincidir, también entre bandas de filas")
+    void testOffHeapVariantsMatchOnHeap() {
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            int n = 4 + random.nextInt(140);
+            assertSameOffHeapVerdict(randomCells(random, n, 1 + random.nextInt(4)), n);
+        }
+
+        // n = 2000: la variante bitboard arma los planos en bandas de 1021 filas
+        int n = 2000;
+        int[][] directions = {{1, 0}, {1, 1}, {1, -1}};
+        for (int[] direction : directions) {
+            for (int row = 1016; row <= 1021; row++) {
+                byte[] cells = DetectionCalibrator.humanCells(n);
+                plant(cells, n, row, 500, direction, (byte) 2);
+                assertSameOffHeapVerdict(cells, n);
+                plant(cells, n, row, 900, direction, (byte) 3);
+                assertSameOffHeapVerdict(cells, n);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("La matriz de calibración no debe tener secuencias")
+    void testCalibrationMatrixIsHuman() {
+        for (int n = 4; n <= 200; n++) {
+            byte[] cells = DetectionCalibrator.humanCells(n);
+            assertEquals(0, ScalarDetectionStrategy.countSequences(cells, n, 0, n, Integer.MAX_VALUE));
+            assertFalse(packed.hasMultipleSequences(cells, n));
+            assertFalse(parallel.hasMultipleSequences(cells, n));
+            assertFalse(tiled.hasMultipleSequences(cells, n));
+        }
+    }
+
+    @Test
+    @DisplayName("El recorrido por tiles debe contar las mismas secuencias que el escalar")
+    void testTiledCountsMatchScalar() {
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            int n = 4 + random.nextInt(60);
+            byte[] cells = randomCells(random, n, 1 + random.nextInt(4));
+            assertEquals(ScalarDetectionStrategy.countSequences(cells, n, 0, n, Integer.MAX_VALUE),
+                countAllTiles(cells, n), "n=" + n);
+        }
+
+        // Secuencias que cruzan el borde entre tiles (columna TILE_COLS)
+        int n = TiledDetectionStrategy.TILE_COLS + 5;
+        int[][] directions = {{0, 1}, {1, 1}, {1, -1}};
+        for (int[] direction : directions) {
+            for (int col = TiledDetectionStrategy.TILE_COLS - 4; col <= TiledDetectionStrategy.TILE_COLS + 1; col++) {
+                byte[] cells = DetectionCalibrator.humanCells(n);
+                plant(cells, n, 9, col, direction, (byte) 1);
+                assertEquals(ScalarDetectionStrategy.countSequences(cells, n, 0, n, Integer.MAX_VALUE),
+                    countAllTiles(cells, n), "col=" + col);
+                assertSameVerdict(cells, n);
+                plant(cells, n, 1, col, direction, (byte) 2);
+                assertSameVerdict(cells, n);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("El plan debe elegir la estrategia según el rango de N")
+    void testPlanSelectsByRange() {
+        Map<String, DetectionStrategy> available = Map.of(
+            "scalar", scalar, "packed", packed, "parallel", parallel, "tiled", tiled);
+
+        DetectionPlan plan = DetectionPlan.parse("4:scalar, 256:packed, 1024:parallel", available);
+
+        assertSame(scalar, plan.strategyFor(4));
+        assertSame(scalar, plan.strategyFor(255));
+        assertSame(packed, plan.strategyFor(256));
+        assertSame(parallel, plan.strategyFor(5000));
+        assertEquals("4:scalar,256:packed,1024:parallel", plan.toString());
+        assertEquals(255, plan.describe().get(0).get("toSize"));
+    }
+
+    @Test
+    @DisplayName("El plan calibrado debe seguir con los rangos de la tabla por encima del N calibrado")
+    void testCalibratedPlanFollowedByTable() {
+        Map<String, DetectionStrategy> available = Map.of(
+            "scalar", scalar, "packed", packed, "parallel", parallel, "tiled", tiled);
+        DetectionPlan table = DetectionPlan.parse("4:scalar,256:packed,1024:parallel,12288:tiled", available);
+        DetectionPlan calibrated = new DetectionPlan(List.of(
+            new DetectionPlan.Range(0, scalar), new DetectionPlan.Range(128, parallel)));
+
+        DetectionPlan plan = calibrated.followedBy(table, 1024);
+
+        assertEquals("4:scalar,128:parallel,12288:tiled", plan.toString());
+        assertSame(parallel, plan.strategyFor(5000));
+        assertSame(tiled, plan.strategyFor(12288));
+    }
+
+    @Test
+    @DisplayName("El plan debe rechazar estrategias desconocidas y rangos desordenados")
+    void testPlanValidation() {
+        Map<String, DetectionStrategy> available = Map.of("scalar", scalar);
+
+        assertThrows(IllegalArgumentException.class, () -> DetectionPlan.parse("4:simd", available));
+        assertThrows(IllegalArgumentException.class, () -> DetectionPlan.parse("4-scalar", available));
+        assertThrows(IllegalArgumentException.class, () -> new DetectionPlan(List.of(
+            new DetectionPlan.Range(100, scalar), new DetectionPlan.Range(50, scalar))));
+    }
+
+    private void assertSameVerdict(byte[] cells, int n) {
+        boolean expected = scalar.hasMultipleSequences(cells, n);
+        assertEquals(expected, packed.hasMultipleSequences(cells, n), "packed n=" + n);
+        assertEquals(expected, parallel.hasMultipleSequences(cells, n), "parallel n=" + n);
+        assertEquals(expected, tiled.hasMultipleSequences(cells, n), "tiled n=" + n);
+    }
+
+    private static int countAllTiles(byte[] cells, int n) {
+        int total = 0;
+        for (int row = 0; row < n; row += TiledDetectionStrategy.BAND_ROWS) {
+            for (int col = 0; col < n; col += TiledDetectionStrategy.TILE_COLS) {
+                total += TiledDetectionStrategy.countTile(cells, n, row, Math.min(n, row + TiledDetectionStrategy.BAND_ROWS),
+                    col, Math.min(n, col + TiledDetectionStrategy.TILE_COLS), Integer.MAX_VALUE);
+            }
+        }
+        return total;
+    }
+
+    private void assertSameOffHeapVerdict(byte[] cells, int n) {
+        boolean expected = scalar.hasMultipleSequences(cells, n);
+        try (Arena arena = Arena.ofShared()) {
+            MemorySegment segment = arena.allocate(cells.length);
+            MemorySegment.copy(MemorySegment.ofArray(cells), 0, segment, 0, cells.length);
+            assertEquals(expected, scalar.hasMultipleSequences(segment, n), "scalar off-heap n=" + n);
+            assertEquals(expected, packed.hasMultipleSequences(segment, n), "packed off-heap n=" + n);
+            assertEquals(expected, parallel.hasMultipleSequences(segment, n), "parallel off-heap n=" + n);
+            assertEquals(expected, tiled.hasMultipleSequences(segment, n), "tiled off-heap n=" + n);
+        }
+    }
+
+    private static void plant(byte[] cells, int n, int row, int col, int[] direction, byte base) {
+        for (int k = 0; k < 4; k++) {
+            cells[(row + k * direction[0]) * n + col + k * direction[1]] = base;
+        }
+    }
+
+    /**
+     * Con pocas bases distintas aparecen muchas secuencias; con 4, pocas.
+     */
+    private static byte[] randomCells(Random random, int n, int alphabet) {
+        byte[] cells = new byte[n * n];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) random.nextInt(alphabet);
+        }
+        return cells;
+    }
+}
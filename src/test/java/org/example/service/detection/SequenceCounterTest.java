@@ -0,0 +1,82 @@
+package org.example.service.detection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el conteo completo de secuencias.
+ */
+@DisplayName("SequenceCounter - Tests del conteo completo")
+class SequenceCounterTest {
+
+    @Test
+    @DisplayName("Debe contar por dirección y base")
+    void testCountsByDirectionAndBase() {
+        byte[] cells = encode(
+            "CCCCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG");
+
+        SequenceCounts counts = SequenceCounter.count(cells, 6);
+
+        assertEquals(2, counts.count(SequenceCounts.Direction.HORIZONTAL, 1));  // CCCC x2
+        assertEquals(1, counts.count(SequenceCounts.Direction.VERTICAL, 2));    // GGGG
+        assertEquals(0, counts.direction(SequenceCounts.Direction.DIAGONAL_DOWN));
+        assertEquals(0, counts.direction(SequenceCounts.Direction.DIAGONAL_UP));
+        assertEquals(2, counts.base(1));
+        assertEquals(1, counts.base(2));
+        assertEquals(3, counts.total());
+        assertTrue(counts.isMutant());
+    }
+
+    @Test
+    @DisplayName("Una corrida de 5 bases iguales cuenta 2 secuencias, como la detección")
+    void testOverlappingRuns() {
+        byte[] cells = encode(
+            "AAAAA",
+            "CGTAC",
+            "TACGT",
+            "GTACG",
+            "ACGTA");
+
+        SequenceCounts counts = SequenceCounter.count(cells, 5);
+
+        assertEquals(2, counts.count(SequenceCounts.Direction.HORIZONTAL, 0));
+        assertEquals(2, counts.total());
+    }
+
+    @Test
+    @DisplayName("El total coincide con el recorrido escalar sin límite, también en paralelo")
+    void testTotalMatchesScalar() {
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            int n = 4 + random.nextInt(i < 250 ? 20 : 300);
+            byte[] cells = new byte[n * n];
+            int alphabet = 1 + random.nextInt(4);
+            for (int cell = 0; cell < cells.length; cell++) {
+                cells[cell] = (byte) random.nextInt(alphabet);
+            }
+
+            long expected = ScalarDetectionStrategy.countSequences(cells, n, 0, n, Integer.MAX_VALUE);
+            assertEquals(expected, SequenceCounter.count(cells, n).total(), "N=" + n);
+        }
+    }
+
+    private static byte[] encode(String... rows) {
+        int n = rows.length;
+        byte[] cells = new byte[n * n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                cells[row * n + col] = (byte) "ACGT".indexOf(rows[row].charAt(col));
+            }
+        }
+        return cells;
+    }
+}
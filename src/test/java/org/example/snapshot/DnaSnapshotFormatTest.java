@@ -0,0 +1,173 @@
+package org.example.snapshot;
+
+import org.example.cache.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el formato de snapshot de dna_records.
+ */
+@DisplayName("DnaSnapshotFormat - Tests del formato de snapshot")
+class DnaSnapshotFormatTest {
+
+    private static final String MUTANT = "ATGCGA,CAGTGC,TTATGT,AGAAGG,CCCCTA,TCACTG";
+    private static final String HUMAN = "ATGCGA,CAGTGC,TTATTT,AGACGG,GCGTCA,TCACTG";
+    private static final String SMALL = "ATGC,CAGT,TTAT,AGAC";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Debe exportar y leer los registros sin pérdida")
+    void testRoundTrip() throws IOException {
+        Path file = tempDir.resolve("snapshot.gz");
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(file)) {
+            DnaSnapshotFormat.writeRecord(out, MUTANT, true);
+            DnaSnapshotFormat.writeRecord(out, HUMAN, false);
+            DnaSnapshotFormat.writeRecord(out, SMALL, false);
+            DnaSnapshotFormat.writeTrailer(out, 3);
+        }
+
+        try (DataInputStream in = DnaSnapshotFormat.openReader(file)) {
+            assertEquals(new DnaSnapshotFormat.Entry(MUTANT, true), DnaSnapshotFormat.readRecord(in, 0));
+            assertEquals(new DnaSnapshotFormat.Entry(HUMAN, false), DnaSnapshotFormat.readRecord(in, 1));
+            assertEquals(new DnaSnapshotFormat.Entry(SMALL, false), DnaSnapshotFormat.readRecord(in, 2));
+            assertNull(DnaSnapshotFormat.readRecord(in, 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe exportar y leer claves digest de matrices grandes")
+    void testDigestRoundTrip() throws IOException {
+        String[] large = new String[120];
+        Arrays.fill(large, "ACGT".repeat(30));
+        String digest = DnaKey.of(large).sequence();
+        Path file = tempDir.resolve("snapshot.gz");
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(file)) {
+            DnaSnapshotFormat.writeRecord(out, digest, true);
+            DnaSnapshotFormat.writeRecord(out, SMALL, false);
+            DnaSnapshotFormat.writeTrailer(out, 2);
+        }
+
+        try (DataInputStream in = DnaSnapshotFormat.openReader(file)) {
+            assertEquals(new DnaSnapshotFormat.Entry(digest, true), DnaSnapshotFormat.readRecord(in, 0));
+            assertEquals(new DnaSnapshotFormat.Entry(SMALL, false), DnaSnapshotFormat.readRecord(in, 1));
+            assertNull(DnaSnapshotFormat.readRecord(in, 2));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe conservar la fecha de alta de cada registro")
+    void testCreatedAtRoundTrip() throws IOException {
+        String[] large = new String[120];
+        Arrays.fill(large, "ACGT".repeat(30));
+        String digest = DnaKey.of(large).sequence();
+        Instant createdAt = Instant.parse("2024-01-15T10:00:00.123Z");
+        Path file = tempDir.resolve("snapshot.gz");
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(file)) {
+            DnaSnapshotFormat.writeRecord(out, MUTANT, true, createdAt);
+            DnaSnapshotFormat.writeRecord(out, digest, false, createdAt.plusSeconds(60));
+            DnaSnapshotFormat.writeRecord(out, SMALL, false);
+            DnaSnapshotFormat.writeTrailer(out, 3);
+        }
+
+        try (DataInputStream in = DnaSnapshotFormat.openReader(file)) {
+            assertEquals(new DnaSnapshotFormat.Entry(MUTANT, true, createdAt), DnaSnapshotFormat.readRecord(in, 0));
+            assertEquals(new DnaSnapshotFormat.Entry(digest, false, createdAt.plusSeconds(60)),
+                DnaSnapshotFormat.readRecord(in, 1));
+            // Sin fecha (como en los snapshots de versión 2): se restaura con la fecha de la carga
+            assertNull(DnaSnapshotFormat.readRecord(in, 2).createdAt());
+            assertNull(DnaSnapshotFormat.readRecord(in, 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe leer snapshots de la versión 2, sin fechas")
+    void testReadsVersion2() throws IOException {
+        Path file = tempDir.resolve("v2.gz");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(0x4D534E50);
+            out.writeInt(2);
+            DnaSnapshotFormat.writeRecord(out, SMALL, true);
+            DnaSnapshotFormat.writeTrailer(out, 1);
+        }
+
+        try (DataInputStream in = DnaSnapshotFormat.openReader(file)) {
+            assertEquals(new DnaSnapshotFormat.Entry(SMALL, true), DnaSnapshotFormat.readRecord(in, 0));
+            assertNull(DnaSnapshotFormat.readRecord(in, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe detectar un snapshot truncado")
+    void testTruncatedSnapshot() throws IOException {
+        Path file = tempDir.resolve("snapshot.gz");
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(file)) {
+            DnaSnapshotFormat.writeRecord(out, MUTANT, true);
+            DnaSnapshotFormat.writeRecord(out, HUMAN, false);
+            DnaSnapshotFormat.writeTrailer(out, 2);
+        }
+        Path truncated = tempDir.resolve("truncated.gz");
+        byte[] raw;
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            raw = in.readAllBytes();
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(truncated))) {
+            out.write(Arrays.copyOf(raw, raw.length - 20));
+        }
+
+        try (DataInputStream in = DnaSnapshotFormat.openReader(truncated)) {
+            assertNotNull(DnaSnapshotFormat.readRecord(in, 0));
+            assertThrows(IOException.class, () -> DnaSnapshotFormat.readRecord(in, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un trailer que no coincide con los registros leídos")
+    void testTrailerMismatch() throws IOException {
+        Path file = tempDir.resolve("snapshot.gz");
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(file)) {
+            DnaSnapshotFormat.writeRecord(out, MUTANT, true);
+            DnaSnapshotFormat.writeTrailer(out, 5);
+        }
+
+        try (DataInputStream in = DnaSnapshotFormat.openReader(file)) {
+            assertNotNull(DnaSnapshotFormat.readRecord(in, 0));
+            assertThrows(IOException.class, () -> DnaSnapshotFormat.readRecord(in, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar archivos que no son snapshots")
+    void testUnknownFormat() throws IOException {
+        Path file = tempDir.resolve("other.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        assertThrows(IOException.class, () -> DnaSnapshotFormat.openReader(file));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar secuencias no NxN al exportar")
+    void testRejectsNonSquareSequence() throws IOException {
+        Path file = tempDir.resolve("snapshot.gz");
+        try (DataOutputStream out = DnaSnapshotFormat.openWriter(file)) {
+            assertThrows(IOException.class, () -> DnaSnapshotFormat.writeRecord(out, "ATGC,CAGT,TT", true));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.unique;
+
+import org.example.cache.DnaHashing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para HyperLogLog.
+ */
+@DisplayName("HyperLogLog - Tests del sketch de cardinalidad")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Debe estimar la cardinalidad con error menor al 3% e ignorar repetidos")
+    void testEstimateWithinError() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 3; round++) {
+            for (long i = 0; i < 100_000; i++) {
+                sketch.add(DnaHashing.mix(i + 1));
+            }
+        }
+
+        assertEquals(100_000, sketch.estimate(), 3_000);
+    }
+
+    @Test
+    @DisplayName("Debe ser exacto en cardinalidades bajas (linear counting)")
+    void testSmallCardinality() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+
+        for (long i = 0; i < 100; i++) {
+            sketch.add(DnaHashing.mix(i + 1));
+        }
+
+        assertEquals(100, sketch.estimate(), 2);
+    }
+
+    @Test
+    @DisplayName("La unión de dos sketches estima la unión de los conjuntos")
+    void testMergeAndSerialization() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (long i = 0; i < 60_000; i++) {
+            first.add(DnaHashing.mix(i + 1));
+            second.add(DnaHashing.mix(i + 40_001));
+        }
+
+        HyperLogLog union = HyperLogLog.fromBytes(first.toBytes());
+        union.merge(second);
+
+        assertEquals(100_000, union.estimate(), 3_000);
+        assertEquals(first.estimate(), HyperLogLog.fromBytes(first.toBytes()).estimate());
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.unique;
+
+import org.example.cache.DnaHashing;
+import org.example.dto.UniqueStatsResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para UniqueDnaTracker (ADN distintos por ventana de tiempo).
+ */
+@DisplayName("UniqueDnaTracker - Tests de estimación por ventana")
+class UniqueDnaTrackerTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long NOW = Instant.parse("2024-01-02T10:30:00Z").toEpochMilli();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Debe estimar por hora y unir las horas en la ventana y por día")
+    void testHourlyAndDailyBuckets() {
+        UniqueDnaTracker tracker = open();
+        // Hora anterior: 100 mutantes; hora actual: los mismos 100 + 50 humanos nuevos
+        for (long i = 0; i < 100; i++) {
+            tracker.record(DnaHashing.mix(i + 1), true, NOW - HOUR);
+            tracker.record(DnaHashing.mix(i + 1), true, NOW);
+        }
+        for (long i = 100; i < 150; i++) {
+            tracker.record(DnaHashing.mix(i + 1), false, NOW);
+        }
+
+        UniqueStatsResponse hourly = tracker.stats("hour", 2, NOW);
+        assertEquals(2, hourly.getBuckets().size());
+        assertEquals(Instant.parse("2024-01-02T09:00:00Z"), hourly.getFrom());
+        assertEquals(Instant.parse("2024-01-02T11:00:00Z"), hourly.getTo());
+        assertEquals(100, hourly.getBuckets().get(0).getUniqueDna(), 2);
+        assertEquals(150, hourly.getBuckets().get(1).getUniqueDna(), 2);
+        // El mismo ADN en dos horas cuenta una vez en la ventana
+        assertEquals(150, hourly.getUniqueDna(), 2);
+        assertEquals(100, hourly.getUniqueMutantDna(), 2);
+        assertEquals(50, hourly.getUniqueHumanDna(), 2);
+
+        UniqueStatsResponse daily = tracker.stats("day", 1, NOW);
+        assertEquals(Instant.parse("2024-01-02T00:00:00Z"), daily.getBuckets().get(0).getStart());
+        assertEquals(150, daily.getBuckets().get(0).getUniqueDna(), 2);
+    }
+
+    @Test
+    @DisplayName("Los sketches persistidos sobreviven a un reinicio")
+    void testPersistAndRestore() throws IOException {
+        UniqueDnaTracker tracker = open();
+        long now = System.currentTimeMillis();
+        for (long i = 0; i < 100; i++) {
+            tracker.record(DnaHashing.mix(i + 1), i % 2 == 0, now);
+        }
+        tracker.persist();
+
+        UniqueStatsResponse restored = open().stats("hour", 1, now);
+
+        assertEquals(100, restored.getUniqueDna(), 2);
+        assertEquals(50, restored.getUniqueMutantDna(), 2);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar granularidades desconocidas")
+    void testInvalidGranularity() {
+        UniqueDnaTracker tracker = open();
+
+        assertThrows(IllegalArgumentException.class, () -> tracker.stats("week", 1, NOW));
+        assertThrows(IllegalArgumentException.class, () -> tracker.stats("hour", 0, NOW));
+    }
+
+    private UniqueDnaTracker open() {
+        return new UniqueDnaTracker(true, tempDir.resolve("unique.hll.gz").toString(), 168);
+    }
+}
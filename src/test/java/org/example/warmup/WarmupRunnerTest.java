@@ -0,0 +1,106 @@
+package org.example.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.service.MutantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para WarmupRunner y WarmupHealthIndicator.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WarmupRunner - Tests del calentamiento JIT")
+class WarmupRunnerTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private MutantService mutantService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Readiness debe estar DOWN hasta completar las iteraciones")
+    void testReadinessDownUntilFinished() {
+        WarmupRunner runner = runner(true, 40);
+        WarmupHealthIndicator health = new WarmupHealthIndicator(runner);
+
+        assertEquals(Status.DOWN, health.health().getStatus());
+        runner.warmUp();
+
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(40L, health.health().getDetails().get("iterations"));
+        verify(mutantService, times(40)).analyzeDna(any());
+    }
+
+    @Test
+    @DisplayName("Cada iteración debe quedar marcada rollback-only para no contaminar /stats")
+    void testEveryIterationRolledBack() {
+        WarmupRunner runner = runner(true, 10);
+
+        runner.warmUp();
+
+        // TransactionTemplate delega en commit(); el manager real hace rollback si está marcada
+        verify(transactionManager, times(10)).commit(argThat(TransactionStatus::isRollbackOnly));
+        verify(transactionManager, never()).commit(argThat(status -> !status.isRollbackOnly()));
+    }
+
+    @Test
+    @DisplayName("Un error del pipeline no debe dejar la instancia fuera de servicio")
+    void testFailureStillFinishes() {
+        when(mutantService.analyzeDna(any())).thenThrow(new IllegalStateException("BD caída"));
+        WarmupRunner runner = runner(true, 10);
+
+        runner.warmUp();
+
+        assertTrue(runner.isFinished());
+    }
+
+    @Test
+    @DisplayName("Deshabilitado: readiness UP sin ejecutar nada")
+    void testDisabled() {
+        WarmupRunner runner = runner(false, 10);
+
+        runner.onApplicationReady();
+
+        assertEquals(Status.UP, new WarmupHealthIndicator(runner).health().getStatus());
+        verifyNoInteractions(mutantService);
+    }
+
+    @Test
+    @DisplayName("El ADN sintético debe ser una matriz NxN válida")
+    void testSyntheticDnaIsValid() {
+        String[] dna = WarmupRunner.syntheticDna(20);
+
+        assertEquals(20, dna.length);
+        for (String row : dna) {
+            assertTrue(row.matches("[ACGT]{20}"));
+        }
+    }
+
+    private WarmupRunner runner(boolean enabled, int iterations) {
+        return new WarmupRunner(mutantService, new ObjectMapper(), VALIDATOR, transactionManager,
+            enabled, iterations, new int[]{6, 10}, 0, 60_000);
+    }
+}